@@ -0,0 +1,84 @@
+package com.krishihub.advisory.service;
+
+import com.krishihub.advisory.engine.ActiveRuleRegistry;
+import com.krishihub.advisory.engine.CompiledRule;
+import com.krishihub.advisory.engine.RuleCompiler;
+import com.krishihub.advisory.entity.AdvisoryRule;
+import com.krishihub.advisory.model.RuleCondition;
+import com.krishihub.advisory.model.RuleDefinition;
+import com.krishihub.advisory.repository.AdvisoryRuleRepository;
+import com.krishihub.auth.repository.UserRepository;
+import com.krishihub.marketplace.repository.CropListingRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Rule evaluation against a farmer context.
+ * evaluateDefinition compiles on every call (simulation path); the compiled
+ * variant is what the advisory run uses through the rule registry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RuleEvaluationBenchmark {
+
+    private RuleEngineService ruleEngineService;
+    private RuleDefinition definition;
+    private CompiledRule compiledRule;
+    private Map<String, Object> context;
+
+    @Setup
+    public void setup() {
+        // evaluateDefinition uses none of the collaborators
+        ruleEngineService = new RuleEngineService(mock(AdvisoryRuleRepository.class), mock(UserRepository.class),
+                mock(CropListingRepository.class), mock(ActiveRuleRegistry.class), mock(ApplicationEventPublisher.class));
+
+        definition = RuleDefinition.builder()
+                .logic("AND")
+                .conditions(List.of(
+                        condition("district", "EQUALS", "Kathmandu"),
+                        condition("land_size", "GT", 2),
+                        condition("temperature", "LTE", 35),
+                        condition("crop", "IN", List.of("Rice", "Wheat", "Maize")),
+                        condition("weather_signals", "CONTAINS", "HEAVY_RAIN_EXPECTED")))
+                .build();
+
+        compiledRule = RuleCompiler.compile(AdvisoryRule.builder()
+                .name("benchmark")
+                .definition(definition)
+                .priority(1)
+                .isActive(true)
+                .build());
+
+        context = new HashMap<>();
+        context.put("district", "Kathmandu");
+        context.put("land_size", 4.5);
+        context.put("temperature", 31.2);
+        context.put("crop", "Rice");
+        context.put("weather_signals", List.of("HIGH_HUMIDITY_RISK", "HEAVY_RAIN_EXPECTED"));
+    }
+
+    @Benchmark
+    public boolean evaluateDefinition() {
+        return ruleEngineService.evaluateDefinition(definition, context);
+    }
+
+    @Benchmark
+    public boolean evaluateCompiled() {
+        return compiledRule.matches(context);
+    }
+
+    private static RuleCondition condition(String field, String operator, Object value) {
+        return RuleCondition.builder().field(field).operator(operator).value(value).build();
+    }
+}
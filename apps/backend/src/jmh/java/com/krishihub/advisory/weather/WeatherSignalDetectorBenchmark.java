@@ -0,0 +1,63 @@
+package com.krishihub.advisory.weather;
+
+import com.krishihub.advisory.weather.model.WeatherData;
+import com.krishihub.advisory.weather.model.WeatherSignal;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signal detection for one district reading, calm and severe.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeatherSignalDetectorBenchmark {
+
+    private WeatherSignalDetector detector;
+    private WeatherData calm;
+    private WeatherData severe;
+
+    @Setup
+    public void setup() {
+        detector = new WeatherSignalDetector();
+
+        calm = WeatherData.builder()
+                .district("Kathmandu")
+                .temperature(24.0)
+                .minTemperature(18.0)
+                .maxTemperature(27.0)
+                .rainfall(5.0)
+                .humidity(60.0)
+                .windSpeed(12.0)
+                .hasAlert(false)
+                .build();
+
+        severe = WeatherData.builder()
+                .district("Chitwan")
+                .temperature(38.0)
+                .minTemperature(29.0)
+                .maxTemperature(42.0)
+                .rainfallForecast24h(160.0)
+                .humidity(90.0)
+                .windSpeed(65.0)
+                .hasAlert(true)
+                .alertType("Severe Thunderstorm Warning")
+                .alertSeverity("SEVERE")
+                .build();
+    }
+
+    @Benchmark
+    public List<WeatherSignal> detectCalm() {
+        return detector.detectSignals(calm);
+    }
+
+    @Benchmark
+    public WeatherSignal detectSevereHighest() {
+        return detector.getHighestSeveritySignal(detector.detectSignals(severe));
+    }
+}
@@ -0,0 +1,64 @@
+package com.krishihub.auth.security;
+
+import com.krishihub.auth.entity.User;
+import com.krishihub.auth.model.CustomUserDetails;
+import com.krishihub.config.properties.JwtProperties;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and the single-parse verification used by the auth filter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtUtilBenchmark {
+
+    // Synthetic 256-bit key, only used in-process
+    private static final String SECRET = "YmVuY2htYXJrLW9ubHktc2VjcmV0LWtleS1mb3ItaHMyNTYtc2lnbmluZw==";
+
+    private JwtUtil jwtUtil;
+    private CustomUserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(3_600_000L);
+        properties.setRefreshExpiration(604_800_000L);
+        jwtUtil = new JwtUtil(properties);
+
+        userDetails = CustomUserDetails.builder()
+                .id(UUID.randomUUID())
+                .username("9800000000")
+                .password("")
+                .authorities(List.of())
+                .userType(User.UserRole.FARMER)
+                .district("Kathmandu")
+                .build();
+        token = jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtUtil.parseClaims(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtUtil.isTokenValid(token, userDetails);
+    }
+}
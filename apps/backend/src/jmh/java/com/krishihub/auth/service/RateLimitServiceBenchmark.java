@@ -0,0 +1,53 @@
+package com.krishihub.auth.service;
+
+import com.krishihub.config.properties.RateLimitProperties;
+import com.krishihub.service.SystemConfigService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Local token-bucket path of the rate limiter under contention.
+ * Redis is disabled, so the SystemConfigService and RedisRateLimiter stubs are never called.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RateLimitServiceBenchmark {
+
+    private static final int CLIENTS = 10_000;
+
+    private RateLimitService rateLimitService;
+    private String[] clientKeys;
+
+    @Setup
+    public void setup() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRedisEnabled(false);
+        rateLimitService = new RateLimitService(mock(SystemConfigService.class), properties,
+                mock(RedisRateLimiter.class));
+
+        clientKeys = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clientKeys[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @Benchmark
+    public boolean manyClients() {
+        String clientKey = clientKeys[ThreadLocalRandom.current().nextInt(CLIENTS)];
+        return rateLimitService.tryConsume("/api/marketplace/listings", clientKey);
+    }
+
+    @Benchmark
+    public boolean singleHotClient() {
+        return rateLimitService.tryConsume("/api/auth/login", "10.0.0.1");
+    }
+}
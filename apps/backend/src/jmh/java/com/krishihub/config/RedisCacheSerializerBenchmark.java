@@ -0,0 +1,75 @@
+package com.krishihub.config;
+
+import com.krishihub.marketprice.dto.MarketPriceDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip of a typical cached value (a page of market prices) through the
+ * default-typed cache serializer, plus the cost of building the serializer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RedisCacheSerializerBenchmark {
+
+    @Param({ "20", "200" })
+    private int pageSize;
+
+    private GenericJackson2JsonRedisSerializer serializer;
+    private Page<MarketPriceDto> page;
+    private byte[] serializedPage;
+
+    @Setup
+    public void setup() {
+        serializer = RedisConfig.cacheValueSerializer();
+
+        List<MarketPriceDto> prices = new ArrayList<>(pageSize);
+        Date priceDate = new Date();
+        for (int i = 0; i < pageSize; i++) {
+            prices.add(MarketPriceDto.builder()
+                    .id(UUID.randomUUID())
+                    .cropName("Crop " + i)
+                    .cropCode("CROP_" + i)
+                    .district("Kathmandu")
+                    .minPrice(BigDecimal.valueOf(40 + i))
+                    .maxPrice(BigDecimal.valueOf(60 + i))
+                    .avgPrice(BigDecimal.valueOf(50 + i))
+                    .unit("Kg")
+                    .priceDate(priceDate)
+                    .source("KALIMATI")
+                    .build());
+        }
+        page = new PageImpl<>(prices, PageRequest.of(0, pageSize, Sort.by("cropName")), 5_000);
+        serializedPage = serializer.serialize(page);
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return serializer.serialize(page);
+    }
+
+    @Benchmark
+    public Object deserializePage() {
+        return serializer.deserialize(serializedPage);
+    }
+
+    @Benchmark
+    public GenericJackson2JsonRedisSerializer buildSerializer() {
+        return RedisConfig.cacheValueSerializer();
+    }
+}
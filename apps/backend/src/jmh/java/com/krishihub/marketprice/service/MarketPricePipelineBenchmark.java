@@ -0,0 +1,91 @@
+package com.krishihub.marketprice.service;
+
+import com.krishihub.marketprice.dto.MarketPriceDto;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Normalization and validation over one scraped page of rows, as done per ingestion source.
+ * Rows are built outside the measured code: validation reads the same rows every time, while
+ * the normalizer mutates its input and gets freshly built rows before each invocation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MarketPricePipelineBenchmark {
+
+    private static final String[] CROPS = {
+            "Tomato Big(Nepali)", " Potato Red ", "Onion Dry (Indian)", "Cauli Local", "Cabbage(Local)",
+            "Brinjal Long", "Cucumber(Local)", "Ginger", "Chilli Green", "Apple(Fuji)"
+    };
+    private static final String[] UNITS = { "KG", "Kg", "kilo", "Quintal", "Doz", null };
+
+    @Param({ "100" })
+    private int rows;
+
+    private PriceValidatorService validator;
+    private MarketPriceNormalizer normalizer;
+    private Date priceDate;
+    private List<MarketPriceDto> rawRows;
+
+    @State(Scope.Thread)
+    public static class FreshRows {
+
+        private List<MarketPriceDto> rows;
+
+        @Setup(Level.Invocation)
+        public void setup(MarketPricePipelineBenchmark benchmark) {
+            rows = benchmark.rawRows();
+        }
+    }
+
+    @Setup
+    public void setup() {
+        validator = new PriceValidatorService();
+        normalizer = new MarketPriceNormalizer();
+        priceDate = new Date();
+        rawRows = rawRows();
+    }
+
+    @Benchmark
+    public void normalizeAndValidate(FreshRows fresh, Blackhole blackhole) {
+        for (MarketPriceDto raw : fresh.rows) {
+            MarketPriceDto normalized = normalizer.normalize(raw);
+            blackhole.consume(validator.isValid(normalized));
+        }
+    }
+
+    @Benchmark
+    public void validateOnly(Blackhole blackhole) {
+        for (MarketPriceDto raw : rawRows) {
+            blackhole.consume(validator.isValid(raw));
+        }
+    }
+
+    private List<MarketPriceDto> rawRows() {
+        List<MarketPriceDto> batch = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            long min = 20 + (i % 50);
+            batch.add(MarketPriceDto.builder()
+                    .cropName(CROPS[i % CROPS.length])
+                    .district("Kathmandu")
+                    .minPrice(BigDecimal.valueOf(min))
+                    .maxPrice(BigDecimal.valueOf(min + 15))
+                    .avgPrice(BigDecimal.valueOf(min + 7))
+                    .unit(UNITS[i % UNITS.length])
+                    .priceDate(priceDate)
+                    .source("KALIMATI")
+                    .build());
+        }
+        return batch;
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.security.access.prepost.PreAuthorize;
 
+import com.krishihub.admin.dto.FarmerImportStatus;
 import com.krishihub.admin.dto.FarmerProfileDto;
 import com.krishihub.admin.service.AdminFarmerService;
 import com.krishihub.auth.entity.User;
@@ -55,9 +56,14 @@ public class AdminFarmerController {
     }
 
     @PostMapping("/import")
-    public ResponseEntity<ApiResponse<Object>> importFarmers(
+    public ResponseEntity<ApiResponse<FarmerImportStatus>> importFarmers(
             @RequestParam("file") MultipartFile file) {
-        farmerService.importFarmers(file);
-        return ResponseEntity.ok(ApiResponse.success("Farmers imported successfully", null));
+        return ResponseEntity.accepted()
+                .body(ApiResponse.success("Farmer import started", farmerService.importFarmers(file)));
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ApiResponse<FarmerImportStatus>> getImportStatus(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(ApiResponse.success("Import status fetched", farmerService.getImportStatus(jobId)));
     }
 }
@@ -3,6 +3,7 @@ package com.krishihub.admin.controller;
 import com.krishihub.admin.dto.UserVerificationRequest;
 import com.krishihub.auth.entity.User;
 import com.krishihub.auth.repository.UserRepository;
+import com.krishihub.auth.service.AuthenticatedPrincipalCache;
 import com.krishihub.shared.dto.ApiResponse;
 import com.krishihub.shared.dto.PaginatedResponse;
 import com.krishihub.shared.exception.ResourceNotFoundException;
@@ -25,6 +26,7 @@ import java.util.UUID;
 public class AdminUserVerificationController {
 
     private final UserRepository userRepository;
+    private final AuthenticatedPrincipalCache principalCache;
 
     /**
      * Get all pending (unverified) users.
@@ -88,6 +90,7 @@ public class AdminUserVerificationController {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         
         userRepository.delete(user);
+        principalCache.invalidate(userId);
         
         return ResponseEntity.ok(ApiResponse.success("User deleted successfully", null));
     }
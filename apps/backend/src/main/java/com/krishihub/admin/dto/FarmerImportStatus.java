@@ -0,0 +1,34 @@
+package com.krishihub.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Progress of a background farmer CSV import.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class FarmerImportStatus {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private UUID jobId;
+    private State state;
+    private String fileName;
+
+    private int processedRows;
+    private int imported;
+    private int skippedExisting;
+    private int skippedInvalid;
+
+    private String error;
+    private Date startedAt;
+    private Date finishedAt;
+}
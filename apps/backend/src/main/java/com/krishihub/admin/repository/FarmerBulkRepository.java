@@ -0,0 +1,107 @@
+package com.krishihub.admin.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set-based reads and writes for farmer CSV export and import.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FarmerBulkRepository {
+
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    private static final String EXPORT_SQL = """
+            SELECT id, name, mobile_number, district, ward, verified, role
+            FROM users
+            WHERE role = 'FARMER'
+            ORDER BY created_at, id
+            """;
+
+    private static final String EXISTING_MOBILES_SQL = """
+            SELECT mobile_number FROM users WHERE mobile_number = ANY(?::varchar[])
+            """;
+
+    /**
+     * A conflicting mobile number means the farmer was registered concurrently; it is skipped, not an error.
+     */
+    private static final String INSERT_FARMERS_SQL = """
+            INSERT INTO users (id, name, mobile_number, email, district, ward, role, verified, enabled,
+                               password_hash, created_at, updated_at)
+            SELECT gen_random_uuid(), t.name, t.mobile_number, t.email, t.district, t.ward, 'FARMER', false, true,
+                   t.password_hash, now(), now()
+            FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[], ?::varchar[])
+                 AS t(name, mobile_number, email, district, ward, password_hash)
+            ON CONFLICT (mobile_number) DO NOTHING
+            RETURNING id, mobile_number, email
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Stream every farmer through a forward-only cursor.
+     * Must run inside a transaction so the Postgres driver honours the fetch size
+     * instead of materialising the whole result.
+     */
+    public void streamFarmers(RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            var ps = connection.prepareStatement(EXPORT_SQL,
+                    java.sql.ResultSet.TYPE_FORWARD_ONLY, java.sql.ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(EXPORT_FETCH_SIZE);
+            return ps;
+        }, handler);
+    }
+
+    public Set<String> findExistingMobileNumbers(Collection<String> mobileNumbers) {
+        if (mobileNumbers.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.query(
+                connection -> {
+                    var ps = connection.prepareStatement(EXISTING_MOBILES_SQL);
+                    ps.setArray(1, connection.createArrayOf("varchar", mobileNumbers.toArray()));
+                    return ps;
+                },
+                (rs, rowNum) -> rs.getString("mobile_number")));
+    }
+
+    /**
+     * Insert a batch of unverified farmers.
+     *
+     * @return the rows actually inserted
+     */
+    public List<InsertedFarmer> insertFarmers(List<NewFarmer> farmers) {
+        if (farmers.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(connection -> {
+            var ps = connection.prepareStatement(INSERT_FARMERS_SQL);
+            ps.setArray(1, connection.createArrayOf("varchar", farmers.stream().map(NewFarmer::name).toArray()));
+            ps.setArray(2, connection.createArrayOf("varchar", farmers.stream().map(NewFarmer::mobileNumber).toArray()));
+            ps.setArray(3, connection.createArrayOf("varchar", farmers.stream().map(NewFarmer::email).toArray()));
+            ps.setArray(4, connection.createArrayOf("varchar", farmers.stream().map(NewFarmer::district).toArray()));
+            ps.setArray(5, connection.createArrayOf("varchar", farmers.stream().map(NewFarmer::ward).toArray()));
+            ps.setArray(6, connection.createArrayOf("varchar", farmers.stream().map(NewFarmer::passwordHash).toArray()));
+            return ps;
+        }, (rs, rowNum) -> new InsertedFarmer(
+                rs.getObject("id", UUID.class),
+                rs.getString("mobile_number"),
+                rs.getString("email")));
+    }
+
+    public record NewFarmer(String name, String mobileNumber, String email, String district, String ward,
+                            String passwordHash) {
+    }
+
+    public record InsertedFarmer(UUID id, String mobileNumber, String email) {
+    }
+}
@@ -1,20 +1,16 @@
 package com.krishihub.admin.service;
 
+import com.krishihub.admin.dto.FarmerImportStatus;
 import com.krishihub.admin.dto.FarmerProfileDto;
+import com.krishihub.admin.repository.FarmerBulkRepository;
 import com.krishihub.auth.entity.User;
 import com.krishihub.auth.model.CustomUserDetails;
 import com.krishihub.auth.repository.UserRepository;
 import com.krishihub.marketplace.entity.CropListing;
-import com.krishihub.notification.entity.Notification;
-import com.krishihub.notification.enums.NotificationChannel;
-import com.krishihub.notification.enums.NotificationStatus;
-import com.krishihub.notification.repository.NotificationRepository;
-import com.krishihub.notification.service.NotificationSenderService;
 import com.krishihub.order.entity.Order;
 import com.krishihub.marketplace.repository.CropListingRepository;
 import com.krishihub.order.repository.OrderRepository;
 import com.krishihub.shared.exception.ResourceNotFoundException;
-import com.opencsv.CSVReader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -22,16 +18,15 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.krishihub.admin.dto.FarmerVerificationRequest;
 import jakarta.transaction.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStreamReader;
 import java.io.PrintWriter;
-import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -43,9 +38,8 @@ public class AdminFarmerService {
         private final UserRepository userRepository;
         private final CropListingRepository cropListingRepository;
         private final OrderRepository orderRepository;
-        private final PasswordEncoder passwordEncoder;
-        private final NotificationRepository notificationRepository;
-        private final NotificationSenderService notificationSenderService;
+        private final FarmerBulkRepository farmerBulkRepository;
+        private final FarmerImportService farmerImportService;
 
         public Page<User> getAllFarmers(String search, Pageable pageable) {
                 return userRepository.searchUsers(User.UserRole.FARMER, null, search, pageable);
@@ -105,117 +99,64 @@ public class AdminFarmerService {
                 return saved;
         }
 
+        /**
+         * Stream all farmers as CSV straight from a database cursor, so memory stays
+         * flat regardless of how many farmers there are.
+         */
+        @org.springframework.transaction.annotation.Transactional(readOnly = true)
         public void exportFarmers(PrintWriter writer) {
                 try {
-                        List<User> farmers = getAllFarmers(null, PageRequest.of(0, 10000)).getContent(); // Export all (limit 10k)
                         com.opencsv.CSVWriter csvWriter = new com.opencsv.CSVWriter(writer);
 
                         // Header
                         csvWriter.writeNext(new String[] { "ID", "Name", "Mobile", "District", "Ward", "Verified",
                                         "Role" });
 
-                        for (User farmer : farmers) {
-                                csvWriter.writeNext(new String[] {
-                                                farmer.getId() != null ? farmer.getId().toString() : "",
-                                                farmer.getName() != null ? farmer.getName() : "",
-                                                farmer.getMobileNumber() != null ? farmer.getMobileNumber() : "",
-                                                farmer.getDistrict() != null ? farmer.getDistrict() : "",
-                                                farmer.getWard() != null ? farmer.getWard() : "",
-                                                farmer.getVerified() != null ? farmer.getVerified().toString()
-                                                                : "false",
-                                                farmer.getRole() != null ? farmer.getRole().toString() : ""
-                                });
-                        }
+                        farmerBulkRepository.streamFarmers(rs -> csvWriter.writeNext(new String[] {
+                                        rs.getString("id"),
+                                        Objects.toString(rs.getString("name"), ""),
+                                        Objects.toString(rs.getString("mobile_number"), ""),
+                                        Objects.toString(rs.getString("district"), ""),
+                                        Objects.toString(rs.getString("ward"), ""),
+                                        Boolean.toString(rs.getBoolean("verified")),
+                                        Objects.toString(rs.getString("role"), "")
+                        }));
                         csvWriter.close();
                 } catch (Exception e) {
                         throw new RuntimeException("Error executing CSV export: " + e.getMessage());
                 }
         }
 
-        @Transactional
-        public void importFarmers(MultipartFile file) {
-                try (Reader reader = new InputStreamReader(file.getInputStream())) {
-                        CSVReader csvReader = new CSVReader(reader);
-                        List<String[]> records = csvReader.readAll();
-
-                        // Skip header if present (assuming first row is header)
-                        if (!records.isEmpty() && records.get(0)[0].equalsIgnoreCase("ID")) {
-                                records.remove(0);
-                        }
+        /**
+         * Accept a farmer CSV and import it in the background.
+         * The upload is copied to a temp file first because the multipart file is
+         * discarded when the request ends.
+         */
+        public FarmerImportStatus importFarmers(MultipartFile file) {
+                Path tempFile = null;
+                try {
+                        tempFile = Files.createTempFile("farmer-import-", ".csv");
+                        file.transferTo(tempFile);
 
-                        int importedCount = 0;
-                        for (String[] record : records) {
-                                // Simplistic assumption of column order: Name, Mobile, District, Ward
-                                // In production, robust validation needed.
-                                if (record.length < 4)
-                                        continue;
-
-                                String name = record[1];
-                                String mobile = record[2];
-                                String district = record[3];
-                                String ward = record.length > 4 ? record[4] : "";
-                                String email = record.length > 5 ? record[5] : null; // Assuming email might be in 5th index
-
-                                // Check duplicates by mobile
-                                if (userRepository.findByMobileNumber(mobile).isPresent()) {
-                                        continue; // Skip existing
+                        FarmerImportStatus status = farmerImportService.register(file.getOriginalFilename());
+                        farmerImportService.runImport(status.getJobId(), tempFile, getCurrentUserId());
+                        return status;
+                } catch (Exception e) {
+                        if (tempFile != null) {
+                                try {
+                                        Files.deleteIfExists(tempFile);
+                                } catch (Exception ignored) {
                                 }
-                                
-                                String rawPassword = UUID.randomUUID().toString().substring(0, 8);
-                                String encodedPassword = passwordEncoder.encode(rawPassword);
-
-                                User newFarmer = User.builder()
-                                                .name(name)
-                                                .mobileNumber(mobile)
-                                                .email(email)
-                                                .district(district)
-                                                .ward(ward)
-                                                .role(User.UserRole.FARMER)
-                                                .verified(false) // Default unverified for imported
-                                                .createdAt(new Date())
-                                                .passwordHash(encodedPassword)
-                                                .build();
-
-                                User savedUser = userRepository.save(newFarmer);
-                                importedCount++;
-                                
-                                // Create Notification
-                                createAndSendWelcomeNotification(savedUser, rawPassword);
                         }
-                        
-                        // Audit Import
-                         try {
-                            auditService.logAction(getCurrentUserId(), "IMPORT_FARMERS", "BATCH", "N/A", 
-                                Map.of("count", importedCount), "SYSTEM", "WEB");
-                        } catch (Exception e) {}
-
-                } catch (Exception e) {
                         throw new RuntimeException("Error processing CSV import: " + e.getMessage());
                 }
         }
-        
-        private void createAndSendWelcomeNotification(User user, String password) {
-             try {
-                String message = "Welcome to Krishi Bazaar! Your account has been created. Password: " + password;
-                Notification notification = Notification.builder()
-                    .userId(user.getId())
-                    .title("Welcome to Krishi Bazaar")
-                    .message(message)
-                    .type("ACCOUNT_CREATED")
-                    .channel(user.getEmail() != null ? NotificationChannel.EMAIL : NotificationChannel.SMS)
-                    .status(NotificationStatus.PENDING)
-                    .isRead(false)
-                    .createdAt(new Date())
-                    .build();
-                
-                Notification saved = notificationRepository.save(notification);
-                notificationSenderService.sendNotification(saved.getId());
-             } catch (Exception e) {
-                 // Log but don't fail import
-                 log.error("Failed to notify user {} about account status change", user.getId(), e);
-             }
+
+        public FarmerImportStatus getImportStatus(UUID jobId) {
+                return farmerImportService.getStatus(jobId)
+                                .orElseThrow(() -> new ResourceNotFoundException("Import job not found"));
         }
-        
+
         private UUID getCurrentUserId() {
             try {
                 Authentication auth = SecurityContextHolder.getContext().getAuthentication();
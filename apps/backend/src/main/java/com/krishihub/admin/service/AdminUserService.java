@@ -2,6 +2,7 @@ package com.krishihub.admin.service;
 
 import com.krishihub.auth.entity.User;
 import com.krishihub.auth.repository.UserRepository;
+import com.krishihub.auth.service.AuthenticatedPrincipalCache;
 import com.krishihub.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -18,6 +19,7 @@ public class AdminUserService {
 
     private final UserRepository userRepository;
     private final AuditService auditService;
+    private final AuthenticatedPrincipalCache principalCache;
 
     public Page<User> getAllUsers(String search, String role, Boolean status,
                                   Pageable pageable) {
@@ -43,6 +45,7 @@ public class AdminUserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         user.setEnabled(enabled);
         User savedUser = userRepository.save(user);
+        principalCache.invalidate(userId);
         
         // Audit
         try {
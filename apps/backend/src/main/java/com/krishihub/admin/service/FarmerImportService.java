@@ -0,0 +1,234 @@
+package com.krishihub.admin.service;
+
+import com.krishihub.admin.dto.FarmerImportStatus;
+import com.krishihub.admin.repository.FarmerBulkRepository;
+import com.krishihub.notification.enums.NotificationChannel;
+import com.krishihub.notification.enums.NotificationPriority;
+import com.krishihub.notification.enums.NotificationStatus;
+import com.krishihub.notification.repository.NotificationBatchRepository;
+import com.krishihub.notification.service.NotificationProducerService;
+import com.opencsv.CSVReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Background farmer CSV import.
+ *
+ * The file is read row by row and handled in fixed-size batches: one duplicate
+ * check per batch, bcrypt spread over the password hash pool, one insert for the
+ * users and one for their welcome notifications, then a single queue message.
+ * Memory use depends on the batch size, not the file size.
+ */
+@Service
+@Slf4j
+public class FarmerImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_MOBILE_LENGTH = 15;
+    // users column limits; one oversized value would fail the whole batch insert
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_EMAIL_LENGTH = 100;
+    private static final int MAX_DISTRICT_LENGTH = 50;
+    private static final int MAX_WARD_LENGTH = 10;
+    private static final long FINISHED_JOB_RETENTION_MS = 24 * 60 * 60 * 1000L;
+
+    private final FarmerBulkRepository farmerBulkRepository;
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final NotificationProducerService producerService;
+    private final PasswordEncoder passwordEncoder;
+    private final AuditService auditService;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor passwordHashExecutor;
+
+    // Job progress is kept on the instance that accepted the upload
+    private final Map<UUID, FarmerImportStatus> jobs = new ConcurrentHashMap<>();
+
+    public FarmerImportService(FarmerBulkRepository farmerBulkRepository,
+                               NotificationBatchRepository notificationBatchRepository,
+                               NotificationProducerService producerService,
+                               PasswordEncoder passwordEncoder,
+                               AuditService auditService,
+                               PlatformTransactionManager transactionManager,
+                               @Qualifier("passwordHashExecutor") Executor passwordHashExecutor) {
+        this.farmerBulkRepository = farmerBulkRepository;
+        this.notificationBatchRepository = notificationBatchRepository;
+        this.producerService = producerService;
+        this.passwordEncoder = passwordEncoder;
+        this.auditService = auditService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordHashExecutor = passwordHashExecutor;
+    }
+
+    public FarmerImportStatus register(String fileName) {
+        long cutoff = System.currentTimeMillis() - FINISHED_JOB_RETENTION_MS;
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().getTime() < cutoff);
+
+        FarmerImportStatus status = FarmerImportStatus.builder()
+                .jobId(UUID.randomUUID())
+                .state(FarmerImportStatus.State.QUEUED)
+                .fileName(fileName)
+                .build();
+        jobs.put(status.getJobId(), status);
+        return status;
+    }
+
+    public Optional<FarmerImportStatus> getStatus(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * Import the file and delete it afterwards.
+     *
+     * @param actorId admin who uploaded the file, for the audit log
+     */
+    @Async
+    public void runImport(UUID jobId, Path file, UUID actorId) {
+        FarmerImportStatus status = jobs.get(jobId).toBuilder()
+                .state(FarmerImportStatus.State.RUNNING)
+                .startedAt(new Date())
+                .build();
+        jobs.put(jobId, status);
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             CSVReader csvReader = new CSVReader(reader)) {
+
+            List<String[]> batch = new ArrayList<>(BATCH_SIZE);
+            String[] record;
+            boolean firstRow = true;
+            while ((record = csvReader.readNext()) != null) {
+                // Skip header if present (assuming first row is header)
+                if (firstRow && record.length > 0 && "ID".equalsIgnoreCase(record[0])) {
+                    firstRow = false;
+                    continue;
+                }
+                firstRow = false;
+
+                batch.add(record);
+                if (batch.size() == BATCH_SIZE) {
+                    status = importBatch(batch, status);
+                    jobs.put(jobId, status);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+            }
+            if (!batch.isEmpty()) {
+                status = importBatch(batch, status);
+            }
+
+            status = status.toBuilder()
+                    .state(FarmerImportStatus.State.COMPLETED)
+                    .finishedAt(new Date())
+                    .build();
+            log.info("Farmer import {} completed: {} rows, {} imported, {} existing, {} invalid", jobId,
+                    status.getProcessedRows(), status.getImported(), status.getSkippedExisting(), status.getSkippedInvalid());
+
+            // Audit Import
+            try {
+                auditService.logAction(actorId, "IMPORT_FARMERS", "BATCH", jobId.toString(),
+                        Map.of("count", status.getImported()), "SYSTEM", "WEB");
+            } catch (Exception e) {
+                // The farmers are already imported; a missing audit entry must not fail the job
+                log.warn("Failed to audit farmer import {}: {}", jobId, e.getMessage(), e);
+            }
+
+        } catch (Exception e) {
+            log.error("Farmer import {} failed after {} rows", jobId, status.getProcessedRows(), e);
+            status = status.toBuilder()
+                    .state(FarmerImportStatus.State.FAILED)
+                    .error(e.getMessage())
+                    .finishedAt(new Date())
+                    .build();
+        } finally {
+            jobs.put(jobId, status);
+            try {
+                Files.deleteIfExists(file);
+            } catch (Exception e) {
+                log.warn("Failed to delete import file {}", file, e);
+            }
+        }
+    }
+
+    private FarmerImportStatus importBatch(List<String[]> records, FarmerImportStatus status) {
+        int invalid = 0;
+        int existing = 0;
+
+        // Simplistic assumption of column order: ID, Name, Mobile, District, Ward, Email
+        Map<String, String[]> byMobile = new LinkedHashMap<>();
+        for (String[] record : records) {
+            String mobile = record.length >= 4 ? record[2].trim() : "";
+            if (mobile.isEmpty() || mobile.length() > MAX_MOBILE_LENGTH || !fitsColumns(record)) {
+                invalid++;
+            } else if (byMobile.putIfAbsent(mobile, record) != null) {
+                existing++;
+            }
+        }
+
+        Set<String> registered = farmerBulkRepository.findExistingMobileNumbers(byMobile.keySet());
+        byMobile.keySet().removeAll(registered);
+        existing += registered.size();
+
+        // bcrypt dominates the import; hash the whole batch in parallel
+        Map<String, String> rawPasswords = new HashMap<>();
+        List<CompletableFuture<FarmerBulkRepository.NewFarmer>> hashing = new ArrayList<>(byMobile.size());
+        byMobile.forEach((mobile, record) -> {
+            String rawPassword = UUID.randomUUID().toString().substring(0, 8);
+            rawPasswords.put(mobile, rawPassword);
+            hashing.add(CompletableFuture.supplyAsync(() -> new FarmerBulkRepository.NewFarmer(
+                    record[1],
+                    mobile,
+                    record.length > 5 && !record[5].isBlank() ? record[5].trim() : null,
+                    record[3],
+                    record.length > 4 ? record[4] : "",
+                    passwordEncoder.encode(rawPassword)), passwordHashExecutor));
+        });
+        List<FarmerBulkRepository.NewFarmer> newFarmers = hashing.stream().map(CompletableFuture::join).toList();
+
+        List<UUID> notificationIds = transactionTemplate.execute(tx -> {
+            List<FarmerBulkRepository.InsertedFarmer> inserted = farmerBulkRepository.insertFarmers(newFarmers);
+            return notificationBatchRepository.insertPersonalised(
+                    inserted.stream().map(FarmerBulkRepository.InsertedFarmer::id).toList(),
+                    inserted.stream().map(farmer -> welcomeMessage(rawPasswords.get(farmer.mobileNumber()))).toList(),
+                    inserted.stream().map(farmer -> farmer.email() != null ? NotificationChannel.EMAIL : NotificationChannel.SMS).toList(),
+                    "ACCOUNT_CREATED", "Welcome to Krishi Bazaar", NotificationPriority.NORMAL, NotificationStatus.QUEUED)
+                    .stream().map(NotificationBatchRepository.InsertedNotification::id).toList();
+        });
+
+        // Conflicts at insert time are farmers registered since the duplicate check
+        int imported = notificationIds != null ? notificationIds.size() : 0;
+        existing += newFarmers.size() - imported;
+        if (imported > 0) {
+            producerService.sendBatchToQueue(notificationIds);
+        }
+
+        return status.toBuilder()
+                .processedRows(status.getProcessedRows() + records.size())
+                .imported(status.getImported() + imported)
+                .skippedExisting(status.getSkippedExisting() + existing)
+                .skippedInvalid(status.getSkippedInvalid() + invalid)
+                .build();
+    }
+
+    private static boolean fitsColumns(String[] record) {
+        return record[1].length() <= MAX_NAME_LENGTH
+                && record[3].length() <= MAX_DISTRICT_LENGTH
+                && (record.length <= 4 || record[4].length() <= MAX_WARD_LENGTH)
+                && (record.length <= 5 || record[5].trim().length() <= MAX_EMAIL_LENGTH);
+    }
+
+    private String welcomeMessage(String password) {
+        return "Welcome to Krishi Bazaar! Your account has been created. Password: " + password;
+    }
+}
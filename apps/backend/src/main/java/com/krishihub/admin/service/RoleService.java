@@ -7,6 +7,7 @@ import com.krishihub.auth.entity.Role;
 import com.krishihub.auth.entity.User;
 import com.krishihub.auth.repository.RoleRepository;
 import com.krishihub.auth.repository.UserRepository;
+import com.krishihub.auth.service.UserPermissionService;
 import com.krishihub.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -29,6 +30,7 @@ public class RoleService {
     private final RoleRepository roleRepository;
     private final UserRepository userRepository;
     private final PermissionService permissionService;
+    private final UserPermissionService userPermissionService;
 
     /**
      * Get all roles with their permissions.
@@ -97,6 +99,7 @@ public class RoleService {
 
         role.setPermissions(new HashSet<>(permissions));
         Role updatedRole = roleRepository.save(role);
+        userPermissionService.invalidateAllPermissionCaches();
         return toDto(updatedRole);
     }
 
@@ -116,6 +119,7 @@ public class RoleService {
         }
 
         roleRepository.delete(role);
+        userPermissionService.invalidateAllPermissionCaches();
     }
 
     /**
@@ -138,6 +142,7 @@ public class RoleService {
         if (!roleExists) {
             user.getRoles().add(role);
             userRepository.save(user);
+            userPermissionService.invalidateUserPermissionCache(userId);
         }
     }
 
@@ -158,6 +163,7 @@ public class RoleService {
 
         user.getRoles().removeIf(r -> r.getId().equals(roleId));
         userRepository.save(user);
+        userPermissionService.invalidateUserPermissionCache(userId);
     }
 
     /**
@@ -1,5 +1,6 @@
 package com.krishihub.advisory.bootstrap;
 
+import com.krishihub.advisory.engine.RulesChangedEvent;
 import com.krishihub.advisory.entity.AdvisoryRule;
 import com.krishihub.advisory.model.RuleAction;
 import com.krishihub.advisory.model.RuleCondition;
@@ -8,6 +9,7 @@ import com.krishihub.advisory.repository.AdvisoryRuleRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
@@ -28,6 +30,7 @@ import java.util.UUID;
 public class WeatherRuleSeeder implements CommandLineRunner {
 
     private final AdvisoryRuleRepository ruleRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // System user ID for seeded rules
     private static final UUID SYSTEM_USER_ID = UUID.fromString("00000000-0000-0000-0000-000000000001");
@@ -58,6 +61,7 @@ public class WeatherRuleSeeder implements CommandLineRunner {
                 createThunderstormRule());
 
         ruleRepository.saveAll(rules);
+        eventPublisher.publishEvent(new RulesChangedEvent(this, null));
         log.info("Seeded {} weather advisory rules", rules.size());
     }
 
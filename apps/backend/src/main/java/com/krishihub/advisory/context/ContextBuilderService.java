@@ -30,6 +30,8 @@ public class ContextBuilderService {
     private final WeatherIngestionService weatherIngestionService;
     private final WeatherSignalDetector signalDetector;
 
+    private static final int FARMER_ID_CHUNK_SIZE = 1000;
+
     /**
      * Build context for a specific farmer
      */
@@ -58,6 +60,74 @@ public class ContextBuilderService {
             return Optional.empty();
         }
 
+        Optional<DistrictWeather> weather = loadDistrictWeather(district);
+        if (weather.isEmpty()) {
+            return Optional.empty();
+        }
+
+        WeatherAdvisoryContext context = assembleContext(farmer, crops, weather.get());
+        log.info("Built context for farmer {}: {}", farmerId, context.getSummary());
+
+        return Optional.of(context);
+    }
+
+    /**
+     * Build contexts for all farmers in a district.
+     * Weather, forecast and signals are shared by every farmer in the district, so they are
+     * fetched once, and all crop listings are loaded in a single query. The cost stays flat
+     * as the number of farmers grows.
+     */
+    public List<WeatherAdvisoryContext> buildContextsForDistrict(String district) {
+        log.info("Building contexts for all farmers in district: {}", district);
+
+        List<User> farmers = userRepository.findByDistrictAndRole(district,
+                com.krishihub.auth.entity.User.UserRole.FARMER);
+        if (farmers.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Optional<DistrictWeather> weather = loadDistrictWeather(district);
+        if (weather.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<UUID, List<CropListing>> cropsByFarmer = loadCropsByFarmer(
+                farmers.stream().map(User::getId).collect(Collectors.toList()));
+
+        List<WeatherAdvisoryContext> contexts = new ArrayList<>(farmers.size());
+        for (User farmer : farmers) {
+            WeatherAdvisoryContext context = assembleContext(farmer,
+                    cropsByFarmer.getOrDefault(farmer.getId(), Collections.emptyList()), weather.get());
+            log.debug("Built context for farmer {}: {}", farmer.getId(), context.getSummary());
+            contexts.add(context);
+        }
+
+        log.info("Built {} contexts for district {} from one weather lookup", contexts.size(), district);
+        return contexts;
+    }
+
+    /**
+     * Load listings for many farmers, chunked to stay well below the JDBC bind parameter limit
+     */
+    private Map<UUID, List<CropListing>> loadCropsByFarmer(List<UUID> farmerIds) {
+        Map<UUID, List<CropListing>> cropsByFarmer = new HashMap<>();
+        for (int from = 0; from < farmerIds.size(); from += FARMER_ID_CHUNK_SIZE) {
+            List<UUID> chunk = farmerIds.subList(from, Math.min(from + FARMER_ID_CHUNK_SIZE, farmerIds.size()));
+            for (CropListing listing : cropListingRepository.findByFarmerIdIn(chunk)) {
+                cropsByFarmer.computeIfAbsent(listing.getFarmer().getId(), id -> new ArrayList<>()).add(listing);
+            }
+        }
+        return cropsByFarmer;
+    }
+
+    /**
+     * Weather inputs shared by all farmers of a district
+     */
+    private record DistrictWeather(WeatherData current, List<WeatherData> forecast,
+                                   List<WeatherSignal> signals, WeatherSignal primarySignal) {
+    }
+
+    private Optional<DistrictWeather> loadDistrictWeather(String district) {
         Optional<WeatherData> currentWeather = weatherIngestionService.getCurrentWeather(district);
         if (currentWeather.isEmpty()) {
             log.warn("No weather data available for district: {}", district);
@@ -71,50 +141,34 @@ public class ContextBuilderService {
         List<WeatherSignal> signals = signalDetector.detectSignals(currentWeather.get());
         WeatherSignal primarySignal = signalDetector.getHighestSeveritySignal(signals);
 
+        return Optional.of(new DistrictWeather(currentWeather.get(), forecast, signals, primarySignal));
+    }
+
+    private WeatherAdvisoryContext assembleContext(User farmer, List<CropListing> crops, DistrictWeather weather) {
         // Build context for primary crop (or first crop)
         CropListing primaryCrop = crops.isEmpty() ? null : crops.get(0);
 
-        WeatherAdvisoryContext context = WeatherAdvisoryContext.builder()
-                .farmerId(farmerId)
+        return WeatherAdvisoryContext.builder()
+                .farmerId(farmer.getId())
                 .farmerName(farmer.getName())
                 .farmerPhone(farmer.getMobileNumber())
-                .farmerDistrict(district)
+                .farmerDistrict(farmer.getDistrict())
                 .landSize(farmer.getLandSize() != null ? farmer.getLandSize().doubleValue() : null)
                 .cropType(primaryCrop != null ? primaryCrop.getCropName() : "GENERAL")
                 .growthStage(determineGrowthStage(primaryCrop))
                 .plantingDate(primaryCrop != null ? primaryCrop.getCreatedAt() : null)
                 .daysAfterPlanting(primaryCrop != null ? calculateDaysAfterPlanting(primaryCrop.getCreatedAt()) : null)
-                .currentWeather(currentWeather.get())
-                .forecastData(forecast)
-                .detectedSignals(signals)
-                .primarySignal(primarySignal)
+                .currentWeather(weather.current())
+                .forecastData(weather.forecast())
+                .detectedSignals(weather.signals())
+                .primarySignal(weather.primarySignal())
                 .season(determineSeason())
                 .isMonsoonsoon(isMonsoonsoon())
-                .riskLevel(assessRiskLevel(signals, primarySignal))
-                .identifiedRisks(identifyRisks(signals, primaryCrop))
+                .riskLevel(assessRiskLevel(weather.signals(), weather.primarySignal()))
+                .identifiedRisks(identifyRisks(weather.signals(), primaryCrop))
                 .contextCreatedAt(com.krishihub.common.util.DateUtil.nowUtc())
                 .contextSource("ContextBuilderService")
                 .build();
-
-        log.info("Built context for farmer {}: {}", farmerId, context.getSummary());
-
-        return Optional.of(context);
-    }
-
-    /**
-     * Build contexts for all farmers in a district
-     */
-    public List<WeatherAdvisoryContext> buildContextsForDistrict(String district) {
-        log.info("Building contexts for all farmers in district: {}", district);
-
-        List<User> farmers = userRepository.findByDistrictAndRole(district,
-                com.krishihub.auth.entity.User.UserRole.FARMER);
-
-        return farmers.stream()
-                .map(farmer -> buildContextForFarmer(farmer.getId()))
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toList());
     }
 
     /**
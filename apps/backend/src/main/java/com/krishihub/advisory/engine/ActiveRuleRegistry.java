@@ -0,0 +1,85 @@
+package com.krishihub.advisory.engine;
+
+import com.krishihub.advisory.entity.AdvisoryRule;
+import com.krishihub.advisory.repository.AdvisoryRuleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the compiled, versioned snapshot of active advisory rules.
+ * The snapshot is built lazily on first use, swapped atomically after a rule change
+ * commits, and refreshed periodically to pick up changes made on other instances.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ActiveRuleRegistry {
+
+    private final AdvisoryRuleRepository ruleRepository;
+
+    private final AtomicReference<RuleSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+
+    public RuleSnapshot current() {
+        RuleSnapshot current = snapshot.get();
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot.get();
+                if (current == null) {
+                    current = refresh();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Serialized so a slow load that started first can never publish over a newer one
+     * from a rule change or the scheduled refresh.
+     */
+    public synchronized RuleSnapshot refresh() {
+        List<AdvisoryRule> activeRules = ruleRepository.findByIsActiveTrueAndStatus("ACTIVE");
+        List<CompiledRule> compiled = new ArrayList<>(activeRules.size());
+        for (AdvisoryRule rule : activeRules) {
+            try {
+                compiled.add(RuleCompiler.compile(rule));
+            } catch (Exception e) {
+                log.error("Failed to compile rule {} ({}): {}", rule.getName(), rule.getId(), e.getMessage());
+            }
+        }
+
+        RuleSnapshot next = new RuleSnapshot(versionSequence.incrementAndGet(),
+                Collections.unmodifiableList(compiled), new Date());
+        snapshot.set(next);
+        log.info("Loaded rule snapshot v{} with {} active rules", next.version(), compiled.size());
+        return next;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRulesChanged(RulesChangedEvent event) {
+        log.debug("Rule group {} changed, rebuilding rule snapshot", event.getRuleGroupId());
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${advisory.rules.refresh-interval-ms:300000}",
+            initialDelayString = "${advisory.rules.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.warn("Scheduled rule snapshot refresh failed, keeping v{}: {}",
+                    snapshot.get() != null ? snapshot.get().version() : 0, e.getMessage());
+        }
+    }
+}
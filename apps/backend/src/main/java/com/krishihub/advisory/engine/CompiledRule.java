@@ -0,0 +1,25 @@
+package com.krishihub.advisory.engine;
+
+import com.krishihub.advisory.model.RuleAction;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Immutable, pre-compiled form of an active {@link com.krishihub.advisory.entity.AdvisoryRule}.
+ */
+public record CompiledRule(
+        UUID id,
+        UUID ruleGroupId,
+        String name,
+        Integer version,
+        Integer priority,
+        Predicate<Map<String, Object>> predicate,
+        List<RuleAction> actions) {
+
+    public boolean matches(Map<String, Object> context) {
+        return predicate.test(context);
+    }
+}
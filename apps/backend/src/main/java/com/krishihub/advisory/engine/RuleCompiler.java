@@ -0,0 +1,148 @@
+package com.krishihub.advisory.engine;
+
+import com.krishihub.advisory.entity.AdvisoryRule;
+import com.krishihub.advisory.model.RuleCondition;
+import com.krishihub.advisory.model.RuleDefinition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Compiles rule definitions into predicate trees.
+ * Operators, numeric operands and AND/OR logic are resolved once at compile time,
+ * so evaluation does no string matching or number parsing on the rule side.
+ * Semantics match the original interpreter: missing context values never match,
+ * numeric comparison falls back to string comparison when either side is not a number.
+ */
+public final class RuleCompiler {
+
+    private static final Predicate<Map<String, Object>> ALWAYS = context -> true;
+    private static final Predicate<Map<String, Object>> NEVER = context -> false;
+
+    private RuleCompiler() {
+        // Prevent instantiation
+    }
+
+    public static CompiledRule compile(AdvisoryRule rule) {
+        RuleDefinition definition = rule.getDefinition();
+        return new CompiledRule(
+                rule.getId(),
+                rule.getRuleGroupId(),
+                rule.getName(),
+                rule.getVersion(),
+                rule.getPriority(),
+                compile(definition),
+                definition != null && definition.getActions() != null
+                        ? Collections.unmodifiableList(new ArrayList<>(definition.getActions()))
+                        : null);
+    }
+
+    public static Predicate<Map<String, Object>> compile(RuleDefinition definition) {
+        if (definition == null || definition.getConditions() == null || definition.getConditions().isEmpty()) {
+            return ALWAYS;
+        }
+
+        List<Predicate<Map<String, Object>>> predicates = new ArrayList<>(definition.getConditions().size());
+        for (RuleCondition condition : definition.getConditions()) {
+            predicates.add(compile(condition));
+        }
+
+        @SuppressWarnings("unchecked")
+        Predicate<Map<String, Object>>[] terms = predicates.toArray(new Predicate[0]);
+        if ("OR".equalsIgnoreCase(definition.getLogic())) {
+            return context -> {
+                for (Predicate<Map<String, Object>> term : terms) {
+                    if (term.test(context)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+        return context -> {
+            for (Predicate<Map<String, Object>> term : terms) {
+                if (!term.test(context)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    static Predicate<Map<String, Object>> compile(RuleCondition condition) {
+        String field = condition.getField();
+        Object expectedValue = condition.getValue();
+        String operator = condition.getOperator() != null ? condition.getOperator().toUpperCase() : "EQUALS";
+
+        if (expectedValue == null) {
+            return NEVER;
+        }
+        String expected = expectedValue.toString();
+
+        switch (operator) {
+            case "EQUALS":
+                return context -> {
+                    Object actual = context.get(field);
+                    return actual != null && expected.equals(actual.toString());
+                };
+            case "GT": // Greater Than
+                return comparison(field, expected, cmp -> cmp > 0);
+            case "LT": // Less Than
+                return comparison(field, expected, cmp -> cmp < 0);
+            case "GTE": // Greater Than Equals
+                return comparison(field, expected, cmp -> cmp >= 0);
+            case "LTE": // Less Than Equals
+                return comparison(field, expected, cmp -> cmp <= 0);
+            case "IN":
+                return context -> {
+                    Object actual = context.get(field);
+                    return actual != null && expected.contains(actual.toString());
+                };
+            case "CONTAINS":
+                return context -> {
+                    Object actual = context.get(field);
+                    return actual != null && actual.toString().contains(expected);
+                };
+            default:
+                return NEVER;
+        }
+    }
+
+    private static Predicate<Map<String, Object>> comparison(String field, String expected, IntPredicate test) {
+        Double parsed = parseDouble(expected);
+        if (parsed == null) {
+            // Expected side is not numeric, so the original always compared as strings
+            return context -> {
+                Object actual = context.get(field);
+                return actual != null && test.test(actual.toString().compareTo(expected));
+            };
+        }
+
+        double expectedNumber = parsed;
+        return context -> {
+            Object actual = context.get(field);
+            if (actual == null) {
+                return false;
+            }
+            Double actualNumber = actual instanceof Number number
+                    ? Double.valueOf(number.doubleValue())
+                    : parseDouble(actual.toString());
+            if (actualNumber == null) {
+                return test.test(actual.toString().compareTo(expected));
+            }
+            return test.test(Double.compare(actualNumber, expectedNumber));
+        };
+    }
+
+    private static Double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
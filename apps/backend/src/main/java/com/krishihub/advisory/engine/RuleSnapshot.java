@@ -0,0 +1,14 @@
+package com.krishihub.advisory.engine;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * A consistent view of all active rules at one point in time.
+ * Readers hold on to a snapshot for a whole evaluation, so a concurrent publish
+ * never exposes a half-updated rule set.
+ */
+public record RuleSnapshot(long version, List<CompiledRule> rules, Date loadedAt) {
+
+    public static final RuleSnapshot EMPTY = new RuleSnapshot(0L, List.of(), new Date(0));
+}
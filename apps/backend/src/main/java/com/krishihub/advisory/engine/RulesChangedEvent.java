@@ -0,0 +1,19 @@
+package com.krishihub.advisory.engine;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
+
+/**
+ * Published when a rule version is created, published or deactivated.
+ */
+@Getter
+public class RulesChangedEvent extends ApplicationEvent {
+    private final UUID ruleGroupId;
+
+    public RulesChangedEvent(Object source, UUID ruleGroupId) {
+        super(source);
+        this.ruleGroupId = ruleGroupId;
+    }
+}
@@ -0,0 +1,162 @@
+package com.krishihub.advisory.repository;
+
+import com.krishihub.advisory.entity.AdvisoryDeliveryLog;
+import com.krishihub.advisory.enums.DeliveryChannel;
+import com.krishihub.advisory.enums.DeliveryStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based writes for advisory delivery logs.
+ * New logs are inserted as one JDBC batch and status transitions are applied with one
+ * UPDATE per target status, instead of a save (and a load) per advisory.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AdvisoryDeliveryLogBatchRepository {
+
+    // A repeated deduplication key is skipped rather than failing the whole batch
+    private static final String INSERT_SQL = """
+            INSERT INTO advisory_delivery_logs (id, farmer_id, farmer_name, farmer_phone, rule_id, rule_name,
+                advisory_type, severity, delivery_status, priority, deduplication_key, advisory_content, channel,
+                district, crop_type, growth_stage, weather_signal, created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT DO NOTHING
+            """;
+
+    // Columns left null in the update keep their current value
+    private static final String UPDATE_STATUS_SQL = """
+            UPDATE advisory_delivery_logs l
+            SET delivery_status = ?,
+                channel = COALESCE(t.channel, l.channel),
+                failure_reason = COALESCE(t.failure_reason, l.failure_reason),
+                delivered_at = COALESCE(t.delivered_at, l.delivered_at),
+                opened_at = COALESCE(t.opened_at, l.opened_at),
+                feedback = COALESCE(t.feedback, l.feedback),
+                feedback_comment = COALESCE(t.feedback_comment, l.feedback_comment),
+                feedback_at = COALESCE(t.feedback_at, l.feedback_at)
+            FROM unnest(?::uuid[], ?::varchar[], ?::text[], ?::timestamp[], ?::timestamp[], ?::varchar[],
+                        ?::text[], ?::timestamp[])
+                AS t(id, channel, failure_reason, delivered_at, opened_at, feedback, feedback_comment, feedback_at)
+            WHERE l.id = t.id
+              AND l.delivery_status = ANY(?::varchar[])
+              AND (t.opened_at IS NULL OR l.opened_at IS NULL)
+            RETURNING l.id, l.created_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert the logs with their pre-assigned IDs.
+     *
+     * @return the logs not inserted because their ID or deduplication key already exists
+     */
+    public List<AdvisoryDeliveryLog> insertAll(List<AdvisoryDeliveryLog> logs) {
+        if (logs.isEmpty()) {
+            return List.of();
+        }
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                AdvisoryDeliveryLog log = logs.get(i);
+                ps.setObject(1, log.getId());
+                ps.setObject(2, log.getFarmerId());
+                ps.setString(3, log.getFarmerName());
+                ps.setString(4, log.getFarmerPhone());
+                ps.setObject(5, log.getRuleId());
+                ps.setString(6, log.getRuleName());
+                ps.setString(7, log.getAdvisoryType().name());
+                ps.setString(8, log.getSeverity().name());
+                ps.setString(9, log.getDeliveryStatus().name());
+                if (log.getPriority() != null) {
+                    ps.setInt(10, log.getPriority());
+                } else {
+                    ps.setNull(10, Types.INTEGER);
+                }
+                ps.setString(11, log.getDeduplicationKey());
+                ps.setString(12, log.getAdvisoryContent());
+                ps.setString(13, log.getChannel() != null ? log.getChannel().name() : null);
+                ps.setString(14, log.getDistrict());
+                ps.setString(15, log.getCropType());
+                ps.setString(16, log.getGrowthStage());
+                ps.setString(17, log.getWeatherSignal());
+                ps.setTimestamp(18, new Timestamp(log.getCreatedAt().getTime()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return logs.size();
+            }
+        });
+        List<AdvisoryDeliveryLog> conflicts = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            // ON CONFLICT DO NOTHING reports 0; SUCCESS_NO_INFO (-2) counts as inserted
+            if (counts[i] == 0) {
+                conflicts.add(logs.get(i));
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Move the logs to the status, skipping logs whose current status cannot transition to it.
+     *
+     * @return the updated logs
+     */
+    public List<UpdatedLog> updateStatus(DeliveryStatus status, List<StatusChange> changes) {
+        if (changes.isEmpty()) {
+            return List.of();
+        }
+        Object[] allowedFrom = Arrays.stream(DeliveryStatus.values())
+                .filter(current -> current.canTransitionTo(status))
+                .map(Enum::name)
+                .toArray();
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(UPDATE_STATUS_SQL);
+            ps.setString(1, status.name());
+            ps.setArray(2, connection.createArrayOf("uuid", changes.stream().map(StatusChange::logId).toArray()));
+            ps.setArray(3, connection.createArrayOf("varchar", changes.stream()
+                    .map(change -> change.channel() != null ? change.channel().name() : null).toArray()));
+            ps.setArray(4, connection.createArrayOf("text", changes.stream().map(StatusChange::failureReason).toArray()));
+            ps.setArray(5, connection.createArrayOf("timestamp", changes.stream()
+                    .map(change -> timestamp(change.deliveredAt())).toArray()));
+            ps.setArray(6, connection.createArrayOf("timestamp", changes.stream()
+                    .map(change -> timestamp(change.openedAt())).toArray()));
+            ps.setArray(7, connection.createArrayOf("varchar", changes.stream().map(StatusChange::feedback).toArray()));
+            ps.setArray(8, connection.createArrayOf("text", changes.stream().map(StatusChange::feedbackComment).toArray()));
+            ps.setArray(9, connection.createArrayOf("timestamp", changes.stream()
+                    .map(change -> timestamp(change.feedbackAt())).toArray()));
+            ps.setArray(10, connection.createArrayOf("varchar", allowedFrom));
+            return ps;
+        }, (rs, rowNum) -> new UpdatedLog(rs.getObject("id", UUID.class), rs.getTimestamp("created_at")));
+    }
+
+    private static Timestamp timestamp(Date date) {
+        return date != null ? new Timestamp(date.getTime()) : null;
+    }
+
+    /**
+     * A log moved by {@link #updateStatus}.
+     */
+    public record UpdatedLog(UUID id, Date createdAt) {
+    }
+
+    /**
+     * Fields written with a status transition; null fields are left unchanged.
+     */
+    public record StatusChange(UUID logId, DeliveryChannel channel, String failureReason, Date deliveredAt,
+                               Date openedAt, String feedback, String feedbackComment, Date feedbackAt) {
+    }
+}
@@ -43,21 +43,6 @@ public interface AdvisoryDeliveryLogRepository extends JpaRepository<AdvisoryDel
         @Query("SELECT COUNT(l) FROM AdvisoryDeliveryLog l WHERE l.deliveryStatus = :status")
         long countByDeliveryStatus(@Param("status") String status);
 
-        /**
-         * Get delivery success rate
-         */
-        @Query("SELECT CAST(COUNT(CASE WHEN l.deliveryStatus IN ('DELIVERED', 'OPENED', 'FEEDBACK_RECEIVED') THEN 1 END) AS double) / NULLIF(COUNT(l), 0) * 100 "
-                        +
-                        "FROM AdvisoryDeliveryLog l WHERE l.createdAt >= :since")
-        Double getDeliverySuccessRate(@Param("since") java.util.Date since);
-
-        /**
-         * Get feedback statistics
-         */
-        @Query("SELECT l.feedback, COUNT(l) FROM AdvisoryDeliveryLog l " +
-                        "WHERE l.feedback IS NOT NULL GROUP BY l.feedback")
-        List<Object[]> getFeedbackStatistics();
-
         /**
          * Get most triggered rules
          */
@@ -70,48 +55,6 @@ public interface AdvisoryDeliveryLogRepository extends JpaRepository<AdvisoryDel
          */
         boolean existsByDeduplicationKey(String deduplicationKey);
 
-        /**
-         * Get channel-wise statistics
-         */
-        @Query("SELECT l.channel, COUNT(l), " +
-                        "SUM(CASE WHEN l.deliveryStatus IN ('DELIVERED', 'OPENED', 'FEEDBACK_RECEIVED') THEN 1 ELSE 0 END), "
-                        +
-                        "SUM(CASE WHEN l.deliveryStatus = 'OPENED' OR l.deliveryStatus = 'FEEDBACK_RECEIVED' THEN 1 ELSE 0 END) "
-                        +
-                        "FROM AdvisoryDeliveryLog l WHERE l.createdAt >= :since AND l.channel IS NOT NULL " +
-                        "GROUP BY l.channel")
-        List<Object[]> getChannelStatistics(@Param("since") java.util.Date since);
-
-        /**
-         * Get rule effectiveness metrics
-         */
-        @Query("SELECT l.ruleName, COUNT(l), " +
-                        "SUM(CASE WHEN l.deliveryStatus = 'OPENED' OR l.deliveryStatus = 'FEEDBACK_RECEIVED' THEN 1 ELSE 0 END), "
-                        +
-                        "SUM(CASE WHEN l.feedback = 'USEFUL' THEN 1 ELSE 0 END), " +
-                        "SUM(CASE WHEN l.feedback = 'NOT_USEFUL' THEN 1 ELSE 0 END) " +
-                        "FROM AdvisoryDeliveryLog l WHERE l.createdAt >= :since AND l.ruleName IS NOT NULL " +
-                        "GROUP BY l.ruleName ORDER BY COUNT(l) DESC")
-        List<Object[]> getRuleEffectivenessMetrics(@Param("since") java.util.Date since);
-
-        /**
-         * Get district-wise statistics
-         */
-        @Query("SELECT l.district, COUNT(l), " +
-                        "SUM(CASE WHEN l.severity = 'EMERGENCY' THEN 1 ELSE 0 END), " +
-                        "SUM(CASE WHEN l.deliveryStatus = 'DELIVERY_FAILED' THEN 1 ELSE 0 END) " +
-                        "FROM AdvisoryDeliveryLog l WHERE l.createdAt >= :since AND l.district IS NOT NULL " +
-                        "GROUP BY l.district")
-        List<Object[]> getDistrictStatistics(@Param("since") java.util.Date since);
-
-        /**
-         * Find farmers with excessive advisories (alert fatigue)
-         */
-        @Query("SELECT l.farmerId, COUNT(l) FROM AdvisoryDeliveryLog l " +
-                        "WHERE l.createdAt >= :since GROUP BY l.farmerId HAVING COUNT(l) > :threshold")
-        List<Object[]> findFarmersWithExcessiveAdvisories(@Param("since") java.util.Date since,
-                        @Param("threshold") long threshold);
-
         /**
          * Find ignored emergency alerts
          */
@@ -120,19 +63,6 @@ public interface AdvisoryDeliveryLogRepository extends JpaRepository<AdvisoryDel
                         "AND l.deliveryStatus NOT IN ('OPENED', 'FEEDBACK_RECEIVED')")
         List<UUID> findIgnoredEmergencyAlerts(@Param("since") java.util.Date since);
 
-        /**
-         * Get rules with poor feedback ratio
-         */
-        @Query("SELECT l.ruleName, " +
-                        "CAST(SUM(CASE WHEN l.feedback = 'NOT_USEFUL' THEN 1 ELSE 0 END) AS double) / " +
-                        "NULLIF(SUM(CASE WHEN l.feedback IS NOT NULL THEN 1 ELSE 0 END), 0) * 100 as ratio " +
-                        "FROM AdvisoryDeliveryLog l " +
-                        "WHERE l.createdAt >= :since AND l.ruleName IS NOT NULL " +
-                        "GROUP BY l.ruleName " +
-                        "HAVING SUM(CASE WHEN l.feedback IS NOT NULL THEN 1 ELSE 0 END) >= :minFeedbackCount")
-        List<Object[]> getRulesWithPoorFeedback(@Param("since") java.util.Date since,
-                        @Param("minFeedbackCount") long minFeedbackCount);
-
         /**
          * Count total advisories since date
          */
@@ -144,33 +74,4 @@ public interface AdvisoryDeliveryLogRepository extends JpaRepository<AdvisoryDel
          */
         @Query("SELECT COUNT(l) FROM AdvisoryDeliveryLog l WHERE l.createdAt >= :since AND l.severity IN ('EMERGENCY', 'WARNING')")
         long countHighRiskSince(@Param("since") java.util.Date since);
-
-        /**
-         * Get open rate (opened/delivered)
-         */
-        @Query("SELECT CAST(SUM(CASE WHEN l.deliveryStatus IN ('OPENED', 'FEEDBACK_RECEIVED') THEN 1 ELSE 0 END) AS double) / "
-                        +
-                        "NULLIF(SUM(CASE WHEN l.deliveryStatus IN ('DELIVERED', 'OPENED', 'FEEDBACK_RECEIVED') THEN 1 ELSE 0 END), 0) * 100 "
-                        +
-                        "FROM AdvisoryDeliveryLog l WHERE l.createdAt >= :since")
-        Double getOpenRate(@Param("since") java.util.Date since);
-
-        /**
-         * Get feedback rate (feedback/opened)
-         */
-        @Query("SELECT CAST(SUM(CASE WHEN l.feedback IS NOT NULL THEN 1 ELSE 0 END) AS double) / " +
-                        "NULLIF(SUM(CASE WHEN l.deliveryStatus IN ('OPENED', 'FEEDBACK_RECEIVED') THEN 1 ELSE 0 END), 0) * 100 "
-                        +
-                        "FROM AdvisoryDeliveryLog l WHERE l.createdAt >= :since")
-        Double getFeedbackRate(@Param("since") java.util.Date since);
-
-        /**
-         * Get aggregated risk data per district
-         */
-        @Query("SELECT new com.krishihub.advisory.dto.DistrictRiskAggregation(" +
-               "l.district, COUNT(l), l.severity, l.ruleName) " +
-               "FROM AdvisoryDeliveryLog l " +
-               "WHERE l.createdAt >= :since AND l.district IS NOT NULL " +
-               "GROUP BY l.district, l.severity, l.ruleName")
-        List<com.krishihub.advisory.dto.DistrictRiskAggregation> getDistrictRiskAggregation(@Param("since") java.util.Date since);
 }
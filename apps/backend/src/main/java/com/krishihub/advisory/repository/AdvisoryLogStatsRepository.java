@@ -0,0 +1,195 @@
+package com.krishihub.advisory.repository;
+
+import com.krishihub.advisory.enums.DeliveryStatus;
+import com.krishihub.advisory.enums.Severity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Advisory log rollups in advisory_log_hourly_stats, advisory_log_daily_stats and
+ * advisory_farmer_daily_counts.
+ * Analytics read these instead of aggregating advisory_delivery_logs, so their cost
+ * depends on the window length and the number of distinct dimensions, not on log volume.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AdvisoryLogStatsRepository {
+
+    // Serializes refreshes across instances; two refreshes of one bucket would otherwise race
+    private static final long REFRESH_LOCK_KEY = 0x61647673746174L;
+
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(?)";
+
+    private static final String DELETE_HOURS_SQL = """
+            DELETE FROM advisory_log_hourly_stats WHERE bucket_start = ANY(?::timestamp[])
+            """;
+
+    private static final String INSERT_HOURS_SQL = """
+            INSERT INTO advisory_log_hourly_stats (bucket_start, district, rule_name, channel, delivery_status,
+                                                   severity, feedback, log_count)
+            SELECT h.bucket_start, COALESCE(l.district, ''), COALESCE(l.rule_name, ''), COALESCE(l.channel, ''),
+                   l.delivery_status, COALESCE(l.severity, ''), COALESCE(l.feedback, ''), COUNT(*)
+            FROM unnest(?::timestamp[]) AS h(bucket_start)
+            JOIN advisory_delivery_logs l
+              ON l.created_at >= h.bucket_start AND l.created_at < h.bucket_start + INTERVAL '1 hour'
+            GROUP BY 1, 2, 3, 4, 5, 6, 7
+            """;
+
+    private static final String DELETE_DAYS_SQL = """
+            DELETE FROM advisory_log_daily_stats WHERE stat_date = ANY(?::date[])
+            """;
+
+    private static final String INSERT_DAYS_SQL = """
+            INSERT INTO advisory_log_daily_stats (stat_date, district, rule_name, channel, delivery_status,
+                                                  severity, feedback, log_count)
+            SELECT d.stat_date, s.district, s.rule_name, s.channel, s.delivery_status, s.severity, s.feedback,
+                   SUM(s.log_count)
+            FROM unnest(?::date[]) AS d(stat_date)
+            JOIN advisory_log_hourly_stats s
+              ON s.bucket_start >= d.stat_date AND s.bucket_start < d.stat_date + 1
+            GROUP BY 1, 2, 3, 4, 5, 6, 7
+            """;
+
+    private static final String DELETE_FARMER_DAYS_SQL = """
+            DELETE FROM advisory_farmer_daily_counts WHERE stat_date = ANY(?::date[])
+            """;
+
+    private static final String INSERT_FARMER_DAYS_SQL = """
+            INSERT INTO advisory_farmer_daily_counts (stat_date, farmer_id, log_count)
+            SELECT d.stat_date, l.farmer_id, COUNT(*)
+            FROM unnest(?::date[]) AS d(stat_date)
+            JOIN advisory_delivery_logs l
+              ON l.created_at >= d.stat_date AND l.created_at < d.stat_date + 1
+            GROUP BY 1, 2
+            """;
+
+    /**
+     * Counts per dimension combination since a point in time: whole days come from the
+     * daily table and the rest of the first day from the hourly one, so the window
+     * starts at the hour.
+     */
+    private static final String STATS_SINCE_SQL = """
+            SELECT district, rule_name, channel, delivery_status, severity, feedback, SUM(log_count) AS log_count
+            FROM (
+                SELECT district, rule_name, channel, delivery_status, severity, feedback, log_count
+                FROM advisory_log_daily_stats
+                WHERE stat_date > CAST(? AS date)
+                UNION ALL
+                SELECT district, rule_name, channel, delivery_status, severity, feedback, log_count
+                FROM advisory_log_hourly_stats
+                WHERE bucket_start >= date_trunc('hour', CAST(? AS timestamp))
+                  AND bucket_start < CAST(? AS date) + 1
+            ) s
+            GROUP BY district, rule_name, channel, delivery_status, severity, feedback
+            """;
+
+    private static final String FEEDBACK_TOTALS_SQL = """
+            SELECT feedback, SUM(log_count) AS log_count
+            FROM advisory_log_daily_stats
+            WHERE feedback <> ''
+            GROUP BY feedback
+            """;
+
+    private static final String FARMERS_OVER_THRESHOLD_SQL = """
+            SELECT farmer_id, SUM(log_count) AS log_count
+            FROM advisory_farmer_daily_counts
+            WHERE stat_date >= CAST(? AS date)
+            GROUP BY farmer_id
+            HAVING SUM(log_count) > ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Recompute the given hourly buckets, the days containing them and the farmer counts
+     * of those days. Must run inside a transaction.
+     */
+    public void refresh(Collection<Date> hourStarts) {
+        if (hourStarts.isEmpty()) {
+            return;
+        }
+        Object[] hours = hourStarts.stream().map(hour -> new Timestamp(hour.getTime())).distinct().toArray();
+        Object[] days = hourStarts.stream()
+                .map(hour -> java.sql.Date.valueOf(new Timestamp(hour.getTime()).toLocalDateTime().toLocalDate()))
+                .distinct()
+                .toArray();
+
+        jdbcTemplate.query(LOCK_SQL, rs -> null, REFRESH_LOCK_KEY);
+        updateWithArray(DELETE_HOURS_SQL, "timestamp", hours);
+        updateWithArray(INSERT_HOURS_SQL, "timestamp", hours);
+        updateWithArray(DELETE_DAYS_SQL, "date", days);
+        updateWithArray(INSERT_DAYS_SQL, "date", days);
+        updateWithArray(DELETE_FARMER_DAYS_SQL, "date", days);
+        updateWithArray(INSERT_FARMER_DAYS_SQL, "date", days);
+    }
+
+    /**
+     * Deletes hourly buckets before the cutoff; their days stay in the daily rollup.
+     */
+    public int deleteHourlyBefore(Date cutoff) {
+        return jdbcTemplate.update("DELETE FROM advisory_log_hourly_stats WHERE bucket_start < ?",
+                new Timestamp(cutoff.getTime()));
+    }
+
+    public List<StatsRow> findSince(Date since) {
+        Timestamp from = new Timestamp(since.getTime());
+        return jdbcTemplate.query(STATS_SINCE_SQL, (rs, rowNum) -> new StatsRow(
+                emptyToNull(rs.getString("district")),
+                emptyToNull(rs.getString("rule_name")),
+                emptyToNull(rs.getString("channel")),
+                DeliveryStatus.valueOf(rs.getString("delivery_status")),
+                rs.getString("severity").isEmpty() ? null : Severity.valueOf(rs.getString("severity")),
+                emptyToNull(rs.getString("feedback")),
+                rs.getLong("log_count")), from, from, from);
+    }
+
+    /**
+     * All-time count per feedback value.
+     */
+    public List<FeedbackCount> findFeedbackTotals() {
+        return jdbcTemplate.query(FEEDBACK_TOTALS_SQL, (rs, rowNum) ->
+                new FeedbackCount(rs.getString("feedback"), rs.getLong("log_count")));
+    }
+
+    /**
+     * Farmers with more than threshold advisories since the start of the given day.
+     */
+    public List<FarmerCount> findFarmersOverThreshold(Date since, long threshold) {
+        return jdbcTemplate.query(FARMERS_OVER_THRESHOLD_SQL, (rs, rowNum) ->
+                        new FarmerCount(rs.getObject("farmer_id", UUID.class), rs.getLong("log_count")),
+                new Timestamp(since.getTime()), threshold);
+    }
+
+    private void updateWithArray(String sql, String type, Object[] values) {
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(sql);
+            ps.setArray(1, connection.createArrayOf(type, values));
+            return ps;
+        });
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Advisory count for one combination of dimensions; null means the log had no value.
+     */
+    public record StatsRow(String district, String ruleName, String channel, DeliveryStatus deliveryStatus,
+                           Severity severity, String feedback, long count) {
+    }
+
+    public record FeedbackCount(String feedback, long count) {
+    }
+
+    public record FarmerCount(UUID farmerId, long count) {
+    }
+}
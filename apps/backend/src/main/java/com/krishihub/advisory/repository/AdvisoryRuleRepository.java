@@ -11,6 +11,5 @@ import java.util.UUID;
 public interface AdvisoryRuleRepository extends JpaRepository<AdvisoryRule, UUID> {
     List<AdvisoryRule> findByStatus(String status);
 
-    @org.springframework.cache.annotation.Cacheable("activeRules")
     List<AdvisoryRule> findByIsActiveTrueAndStatus(String status);
 }
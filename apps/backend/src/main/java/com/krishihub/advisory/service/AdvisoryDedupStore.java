@@ -0,0 +1,56 @@
+package com.krishihub.advisory.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lock-free in-memory deduplication window.
+ *
+ * Each key holds the time its claim expires. A claim succeeds when the key is absent
+ * or expired, decided in one atomic map update, so concurrent callers never both win.
+ * Expired keys behave exactly like absent ones, which is what makes eviction safe and
+ * keeps the map bounded by the keys still inside their window.
+ */
+class AdvisoryDedupStore {
+
+    private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+
+    /**
+     * Claim the key for the window.
+     *
+     * @return true if no live claim existed
+     */
+    boolean tryClaim(String key, long windowNanos, long nowNanos) {
+        boolean[] claimed = new boolean[1];
+        expiries.compute(key, (k, current) -> {
+            if (current != null && current - nowNanos > 0) {
+                return current;
+            }
+            claimed[0] = true;
+            return nowNanos + windowNanos;
+        });
+        return claimed[0];
+    }
+
+    /**
+     * Give up a claim so a later attempt can send, e.g. when nothing was delivered.
+     */
+    void release(String key) {
+        expiries.remove(key);
+    }
+
+    /**
+     * Drop every expired claim.
+     *
+     * @return number of keys removed
+     */
+    int evictExpired(long nowNanos) {
+        int before = expiries.size();
+        expiries.values().removeIf(expiry -> expiry - nowNanos <= 0);
+        return before - expiries.size();
+    }
+
+    int size() {
+        return expiries.size();
+    }
+}
@@ -0,0 +1,124 @@
+package com.krishihub.advisory.service;
+
+import com.krishihub.config.WeatherAdvisoryConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Sliding deduplication window for advisories.
+ *
+ * Design Notes:
+ * - A key is claimed before the advisory is sent and lives for
+ *   weather.advisory.deduplication-window-hours from that moment, independent of
+ *   processing runs. A claim whose advisory was not delivered is released.
+ * - Without an explicit window it is derived from weather.advisory.processing-cron as
+ *   the shortest interval between runs less a margin. A window equal to the interval
+ *   would race the next run: a claim made late in one run could still be live, or just
+ *   expired, depending on how long that run took.
+ * - The local store is always kept, so a Redis outage degrades to per-instance
+ *   deduplication instead of duplicate sends from this instance.
+ * - With weather.advisory.deduplication-redis-enabled claims are shared, so several
+ *   instances never send the same advisory twice.
+ */
+@Service
+@Slf4j
+public class AdvisoryDeduplicationService {
+
+    private static final Duration WINDOW_MARGIN = Duration.ofMinutes(5);
+    // Fires sampled to find the shortest interval of an irregular schedule
+    private static final int SCHEDULE_SAMPLES = 48;
+
+    private final WeatherAdvisoryConfig config;
+    private final RedisAdvisoryDedupStore redisStore;
+    private final AdvisoryDedupStore localStore = new AdvisoryDedupStore();
+    private final Duration window;
+
+    public AdvisoryDeduplicationService(WeatherAdvisoryConfig config, RedisAdvisoryDedupStore redisStore) {
+        this.config = config;
+        this.redisStore = redisStore;
+        Integer windowHours = config.getAdvisory().getDeduplicationWindowHours();
+        this.window = windowHours != null
+                ? Duration.ofHours(Math.max(1, windowHours))
+                : windowFromSchedule(config.getAdvisory().getProcessingCron());
+        log.info("Advisory deduplication window: {}", window);
+    }
+
+    /**
+     * Claim the key for the deduplication window.
+     *
+     * @return true if the advisory should be sent
+     */
+    public boolean tryClaim(String key) {
+        if (!localStore.tryClaim(key, window.toNanos(), System.nanoTime())) {
+            return false;
+        }
+        if (config.getAdvisory().isDeduplicationRedisEnabled()) {
+            try {
+                if (!redisStore.tryClaim(key, window)) {
+                    // Another instance owns it; keep the local claim to skip the round trip next time
+                    return false;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Redis advisory deduplication unavailable, using local window: {}", e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    public void release(String key) {
+        localStore.release(key);
+        if (config.getAdvisory().isDeduplicationRedisEnabled()) {
+            try {
+                redisStore.release(key);
+            } catch (RuntimeException e) {
+                log.warn("Failed to release advisory claim {} in Redis: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${weather.advisory.deduplication-eviction-interval-ms:300000}")
+    public void evictExpired() {
+        int evicted = localStore.evictExpired(System.nanoTime());
+        if (evicted > 0) {
+            log.debug("Evicted {} expired advisory claims, {} remaining", evicted, localStore.size());
+        }
+    }
+
+    public int size() {
+        return localStore.size();
+    }
+
+    Duration window() {
+        return window;
+    }
+
+    /**
+     * Shortest interval between processing runs, less a margin of at most a tenth of it.
+     */
+    static Duration windowFromSchedule(String cron) {
+        CronExpression expression = CronExpression.parse(cron);
+        LocalDateTime previous = expression.next(LocalDateTime.now());
+        Duration shortest = null;
+        for (int i = 0; i < SCHEDULE_SAMPLES && previous != null; i++) {
+            LocalDateTime next = expression.next(previous);
+            if (next == null) {
+                break;
+            }
+            Duration interval = Duration.between(previous, next);
+            if (shortest == null || interval.compareTo(shortest) < 0) {
+                shortest = interval;
+            }
+            previous = next;
+        }
+        if (shortest == null) {
+            return Duration.ofHours(1).minus(WINDOW_MARGIN);
+        }
+        Duration tenth = shortest.dividedBy(10);
+        return shortest.minus(tenth.compareTo(WINDOW_MARGIN) < 0 ? tenth : WINDOW_MARGIN);
+    }
+}
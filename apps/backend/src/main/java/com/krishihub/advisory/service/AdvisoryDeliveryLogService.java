@@ -3,17 +3,23 @@ package com.krishihub.advisory.service;
 import com.krishihub.advisory.dto.*;
 import com.krishihub.advisory.entity.AdvisoryDeliveryLog;
 import com.krishihub.advisory.enums.*;
+import com.krishihub.advisory.repository.AdvisoryDeliveryLogBatchRepository;
 import com.krishihub.advisory.repository.AdvisoryDeliveryLogRepository;
+import com.krishihub.advisory.repository.AdvisoryLogStatsRepository;
+import com.krishihub.common.util.DateUtil;
 import com.krishihub.shared.dto.CursorPageResponse;
+import com.krishihub.shared.exception.BadRequestException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.List;
 import java.util.Map;
@@ -30,12 +36,19 @@ import java.util.stream.Collectors;
 @Slf4j
 public class AdvisoryDeliveryLogService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Keyset order; id breaks ties between logs created in the same instant
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final AdvisoryDeliveryLogRepository repository;
+    private final AdvisoryDeliveryLogWriter logWriter;
+    private final AdvisoryLogStatsRepository statsRepository;
 
     /**
-     * Log advisory creation (decision trace) - simplified version
+     * Log advisory creation (decision trace) - simplified version.
+     * The log is written asynchronously; the returned entity already carries its ID.
      */
-    @Transactional
     public AdvisoryDeliveryLog logAdvisoryCreated(
             UUID farmerId,
             String farmerName,
@@ -50,7 +63,7 @@ public class AdvisoryDeliveryLogService {
             String growthStage,
             String weatherSignal) {
 
-        String deduplicationKey = generateDeduplicationKey(farmerId, advisoryType, weatherSignal);
+        String deduplicationKey = generateDeduplicationKey(farmerId, ruleId, advisoryType, weatherSignal);
 
         // Check for duplicates
         // if (repository.existsByDeduplicationKey(deduplicationKey)) {
@@ -59,6 +72,7 @@ public class AdvisoryDeliveryLogService {
         // }
 
         AdvisoryDeliveryLog advisoryLog = AdvisoryDeliveryLog.builder()
+                .id(UUID.randomUUID())
                 .farmerId(farmerId)
                 .farmerName(farmerName)
                 .farmerPhone(farmerPhone)
@@ -75,13 +89,15 @@ public class AdvisoryDeliveryLogService {
                 .cropType(cropType)
                 .growthStage(growthStage)
                 .weatherSignal(weatherSignal)
+                .createdAt(DateUtil.nowUtc())
                 .build();
 
-        AdvisoryDeliveryLog saved = repository.save(advisoryLog);
-        log.info("Advisory created: id={}, farmer={}, type={}, severity={}",
-                saved.getId(), farmerId, advisoryType, severity);
+        logWriter.insert(advisoryLog);
+        // Written by the log writer, which reports it if the key turns out to be logged already
+        log.info("Advisory queued: id={}, farmer={}, type={}, severity={}",
+                advisoryLog.getId(), farmerId, advisoryType, severity);
 
-        return saved;
+        return advisoryLog;
     }
 
     /**
@@ -116,102 +132,78 @@ public class AdvisoryDeliveryLogService {
     /**
      * Update advisory to dispatched status
      */
-    @Transactional
     public void logAdvisoryDispatched(UUID logId, DeliveryChannel channel) {
-        repository.findById(logId).ifPresent(log -> {
-            if (log.getDeliveryStatus().canTransitionTo(DeliveryStatus.DISPATCHED)) {
-                log.setDeliveryStatus(DeliveryStatus.DISPATCHED);
-                log.setChannel(channel);
-                repository.save(log);
-                log(logId, "Advisory dispatched via " + channel);
-            } else {
-                AdvisoryDeliveryLogService.log.warn("Invalid status transition from {} to DISPATCHED for log {}",
-                        log.getDeliveryStatus(), logId);
-            }
-        });
+        logWriter.transition(DeliveryStatus.DISPATCHED, new AdvisoryDeliveryLogBatchRepository.StatusChange(
+                logId, channel, null, null, null, null, null, null));
+        log(logId, "Dispatch via " + channel + " queued");
     }
 
     /**
      * Log delivery attempt result
      */
-    @Transactional
     public void logDeliveryAttempt(UUID logId, boolean success, String failureReason) {
-        repository.findById(logId).ifPresent(log -> {
-            DeliveryStatus newStatus = success ? DeliveryStatus.DELIVERED : DeliveryStatus.DELIVERY_FAILED;
-
-            if (log.getDeliveryStatus().canTransitionTo(newStatus)) {
-                log.setDeliveryStatus(newStatus);
-                if (success) {
-                    log.setDeliveredAt(com.krishihub.common.util.DateUtil.nowUtc());
-                } else {
-                    log.setFailureReason(failureReason);
-                }
-                repository.save(log);
-                log(logId, success ? "Delivery successful" : "Delivery failed: " + failureReason);
-            }
-        });
+        if (success) {
+            logWriter.transition(DeliveryStatus.DELIVERED, new AdvisoryDeliveryLogBatchRepository.StatusChange(
+                    logId, null, null, DateUtil.nowUtc(), null, null, null, null));
+        } else {
+            logWriter.transition(DeliveryStatus.DELIVERY_FAILED, new AdvisoryDeliveryLogBatchRepository.StatusChange(
+                    logId, null, failureReason, null, null, null, null, null));
+        }
+        log(logId, success ? "Delivery success queued" : "Delivery failure queued: " + failureReason);
     }
 
     /**
-     * Log advisory opened by farmer
+     * Log advisory opened by farmer; only the first open is recorded
      */
-    @Transactional
     public void logAdvisoryOpened(UUID logId) {
-        repository.findById(logId).ifPresent(log -> {
-            if (log.getOpenedAt() == null && log.getDeliveryStatus().canTransitionTo(DeliveryStatus.OPENED)) {
-                log.setDeliveryStatus(DeliveryStatus.OPENED);
-                log.setOpenedAt(com.krishihub.common.util.DateUtil.nowUtc());
-                repository.save(log);
-                log(logId, "Advisory opened by farmer");
-            }
-        });
+        logWriter.transition(DeliveryStatus.OPENED, new AdvisoryDeliveryLogBatchRepository.StatusChange(
+                logId, null, null, null, DateUtil.nowUtc(), null, null, null));
+        log(logId, "Open by farmer queued");
     }
 
     /**
      * Log farmer feedback
      */
-    @Transactional
     public void logFeedbackReceived(UUID logId, String feedback, String comment) {
-        repository.findById(logId).ifPresent(log -> {
-            if (log.getDeliveryStatus().canTransitionTo(DeliveryStatus.FEEDBACK_RECEIVED)) {
-                log.setDeliveryStatus(DeliveryStatus.FEEDBACK_RECEIVED);
-                log.setFeedback(feedback);
-                log.setFeedbackComment(comment);
-                log.setFeedbackAt(com.krishihub.common.util.DateUtil.nowUtc());
-                repository.save(log);
-                log(logId, "Feedback received: " + feedback);
-            }
-        });
+        logWriter.transition(DeliveryStatus.FEEDBACK_RECEIVED, new AdvisoryDeliveryLogBatchRepository.StatusChange(
+                logId, null, null, null, null, feedback, comment, DateUtil.nowUtc()));
+        log(logId, "Feedback " + feedback + " queued");
     }
 
     /**
-     * Generate deterministic deduplication key
+     * Generate deterministic deduplication key; each rule that fires for a farmer gets its own log
      */
-    public String generateDeduplicationKey(UUID farmerId, AdvisoryType advisoryType, String signal) {
+    public String generateDeduplicationKey(UUID farmerId, UUID ruleId, AdvisoryType advisoryType, String signal) {
         // Time window: hourly
         long hourWindow = System.currentTimeMillis() / (1000 * 60 * 60);
-        return String.format("%s:%s:%s:%d", farmerId, advisoryType, signal, hourWindow);
+        return String.format("%s:%s:%s:%s:%d", farmerId, ruleId, advisoryType, signal, hourWindow);
     }
 
     /**
      * Check if advisory would be duplicate
      */
-    public boolean checkDuplication(UUID farmerId, AdvisoryType advisoryType, String signal) {
-        String key = generateDeduplicationKey(farmerId, advisoryType, signal);
+    public boolean checkDuplication(UUID farmerId, UUID ruleId, AdvisoryType advisoryType, String signal) {
+        String key = generateDeduplicationKey(farmerId, ruleId, advisoryType, signal);
         return repository.existsByDeduplicationKey(key);
     }
 
     /**
-     * Get advisory logs with filters and cursor pagination
+     * Get advisory logs with filters and keyset pagination, newest first.
+     * The cursor is the opaque nextCursor of the previous page; every page is one
+     * index range scan of limit + 1 rows, without an offset or count query.
      */
     public CursorPageResponse<AdvisoryLogResponseDTO> getAdvisoryLogs(AdvisoryLogFilterDTO filter) {
-        int limit = filter.getLimit() != null ? filter.getLimit() : 20;
-        UUID cursorId = filter.getCursor() != null ? decodeCursor(filter.getCursor()) : null;
-
-        // Build query based on filters
-        List<AdvisoryDeliveryLog> logs = repository.findAll(
-                com.krishihub.advisory.specification.AdvisoryLogSpecification.withFilter(filter),
-                PageRequest.of(0, limit + 1, Sort.by(Sort.Direction.DESC, "createdAt"))).getContent();
+        int limit = filter.getLimit() != null ? Math.max(1, Math.min(filter.getLimit(), MAX_PAGE_SIZE)) : DEFAULT_PAGE_SIZE;
+        LogCursor after = filter.getCursor() != null ? decodeCursor(filter.getCursor()) : null;
+
+        Specification<AdvisoryDeliveryLog> spec =
+                com.krishihub.advisory.specification.AdvisoryLogSpecification.withFilter(filter);
+        if (after != null) {
+            spec = spec.and(com.krishihub.advisory.specification.AdvisoryLogSpecification.after(
+                    Timestamp.from(after.createdAt()), after.id()));
+        }
+        List<AdvisoryDeliveryLog> logs = repository.findBy(spec,
+                query -> query.sortBy(KEYSET_ORDER).limit(limit + 1).all());
 
         boolean hasMore = logs.size() > limit;
         if (hasMore) {
@@ -222,7 +214,7 @@ public class AdvisoryDeliveryLogService {
                 .map(this::toResponseDTO)
                 .collect(Collectors.toList());
 
-        String nextCursor = hasMore && !logs.isEmpty() ? encodeCursor(logs.get(logs.size() - 1).getId()) : null;
+        String nextCursor = hasMore ? encodeCursor(logs.get(logs.size() - 1)) : null;
 
         return CursorPageResponse.<AdvisoryLogResponseDTO>builder()
                 .data(dtos)
@@ -311,25 +303,32 @@ public class AdvisoryDeliveryLogService {
     }
 
     /**
-     * Encode cursor (UUID to Base64)
+     * Encode the keyset position of the last log on a page.
+     * Loaded timestamps keep the column's microsecond precision so the next page
+     * neither skips nor repeats logs created within the same millisecond.
      */
-    private String encodeCursor(UUID id) {
-        return Base64.getEncoder().encodeToString(id.toString().getBytes());
+    private String encodeCursor(AdvisoryDeliveryLog log) {
+        Instant createdAt = log.getCreatedAt() instanceof Timestamp timestamp
+                ? timestamp.toInstant()
+                : log.getCreatedAt().toInstant();
+        String raw = createdAt + "|" + log.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
     }
 
-    /**
-     * Decode cursor (Base64 to UUID)
-     */
-    private UUID decodeCursor(String cursor) {
+    private LogCursor decodeCursor(String cursor) {
         try {
-            String decoded = new String(Base64.getDecoder().decode(cursor));
-            return UUID.fromString(decoded);
-        } catch (Exception e) {
-            log.warn("Invalid cursor: {}", cursor);
-            return null;
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            return new LogCursor(Instant.parse(decoded.substring(0, separator)),
+                    UUID.fromString(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
         }
     }
 
+    private record LogCursor(Instant createdAt, UUID id) {
+    }
+
     /**
      * Get district-wise risk insights based on advisory aggregations
      */
@@ -339,7 +338,17 @@ public class AdvisoryDeliveryLogService {
                 com.krishihub.common.util.DateUtil.addDays(com.krishihub.common.util.DateUtil.nowUtc(), -30)
         );
         
-        List<DistrictRiskAggregation> aggregations = repository.getDistrictRiskAggregation(since);
+        // Rollup rows are finer grained than district, severity and rule; merge them first
+        List<DistrictRiskAggregation> aggregations = statsRepository.findSince(since).stream()
+                .filter(row -> row.district() != null && row.severity() != null)
+                .collect(Collectors.toMap(
+                        row -> new RiskKey(row.district(), row.severity(), row.ruleName()),
+                        AdvisoryLogStatsRepository.StatsRow::count,
+                        Long::sum))
+                .entrySet().stream()
+                .map(entry -> new DistrictRiskAggregation(entry.getKey().district(), entry.getValue(),
+                        entry.getKey().severity(), entry.getKey().ruleName()))
+                .toList();
         
         Map<String, List<DistrictRiskAggregation>> byDistrict = aggregations.stream()
                 .collect(Collectors.groupingBy(DistrictRiskAggregation::getDistrict));
@@ -376,10 +385,17 @@ public class AdvisoryDeliveryLogService {
                 .toList();
     }
 
+    /**
+     * District, severity and rule a risk count is merged on.
+     */
+    private record RiskKey(String district, Severity severity, String ruleName) {
+    }
+
     /**
      * Structured logging helper
      */
     private void log(UUID logId, String message) {
-        log.info("AdvisoryLog[{}]: {}", logId, message);
+        // Status changes are applied asynchronously; the writer logs whether each one took effect
+        log.debug("AdvisoryLog[{}]: {}", logId, message);
     }
 }
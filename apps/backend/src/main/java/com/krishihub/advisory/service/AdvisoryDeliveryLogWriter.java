@@ -0,0 +1,248 @@
+package com.krishihub.advisory.service;
+
+import com.krishihub.advisory.entity.AdvisoryDeliveryLog;
+import com.krishihub.advisory.enums.DeliveryStatus;
+import com.krishihub.advisory.repository.AdvisoryDeliveryLogBatchRepository;
+import com.krishihub.config.WeatherAdvisoryConfig;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Buffers advisory delivery log writes and flushes them in batches.
+ *
+ * Design Notes:
+ * - Inserts and status transitions share one bounded FIFO queue, so a transition is never
+ *   written before the log it refers to.
+ * - A flush drains up to weather.delivery-log.batch-size writes and applies them in one
+ *   transaction: one JDBC batch insert, then one UPDATE per target status in lifecycle order.
+ * - When the queue is full a producer waits briefly and then flushes a batch itself, so a
+ *   slow database slows producers down instead of dropping logs or growing the heap.
+ * - If the batch transaction fails, its writes are retried one per transaction, so a row that
+ *   violates a constraint is logged and rejected on its own instead of taking the batch with it.
+ * - Transitions the current status does not allow are reported per log after the flush, and
+ *   so are inserts skipped because their deduplication key was already logged.
+ * - After each flush the hours of the written logs are marked for the analytics rollups.
+ * - Pending writes are flushed on shutdown; writes arriving after that go straight to the
+ *   database.
+ * - Readers may see a log up to one flush interval after it was recorded.
+ */
+@Component
+@Slf4j
+public class AdvisoryDeliveryLogWriter {
+
+    private final AdvisoryDeliveryLogBatchRepository batchRepository;
+    private final AdvisoryLogStatsService statsService;
+    private final WeatherAdvisoryConfig.DeliveryLog config;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingWrite> queue;
+    // Serializes flushes so batches reach the database in queue order
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private volatile boolean stopped;
+
+    public AdvisoryDeliveryLogWriter(AdvisoryDeliveryLogBatchRepository batchRepository,
+                                     AdvisoryLogStatsService statsService,
+                                     WeatherAdvisoryConfig weatherAdvisoryConfig,
+                                     PlatformTransactionManager transactionManager) {
+        this.batchRepository = batchRepository;
+        this.statsService = statsService;
+        this.config = weatherAdvisoryConfig.getDeliveryLog();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A producer flushing under back-pressure must not fail or join its own transaction
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+    }
+
+    public void insert(AdvisoryDeliveryLog deliveryLog) {
+        enqueue(new Insert(deliveryLog));
+    }
+
+    public void transition(DeliveryStatus status, AdvisoryDeliveryLogBatchRepository.StatusChange change) {
+        enqueue(new Transition(status, change));
+    }
+
+    private void enqueue(PendingWrite write) {
+        if (stopped) {
+            write(List.of(write));
+            return;
+        }
+        try {
+            while (!queue.offer(write, config.getOfferTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                flushBatch();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            write(List.of(write));
+        }
+    }
+
+    /**
+     * Write everything queued so far.
+     */
+    @Scheduled(fixedDelayString = "${weather.delivery-log.flush-interval-ms:1000}")
+    public void flush() {
+        while (!queue.isEmpty()) {
+            if (flushBatch() == 0) {
+                return;
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopped = true;
+        flush();
+        log.info("Advisory delivery log writer stopped");
+    }
+
+    public int pendingCount() {
+        return queue.size();
+    }
+
+    private int flushBatch() {
+        flushLock.lock();
+        try {
+            List<PendingWrite> batch = new ArrayList<>(Math.min(config.getBatchSize(), queue.size()));
+            queue.drainTo(batch, config.getBatchSize());
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+            return batch.size();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void write(List<PendingWrite> batch) {
+        List<AdvisoryDeliveryLog> inserts = new ArrayList<>();
+        // EnumMap iterates in declaration order, which is the forward direction of the lifecycle
+        Map<DeliveryStatus, List<AdvisoryDeliveryLogBatchRepository.StatusChange>> transitions =
+                new EnumMap<>(DeliveryStatus.class);
+        for (PendingWrite write : batch) {
+            if (write instanceof Insert insert) {
+                inserts.add(insert.deliveryLog());
+            } else if (write instanceof Transition transition) {
+                transitions.computeIfAbsent(transition.status(), status -> new ArrayList<>())
+                        .add(transition.change());
+            }
+        }
+
+        try {
+            List<Date> touched = transactionTemplate.execute(tx -> {
+                List<Date> createdAts = new ArrayList<>(recordInserts(inserts));
+                transitions.forEach((status, changes) ->
+                        createdAts.addAll(applyTransitions(status, changes)));
+                return createdAts;
+            });
+            statsService.markDirty(touched);
+            log.debug("Flushed {} advisory log inserts and {} status changes",
+                    inserts.size(), batch.size() - inserts.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} advisory delivery log entries as a batch, writing them one by one: {}",
+                    batch.size(), e.getMessage());
+            writeIndividually(inserts, transitions);
+        }
+    }
+
+    /**
+     * Write each entry in its own transaction, in the same order as a batch.
+     */
+    private void writeIndividually(List<AdvisoryDeliveryLog> inserts,
+                                   Map<DeliveryStatus, List<AdvisoryDeliveryLogBatchRepository.StatusChange>> transitions) {
+        List<Date> touched = new ArrayList<>();
+        for (AdvisoryDeliveryLog deliveryLog : inserts) {
+            try {
+                List<Date> inserted = transactionTemplate.execute(tx -> recordInserts(List.of(deliveryLog)));
+                if (inserted != null) {
+                    touched.addAll(inserted);
+                }
+            } catch (RuntimeException e) {
+                log.error("AdvisoryLog[{}]: rejected: {}", deliveryLog.getId(), e.getMessage(), e);
+            }
+        }
+        transitions.forEach((status, changes) -> {
+            for (AdvisoryDeliveryLogBatchRepository.StatusChange change : changes) {
+                try {
+                    List<Date> updated = transactionTemplate.execute(tx -> applyTransitions(status, List.of(change)));
+                    if (updated != null) {
+                        touched.addAll(updated);
+                    }
+                } catch (RuntimeException e) {
+                    log.error("AdvisoryLog[{}]: move to {} rejected: {}", change.logId(), status, e.getMessage(), e);
+                }
+            }
+        });
+        statsService.markDirty(touched);
+    }
+
+    /**
+     * Insert the logs and report the ones skipped as duplicates.
+     *
+     * @return creation times of the inserted logs
+     */
+    private List<Date> recordInserts(List<AdvisoryDeliveryLog> inserts) {
+        List<AdvisoryDeliveryLog> conflicts = batchRepository.insertAll(inserts);
+        List<Date> createdAts = new ArrayList<>(inserts.size());
+        for (AdvisoryDeliveryLog deliveryLog : inserts) {
+            if (conflicts.contains(deliveryLog)) {
+                log.warn("AdvisoryLog[{}]: not recorded, deduplication key {} is already logged",
+                        deliveryLog.getId(), deliveryLog.getDeduplicationKey());
+            } else {
+                createdAts.add(deliveryLog.getCreatedAt());
+            }
+        }
+        return createdAts;
+    }
+
+    /**
+     * Apply one status's transitions and report the logs whose current status did not allow it.
+     *
+     * @return creation times of the updated logs
+     */
+    private List<Date> applyTransitions(DeliveryStatus status,
+                                        List<AdvisoryDeliveryLogBatchRepository.StatusChange> changes) {
+        List<AdvisoryDeliveryLogBatchRepository.UpdatedLog> updated = batchRepository.updateStatus(status, changes);
+        Set<UUID> updatedIds = new HashSet<>();
+        List<Date> createdAts = new ArrayList<>(updated.size());
+        for (AdvisoryDeliveryLogBatchRepository.UpdatedLog updatedLog : updated) {
+            updatedIds.add(updatedLog.id());
+            createdAts.add(updatedLog.createdAt());
+            log.info("AdvisoryLog[{}]: moved to {}", updatedLog.id(), status);
+        }
+        for (AdvisoryDeliveryLogBatchRepository.StatusChange change : changes) {
+            if (!updatedIds.contains(change.logId())) {
+                log.warn("AdvisoryLog[{}]: move to {} skipped; the log is missing or its status does not allow it",
+                        change.logId(), status);
+            }
+        }
+        return createdAts;
+    }
+
+    private sealed interface PendingWrite permits Insert, Transition {
+    }
+
+    private record Insert(AdvisoryDeliveryLog deliveryLog) implements PendingWrite {
+    }
+
+    private record Transition(DeliveryStatus status, AdvisoryDeliveryLogBatchRepository.StatusChange change)
+            implements PendingWrite {
+    }
+}
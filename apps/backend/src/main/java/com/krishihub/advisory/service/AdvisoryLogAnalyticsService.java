@@ -3,29 +3,46 @@ package com.krishihub.advisory.service;
 import com.krishihub.advisory.dto.AdvisoryAnalyticsDTO;
 import com.krishihub.advisory.dto.AdvisoryAnalyticsDTO.*;
 import com.krishihub.advisory.enums.DeliveryChannel;
+import com.krishihub.advisory.enums.DeliveryStatus;
+import com.krishihub.advisory.enums.Severity;
 import com.krishihub.advisory.repository.AdvisoryDeliveryLogRepository;
+import com.krishihub.advisory.repository.AdvisoryLogStatsRepository;
+import com.krishihub.advisory.repository.AdvisoryLogStatsRepository.StatsRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * Analytics service for advisory logs
  * Provides insights for rule tuning, district risk assessment, and farmer
  * engagement
+ *
+ * Metrics are computed from the hourly and daily rollups kept by
+ * {@link AdvisoryLogStatsService}, so windows start at the hour and alert fatigue
+ * counts at the day.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AdvisoryLogAnalyticsService {
 
+    private static final Set<DeliveryStatus> DELIVERED = EnumSet.of(
+            DeliveryStatus.DELIVERED, DeliveryStatus.OPENED, DeliveryStatus.FEEDBACK_RECEIVED);
+    private static final Set<DeliveryStatus> OPENED = EnumSet.of(
+            DeliveryStatus.OPENED, DeliveryStatus.FEEDBACK_RECEIVED);
+
     private final AdvisoryDeliveryLogRepository repository;
+    private final AdvisoryLogStatsRepository statsRepository;
 
     /**
      * Get comprehensive analytics
@@ -40,15 +57,16 @@ public class AdvisoryLogAnalyticsService {
 
         log.info("Generating analytics since {}", since);
 
+        List<StatsRow> rows = statsRepository.findSince(since);
         return AdvisoryAnalyticsDTO.builder()
-                .totalAdvisories(getTotalAdvisories(since))
-                .deliverySuccessRate(getDeliverySuccessRate(since))
-                .openRate(getOpenRate(since))
-                .feedbackRate(getFeedbackRate(since))
-                .channelPerformance(getChannelPerformance(since))
-                .ruleEffectiveness(getRuleEffectiveness(since))
+                .totalAdvisories(count(rows, row -> true))
+                .deliverySuccessRate(rate(rows, row -> DELIVERED.contains(row.deliveryStatus()), row -> true))
+                .openRate(openRate(rows))
+                .feedbackRate(feedbackRate(rows))
+                .channelPerformance(channelPerformance(rows))
+                .ruleEffectiveness(ruleEffectiveness(rows))
                 .feedbackDistribution(getFeedbackDistribution())
-                .districtInsights(getDistrictInsights(since))
+                .districtInsights(districtInsights(rows))
                 .build();
     }
 
@@ -56,46 +74,57 @@ public class AdvisoryLogAnalyticsService {
      * Get total advisories count
      */
     public Long getTotalAdvisories(java.util.Date since) {
-        return repository.countSince(since);
+        return count(statsRepository.findSince(since), row -> true);
     }
 
     /**
      * Get delivery success rate
      */
     public Double getDeliverySuccessRate(java.util.Date since) {
-        Double rate = repository.getDeliverySuccessRate(since);
-        return rate != null ? rate : 0.0;
+        return rate(statsRepository.findSince(since), row -> DELIVERED.contains(row.deliveryStatus()), row -> true);
     }
 
     /**
      * Get open rate (opened / delivered)
      */
     public Double getOpenRate(java.util.Date since) {
-        Double rate = repository.getOpenRate(since);
-        return rate != null ? rate : 0.0;
+        return openRate(statsRepository.findSince(since));
+    }
+
+    private Double openRate(List<StatsRow> rows) {
+        return rate(rows, row -> OPENED.contains(row.deliveryStatus()), row -> DELIVERED.contains(row.deliveryStatus()));
     }
 
     /**
      * Get feedback rate (feedback / opened)
      */
     public Double getFeedbackRate(java.util.Date since) {
-        Double rate = repository.getFeedbackRate(since);
-        return rate != null ? rate : 0.0;
+        return feedbackRate(statsRepository.findSince(since));
+    }
+
+    private Double feedbackRate(List<StatsRow> rows) {
+        return rate(rows, row -> row.feedback() != null, row -> OPENED.contains(row.deliveryStatus()));
     }
 
     /**
      * Get channel performance metrics
      */
     public Map<String, ChannelMetrics> getChannelPerformance(java.util.Date since) {
+        return channelPerformance(statsRepository.findSince(since));
+    }
+
+    private Map<String, ChannelMetrics> channelPerformance(List<StatsRow> rows) {
         Map<String, ChannelMetrics> metrics = new HashMap<>();
 
-        List<Object[]> channelStats = repository.getChannelStatistics(since);
+        Map<String, List<StatsRow>> byChannel = rows.stream()
+                .filter(row -> row.channel() != null)
+                .collect(Collectors.groupingBy(StatsRow::channel));
 
-        for (Object[] row : channelStats) {
-            String channelName = row[0] != null ? row[0].toString() : "UNKNOWN";
-            Long totalSent = ((Number) row[1]).longValue();
-            Long delivered = ((Number) row[2]).longValue();
-            Long opened = ((Number) row[3]).longValue();
+        for (Map.Entry<String, List<StatsRow>> entry : byChannel.entrySet()) {
+            String channelName = entry.getKey();
+            Long totalSent = count(entry.getValue(), row -> true);
+            Long delivered = count(entry.getValue(), row -> DELIVERED.contains(row.deliveryStatus()));
+            Long opened = count(entry.getValue(), row -> OPENED.contains(row.deliveryStatus()));
 
             double successRate = totalSent > 0 ? (delivered * 100.0 / totalSent) : 0.0;
 
@@ -125,16 +154,19 @@ public class AdvisoryLogAnalyticsService {
      * Get rule effectiveness metrics
      */
     public Map<String, RuleMetrics> getRuleEffectiveness(java.util.Date since) {
-        Map<String, RuleMetrics> metrics = new HashMap<>();
+        return ruleEffectiveness(statsRepository.findSince(since));
+    }
 
-        List<Object[]> ruleStats = repository.getRuleEffectivenessMetrics(since);
+    private Map<String, RuleMetrics> ruleEffectiveness(List<StatsRow> rows) {
+        Map<String, RuleMetrics> metrics = new HashMap<>();
 
-        for (Object[] row : ruleStats) {
-            String ruleName = (String) row[0];
-            Long triggerCount = ((Number) row[1]).longValue();
-            Long openCount = ((Number) row[2]).longValue();
-            Long usefulFeedback = ((Number) row[3]).longValue();
-            Long notUsefulFeedback = ((Number) row[4]).longValue();
+        for (Map.Entry<String, List<StatsRow>> entry : byRule(rows).entrySet()) {
+            String ruleName = entry.getKey();
+            List<StatsRow> ruleRows = entry.getValue();
+            Long triggerCount = count(ruleRows, row -> true);
+            Long openCount = count(ruleRows, row -> OPENED.contains(row.deliveryStatus()));
+            Long usefulFeedback = count(ruleRows, row -> "USEFUL".equals(row.feedback()));
+            Long notUsefulFeedback = count(ruleRows, row -> "NOT_USEFUL".equals(row.feedback()));
 
             double openRate = triggerCount > 0 ? (openCount * 100.0 / triggerCount) : 0.0;
             double feedbackRatio = (usefulFeedback + notUsefulFeedback) > 0
@@ -162,11 +194,8 @@ public class AdvisoryLogAnalyticsService {
     public Map<String, Long> getFeedbackDistribution() {
         Map<String, Long> distribution = new HashMap<>();
 
-        List<Object[]> stats = repository.getFeedbackStatistics();
-        for (Object[] row : stats) {
-            String feedback = (String) row[0];
-            Long count = ((Number) row[1]).longValue();
-            distribution.put(feedback, count);
+        for (AdvisoryLogStatsRepository.FeedbackCount row : statsRepository.findFeedbackTotals()) {
+            distribution.put(row.feedback(), row.count());
         }
 
         // Ensure both feedback types are present
@@ -181,15 +210,22 @@ public class AdvisoryLogAnalyticsService {
      * Get district-wise insights
      */
     public Map<String, DistrictMetrics> getDistrictInsights(java.util.Date since) {
+        return districtInsights(statsRepository.findSince(since));
+    }
+
+    private Map<String, DistrictMetrics> districtInsights(List<StatsRow> rows) {
         Map<String, DistrictMetrics> insights = new HashMap<>();
 
-        List<Object[]> districtStats = repository.getDistrictStatistics(since);
+        Map<String, List<StatsRow>> byDistrict = rows.stream()
+                .filter(row -> row.district() != null)
+                .collect(Collectors.groupingBy(StatsRow::district));
 
-        for (Object[] row : districtStats) {
-            String district = (String) row[0];
-            Long advisoryCount = ((Number) row[1]).longValue();
-            Long emergencyCount = ((Number) row[2]).longValue();
-            Long failureCount = ((Number) row[3]).longValue();
+        for (Map.Entry<String, List<StatsRow>> entry : byDistrict.entrySet()) {
+            String district = entry.getKey();
+            Long advisoryCount = count(entry.getValue(), row -> true);
+            Long emergencyCount = count(entry.getValue(), row -> row.severity() == Severity.EMERGENCY);
+            Long failureCount = count(entry.getValue(),
+                    row -> row.deliveryStatus() == DeliveryStatus.DELIVERY_FAILED);
 
             double failureRate = advisoryCount > 0 ? (failureCount * 100.0 / advisoryCount) : 0.0;
 
@@ -206,17 +242,16 @@ public class AdvisoryLogAnalyticsService {
     }
 
     /**
-     * Detect alert fatigue (repeated advisories per farmer)
+     * Detect alert fatigue (repeated advisories per farmer), counting whole days from the
+     * day of since
      */
     public Map<UUID, Long> detectAlertFatigue(java.util.Date since, int threshold) {
         log.info("Detecting alert fatigue with threshold {} since {}", threshold, since);
 
-        List<Object[]> results = repository.findFarmersWithExcessiveAdvisories(since, threshold);
-
-        return results.stream()
+        return statsRepository.findFarmersOverThreshold(since, threshold).stream()
                 .collect(Collectors.toMap(
-                        row -> (UUID) row[0],
-                        row -> ((Number) row[1]).longValue()));
+                        AdvisoryLogStatsRepository.FarmerCount::farmerId,
+                        AdvisoryLogStatsRepository.FarmerCount::count));
     }
 
     /**
@@ -244,12 +279,15 @@ public class AdvisoryLogAnalyticsService {
 
         log.info("Finding rules with poor feedback (threshold: {}%, min feedback: {})", threshold, minFeedbackCount);
 
-        List<Object[]> results = repository.getRulesWithPoorFeedback(since, minFeedbackCount);
-
         Map<String, Double> poorRules = new HashMap<>();
-        for (Object[] row : results) {
-            String ruleName = (String) row[0];
-            Double notUsefulPercentage = row[1] != null ? ((Number) row[1]).doubleValue() : 0.0;
+        for (Map.Entry<String, List<StatsRow>> entry : byRule(statsRepository.findSince(since)).entrySet()) {
+            String ruleName = entry.getKey();
+            long feedbackCount = count(entry.getValue(), row -> row.feedback() != null);
+            if (feedbackCount < minFeedbackCount) {
+                continue;
+            }
+            double notUsefulPercentage = rate(entry.getValue(),
+                    row -> "NOT_USEFUL".equals(row.feedback()), row -> row.feedback() != null);
 
             if (notUsefulPercentage >= threshold) {
                 poorRules.put(ruleName, notUsefulPercentage);
@@ -267,7 +305,7 @@ public class AdvisoryLogAnalyticsService {
         // This would require more complex date grouping queries
         // For now, return basic counts
         Map<String, Long> trends = new HashMap<>();
-        trends.put("total", repository.countSince(since));
+        trends.put("total", getTotalAdvisories(since));
         return trends;
     }
 
@@ -276,8 +314,9 @@ public class AdvisoryLogAnalyticsService {
      * Combines open rate and feedback rate
      */
     public Double getFarmerEngagementScore(java.util.Date since) {
-        Double openRate = getOpenRate(since);
-        Double feedbackRate = getFeedbackRate(since);
+        List<StatsRow> rows = statsRepository.findSince(since);
+        Double openRate = openRate(rows);
+        Double feedbackRate = feedbackRate(rows);
 
         // Weighted average: 60% open rate, 40% feedback rate
         return (openRate * 0.6) + (feedbackRate * 0.4);
@@ -346,4 +385,22 @@ public class AdvisoryLogAnalyticsService {
                 .map(Map.Entry::getKey)
                 .collect(Collectors.toList());
     }
+
+    private static Map<String, List<StatsRow>> byRule(List<StatsRow> rows) {
+        return rows.stream()
+                .filter(row -> row.ruleName() != null)
+                .collect(Collectors.groupingBy(StatsRow::ruleName));
+    }
+
+    private static long count(List<StatsRow> rows, Predicate<StatsRow> filter) {
+        return rows.stream().filter(filter).mapToLong(StatsRow::count).sum();
+    }
+
+    /**
+     * Count matching part as a percentage of the count matching base, 0 when nothing matches base
+     */
+    private static double rate(List<StatsRow> rows, Predicate<StatsRow> part, Predicate<StatsRow> base) {
+        long total = count(rows, base);
+        return total > 0 ? count(rows, part) * 100.0 / total : 0.0;
+    }
 }
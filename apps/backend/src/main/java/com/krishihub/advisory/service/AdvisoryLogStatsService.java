@@ -0,0 +1,123 @@
+package com.krishihub.advisory.service;
+
+import com.krishihub.advisory.repository.AdvisoryLogStatsRepository;
+import com.krishihub.config.WeatherAdvisoryConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the advisory log rollups up to date.
+ *
+ * Design Notes:
+ * - The log writer marks the hour of every log it inserts or moves to a new status; the
+ *   refresh recomputes only those hourly buckets and the days containing them.
+ * - Every refresh also recomputes the current and previous hour, which picks up logs
+ *   written by other instances or outside the writer within a refresh interval or two.
+ * - Hours whose refresh fails are kept for the next run.
+ * - Dirty marks live in memory only, so a daily re-sweep recomputes every hour of the
+ *   last weather.analytics.rollup-resweep-days days to repair refreshes lost on restart.
+ * - The same job deletes hourly buckets older than weather.analytics.hourly-stats-retention-days;
+ *   those days remain in the daily rollup, and refreshes skip hours that old so a late
+ *   status change cannot rebuild a day from partial hourly data.
+ * - Hours are truncated in the JVM time zone, the same one timestamps are bound in, so
+ *   they match the buckets PostgreSQL derives from created_at.
+ */
+@Service
+@Slf4j
+public class AdvisoryLogStatsService {
+
+    private final AdvisoryLogStatsRepository statsRepository;
+    private final WeatherAdvisoryConfig.Analytics config;
+    private final TransactionTemplate transactionTemplate;
+    private final Set<Date> dirtyHours = ConcurrentHashMap.newKeySet();
+
+    public AdvisoryLogStatsService(AdvisoryLogStatsRepository statsRepository,
+                                   WeatherAdvisoryConfig weatherAdvisoryConfig,
+                                   PlatformTransactionManager transactionManager) {
+        this.statsRepository = statsRepository;
+        this.config = weatherAdvisoryConfig.getAnalytics();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Mark the hours containing the given log creation times for recomputation.
+     */
+    public void markDirty(Collection<? extends Date> createdAts) {
+        for (Date createdAt : createdAts) {
+            if (createdAt != null) {
+                dirtyHours.add(hourOf(createdAt));
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${weather.analytics.rollup-refresh-interval-ms:60000}")
+    public void refresh() {
+        List<Date> hours = new ArrayList<>(dirtyHours);
+        dirtyHours.removeAll(hours);
+
+        long now = System.currentTimeMillis();
+        hours.add(hourOf(new Date(now)));
+        hours.add(hourOf(new Date(now - ChronoUnit.HOURS.getDuration().toMillis())));
+        Date retained = retentionCutoff();
+        hours.removeIf(hour -> hour.before(retained));
+
+        try {
+            transactionTemplate.executeWithoutResult(tx -> statsRepository.refresh(hours));
+            log.debug("Refreshed advisory log rollups for {} hours", hours.size());
+        } catch (RuntimeException e) {
+            dirtyHours.addAll(hours);
+            log.error("Failed to refresh advisory log rollups for {} hours: {}", hours.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Re-sweeps recent days and applies hourly stats retention.
+     */
+    @Scheduled(cron = "${weather.analytics.rollup-maintenance-cron:0 40 3 * * *}")
+    public void maintain() {
+        Date currentHour = hourOf(new Date());
+        long hourMillis = ChronoUnit.HOURS.getDuration().toMillis();
+        int resweepHours = config.getRollupResweepDays() * 24;
+        for (int i = 1; i <= resweepHours; i++) {
+            dirtyHours.add(hourOf(new Date(currentHour.getTime() - i * hourMillis)));
+        }
+        log.info("Queued {} hours of advisory log rollups for re-sweep", resweepHours);
+
+        try {
+            int deleted = transactionTemplate.execute(tx -> statsRepository.deleteHourlyBefore(retentionCutoff()));
+            log.info("Deleted {} advisory log hourly stats rows past retention", deleted);
+        } catch (RuntimeException e) {
+            log.error("Failed to apply advisory log hourly stats retention: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Start of the oldest day whose hourly buckets are kept.
+     */
+    private Date retentionCutoff() {
+        LocalDateTime today = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS);
+        return new Date(Timestamp.valueOf(today.minusDays(config.getHourlyStatsRetentionDays())).getTime());
+    }
+
+    int dirtyCount() {
+        return dirtyHours.size();
+    }
+
+    private static Date hourOf(Date date) {
+        LocalDateTime local = new Timestamp(date.getTime()).toLocalDateTime();
+        return new Date(Timestamp.valueOf(local.truncatedTo(ChronoUnit.HOURS)).getTime());
+    }
+}
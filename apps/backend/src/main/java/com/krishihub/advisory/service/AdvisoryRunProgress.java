@@ -0,0 +1,148 @@
+package com.krishihub.advisory.service;
+
+import com.krishihub.common.util.DateUtil;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of one weather advisory run, tracked per district partition.
+ * Partitions are updated from the run's worker threads and read by the health endpoint.
+ */
+public class AdvisoryRunProgress {
+
+    public enum State { PENDING, RUNNING, COMPLETED, TIMED_OUT, FAILED }
+
+    private final Date startedAt = DateUtil.nowUtc();
+    private final long deadlineNanos;
+    private final Map<String, Partition> partitions = new LinkedHashMap<>();
+    private final Set<Thread> workers = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+    private volatile boolean abandoned;
+    private volatile Date finishedAt;
+
+    public AdvisoryRunProgress(List<String> districts, long timeoutMs) {
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        // Filled once up front, so later reads need no locking
+        districts.forEach(district -> partitions.put(district, new Partition()));
+    }
+
+    public Partition partition(String district) {
+        return partitions.get(district);
+    }
+
+    /**
+     * True once the deadline has passed or the run was cancelled; workers stop at the next farmer.
+     */
+    public boolean isExpired() {
+        return cancelled || System.nanoTime() - deadlineNanos > 0;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public void finish() {
+        finishedAt = DateUtil.nowUtc();
+    }
+
+    /**
+     * Registers the calling thread as working on this run until {@link #workerFinished()}.
+     */
+    void workerStarted() {
+        workers.add(Thread.currentThread());
+    }
+
+    void workerFinished() {
+        workers.remove(Thread.currentThread());
+    }
+
+    /**
+     * Gives up on workers still busy past the grace period: cancels the run and interrupts them.
+     *
+     * @return number of workers interrupted
+     */
+    int abandon() {
+        cancelled = true;
+        abandoned = true;
+        int interrupted = 0;
+        for (Thread worker : workers) {
+            worker.interrupt();
+            interrupted++;
+        }
+        return interrupted;
+    }
+
+    public int totalAdvisories() {
+        return partitions.values().stream().mapToInt(partition -> partition.advisories.get()).sum();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> districts = new LinkedHashMap<>();
+        partitions.forEach((district, partition) -> districts.put(district, Map.of(
+                "state", partition.state,
+                "farmers", partition.farmers.get(),
+                "processed", partition.processed.get(),
+                "advisories", partition.advisories.get(),
+                "failures", partition.failures.get())));
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("startedAt", startedAt);
+        snapshot.put("finishedAt", finishedAt);
+        snapshot.put("totalAdvisories", totalAdvisories());
+        snapshot.put("abandoned", abandoned);
+        snapshot.put("activeWorkers", workers.size());
+        snapshot.put("partitions", districts);
+        return snapshot;
+    }
+
+    /**
+     * Counters of one district; its farmer slices may update them concurrently.
+     */
+    public static final class Partition {
+        private final AtomicInteger farmers = new AtomicInteger();
+        private final AtomicInteger processed = new AtomicInteger();
+        private final AtomicInteger advisories = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private volatile State state = State.PENDING;
+
+        void start(int farmerCount) {
+            farmers.set(farmerCount);
+            if (state == State.PENDING) {
+                state = State.RUNNING;
+            }
+        }
+
+        void farmerProcessed(boolean advisoryCreated) {
+            processed.incrementAndGet();
+            if (advisoryCreated) {
+                advisories.incrementAndGet();
+            }
+        }
+
+        void farmerFailed() {
+            processed.incrementAndGet();
+            failures.incrementAndGet();
+        }
+
+        void timedOut() {
+            state = State.TIMED_OUT;
+        }
+
+        void completed() {
+            if (state != State.TIMED_OUT) {
+                state = State.COMPLETED;
+            }
+        }
+
+        void failed() {
+            state = State.FAILED;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.krishihub.advisory.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Deduplication window shared across instances.
+ * A claim is a SET NX with the window as expiry, so exactly one instance wins per key
+ * and Redis drops the key by itself once the window has passed.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisAdvisoryDedupStore {
+
+    private static final String KEY_PREFIX = "advisory:dedup:";
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Claim the key for the window.
+     * Redis errors propagate so the caller can decide how to degrade.
+     */
+    public boolean tryClaim(String key, Duration window) {
+        Boolean claimed = redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, "1", window);
+        return Boolean.TRUE.equals(claimed);
+    }
+
+    public void release(String key) {
+        redisTemplate.delete(KEY_PREFIX + key);
+    }
+}
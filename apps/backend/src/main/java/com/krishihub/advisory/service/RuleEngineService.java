@@ -2,14 +2,19 @@ package com.krishihub.advisory.service;
 
 import com.krishihub.advisory.dto.RuleSimulationRequest;
 import com.krishihub.advisory.dto.RuleSimulationResponse;
+import com.krishihub.advisory.engine.ActiveRuleRegistry;
+import com.krishihub.advisory.engine.CompiledRule;
+import com.krishihub.advisory.engine.RuleCompiler;
+import com.krishihub.advisory.engine.RuleSnapshot;
+import com.krishihub.advisory.engine.RulesChangedEvent;
 import com.krishihub.advisory.entity.AdvisoryRule;
 import com.krishihub.advisory.repository.AdvisoryRuleRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
 import java.util.Map;
-import java.util.Objects;
 import java.util.UUID;
 
 @Service
@@ -19,9 +24,10 @@ public class RuleEngineService {
     private final AdvisoryRuleRepository ruleRepository;
     private final com.krishihub.auth.repository.UserRepository userRepository;
     private final com.krishihub.marketplace.repository.CropListingRepository cropListingRepository;
+    private final ActiveRuleRegistry ruleRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     @org.springframework.transaction.annotation.Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = "activeRules", allEntries = true)
     public com.krishihub.advisory.dto.RuleDTO createRule(com.krishihub.advisory.dto.RuleDTO ruleDTO) {
         AdvisoryRule rule = AdvisoryRule.builder()
                 .name(ruleDTO.getName())
@@ -38,12 +44,12 @@ public class RuleEngineService {
         AdvisoryRule saved = ruleRepository.save(rule);
         saved.setRuleGroupId(saved.getId()); // Initial rule is its own group
         ruleRepository.save(saved);
+        eventPublisher.publishEvent(new RulesChangedEvent(this, saved.getRuleGroupId()));
 
         return mapToDTO(saved);
     }
 
     @org.springframework.transaction.annotation.Transactional
-    @org.springframework.cache.annotation.CacheEvict(value = "activeRules", allEntries = true)
     public com.krishihub.advisory.dto.RuleDTO updateRule(java.util.UUID id,
             com.krishihub.advisory.dto.RuleDTO ruleDTO) {
         AdvisoryRule existing = ruleRepository.findById(id)
@@ -69,6 +75,7 @@ public class RuleEngineService {
                 .build();
 
         AdvisoryRule saved = ruleRepository.save(newVersion);
+        eventPublisher.publishEvent(new RulesChangedEvent(this, saved.getRuleGroupId()));
         return mapToDTO(saved);
     }
 
@@ -100,18 +107,16 @@ public class RuleEngineService {
     }
 
     public java.util.List<com.krishihub.advisory.model.RuleResult> executeRules(Map<String, Object> context) {
-        java.util.List<AdvisoryRule> activeRules = ruleRepository.findByIsActiveTrueAndStatus("ACTIVE");
+        RuleSnapshot snapshot = ruleRegistry.current();
         java.util.List<com.krishihub.advisory.model.RuleResult> results = new java.util.ArrayList<>();
 
-        for (AdvisoryRule rule : activeRules) {
-            boolean isMatch = evaluateDefinition(rule.getDefinition(), context);
-
-            if (isMatch) {
+        for (CompiledRule rule : snapshot.rules()) {
+            if (rule.matches(context)) {
                 results.add(com.krishihub.advisory.model.RuleResult.builder()
-                        .ruleId(rule.getId())
-                        .ruleName(rule.getName())
+                        .ruleId(rule.id())
+                        .ruleName(rule.name())
                         .triggered(true)
-                        .actions(rule.getDefinition().getActions())
+                        .actions(rule.actions())
                         .matchReason("Conditions met")
                         .executedAt(new Date())
                         .build());
@@ -171,66 +176,7 @@ public class RuleEngineService {
     // Core Evaluation Logic
     public boolean evaluateDefinition(com.krishihub.advisory.model.RuleDefinition definition,
             Map<String, Object> context) {
-        if (definition == null || definition.getConditions() == null || definition.getConditions().isEmpty()) {
-            return true;
-        }
-
-        boolean result = "OR".equalsIgnoreCase(definition.getLogic()) ? false : true;
-
-        for (com.krishihub.advisory.model.RuleCondition condition : definition.getConditions()) {
-            boolean conditionMet = checkCondition(condition, context);
-
-            if ("OR".equalsIgnoreCase(definition.getLogic())) {
-                result = result || conditionMet;
-                if (result)
-                    break; // Short-circuit OR
-            } else { // AND
-                result = result && conditionMet;
-                if (!result)
-                    break; // Short-circuit AND
-            }
-        }
-        return result;
-    }
-
-    private boolean checkCondition(com.krishihub.advisory.model.RuleCondition condition, Map<String, Object> context) {
-        String field = condition.getField();
-        Object actualValue = context.get(field);
-        Object expectedValue = condition.getValue();
-        String operator = condition.getOperator() != null ? condition.getOperator().toUpperCase() : "EQUALS";
-
-        if (actualValue == null)
-            return false; // Fail safe for missing data
-
-        switch (operator) {
-            case "EQUALS":
-                return Objects.equals(actualValue.toString(), expectedValue.toString());
-            case "GT": // Greater Than
-                return compare(actualValue, expectedValue) > 0;
-            case "LT": // Less Than
-                return compare(actualValue, expectedValue) < 0;
-            case "GTE": // Greater Than Equals
-                return compare(actualValue, expectedValue) >= 0;
-            case "LTE": // Less Than Equals
-                return compare(actualValue, expectedValue) <= 0;
-            case "IN":
-                return expectedValue.toString().contains(actualValue.toString()); // Simple string contains for now,
-                                                                                  // ideally List check
-            case "CONTAINS":
-                return actualValue.toString().contains(expectedValue.toString());
-            default:
-                return false;
-        }
-    }
-
-    private int compare(Object v1, Object v2) {
-        try {
-            double d1 = Double.parseDouble(v1.toString());
-            double d2 = Double.parseDouble(v2.toString());
-            return Double.compare(d1, d2);
-        } catch (NumberFormatException e) {
-            return v1.toString().compareTo(v2.toString());
-        }
+        return RuleCompiler.compile(definition).test(context);
     }
 
     // Helper to map old map-based conditions to new RuleCondition list for
@@ -5,11 +5,11 @@ import com.krishihub.advisory.context.WeatherAdvisoryContext;
 import com.krishihub.advisory.enums.AdvisoryType;
 import com.krishihub.advisory.enums.Severity;
 import com.krishihub.advisory.model.RuleResult;
-import com.krishihub.advisory.repository.AdvisoryDeliveryLogRepository;
 import com.krishihub.advisory.weather.WeatherIngestionService;
 import com.krishihub.advisory.weather.model.WeatherSignal;
-import lombok.RequiredArgsConstructor;
+import com.krishihub.config.WeatherAdvisoryConfig;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -17,13 +17,30 @@ import org.springframework.transaction.annotation.Transactional;
 
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Main orchestration service for Weather Advisory system
  * Coordinates the entire flow from weather signal to notification delivery
+ *
+ * Design Notes:
+ * - A run is split into one partition per district with active signals. Each partition
+ *   builds its contexts and then processes its farmers in slices of
+ *   weather.advisory.partition-size on the bounded advisory run executor.
+ * - Every run has a deadline of weather.advisory.run-timeout-ms; workers stop at the next
+ *   farmer once it passes, and unprocessed farmers are picked up by the next run.
+ * - Workers still busy weather.advisory.run-grace-ms after the deadline (e.g. stuck in a
+ *   call that ignores the deadline) are interrupted and the run is abandoned, so one hung
+ *   call cannot block later runs. The health status reports abandoned runs.
+ * - A run that starts while the previous one's workers are still finishing is skipped, so
+ *   runs never overlap.
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class WeatherAdvisoryOrchestrator {
 
@@ -31,91 +48,189 @@ public class WeatherAdvisoryOrchestrator {
     private final ContextBuilderService contextBuilderService;
     private final RuleEngineService ruleEngineService;
     private final WeatherAdvisoryNotificationService notificationService;
-    private final AdvisoryDeliveryLogRepository deliveryLogRepository;
     private final AdvisoryDeliveryLogService advisoryDeliveryLogService;
-    private final com.krishihub.auth.repository.UserRepository userRepository;
-
-    // Deduplication cache to prevent alert storms
-    private final Set<String> recentAlerts = Collections.synchronizedSet(new HashSet<>());
+    private final AdvisoryDeduplicationService deduplicationService;
+    private final WeatherAdvisoryConfig.Advisory config;
+    private final Executor runExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile AdvisoryRunProgress lastRun;
+
+    public WeatherAdvisoryOrchestrator(WeatherIngestionService weatherIngestionService,
+                                       ContextBuilderService contextBuilderService,
+                                       RuleEngineService ruleEngineService,
+                                       WeatherAdvisoryNotificationService notificationService,
+                                       AdvisoryDeliveryLogService advisoryDeliveryLogService,
+                                       AdvisoryDeduplicationService deduplicationService,
+                                       WeatherAdvisoryConfig weatherAdvisoryConfig,
+                                       @Qualifier("advisoryRunExecutor") Executor runExecutor) {
+        this.weatherIngestionService = weatherIngestionService;
+        this.contextBuilderService = contextBuilderService;
+        this.ruleEngineService = ruleEngineService;
+        this.notificationService = notificationService;
+        this.advisoryDeliveryLogService = advisoryDeliveryLogService;
+        this.deduplicationService = deduplicationService;
+        this.config = weatherAdvisoryConfig.getAdvisory();
+        this.runExecutor = runExecutor;
+    }
 
     /**
      * Scheduled task to process weather advisories
      * Runs every hour after weather data ingestion
      */
-    @Scheduled(cron = "${weather.advisory.processing.cron:0 15 * * * *}")
+    @Scheduled(cron = "${weather.advisory.processing-cron:0 15 * * * *}")
     public void processWeatherAdvisories() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Previous weather advisory run is still finishing. Skipping this run.");
+            return;
+        }
         log.info("Starting scheduled weather advisory processing");
 
+        CompletableFuture<Void> run = null;
         try {
             // Get all weather signals
             Map<String, List<WeatherSignal>> districtSignals = weatherIngestionService.getAllWeatherSignals();
 
-            if (districtSignals.isEmpty()) {
+            // Skip normal conditions
+            List<String> districts = districtSignals.entrySet().stream()
+                    .filter(entry -> !(entry.getValue().size() == 1
+                            && entry.getValue().get(0) == WeatherSignal.NORMAL_CONDITIONS))
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            if (districts.isEmpty()) {
                 log.info("No weather signals detected. Skipping advisory processing.");
                 return;
             }
 
-            log.info("Processing weather signals for {} districts", districtSignals.size());
-
-            int totalAdvisories = 0;
+            long timeoutMs = config.getRunTimeoutMs();
+            AdvisoryRunProgress progress = new AdvisoryRunProgress(districts, timeoutMs);
+            lastRun = progress;
+            log.info("Processing weather signals for {} districts (parallelism {})",
+                    districts.size(), config.getParallelism());
 
-            for (Map.Entry<String, List<WeatherSignal>> entry : districtSignals.entrySet()) {
-                String district = entry.getKey();
-                List<WeatherSignal> signals = entry.getValue();
-
-                // Skip normal conditions
-                if (signals.size() == 1 && signals.get(0) == WeatherSignal.NORMAL_CONDITIONS) {
-                    continue;
-                }
-
-                log.info("Processing {} signals for district: {}", signals.size(), district);
-
-                int advisoriesCreated = processDistrictAdvisories(district, signals);
-                totalAdvisories += advisoriesCreated;
-            }
+            run = CompletableFuture.allOf(districts.stream()
+                    .map(district -> processDistrictAsync(district, districtSignals.get(district), progress))
+                    .toArray(CompletableFuture[]::new));
+            awaitRun(run, progress, timeoutMs);
+            progress.finish();
 
-            log.info("Completed weather advisory processing. Total advisories created: {}", totalAdvisories);
-
-            // Clean up deduplication cache (keep only last hour)
-            cleanupDeduplicationCache();
+            log.info("Completed weather advisory processing. Total advisories created: {}",
+                    progress.totalAdvisories());
 
         } catch (Exception e) {
             log.error("Error processing weather advisories: {}", e.getMessage(), e);
+        } finally {
+            if (run == null) {
+                running.set(false);
+            } else {
+                // Runs never overlap, so lastRun is this run's progress
+                releaseWhenStopped(run, lastRun);
+            }
         }
     }
 
     /**
-     * Process advisories for a specific district
+     * Clears the running flag once every partition has stopped, or abandons the run if
+     * they have not stopped within the grace period after the deadline.
      */
-    @Transactional
-    public int processDistrictAdvisories(String district, List<WeatherSignal> signals) {
-        log.debug("Processing advisories for district: {} with signals: {}", district, signals);
-
-        // Build contexts for all farmers in the district
-        List<WeatherAdvisoryContext> contexts = contextBuilderService.buildContextsForDistrict(district);
+    private void releaseWhenStopped(CompletableFuture<Void> run, AdvisoryRunProgress progress) {
+        // The wait has already used up the run timeout, so the grace period starts at the deadline
+        run.orTimeout(config.getRunGraceMs(), TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, error) -> {
+                    if (error instanceof TimeoutException) {
+                        int interrupted = progress.abandon();
+                        log.error("Weather advisory run still busy {}ms after its deadline; abandoned it and "
+                                + "interrupted {} workers", config.getRunGraceMs(), interrupted);
+                    }
+                    running.set(false);
+                });
+    }
 
-        if (contexts.isEmpty()) {
-            log.warn("No farmer contexts found for district: {}", district);
-            return 0;
+    private void awaitRun(CompletableFuture<Void> run, AdvisoryRunProgress progress, long timeoutMs) {
+        try {
+            run.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            progress.cancel();
+            log.warn("Weather advisory run exceeded {}ms; remaining farmers are left for the next run",
+                    timeoutMs);
+        } catch (InterruptedException e) {
+            progress.cancel();
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Partitions handle their own failures
+            log.error("Weather advisory run failed: {}", e.getMessage(), e);
         }
+    }
 
-        log.info("Built {} contexts for district: {}", contexts.size(), district);
-
-        int advisoriesCreated = 0;
+    /**
+     * Process one district partition: build its contexts, then its farmers in slices
+     */
+    private CompletableFuture<Void> processDistrictAsync(String district, List<WeatherSignal> signals,
+                                                         AdvisoryRunProgress progress) {
+        AdvisoryRunProgress.Partition partition = progress.partition(district);
+        return CompletableFuture
+                .supplyAsync(() -> {
+                    if (progress.isExpired()) {
+                        partition.timedOut();
+                        return List.<WeatherAdvisoryContext>of();
+                    }
+                    log.info("Processing {} signals for district: {}", signals.size(), district);
+                    progress.workerStarted();
+                    try {
+                        // Build contexts for all farmers in the district
+                        return contextBuilderService.buildContextsForDistrict(district);
+                    } finally {
+                        progress.workerFinished();
+                    }
+                }, runExecutor)
+                .thenCompose(contexts -> {
+                    if (contexts.isEmpty() && !progress.isExpired()) {
+                        log.warn("No farmer contexts found for district: {}", district);
+                    }
+                    partition.start(contexts.size());
+                    int sliceSize = config.getPartitionSize();
+                    List<CompletableFuture<Void>> slices = new ArrayList<>();
+                    for (int from = 0; from < contexts.size(); from += sliceSize) {
+                        List<WeatherAdvisoryContext> slice =
+                                contexts.subList(from, Math.min(from + sliceSize, contexts.size()));
+                        slices.add(CompletableFuture.runAsync(
+                                () -> processSlice(slice, partition, progress), runExecutor));
+                    }
+                    return CompletableFuture.allOf(slices.toArray(CompletableFuture[]::new));
+                })
+                .handle((ignored, error) -> {
+                    if (error != null) {
+                        partition.failed();
+                        log.error("Error processing advisories for district {}: {}", district, error.getMessage(),
+                                error);
+                    } else {
+                        partition.completed();
+                    }
+                    return null;
+                });
+    }
 
-        for (WeatherAdvisoryContext context : contexts) {
-            try {
-                boolean created = processAdvisoryForContext(context);
-                if (created) {
-                    advisoriesCreated++;
+    private void processSlice(List<WeatherAdvisoryContext> slice, AdvisoryRunProgress.Partition partition,
+                              AdvisoryRunProgress progress) {
+        progress.workerStarted();
+        try {
+            for (WeatherAdvisoryContext context : slice) {
+                if (progress.isExpired()) {
+                    partition.timedOut();
+                    return;
+                }
+                try {
+                    partition.farmerProcessed(processAdvisoryForContext(context));
+                } catch (Exception e) {
+                    partition.farmerFailed();
+                    log.error("Error processing advisory for farmer {}: {}",
+                            context.getFarmerId(), e.getMessage());
                 }
-            } catch (Exception e) {
-                log.error("Error processing advisory for farmer {}: {}",
-                        context.getFarmerId(), e.getMessage());
             }
+        } finally {
+            progress.workerFinished();
         }
-
-        return advisoriesCreated;
     }
 
     /**
@@ -128,13 +243,31 @@ public class WeatherAdvisoryOrchestrator {
             return false;
         }
 
-        // Check deduplication
+        // Claim the deduplication window up front so concurrent runs cannot both send
         String deduplicationKey = generateDeduplicationKey(context);
-        if (recentAlerts.contains(deduplicationKey)) {
+        if (!deduplicationService.tryClaim(deduplicationKey)) {
             log.debug("Skipping duplicate alert for farmer: {}", context.getFarmerId());
             return false;
         }
 
+        try {
+            if (!deliverAdvisories(context)) {
+                deduplicationService.release(deduplicationKey);
+                return false;
+            }
+            return true;
+        } catch (RuntimeException e) {
+            deduplicationService.release(deduplicationKey);
+            throw e;
+        }
+    }
+
+    /**
+     * Run the rules for the context and send what they trigger.
+     *
+     * @return true if at least one advisory was sent
+     */
+    private boolean deliverAdvisories(WeatherAdvisoryContext context) {
         // Build rule context
         Map<String, Object> ruleContext = buildRuleContext(context);
 
@@ -149,24 +282,23 @@ public class WeatherAdvisoryOrchestrator {
         log.info("Triggered {} rules for farmer: {}", ruleResults.size(), context.getFarmerId());
 
         // Process each triggered rule
+        boolean delivered = false;
         for (RuleResult result : ruleResults) {
             try {
                 // Create and send notification
                 notificationService.createWeatherAdvisoryNotification(context, result);
+                delivered = true;
 
                 // Log delivery
                 logAdvisoryDelivery(context, result);
 
-                // Add to deduplication cache
-                recentAlerts.add(deduplicationKey);
-
             } catch (Exception e) {
                 log.error("Error processing rule result for farmer {}: {}",
                         context.getFarmerId(), e.getMessage());
             }
         }
 
-        return true;
+        return delivered;
     }
 
     /**
@@ -226,16 +358,13 @@ public class WeatherAdvisoryOrchestrator {
     }
 
     /**
-     * Generate deduplication key
+     * Generate deduplication key; the window itself is the key's time to live
      */
     private String generateDeduplicationKey(WeatherAdvisoryContext context) {
-        java.util.Calendar cal = java.util.Calendar.getInstance();
-        cal.setTime(com.krishihub.common.util.DateUtil.nowUtc());
-        return String.format("%s:%s:%s:%s",
+        return String.format("%s:%s:%s",
                 context.getFarmerId(),
                 context.getPrimarySignal(),
-                context.getCropType(),
-                cal.get(java.util.Calendar.HOUR_OF_DAY));
+                context.getCropType());
     }
 
     /**
@@ -249,10 +378,9 @@ public class WeatherAdvisoryOrchestrator {
             // Build advisory content snapshot
             String advisoryContent = buildAdvisoryContentSnapshot(context, result);
 
-            // Fetch farmer details (In a real high-throughput system, this should likely be cached or passed in context)
-            com.krishihub.auth.entity.User farmer = userRepository.findById(context.getFarmerId()).orElse(null);
-            String farmerName = farmer != null ? farmer.getName() : "Unknown";
-            String farmerPhone = farmer != null ? farmer.getMobileNumber() : null;
+            // Farmer details come with the context, which was built from the loaded user
+            String farmerName = context.getFarmerName() != null ? context.getFarmerName() : "Unknown";
+            String farmerPhone = context.getFarmerPhone();
 
             // Use the centralized logging service
             advisoryDeliveryLogService.logAdvisoryCreated(
@@ -311,14 +439,6 @@ public class WeatherAdvisoryOrchestrator {
         return content.toString();
     }
 
-    /**
-     * Clean up deduplication cache
-     */
-    private void cleanupDeduplicationCache() {
-        recentAlerts.clear();
-        log.debug("Cleaned up deduplication cache");
-    }
-
     /**
      * Get orchestrator health status
      */
@@ -326,8 +446,13 @@ public class WeatherAdvisoryOrchestrator {
         Map<String, Object> status = new HashMap<>();
 
         status.put("weatherIngestionAvailable", weatherIngestionService.isAnyProviderAvailable());
-        status.put("recentAlertsCount", recentAlerts.size());
+        status.put("recentAlertsCount", deduplicationService.size());
         status.put("lastProcessingTime", com.krishihub.common.util.DateUtil.nowUtc());
+        status.put("running", running.get());
+        AdvisoryRunProgress run = lastRun;
+        if (run != null) {
+            status.put("lastRun", run.snapshot());
+        }
 
         return status;
     }
@@ -6,7 +6,9 @@ import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 public class AdvisoryLogSpecification {
 
@@ -45,4 +47,17 @@ public class AdvisoryLogSpecification {
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Logs strictly after the keyset position in (createdAt DESC, id DESC) order.
+     * The redundant createdAt bound lets the composite index be range-scanned; the
+     * OR only filters rows sharing the boundary timestamp.
+     */
+    public static Specification<AdvisoryDeliveryLog> after(Date createdAt, UUID id) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+                criteriaBuilder.lessThanOrEqualTo(root.<Date>get("createdAt"), createdAt),
+                criteriaBuilder.or(
+                        criteriaBuilder.lessThan(root.<Date>get("createdAt"), createdAt),
+                        criteriaBuilder.lessThan(root.<UUID>get("id"), id)));
+    }
 }
@@ -4,17 +4,20 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.krishihub.advisory.weather.model.WeatherData;
 import com.krishihub.config.properties.WeatherProperties;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 // import org.springframework.beans.factory.annotation.Value; removed
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 
 /**
@@ -22,15 +25,28 @@ import java.util.function.Supplier;
  * Provides weather data with retry logic and fallback mechanisms
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class OpenWeatherMapProvider implements  WeatherDataProvider {
 
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long INITIAL_RETRY_DELAY_MS = 1000;
+
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
 
     private final WeatherProperties weatherProperties;
 
+    // Retries are scheduled onto this executor after their backoff delay
+    private final Executor retryExecutor;
+
+    public OpenWeatherMapProvider(RestTemplate restTemplate, ObjectMapper objectMapper,
+            WeatherProperties weatherProperties, @Qualifier("weatherPollExecutor") Executor retryExecutor) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.weatherProperties = weatherProperties;
+        this.retryExecutor = retryExecutor;
+    }
+
     // Nepal district coordinates mapping (sample - can be expanded)
     private static final Map<String, double[]> DISTRICT_COORDINATES = Map.ofEntries(
             Map.entry("Kathmandu", new double[] { 27.7172, 85.3240 }),
@@ -57,9 +73,22 @@ public class OpenWeatherMapProvider implements  WeatherDataProvider {
 
     @Override
     @Cacheable(value = "currentWeather_v3", key = "#latitude + ',' + #longitude", unless = "#result == null")
-    @Async
     public Optional<WeatherData> getCurrentWeather(Double latitude, Double longitude) {
-        return retryOperation(() -> fetchCurrentWeather(latitude, longitude), 3);
+        return retryOperation(() -> fetchCurrentWeather(latitude, longitude), MAX_ATTEMPTS);
+    }
+
+    @Override
+    public CompletableFuture<Optional<WeatherData>> getCurrentWeatherAsync(String district, Executor executor) {
+        double[] coords = DISTRICT_COORDINATES.get(district);
+        if (coords == null) {
+            log.warn("No coordinates found for district: {}", district);
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        CompletableFuture<Optional<WeatherData>> result = new CompletableFuture<>();
+        retryAsync(() -> fetchCurrentWeather(coords[0], coords[1]),
+                1, MAX_ATTEMPTS, INITIAL_RETRY_DELAY_MS, executor, executor, result);
+        return result;
     }
 
     /**
@@ -102,7 +131,7 @@ public class OpenWeatherMapProvider implements  WeatherDataProvider {
     @Override
     @Cacheable(value = "weatherForecast_v3", key = "#latitude + ',' + #longitude + ',' + #hours", unless = "#result == null || #result.isEmpty()")
     public List<WeatherData> getForecast(Double latitude, Double longitude, int hours) {
-        return retryOperation(() -> fetchForecast(latitude, longitude, hours), 3);
+        return retryOperation(() -> fetchForecast(latitude, longitude, hours), MAX_ATTEMPTS);
     }
 
     /**
@@ -132,36 +161,49 @@ public class OpenWeatherMapProvider implements  WeatherDataProvider {
     }
 
     /**
-     * Generic retry operation with exponential backoff
+     * Generic retry operation with exponential backoff.
+     * The first attempt runs on the calling thread; retries are scheduled after their
+     * delay rather than sleeping, so no thread is parked during backoff.
      */
     private <T> T retryOperation(Supplier<T> operation, int maxAttempts) {
-        int attempt = 0;
-        long delay = 1000; // Start with 1 second
+        CompletableFuture<T> result = new CompletableFuture<>();
+        retryAsync(operation, 1, maxAttempts, INITIAL_RETRY_DELAY_MS, Runnable::run, retryExecutor, result);
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new com.krishihub.common.exception.SystemException(e.getMessage());
+        }
+    }
 
-        while (attempt < maxAttempts) {
+    /**
+     * Run one attempt and complete the result with its outcome, scheduling the next attempt on failure.
+     * An attempt whose result is already complete, because the caller timed it out or cancelled it,
+     * is skipped, so a caller that has given up stops further requests.
+     */
+    private <T> void retryAsync(Supplier<T> operation, int attempt, int maxAttempts, long delay,
+            Executor runOn, Executor retryOn, CompletableFuture<T> result) {
+        runOn.execute(() -> {
+            if (result.isDone()) {
+                log.debug("Skipping attempt {}: caller is no longer waiting", attempt);
+                return;
+            }
             try {
-                return operation.get();
-            } catch (Exception e) {
-                attempt++;
+                result.complete(operation.get());
+            } catch (RuntimeException e) {
                 if (attempt >= maxAttempts) {
                     log.error("Max retry attempts ({}) reached", maxAttempts);
-                    throw e;
+                    result.completeExceptionally(e);
+                    return;
                 }
 
                 log.warn("Attempt {} failed, retrying in {}ms: {}", attempt, delay, e.getMessage());
-
-                try {
-                    Thread.sleep(delay);
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new com.krishihub.common.exception.SystemException("Retry interrupted: " + ie.getMessage());
-                }
-
-                delay *= 2; // Exponential backoff
+                Executor delayed = CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS, retryOn);
+                retryAsync(operation, attempt + 1, maxAttempts, delay * 2, delayed, retryOn, result); // Exponential backoff
             }
-        }
-
-        throw new com.krishihub.common.exception.SystemException("Should not reach here");
+        });
     }
 
     @Override
@@ -4,6 +4,8 @@ import com.krishihub.advisory.weather.model.WeatherData;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Interface for weather data providers
@@ -28,6 +30,19 @@ public interface WeatherDataProvider {
      */
     Optional<WeatherData> getCurrentWeather(Double latitude, Double longitude);
 
+    /**
+     * Get current weather data without blocking the caller.
+     * Providers with retry logic should override this to schedule retries
+     * instead of sleeping on a worker thread.
+     *
+     * @param district District name
+     * @param executor Executor to run the request on
+     * @return Future completing with weather data if available
+     */
+    default CompletableFuture<Optional<WeatherData>> getCurrentWeatherAsync(String district, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> getCurrentWeather(district), executor);
+    }
+
     /**
      * Get weather forecast for a location
      * 
@@ -2,36 +2,55 @@ package com.krishihub.advisory.weather;
 
 import com.krishihub.advisory.weather.model.WeatherData;
 import com.krishihub.advisory.weather.model.WeatherSignal;
-import lombok.RequiredArgsConstructor;
+import com.krishihub.config.WeatherAdvisoryConfig;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CachePut;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service to ingest weather data from providers
  * Handles scheduled polling, caching, and signal detection
  */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class WeatherIngestionService {
 
+    private static final String WEATHER_CACHE = "weatherData_v3";
+
     private final List<WeatherDataProvider> weatherProviders;
     private final WeatherSignalDetector signalDetector;
+    private final WeatherAdvisoryConfig weatherAdvisoryConfig;
+    private final CacheManager cacheManager;
+    private final Executor pollExecutor;
 
     // Cache for last known good weather data (fallback)
     private final Map<String, WeatherData> lastKnownWeatherData = new ConcurrentHashMap<>();
 
-    // List of Nepal districts to monitor
-    private static final List<String> MONITORED_DISTRICTS = Arrays.asList(
-            "Kathmandu", "Pokhara", "Kaski", "Chitwan", "Lalitpur",
-            "Bhaktapur", "Dhading", "Nuwakot", "Rasuwa", "Sindhupalchok");
+    public WeatherIngestionService(List<WeatherDataProvider> weatherProviders,
+            WeatherSignalDetector signalDetector,
+            WeatherAdvisoryConfig weatherAdvisoryConfig,
+            CacheManager cacheManager,
+            @Qualifier("weatherPollExecutor") Executor pollExecutor) {
+        this.weatherProviders = weatherProviders;
+        this.signalDetector = signalDetector;
+        this.weatherAdvisoryConfig = weatherAdvisoryConfig;
+        this.cacheManager = cacheManager;
+        this.pollExecutor = pollExecutor;
+    }
 
     /**
      * Scheduled task to poll weather data
@@ -46,60 +65,58 @@ public class WeatherIngestionService {
 
     /**
      * Scheduled task to poll weather data
-     * Runs every hour
+     * Runs every hour. Districts are fetched concurrently on the bounded weather poll
+     * executor, each provider attempt with its own timeout, so wall-clock time follows the
+     * slowest district rather than the sum of all of them. A district no provider answers
+     * for keeps its last known data in the cache.
      */
     @Scheduled(cron = "${weather.ingestion.cron:0 0 * * * *}")
     public void pollWeatherData() {
-        log.info("Starting scheduled weather data polling for {} districts on thread: {}", MONITORED_DISTRICTS.size(), Thread.currentThread().getName());
-
-        for (String district : MONITORED_DISTRICTS) {
-            try {
-                ingestWeatherForDistrict(district);
-            } catch (Exception e) {
-                log.error("Error ingesting weather data for district {}: {}", district, e.getMessage());
-            }
-        }
-
-        log.info("Completed weather data polling");
+        List<String> districts = getMonitoredDistricts();
+        long startedAt = System.currentTimeMillis();
+        log.info("Starting scheduled weather data polling for {} districts (parallelism {}) on thread: {}",
+                districts.size(), weatherAdvisoryConfig.getIngestion().getParallelism(),
+                Thread.currentThread().getName());
+
+        AtomicInteger succeeded = new AtomicInteger();
+        CompletableFuture<?>[] polls = districts.stream()
+                .map(district -> fetchFromProviders(district, 0)
+                        .handle((weatherData, error) -> {
+                            if (error != null) {
+                                log.error("Error ingesting weather data for district {}: {}", district, error.getMessage());
+                            }
+                            if (error == null && weatherData.isPresent()) {
+                                writeThrough(district, weatherData.get());
+                                succeeded.incrementAndGet();
+                            } else {
+                                fallBackToLastKnown(district);
+                            }
+                            return null;
+                        }))
+                .toArray(CompletableFuture[]::new);
+
+        CompletableFuture.allOf(polls).join();
+
+        log.info("Completed weather data polling in {}ms: {}/{} districts updated",
+                System.currentTimeMillis() - startedAt, succeeded.get(), districts.size());
     }
 
     /**
      * Ingest weather data for a specific district
      */
-    @CachePut(value = "weatherData_v3", key = "#district", unless = "#result == null || #result.isEmpty()")
-    @Async
     public Optional<WeatherData> ingestWeatherForDistrict(String district) {
         log.debug("Ingesting weather data for district: {}", district);
 
-        // Try each provider until one succeeds
-        for (WeatherDataProvider provider : weatherProviders) {
-            try {
-                if (!provider.isAvailable()) {
-                    log.warn("Provider {} is not available, trying next", provider.getProviderName());
-                    continue;
-                }
-
-                Optional<WeatherData> weatherData = provider.getCurrentWeather(district);
-
-                if (weatherData.isPresent()) {
-                    WeatherData data = weatherData.get();
-
-                    // Store as last known good data
-                    lastKnownWeatherData.put(district, data);
-
-                    // Detect signals
-                    List<WeatherSignal> signals = signalDetector.detectSignals(data);
-
-                    log.info("Successfully ingested weather data for {} from {}: {} signals detected",
-                            district, provider.getProviderName(), signals.size());
-
-                    return Optional.of(data);
-                }
-
-            } catch (Exception e) {
-                log.error("Error fetching weather from provider {}: {}",
-                        provider.getProviderName(), e.getMessage());
+        try {
+            Optional<WeatherData> weatherData = fetchFromProviders(district, 0).get();
+            if (weatherData.isPresent()) {
+                recordWeather(district, weatherData.get());
+                return weatherData;
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Error fetching weather data for {}: {}", district, e.getMessage());
         }
 
         // Fallback to last known data
@@ -114,6 +131,97 @@ public class WeatherIngestionService {
         return Optional.empty();
     }
 
+    /**
+     * Try each provider in order until one returns data, without blocking the caller
+     */
+    private CompletableFuture<Optional<WeatherData>> fetchFromProviders(String district, int providerIndex) {
+        if (providerIndex >= weatherProviders.size()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        WeatherDataProvider provider = weatherProviders.get(providerIndex);
+        long timeoutMs = weatherAdvisoryConfig.getIngestion().getProviderTimeoutMs();
+        return fetchFromProvider(provider, district, timeoutMs)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.error("Error fetching weather from provider {} for {}: {}", provider.getProviderName(), district,
+                            cause instanceof TimeoutException ? "timed out after " + timeoutMs + "ms" : cause.getMessage());
+                    return Optional.empty();
+                })
+                .thenCompose(weatherData -> weatherData.isPresent()
+                        ? CompletableFuture.completedFuture(weatherData)
+                        : fetchFromProviders(district, providerIndex + 1));
+    }
+
+    /**
+     * One provider's attempt at a district; the availability check and the fetch are each bounded
+     * by the timeout. Timing out completes the provider's own future, so retries it has scheduled
+     * do not run.
+     */
+    private CompletableFuture<Optional<WeatherData>> fetchFromProvider(WeatherDataProvider provider, String district,
+            long timeoutMs) {
+        return CompletableFuture.supplyAsync(provider::isAvailable, pollExecutor)
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .thenCompose(available -> {
+                    if (!available) {
+                        log.warn("Provider {} is not available, trying next", provider.getProviderName());
+                        return CompletableFuture.completedFuture(Optional.<WeatherData>empty());
+                    }
+                    return provider.getCurrentWeatherAsync(district, pollExecutor)
+                            .orTimeout(timeoutMs, TimeUnit.MILLISECONDS);
+                });
+    }
+
+    /**
+     * Keep serving the last known data for a district no provider answered for
+     */
+    private void fallBackToLastKnown(String district) {
+        WeatherData fallbackData = lastKnownWeatherData.get(district);
+        if (fallbackData == null) {
+            log.warn("No provider returned weather data for {} and no fallback available", district);
+            return;
+        }
+
+        log.warn("All providers failed for {}. Using last known data from {}", district, fallbackData.getTimestamp());
+        putInCache(district, fallbackData);
+    }
+
+    /**
+     * Store freshly fetched data as the last known good value
+     */
+    private void recordWeather(String district, WeatherData data) {
+        lastKnownWeatherData.put(district, data);
+
+        // Detect signals
+        List<WeatherSignal> signals = signalDetector.detectSignals(data);
+
+        log.info("Successfully ingested weather data for {} from {}: {} signals detected",
+                district, data.getDataSource(), signals.size());
+    }
+
+    /**
+     * Write polled data through to the weather cache read by {@link #getCurrentWeather(String)}
+     */
+    private void writeThrough(String district, WeatherData data) {
+        recordWeather(district, data);
+        putInCache(district, data);
+    }
+
+    private void putInCache(String district, WeatherData data) {
+        Cache cache = cacheManager.getCache(WEATHER_CACHE);
+        if (cache != null) {
+            try {
+                cache.put(district, data);
+            } catch (RuntimeException e) {
+                log.warn("Failed to write weather for {} to cache: {}", district, e.getMessage());
+            }
+        }
+    }
+
+    private List<String> getMonitoredDistricts() {
+        return weatherAdvisoryConfig.getIngestion().getDistricts();
+    }
+
     /**
      * Get current weather with caching
      */
@@ -170,7 +278,7 @@ public class WeatherIngestionService {
     public Map<String, List<WeatherSignal>> getAllWeatherSignals() {
         Map<String, List<WeatherSignal>> signalsMap = new HashMap<>();
 
-        for (String district : MONITORED_DISTRICTS) {
+        for (String district : getMonitoredDistricts()) {
             List<WeatherSignal> signals = getWeatherSignals(district);
             if (!signals.isEmpty()) {
                 signalsMap.put(district, signals);
@@ -214,7 +322,7 @@ public class WeatherIngestionService {
                 .toList());
 
         status.put("cachedDistricts", lastKnownWeatherData.keySet());
-        status.put("monitoredDistricts", MONITORED_DISTRICTS);
+        status.put("monitoredDistricts", getMonitoredDistricts());
         status.put("lastPollTime", com.krishihub.common.util.DateUtil.nowUtc());
 
         return status;
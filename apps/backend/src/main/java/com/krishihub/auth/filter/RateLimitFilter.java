@@ -23,10 +23,10 @@ public class RateLimitFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         
+        // Behind a proxy this is the client address only with server.forward-headers-strategy set
         String ipAddress = request.getRemoteAddr();
-        // In prod, check X-Forwarded-For if behind proxy
-        
-        if (!rateLimitService.tryConsume(ipAddress)) {
+
+        if (!rateLimitService.tryConsume(request.getRequestURI(), ipAddress)) {
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             response.getWriter().write("Too many requests");
             return;
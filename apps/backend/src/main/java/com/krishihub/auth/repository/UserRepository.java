@@ -55,4 +55,13 @@ public interface UserRepository extends JpaRepository<User, UUID> {
                            Pageable pageable);
 
     Page<User> findByRole(User.UserRole role, Pageable pageable);
+
+    /**
+     * Keyset scan of user IDs, optionally by role, for bulk fan-out.
+     * Pass the last ID of the previous chunk as afterId; the pageable only supplies the limit.
+     */
+    @Query("SELECT u.id FROM User u WHERE (:role IS NULL OR u.role = :role) AND u.id > :afterId ORDER BY u.id")
+    List<UUID> findIdsByRoleAfter(@Param("role") User.UserRole role,
+                                  @Param("afterId") UUID afterId,
+                                  Pageable pageable);
 }
@@ -1,6 +1,7 @@
 package com.krishihub.auth.security;
 
 import com.krishihub.auth.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -38,12 +39,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
-        mobileNumber = jwtUtil.extractUsername(jwt);
+        // Signature and expiry are verified here, once
+        final Claims claims = jwtUtil.parseClaims(jwt);
+        mobileNumber = claims.getSubject();
 
         if (mobileNumber != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(mobileNumber);
+            UserDetails userDetails = this.userDetailsService.loadUserForToken(
+                    mobileNumber, claims.get("userId", String.class));
 
-            if (jwtUtil.isTokenValid(jwt, userDetails)) {
+            if (mobileNumber.equals(userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -1,6 +1,7 @@
 package com.krishihub.auth.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -9,7 +10,7 @@ import com.krishihub.config.properties.JwtProperties;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,9 +20,14 @@ import java.util.function.Function;
 public class JwtUtil {
 
     private final JwtProperties jwtProperties;
+    // Decoded once; JwtParser is immutable and thread-safe
+    private final SecretKey signingKey;
+    private final JwtParser parser;
 
     public JwtUtil(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getSecret()));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     public String extractUsername(String token) {
@@ -63,7 +69,7 @@ public class JwtUtil {
                 .claim("userId", userId) // Add userId for identification
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -80,16 +86,15 @@ public class JwtUtil {
         return extractClaim(token, Claims::getExpiration);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .setSigningKey(getSignInKey().getEncoded())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Verify signature and expiry and return the claims in a single parse.
+     * Throws a JwtException if the token is invalid or expired.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtProperties.getSecret());
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Claims extractAllClaims(String token) {
+        return parseClaims(token);
     }
 }
@@ -61,6 +61,7 @@ public class AuthService {
     private final ApplicationEventPublisher eventPublisher;
     private final RefreshTokenService refreshTokenService;
     private final UserPermissionService userPermissionService;
+    private final AuthenticatedPrincipalCache principalCache;
     private final com.krishihub.auth.repository.RoleRepository roleRepository;
     private final com.krishihub.shared.service.CloudinaryStorageService cloudinaryStorageService;
 
@@ -398,6 +399,8 @@ public class AuthService {
         }
 
         userRepository.save(user);
+        // Name, district and ward are carried on the cached principal
+        principalCache.invalidate(userId);
         log.info("Profile updated: {}", userId);
 
         return UserDto.fromEntity(user);
@@ -0,0 +1,95 @@
+package com.krishihub.auth.service;
+
+import com.krishihub.auth.model.CustomUserDetails;
+import com.krishihub.config.properties.JwtProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived, size-bounded cache of authenticated principals keyed by user ID.
+ *
+ * Design Notes:
+ * - Lets the JWT filter authenticate a request without a user or permission lookup.
+ * - Entries must be invalidated whenever a user's role, permissions, account status
+ *   or profile fields carried on the principal change.
+ * - Invalidation is local to this instance; the TTL bounds how long another
+ *   instance can keep serving a stale principal.
+ */
+@Component
+@Slf4j
+public class AuthenticatedPrincipalCache {
+
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<UUID, Entry> principals = new ConcurrentHashMap<>();
+
+    public AuthenticatedPrincipalCache(JwtProperties jwtProperties) {
+        this.ttlNanos = jwtProperties.getPrincipalCache().getTtlMs() * 1_000_000L;
+        this.maxSize = jwtProperties.getPrincipalCache().getMaxSize();
+    }
+
+    public CustomUserDetails get(UUID userId) {
+        Entry entry = principals.get(userId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt() >= 0) {
+            principals.remove(userId, entry);
+            return null;
+        }
+        return entry.principal();
+    }
+
+    public void put(CustomUserDetails principal) {
+        if (ttlNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (principals.size() >= maxSize) {
+            principals.values().removeIf(entry -> now - entry.expiresAt() >= 0);
+            if (principals.size() >= maxSize) {
+                // Still full of live entries: serve this user uncached rather than grow
+                return;
+            }
+        }
+        principals.put(principal.getId(), new Entry(principal, now + ttlNanos));
+    }
+
+    /**
+     * Drop a user's principal now and again once the surrounding transaction commits,
+     * so a request racing the change cannot re-cache the old state.
+     */
+    public void invalidate(UUID userId) {
+        principals.remove(userId);
+        afterCommit(() -> principals.remove(userId));
+    }
+
+    /**
+     * Drop every principal, e.g. when a role's permission set changes.
+     */
+    public void invalidateAll() {
+        log.info("Invalidating all cached principals");
+        principals.clear();
+        afterCommit(principals::clear);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+
+    private record Entry(CustomUserDetails principal, long expiresAt) {
+    }
+}
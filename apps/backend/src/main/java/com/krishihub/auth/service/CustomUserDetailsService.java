@@ -14,6 +14,7 @@ import org.springframework.stereotype.Service;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -21,6 +22,30 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
     private final UserPermissionService userPermissionService;
+    private final AuthenticatedPrincipalCache principalCache;
+
+    /**
+     * Resolve the principal for an already verified token.
+     * Served from the principal cache when the token carries a userId claim;
+     * tokens without one fall back to a lookup by mobile number.
+     */
+    public UserDetails loadUserForToken(String mobileNumber, String userIdClaim) {
+        if (userIdClaim == null) {
+            return loadUserByUsername(mobileNumber);
+        }
+
+        UUID userId = UUID.fromString(userIdClaim);
+        CustomUserDetails cached = principalCache.get(userId);
+        if (cached != null && cached.getUsername().equals(mobileNumber)) {
+            return cached;
+        }
+
+        CustomUserDetails loaded = (CustomUserDetails) loadUserByUsername(mobileNumber);
+        if (loaded.getId().equals(userId)) {
+            principalCache.put(loaded);
+        }
+        return loaded;
+    }
 
     @Override
     public UserDetails loadUserByUsername(String mobileNumber) throws UsernameNotFoundException {
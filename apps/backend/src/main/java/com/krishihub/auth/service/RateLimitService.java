@@ -1,52 +1,131 @@
 package com.krishihub.auth.service;
 
+import com.krishihub.config.properties.RateLimitProperties;
 import com.krishihub.service.SystemConfigService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Per-client API rate limiting with token buckets.
+ *
+ * Design Notes:
+ * - Limits are resolved from an in-memory snapshot; the auth.rate_limit.* system configs
+ *   are reloaded on a schedule, never on the request path.
+ * - Route classes (app.rate-limit.routes) get their own buckets, so a burst on one
+ *   class does not consume another class's budget.
+ * - With app.rate-limit.redis-enabled buckets are shared across instances. If Redis is
+ *   unavailable the local store is used so requests are still limited per instance, and
+ *   Redis is not retried for a backoff that doubles up to a minute, so an outage costs
+ *   one failed call and one warning per backoff instead of one per request.
+ */
 @Service
+@Slf4j
 public class RateLimitService {
 
+    static final String DEFAULT_CLASS = "default";
+
+    private static final long REDIS_RETRY_MIN_MS = 1000;
+    private static final long REDIS_RETRY_MAX_MS = 60000;
+
     private final SystemConfigService systemConfigService;
-    private final Map<String, UserRequestCount> requestCounts = new ConcurrentHashMap<>();
-    
-    public RateLimitService(SystemConfigService systemConfigService) {
+    private final RateLimitProperties properties;
+    private final RedisRateLimiter redisRateLimiter;
+    private final TokenBucketStore localStore;
+    private final AtomicInteger redisFailures = new AtomicInteger();
+    private volatile long redisRetryAtMs;
+
+    private volatile LimitSnapshot snapshot;
+
+    public RateLimitService(SystemConfigService systemConfigService,
+                            RateLimitProperties properties,
+                            RedisRateLimiter redisRateLimiter) {
         this.systemConfigService = systemConfigService;
+        this.properties = properties;
+        this.redisRateLimiter = redisRateLimiter;
+        this.localStore = new TokenBucketStore(properties.getMaxKeys());
+        this.snapshot = buildSnapshot(100, 60000);
     }
 
-    public boolean tryConsume(String key) {
-        long now = System.currentTimeMillis();
-        requestCounts.putIfAbsent(key, new UserRequestCount(now, 0));
-        UserRequestCount count = requestCounts.get(key);
-
-        long  rateLimit = systemConfigService.getLong("auth.rate_limit.requests", 100);
-        long  timeWindow = systemConfigService.getLong("auth.rate_limit.window_ms", 60000);
+    /**
+     * Take one request from the client's budget for the route class matching the path.
+     */
+    public boolean tryConsume(String path, String clientKey) {
+        Limit limit = snapshot.resolve(path);
+        String key = limit.name() + ":" + clientKey;
 
-        synchronized (count) {
-            if (now - count.startTime > timeWindow) {
-                count.startTime = now;
-                count.count = 1;
-                return true;
+        if (properties.isRedisEnabled() && System.currentTimeMillis() >= redisRetryAtMs) {
+            try {
+                boolean allowed = redisRateLimiter.tryConsume(key, limit.requests(), limit.windowMs());
+                if (redisFailures.getAndSet(0) > 0) {
+                    log.info("Redis rate limiter available again");
+                }
+                return allowed;
+            } catch (RuntimeException e) {
+                redisUnavailable(e);
             }
+        }
+        return localStore.tryConsume(key, limit.requests(), limit.windowMs(), System.nanoTime());
+    }
 
-            if (count.count < rateLimit) {
-                count.count++;
-                return true;
-            }
+    private void redisUnavailable(RuntimeException e) {
+        int failures = redisFailures.incrementAndGet();
+        long backoffMs = Math.min(REDIS_RETRY_MAX_MS, REDIS_RETRY_MIN_MS << Math.min(failures - 1, 16));
+        redisRetryAtMs = System.currentTimeMillis() + backoffMs;
+        if (failures == 1) {
+            log.warn("Redis rate limiter unavailable, using local buckets: {}", e.getMessage());
+        } else {
+            log.debug("Redis rate limiter still unavailable, retrying in {}ms: {}", backoffMs, e.getMessage());
         }
-        return false;
     }
 
-    private static class UserRequestCount {
-        long startTime;
-        long count;
+    /**
+     * Reload admin-tunable limits and drop buckets that have fully refilled.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.refresh-interval-ms:30000}")
+    public void refresh() {
+        try {
+            snapshot = buildSnapshot(
+                    systemConfigService.getLong("auth.rate_limit.requests", 100),
+                    systemConfigService.getLong("auth.rate_limit.window_ms", 60000));
+        } catch (RuntimeException e) {
+            log.warn("Failed to reload rate limit config, keeping previous limits: {}", e.getMessage());
+        }
 
-        UserRequestCount(long startTime, long count) {
-            this.startTime = startTime;
-            this.count = count;
+        int evicted = localStore.evictIdle(System.nanoTime());
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets, {} remaining", evicted, localStore.size());
+        }
+    }
+
+    private LimitSnapshot buildSnapshot(long defaultRequests, long defaultWindowMs) {
+        List<Limit> routes = properties.getRoutes().entrySet().stream()
+                .map(entry -> new Limit(entry.getKey(), entry.getValue().getPathPrefix(),
+                        entry.getValue().getRequests(), entry.getValue().getWindowMs()))
+                .sorted(Comparator.comparingInt((Limit limit) -> limit.pathPrefix().length()).reversed())
+                .toList();
+        Limit fallback = new Limit(DEFAULT_CLASS, "/", Math.max(1, defaultRequests), Math.max(1, defaultWindowMs));
+        return new LimitSnapshot(routes, fallback);
+    }
+
+    record Limit(String name, String pathPrefix, long requests, long windowMs) {
+    }
+
+    /**
+     * Immutable view of the active limits; route classes are ordered longest prefix first.
+     */
+    record LimitSnapshot(List<Limit> routes, Limit fallback) {
+        Limit resolve(String path) {
+            for (Limit route : routes) {
+                if (path.startsWith(route.pathPrefix())) {
+                    return route;
+                }
+            }
+            return fallback;
         }
     }
 }
@@ -0,0 +1,52 @@
+package com.krishihub.auth.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Token buckets shared across instances.
+ * Uses the same arrival-time algorithm as {@link TokenBucketStore}, evaluated atomically
+ * in Redis against the Redis clock so instances with skewed clocks agree.
+ * Keys expire as soon as the bucket has refilled, so Redis memory stays bounded too.
+ */
+@Component
+@RequiredArgsConstructor
+public class RedisRateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    private static final RedisScript<Long> CONSUME_SCRIPT = new DefaultRedisScript<>("""
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local emission = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local arrival = tonumber(redis.call('GET', KEYS[1])) or now
+            if arrival < now then arrival = now end
+            local nextArrival = arrival + emission
+            if nextArrival - now > window then
+                return 0
+            end
+            local ttl = math.max(1, math.ceil((nextArrival - now) / 1000))
+            redis.call('SET', KEYS[1], string.format('%.0f', nextArrival), 'PX', string.format('%.0f', ttl))
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Take one token for the key.
+     * Redis errors propagate so the caller can decide how to degrade.
+     */
+    public boolean tryConsume(String key, long capacity, long windowMs) {
+        long windowMicros = windowMs * 1000L;
+        long emissionMicros = Math.max(1, windowMicros / capacity);
+        Long allowed = redisTemplate.execute(CONSUME_SCRIPT, List.of(KEY_PREFIX + key),
+                Long.toString(emissionMicros), Long.toString(windowMicros));
+        return allowed != null && allowed == 1L;
+    }
+}
@@ -0,0 +1,106 @@
+package com.krishihub.auth.service;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, lock-free in-memory token buckets.
+ *
+ * Each bucket is a single "theoretical arrival time" (GCRA), which behaves exactly
+ * like a token bucket of the same capacity and refill rate but needs one CAS per
+ * request instead of a lock. A bucket whose arrival time has passed is full again,
+ * so dropping it is indistinguishable from keeping it; that is what makes eviction safe.
+ *
+ * Once maxKeys is reached, refilled buckets are dropped first and then the least
+ * recently used tenth, in one sweep, so every client keeps its own bucket and the
+ * sweep cost is spread over many new keys.
+ */
+class TokenBucketStore {
+
+    private final int maxKeys;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    TokenBucketStore(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Take one token for the key.
+     *
+     * @param capacity bucket size, i.e. requests allowed per window in a burst
+     * @param windowMs time to refill an empty bucket
+     */
+    boolean tryConsume(String key, long capacity, long windowMs, long nowNanos) {
+        long windowNanos = windowMs * 1_000_000L;
+        long emissionNanos = Math.max(1, windowNanos / capacity);
+        AtomicLong arrivals = bucketFor(key, nowNanos).arrival;
+
+        while (true) {
+            long arrival = arrivals.get();
+            long next = Math.max(arrival, nowNanos) + emissionNanos;
+            if (next - nowNanos > windowNanos) {
+                return false;
+            }
+            if (arrivals.compareAndSet(arrival, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Drop every bucket that has fully refilled.
+     *
+     * @return number of buckets removed
+     */
+    int evictIdle(long nowNanos) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.arrival.get() - nowNanos <= 0);
+        return before - buckets.size();
+    }
+
+    int size() {
+        return buckets.size();
+    }
+
+    private Bucket bucketFor(String key, long nowNanos) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= maxKeys) {
+                makeRoom(nowNanos);
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket(nowNanos));
+        }
+        bucket.lastUsedNanos = nowNanos;
+        return bucket;
+    }
+
+    private synchronized void makeRoom(long nowNanos) {
+        // Another thread may have made room while this one waited
+        if (buckets.size() < maxKeys) {
+            return;
+        }
+        evictIdle(nowNanos);
+        int excess = buckets.size() - (maxKeys - Math.max(1, maxKeys / 10));
+        if (excess <= 0) {
+            return;
+        }
+        buckets.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastUsedNanos))
+                .limit(excess)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(buckets::remove);
+    }
+
+    private static final class Bucket {
+        private final AtomicLong arrival;
+        private volatile long lastUsedNanos;
+
+        private Bucket(long nowNanos) {
+            this.arrival = new AtomicLong(nowNanos);
+            this.lastUsedNanos = nowNanos;
+        }
+    }
+}
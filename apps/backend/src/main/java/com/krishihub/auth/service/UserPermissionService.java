@@ -22,6 +22,7 @@ import java.util.stream.Collectors;
 public class UserPermissionService {
 
     private final UserRepository userRepository;
+    private final AuthenticatedPrincipalCache principalCache;
 
     /**
      * Fetch user permissions with caching.
@@ -72,5 +73,15 @@ public class UserPermissionService {
     @CacheEvict(value = "userPermissions", key = "#userId")
     public void invalidateUserPermissionCache(UUID userId) {
         log.info("Invalidating permission cache for user: {}", userId);
+        principalCache.invalidate(userId);
+    }
+
+    /**
+     * Invalidate every user's cache when a role's permission set changes.
+     */
+    @CacheEvict(value = "userPermissions", allEntries = true)
+    public void invalidateAllPermissionCaches() {
+        log.info("Invalidating permission cache for all users");
+        principalCache.invalidateAll();
     }
 }
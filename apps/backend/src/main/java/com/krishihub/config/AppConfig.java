@@ -16,6 +16,7 @@ import org.springframework.context.annotation.Configuration;
     EmailProperties.class,
     WeatherProperties.class,
     MarketProperties.class,
+    RateLimitProperties.class,
     ApplicationProperties.class
 })
 public class AppConfig {
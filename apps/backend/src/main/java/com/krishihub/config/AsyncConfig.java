@@ -1,11 +1,14 @@
 package com.krishihub.config;
 
+import com.krishihub.config.properties.MarketProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -22,4 +25,94 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Bounded pool for the weather poller's per-district fan-out.
+     * Its size is the parallelism limit; retries are scheduled onto it after a delay
+     * instead of sleeping on a worker.
+     */
+    @Bean(name = "weatherPollExecutor")
+    public Executor weatherPollExecutor(WeatherAdvisoryConfig weatherAdvisoryConfig) {
+        int parallelism = weatherAdvisoryConfig.getIngestion().getParallelism();
+        ThreadPoolTaskExecutor executor =
+                new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("weather-poll-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bounded pool for the hourly advisory run's district partitions.
+     * Partitions are queued rather than run on the scheduler thread, so a full queue
+     * falls back to the caller only as a last resort.
+     */
+    @Bean(name = "advisoryRunExecutor")
+    public Executor advisoryRunExecutor(WeatherAdvisoryConfig weatherAdvisoryConfig) {
+        int parallelism = weatherAdvisoryConfig.getAdvisory().getParallelism();
+        ThreadPoolTaskExecutor executor =
+                new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("advisory-run-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Bounded pool for fetching market price sources side by side.
+     * Tasks are interruptible so a source that overruns its timeout can be cancelled.
+     */
+    @Bean(name = "priceSourceExecutor")
+    public AsyncTaskExecutor priceSourceExecutor(MarketProperties marketProperties) {
+        int parallelism = marketProperties.getIngestion().getParallelism();
+        ThreadPoolTaskExecutor executor =
+                new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(50);
+        executor.setThreadNamePrefix("price-source-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * One thread per pooled browser session, for scraping several market pages at once.
+     */
+    @Bean(name = "browserScrapeExecutor")
+    public Executor browserScrapeExecutor(MarketProperties marketProperties) {
+        int sessions = marketProperties.getScraper().getSelenium().getPoolSize();
+        ThreadPoolTaskExecutor executor =
+                new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(sessions);
+        executor.setMaxPoolSize(sessions);
+        executor.setQueueCapacity(20);
+        executor.setThreadNamePrefix("browser-scrape-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * CPU-bound pool for bcrypt during bulk farmer imports, one thread per core.
+     * Callers run hashes themselves when it is saturated instead of queueing without bound.
+     */
+    @Bean(name = "passwordHashExecutor")
+    public Executor passwordHashExecutor() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor =
+                new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(cores);
+        executor.setMaxPoolSize(cores);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
 }
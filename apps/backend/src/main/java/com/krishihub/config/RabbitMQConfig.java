@@ -10,12 +10,18 @@ import org.springframework.context.annotation.Configuration;
 public class RabbitMQConfig {
 
     public static final String NOTIFICATION_QUEUE = "notification.queue";
+    public static final String BROADCAST_QUEUE = "notification.broadcast.queue";
 
     @Bean
     public Queue notificationQueue() {
         return new Queue(NOTIFICATION_QUEUE, true);
     }
 
+    @Bean
+    public Queue broadcastQueue() {
+        return new Queue(BROADCAST_QUEUE, true);
+    }
+
     @Bean
     public MessageConverter jsonMessageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -43,23 +43,7 @@ public class RedisConfig implements CachingConfigurer {
             connectionFactory.getConnection().close();
             log.info("Redis connection successful. Initializing RedisCacheManager with DefaultTyping enabled");
 
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-            mapper.activateDefaultTyping(
-                    LaissezFaireSubTypeValidator.instance,
-                    ObjectMapper.DefaultTyping.NON_FINAL,
-                    JsonTypeInfo.As.PROPERTY);
-
-            // Register Mixin for PageImpl and PageRequest
-            mapper.addMixIn(PageImpl.class, PageMixin.class);
-            mapper.addMixIn(PageRequest.class, PageRequestMixin.class);
-
-            // Register Custom Deserializer for Sort via Module
-            SimpleModule sortModule = new SimpleModule();
-            sortModule.addDeserializer(Sort.class, new SortDeserializer());
-            mapper.registerModule(sortModule);
-
-            GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(mapper);
+            GenericJackson2JsonRedisSerializer serializer = cacheValueSerializer();
 
             RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
                     .entryTtl(Duration.ofHours(1))
@@ -78,6 +62,29 @@ public class RedisConfig implements CachingConfigurer {
         }
     }
 
+    /**
+     * Value serializer for the Redis cache, with default typing and the Page mixins.
+     */
+    static GenericJackson2JsonRedisSerializer cacheValueSerializer() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper.activateDefaultTyping(
+                LaissezFaireSubTypeValidator.instance,
+                ObjectMapper.DefaultTyping.NON_FINAL,
+                JsonTypeInfo.As.PROPERTY);
+
+        // Register Mixin for PageImpl and PageRequest
+        mapper.addMixIn(PageImpl.class, PageMixin.class);
+        mapper.addMixIn(PageRequest.class, PageRequestMixin.class);
+
+        // Register Custom Deserializer for Sort via Module
+        SimpleModule sortModule = new SimpleModule();
+        sortModule.addDeserializer(Sort.class, new SortDeserializer());
+        mapper.registerModule(sortModule);
+
+        return new GenericJackson2JsonRedisSerializer(mapper);
+    }
+
     @JsonIgnoreProperties(ignoreUnknown = true)
     @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.PROPERTY)
     abstract static class PageMixin {
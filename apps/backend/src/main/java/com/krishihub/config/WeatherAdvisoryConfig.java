@@ -5,9 +5,14 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Configuration properties for Weather Advisory system
  */
@@ -32,6 +37,16 @@ public class WeatherAdvisoryConfig {
      */
     private Advisory advisory = new Advisory();
 
+    /**
+     * Asynchronous delivery log writer configuration
+     */
+    private DeliveryLog deliveryLog = new DeliveryLog();
+
+    /**
+     * Advisory analytics rollup configuration
+     */
+    private Analytics analytics = new Analytics();
+
     @Data
     public static class OpenWeatherMap {
         @NotBlank(message = "OpenWeatherMap API key is required")
@@ -63,6 +78,28 @@ public class WeatherAdvisoryConfig {
          * Enable/disable scheduled ingestion
          */
         private boolean enabled = true;
+
+        /**
+         * Maximum number of districts polled concurrently
+         */
+        @Min(1)
+        private int parallelism = 4;
+
+        /**
+         * Upper bound for one provider's availability check and, separately, its fetch of a district
+         * including retries, in milliseconds. When it passes, pending retries are dropped and the next
+         * provider is tried.
+         */
+        @Min(1000)
+        private long providerTimeoutMs = 15000;
+
+        /**
+         * Districts polled on every run
+         */
+        @NotEmpty
+        private List<String> districts = new ArrayList<>(List.of(
+                "Kathmandu", "Pokhara", "Kaski", "Chitwan", "Lalitpur",
+                "Bhaktapur", "Dhading", "Nuwakot", "Rasuwa", "Sindhupalchok"));
     }
 
     @Data
@@ -80,15 +117,102 @@ public class WeatherAdvisoryConfig {
         private boolean enabled = true;
 
         /**
-         * Deduplication window in hours
+         * Deduplication window in hours. Unset derives it from processing-cron as slightly
+         * less than the interval between runs, so a claim never outlives the next run.
          */
-        @NotNull
-        private Integer deduplicationWindowHours = 1;
+        @Min(1)
+        private Integer deduplicationWindowHours;
+
+        /**
+         * Share deduplication claims across instances through Redis
+         */
+        private boolean deduplicationRedisEnabled = false;
 
         /**
          * Maximum advisories per farmer per day
          */
         @NotNull
         private Integer maxAdvisoriesPerDay = 5;
+
+        /**
+         * Maximum number of partitions processed concurrently
+         */
+        @Min(1)
+        private int parallelism = 4;
+
+        /**
+         * Farmers per partition; larger districts are split into several
+         */
+        @Min(1)
+        private int partitionSize = 500;
+
+        /**
+         * Upper bound for one run in milliseconds; keep it below the processing interval
+         */
+        @Min(1000)
+        private long runTimeoutMs = 2700000;
+
+        /**
+         * Time after the run deadline that workers get to stop on their own before they
+         * are interrupted and the run is abandoned, in milliseconds
+         */
+        @Min(0)
+        private long runGraceMs = 300000;
+    }
+
+    @Data
+    public static class DeliveryLog {
+        /**
+         * Log writes buffered before producers are slowed down
+         */
+        @Min(1)
+        private int queueCapacity = 10000;
+
+        /**
+         * Writes flushed per transaction
+         */
+        @Min(1)
+        private int batchSize = 500;
+
+        /**
+         * Delay between flushes in milliseconds
+         */
+        @Min(10)
+        private long flushIntervalMs = 1000;
+
+        /**
+         * How long a producer waits for queue space before flushing a batch itself, in milliseconds
+         */
+        @Min(0)
+        private long offerTimeoutMs = 50;
+    }
+
+    @Data
+    public static class Analytics {
+        /**
+         * Delay between rollup refreshes in milliseconds
+         */
+        @Min(1000)
+        private long rollupRefreshIntervalMs = 60000;
+
+        /**
+         * Cron for the daily rollup re-sweep and hourly stats retention, in server time
+         */
+        @NotNull
+        private String rollupMaintenanceCron = "0 40 3 * * *";
+
+        /**
+         * Whole days recomputed by the re-sweep, to catch changes whose refresh was lost
+         * on restart or made by another instance
+         */
+        @Min(0)
+        private int rollupResweepDays = 2;
+
+        /**
+         * Days of hourly stats kept; older hours only remain in the daily rollup. Logs
+         * changing status after this long no longer update the rollups.
+         */
+        @Min(2)
+        private int hourlyStatsRetentionDays = 90;
     }
 }
@@ -27,4 +27,19 @@ public class JwtProperties {
 
     @Min(value = 1000, message = "JWT refresh expiration must be at least 1 second")
     private long refreshExpiration;
+
+    private PrincipalCache principalCache = new PrincipalCache();
+
+    /**
+     * Authenticated principals cached by user ID so the JWT filter skips the user lookup.
+     */
+    @Getter
+    @Setter
+    public static class PrincipalCache {
+        @Min(value = 0, message = "Principal cache TTL must not be negative")
+        private long ttlMs = 60_000;
+
+        @Min(value = 1, message = "Principal cache size must be at least 1")
+        private int maxSize = 10_000;
+    }
 }
@@ -6,6 +6,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 
 /**
@@ -23,6 +24,18 @@ public class MarketProperties {
     @NotNull
     private Scraper scraper = new Scraper();
 
+    @Valid
+    @NotNull
+    private Ingestion ingestion = new Ingestion();
+
+    @Valid
+    @NotNull
+    private Retention retention = new Retention();
+
+    @Valid
+    @NotNull
+    private Backfill backfill = new Backfill();
+
     @Getter
     @Setter
     public static class Scraper {
@@ -36,10 +49,116 @@ public class MarketProperties {
         private Kalimati kalimati = new Kalimati();
     }
 
+    @Getter
+    @Setter
+    public static class Ingestion {
+        /**
+         * Rows written per upsert statement
+         */
+        @Min(1)
+        private int batchSize = 1000;
+
+        /**
+         * Sources fetched at the same time
+         */
+        @Min(1)
+        private int parallelism = 4;
+
+        /**
+         * Per-source fetch budget; a source still running after this is cancelled
+         */
+        @Min(1)
+        private long sourceTimeoutMs = 180_000;
+
+        /**
+         * Consecutive failed runs after which a source is skipped
+         */
+        @Min(1)
+        private int circuitFailureThreshold = 3;
+
+        /**
+         * How long a tripped source is skipped before one trial fetch is allowed
+         */
+        @Min(0)
+        private long circuitOpenMs = 3_600_000;
+    }
+
+    /**
+     * Monthly partition maintenance for market_prices and market_price_audit
+     */
+    @Getter
+    @Setter
+    public static class Retention {
+        private boolean enabled = true;
+
+        /**
+         * Cron for partition creation and retention, in server time
+         */
+        @NotNull
+        private String cron = "0 30 3 * * *";
+
+        /**
+         * Months created ahead of the current one
+         */
+        @Min(1)
+        private int premakeMonths = 3;
+
+        /**
+         * Months of daily prices kept in full; older partitions are downsampled to
+         * market_price_weekly and dropped. 0, the default, keeps everything; set it
+         * deliberately, since dropped partitions only survive as weekly aggregates.
+         */
+        @Min(0)
+        private int rawPriceMonths = 0;
+
+        /**
+         * Months of price audit kept; older partitions are dropped. 0 keeps everything.
+         */
+        @Min(0)
+        private int auditMonths = 0;
+    }
+
+    /**
+     * Bulk historical price loads from CSV
+     */
+    @Getter
+    @Setter
+    public static class Backfill {
+        /**
+         * Rows validated and written per statement and transaction
+         */
+        @Min(1)
+        private int chunkSize = 5000;
+
+        /**
+         * Crop and district pairs whose projection and rollups are rebuilt per statement
+         */
+        @Min(1)
+        private int rebuildBatchSize = 50;
+    }
+
     @Getter
     @Setter
     public static class Selenium {
         private boolean enabled;
+
+        /**
+         * Long-lived headless browser sessions, and so the number of pages scraped at once
+         */
+        @Min(1)
+        private int poolSize = 2;
+
+        /**
+         * Page loads after which a session is quit and replaced with a fresh browser
+         */
+        @Min(1)
+        private int maxUsesPerSession = 50;
+
+        /**
+         * How long a scrape waits for a free session before giving up
+         */
+        @Min(1)
+        private long checkoutTimeoutMs = 30_000;
     }
 
     @Getter
@@ -0,0 +1,69 @@
+package com.krishihub.config.properties;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * API rate limiting configuration properties.
+ * Centralized and strongly typed.
+ * DO NOT use @Value for configuration.
+ *
+ * The default limit for /api stays admin-tunable through the
+ * auth.rate_limit.* system configs; route classes below override it per path prefix.
+ */
+@Getter
+@Setter
+@Validated
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Share buckets across instances through Redis instead of keeping them per JVM.
+     */
+    private boolean redisEnabled = false;
+
+    /**
+     * Upper bound on locally tracked client keys. Beyond this the least recently used keys are evicted.
+     */
+    @Min(1000)
+    private int maxKeys = 100_000;
+
+    /**
+     * How often idle buckets are swept and the system config snapshot is reloaded.
+     */
+    @Min(1000)
+    private long refreshIntervalMs = 30_000;
+
+    /**
+     * Route classes keyed by name, matched on the longest path prefix. None by default:
+     * clients are keyed by remote address, so a stricter class is only safe where that
+     * address is the real client (see server.forward-headers-strategy).
+     */
+    @Valid
+    private Map<String, RouteLimit> routes = new LinkedHashMap<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RouteLimit {
+        @NotBlank
+        private String pathPrefix;
+
+        @Min(1)
+        private long requests;
+
+        @Min(1000)
+        private long windowMs;
+    }
+}
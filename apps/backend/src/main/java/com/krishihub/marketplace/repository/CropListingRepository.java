@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -16,6 +17,11 @@ import java.util.UUID;
 public interface CropListingRepository extends JpaRepository<CropListing, UUID>, JpaSpecificationExecutor<CropListing> {
     List<CropListing> findByFarmerId(UUID farmerId);
 
+    /**
+     * Load the listings of many farmers in one query (weather advisory context building)
+     */
+    List<CropListing> findByFarmerIdIn(Collection<UUID> farmerIds);
+
     List<CropListing> findTop5ByFarmerIdOrderByCreatedAtDesc(UUID farmerId);
 
     long countByFarmerId(UUID farmerId);
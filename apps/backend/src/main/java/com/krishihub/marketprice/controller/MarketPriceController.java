@@ -2,6 +2,7 @@ package com.krishihub.marketprice.controller;
 
 import com.krishihub.marketprice.dto.MarketPriceDto;
 import com.krishihub.marketprice.dto.MarketPriceAnalyticsDto;
+import com.krishihub.marketprice.dto.PriceBackfillStatus;
 
 import com.krishihub.marketprice.service.MarketPriceService;
 import com.krishihub.marketprice.service.MarketPriceIngestionService;
@@ -13,6 +14,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
 import java.util.UUID;
@@ -90,6 +92,20 @@ public class MarketPriceController {
         return ResponseEntity.ok(ApiResponse.success(districts));
     }
 
+    @GetMapping("/crops/suggest")
+    public ResponseEntity<ApiResponse<List<String>>> suggestCrops(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(priceService.suggestCrops(q, Math.min(limit, 50))));
+    }
+
+    @GetMapping("/districts/suggest")
+    public ResponseEntity<ApiResponse<List<String>>> suggestDistricts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(priceService.suggestDistricts(q, Math.min(limit, 50))));
+    }
+
     @GetMapping("/history")
     public ResponseEntity<ApiResponse<List<MarketPriceDto>>> getPriceHistory(
             @RequestParam String cropName,
@@ -128,4 +144,17 @@ public class MarketPriceController {
         return ResponseEntity.ok(ApiResponse.success("Ingestion triggered successfully", null));
     }
 
+    @PostMapping("/backfill")
+    @PreAuthorize("hasAuthority('ADMIN:PANEL')")
+    public ResponseEntity<ApiResponse<PriceBackfillStatus>> startBackfill(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.accepted()
+                .body(ApiResponse.success("Price backfill started", priceService.startBackfill(file)));
+    }
+
+    @GetMapping("/backfill/{jobId}")
+    @PreAuthorize("hasAuthority('ADMIN:PANEL')")
+    public ResponseEntity<ApiResponse<PriceBackfillStatus>> getBackfillStatus(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(ApiResponse.success("Backfill status fetched", priceService.getBackfillStatus(jobId)));
+    }
+
 }
@@ -1,5 +1,6 @@
 package com.krishihub.marketprice.controller;
 
+import com.krishihub.marketprice.dto.PriceAlertUpdateDto;
 import com.krishihub.marketprice.entity.PriceAlert;
 import com.krishihub.marketprice.service.PriceAlertService;
 import com.krishihub.shared.dto.ApiResponse;
@@ -24,6 +25,12 @@ public class PriceAlertController {
         return ResponseEntity.ok(ApiResponse.success("Alert created successfully", priceAlertService.createAlert(alert)));
     }
 
+    @PutMapping("/{id}")
+    public ResponseEntity<ApiResponse<PriceAlert>> updateAlert(@PathVariable UUID id, @RequestBody PriceAlertUpdateDto alert) {
+        return ResponseEntity.ok(ApiResponse.success("Alert updated successfully", priceAlertService.updateAlert(id, alert,
+                com.krishihub.common.context.UserContextHolder.getUserId())));
+    }
+
     @GetMapping
     public ResponseEntity<ApiResponse<List<PriceAlert>>> getUserAlerts(@RequestParam UUID userId) {
         return ResponseEntity.ok(ApiResponse.success(priceAlertService.getUserAlerts(userId)));
@@ -31,7 +38,7 @@ public class PriceAlertController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteAlert(@PathVariable UUID id) {
-        priceAlertService.deleteAlert(id);
+        priceAlertService.deleteAlert(id, com.krishihub.common.context.UserContextHolder.getUserId());
         return ResponseEntity.ok(ApiResponse.success("Alert deleted successfully", null));
     }
 }
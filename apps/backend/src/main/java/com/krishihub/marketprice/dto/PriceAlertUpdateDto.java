@@ -0,0 +1,23 @@
+package com.krishihub.marketprice.dto;
+
+import com.krishihub.marketprice.entity.PriceAlert;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Partial update of a price alert; null fields are left unchanged.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceAlertUpdateDto {
+    private String cropName;
+    private BigDecimal targetPrice;
+    private PriceAlert.AlertCondition condition;
+    private Boolean active;
+}
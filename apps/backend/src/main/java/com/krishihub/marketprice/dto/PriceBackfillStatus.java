@@ -0,0 +1,38 @@
+package com.krishihub.marketprice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Progress of a background historical price backfill.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class PriceBackfillStatus {
+
+    public enum State { QUEUED, LOADING, REBUILDING, COMPLETED, FAILED }
+
+    private UUID jobId;
+    private State state;
+    private String fileName;
+
+    private long processedRows;
+    private long written;
+    private long skippedUnchanged;
+    private long skippedInvalid;
+    // Dated before the raw price retention cutoff; those months only exist as weekly aggregates
+    private long skippedExpired;
+    private int rebuiltKeys;
+    private int totalKeys;
+
+    private String error;
+    private Date startedAt;
+    private Date finishedAt;
+}
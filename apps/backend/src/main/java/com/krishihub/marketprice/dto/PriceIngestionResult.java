@@ -0,0 +1,39 @@
+package com.krishihub.marketprice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk price ingestion run.
+ * Skipped covers invalid rows, in-batch duplicates and rows whose values did not change.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PriceIngestionResult {
+    private int inserted;
+    private int updated;
+    private int skipped;
+
+    /**
+     * Rows that were inserted or updated, with their persisted IDs.
+     */
+    @Builder.Default
+    private List<MarketPriceDto> changedPrices = new ArrayList<>();
+
+    /**
+     * Latency, row counts and status for each source in the run.
+     */
+    @Builder.Default
+    private List<SourceFetchStats> sources = new ArrayList<>();
+
+    public int getTotal() {
+        return inserted + updated + skipped;
+    }
+}
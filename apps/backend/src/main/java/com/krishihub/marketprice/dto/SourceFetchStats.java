@@ -0,0 +1,25 @@
+package com.krishihub.marketprice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-source outcome of one ingestion run.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SourceFetchStats {
+
+    public enum Status { OK, FAILED, TIMED_OUT, SKIPPED_OPEN_CIRCUIT }
+
+    private String sourceId;
+    private Status status;
+    private long latencyMs;
+    private int fetchedRows;
+    private int validRows;
+    private String error;
+}
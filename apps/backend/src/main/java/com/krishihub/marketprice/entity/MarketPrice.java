@@ -13,7 +13,9 @@ import java.util.Date;
 import java.util.UUID;
 
 @Entity
-@Table(name = "market_prices")
+@Table(name = "market_prices", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_market_prices_crop_district_date", columnNames = {"crop_name", "district", "price_date"})
+})
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @NoArgsConstructor
@@ -0,0 +1,236 @@
+package com.krishihub.marketprice.repository;
+
+import com.krishihub.marketprice.dto.MarketPriceDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based writes for market prices.
+ * A whole chunk is upserted on (crop_name, district, price_date) in a single
+ * statement instead of a find/save/delete round trip per row, and the
+ * market_price_latest projection is refreshed for the touched keys.
+ * Previous prices for a batch of rows are read the same way.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MarketPriceBatchRepository {
+
+    /**
+     * Rows whose values are identical to the stored ones are left untouched, so
+     * unchanged rows cost no write.
+     */
+    private static final String LOAD_SQL = """
+            INSERT INTO market_prices (id, crop_name, crop_code, district, min_price, max_price, avg_price,
+                                       unit, price_date, source, created_at, updated_at)
+            SELECT gen_random_uuid(), t.crop_name, t.crop_code, t.district, t.min_price, t.max_price, t.avg_price,
+                   t.unit, t.price_date, t.source, now(), now()
+            FROM unnest(?::varchar[], ?::varchar[], ?::varchar[], ?::numeric[], ?::numeric[], ?::numeric[],
+                        ?::varchar[], ?::date[], ?::varchar[])
+                 AS t(crop_name, crop_code, district, min_price, max_price, avg_price, unit, price_date, source)
+            ON CONFLICT (crop_name, district, price_date) DO UPDATE SET
+                min_price = EXCLUDED.min_price,
+                max_price = EXCLUDED.max_price,
+                avg_price = EXCLUDED.avg_price,
+                unit = EXCLUDED.unit,
+                source = EXCLUDED.source,
+                updated_at = now()
+            WHERE (market_prices.min_price, market_prices.max_price, market_prices.avg_price,
+                   market_prices.unit, market_prices.source)
+                  IS DISTINCT FROM
+                  (EXCLUDED.min_price, EXCLUDED.max_price, EXCLUDED.avg_price, EXCLUDED.unit, EXCLUDED.source)
+            """;
+
+    /**
+     * LOAD_SQL returning the inserted or changed rows; unchanged rows are not returned
+     * and count as skipped. xmax = 0 on a returned row means it was freshly inserted.
+     */
+    private static final String UPSERT_SQL = LOAD_SQL + """
+            RETURNING id, crop_name, district, price_date, (xmax = 0) AS inserted
+            """;
+
+    /**
+     * Recomputes current and previous price for each key from the two newest history rows.
+     * Both lateral lookups are bounded backward scans of uk_market_prices_crop_district_date,
+     * so the cost per key does not grow with history. Keys without any price are left alone.
+     */
+    private static final String REFRESH_LATEST_SQL = """
+            INSERT INTO market_price_latest (crop_name, district, current_price_id, current_price_date,
+                                             previous_price_id, previous_price_date, updated_at)
+            SELECT k.crop_name, k.district, cur.id, cur.price_date, prev.id, prev.price_date, now()
+            FROM unnest(?::varchar[], ?::varchar[]) AS k(crop_name, district)
+            JOIN LATERAL (
+                SELECT mp.id, mp.price_date FROM market_prices mp
+                WHERE mp.crop_name = k.crop_name AND mp.district = k.district
+                ORDER BY mp.price_date DESC LIMIT 1
+            ) cur ON true
+            LEFT JOIN LATERAL (
+                SELECT mp.id, mp.price_date FROM market_prices mp
+                WHERE mp.crop_name = k.crop_name AND mp.district = k.district AND mp.price_date < cur.price_date
+                ORDER BY mp.price_date DESC LIMIT 1
+            ) prev ON true
+            ON CONFLICT (crop_name, district) DO UPDATE SET
+                current_price_id = EXCLUDED.current_price_id,
+                current_price_date = EXCLUDED.current_price_date,
+                previous_price_id = EXCLUDED.previous_price_id,
+                previous_price_date = EXCLUDED.previous_price_date,
+                updated_at = now()
+            """;
+
+    /**
+     * Newest earlier price per row; each lookup is a bounded backward scan of
+     * uk_market_prices_crop_district_date.
+     */
+    private static final String PREVIOUS_PRICES_SQL = """
+            SELECT k.crop_name, k.district, k.price_date, p.avg_price
+            FROM unnest(?::varchar[], ?::varchar[], ?::date[]) AS k(crop_name, district, price_date)
+            CROSS JOIN LATERAL (
+                SELECT mp.avg_price FROM market_prices mp
+                WHERE mp.crop_name = k.crop_name AND mp.district = k.district AND mp.price_date < k.price_date
+                ORDER BY mp.price_date DESC
+                LIMIT 1
+            ) p
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Upserts one chunk of prices. Callers must ensure the chunk holds at most one
+     * row per (cropName, district, priceDate), as Postgres rejects a statement that
+     * touches the same row twice.
+     *
+     * @return the rows that were inserted or actually changed
+     */
+    public List<UpsertedRow> upsert(List<MarketPriceDto> prices) {
+        if (prices.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(
+                connection -> preparePriceWrite(connection, UPSERT_SQL, prices),
+                (rs, rowNum) -> new UpsertedRow(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("crop_name"),
+                        rs.getString("district"),
+                        rs.getDate("price_date"),
+                        rs.getBoolean("inserted")));
+    }
+
+    /**
+     * Upserts one chunk like {@link #upsert(List)} without returning rows, for bulk loads
+     * that refresh derived tables once at the end.
+     *
+     * @return number of rows inserted or changed
+     */
+    public int load(List<MarketPriceDto> prices) {
+        if (prices.isEmpty()) {
+            return 0;
+        }
+        return jdbcTemplate.update(connection -> preparePriceWrite(connection, LOAD_SQL, prices));
+    }
+
+    /**
+     * Refreshes the latest-price projection for the given (cropName, district) keys.
+     * Must run in the same transaction as the history write it reflects.
+     */
+    public void refreshLatest(Collection<LatestKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Object[] cropNames = keys.stream().map(LatestKey::cropName).toArray();
+        Object[] districts = keys.stream().map(LatestKey::district).toArray();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(REFRESH_LATEST_SQL);
+            ps.setArray(1, array(connection, "varchar", cropNames));
+            ps.setArray(2, array(connection, "varchar", districts));
+            return ps;
+        });
+    }
+
+    /**
+     * Average price on the newest date before each row's price date, for rows that have one.
+     */
+    public List<PreviousPrice> findPreviousPrices(List<MarketPriceDto> prices) {
+        if (prices.isEmpty()) {
+            return List.of();
+        }
+        Object[] cropNames = prices.stream().map(MarketPriceDto::getCropName).toArray();
+        Object[] districts = prices.stream().map(MarketPriceDto::getDistrict).toArray();
+        Object[] priceDates = prices.stream().map(price -> new java.sql.Date(price.getPriceDate().getTime())).toArray();
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(PREVIOUS_PRICES_SQL);
+            ps.setArray(1, array(connection, "varchar", cropNames));
+            ps.setArray(2, array(connection, "varchar", districts));
+            ps.setArray(3, array(connection, "date", priceDates));
+            return ps;
+        }, (rs, rowNum) -> new PreviousPrice(
+                rs.getString("crop_name"),
+                rs.getString("district"),
+                rs.getDate("price_date").toLocalDate(),
+                rs.getBigDecimal("avg_price")));
+    }
+
+    private PreparedStatement preparePriceWrite(Connection connection, String sql, List<MarketPriceDto> prices)
+            throws SQLException {
+        int size = prices.size();
+        Object[] cropNames = new Object[size];
+        Object[] cropCodes = new Object[size];
+        Object[] districts = new Object[size];
+        Object[] minPrices = new Object[size];
+        Object[] maxPrices = new Object[size];
+        Object[] avgPrices = new Object[size];
+        Object[] units = new Object[size];
+        Object[] priceDates = new Object[size];
+        Object[] sources = new Object[size];
+
+        for (int i = 0; i < size; i++) {
+            MarketPriceDto price = prices.get(i);
+            cropNames[i] = price.getCropName();
+            cropCodes[i] = price.getCropCode();
+            districts[i] = price.getDistrict();
+            minPrices[i] = price.getMinPrice();
+            maxPrices[i] = price.getMaxPrice();
+            avgPrices[i] = price.getAvgPrice();
+            units[i] = price.getUnit();
+            priceDates[i] = new java.sql.Date(price.getPriceDate().getTime());
+            sources[i] = price.getSource();
+        }
+
+        PreparedStatement ps = connection.prepareStatement(sql);
+        ps.setArray(1, array(connection, "varchar", cropNames));
+        ps.setArray(2, array(connection, "varchar", cropCodes));
+        ps.setArray(3, array(connection, "varchar", districts));
+        ps.setArray(4, array(connection, "numeric", minPrices));
+        ps.setArray(5, array(connection, "numeric", maxPrices));
+        ps.setArray(6, array(connection, "numeric", avgPrices));
+        ps.setArray(7, array(connection, "varchar", units));
+        ps.setArray(8, array(connection, "date", priceDates));
+        ps.setArray(9, array(connection, "varchar", sources));
+        return ps;
+    }
+
+    private Array array(Connection connection, String type, Object[] values) throws SQLException {
+        return connection.createArrayOf(type, values);
+    }
+
+    public record UpsertedRow(UUID id, String cropName, String district, Date priceDate, boolean inserted) {
+    }
+
+    public record LatestKey(String cropName, String district) {
+    }
+
+    /**
+     * avgPrice is the newest price strictly before priceDate.
+     */
+    public record PreviousPrice(String cropName, String district, java.time.LocalDate priceDate,
+                                java.math.BigDecimal avgPrice) {
+    }
+}
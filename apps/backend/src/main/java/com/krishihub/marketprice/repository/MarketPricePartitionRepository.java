@@ -0,0 +1,159 @@
+package com.krishihub.marketprice.repository;
+
+import com.krishihub.marketprice.dto.PriceStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Partition management for the monthly range-partitioned market_prices and
+ * market_price_audit tables (see V202610170000000005).
+ */
+@Repository
+@RequiredArgsConstructor
+public class MarketPricePartitionRepository {
+
+    public static final String PRICES = "market_prices";
+    public static final String AUDIT = "market_price_audit";
+
+    private static final Pattern MONTHLY_NAME = Pattern.compile("^(market_prices|market_price_audit)_(\\d{4})_(\\d{2})$");
+
+    private static final String PARTITIONS_SQL = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = ?::regclass
+            """;
+
+    /**
+     * Merges into existing weeks, since a week spanning two months is fed by two partitions.
+     */
+    private static final String DOWNSAMPLE_SQL = """
+            INSERT INTO market_price_weekly (district, crop_name, week_start, min_price, max_price, avg_price, days)
+            SELECT district, crop_name, date_trunc('week', price_date)::date,
+                   MIN(min_price), MAX(max_price), ROUND(AVG(avg_price), 2), COUNT(*)
+            FROM %s
+            %s
+            GROUP BY district, crop_name, date_trunc('week', price_date)::date
+            ON CONFLICT (district, crop_name, week_start) DO UPDATE SET
+                min_price = LEAST(market_price_weekly.min_price, EXCLUDED.min_price),
+                max_price = GREATEST(market_price_weekly.max_price, EXCLUDED.max_price),
+                avg_price = ROUND((market_price_weekly.avg_price * market_price_weekly.days
+                                   + EXCLUDED.avg_price * EXCLUDED.days)
+                                  / (market_price_weekly.days + EXCLUDED.days), 2),
+                days = market_price_weekly.days + EXCLUDED.days
+            """;
+
+    private static final String WEEKLY_HISTORY_SQL = """
+            SELECT week_start, min_price, max_price, avg_price
+            FROM market_price_weekly
+            WHERE crop_name = ? AND district = ? AND week_start >= ? AND week_start < ?
+            ORDER BY week_start
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates the partition for the month containing monthStart if it is missing, moving
+     * that month's rows out of the default partition into it (see V202610170000000009).
+     */
+    public void ensureMonthlyPartition(String parent, LocalDate monthStart) {
+        jdbcTemplate.queryForObject("SELECT create_monthly_partition(?, ?)", String.class,
+                parent, java.sql.Date.valueOf(monthStart));
+    }
+
+    /**
+     * Monthly partitions of the parent table, excluding the default partition.
+     */
+    public List<MonthlyPartition> findMonthlyPartitions(String parent) {
+        return jdbcTemplate.queryForList(PARTITIONS_SQL, String.class, parent).stream()
+                .map(MONTHLY_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(m -> new MonthlyPartition(m.group(0),
+                        LocalDate.of(Integer.parseInt(m.group(2)), Integer.parseInt(m.group(3)), 1)))
+                .toList();
+    }
+
+    /**
+     * Rolls a whole market_prices partition up into weekly aggregates.
+     */
+    public int downsampleToWeekly(MonthlyPartition partition) {
+        return jdbcTemplate.update(DOWNSAMPLE_SQL.formatted(partition.name(), ""));
+    }
+
+    /**
+     * Rolls up and deletes default-partition rows older than the cutoff. The default
+     * partition only holds dates outside the monthly range, so this stays small.
+     */
+    public int downsampleDefaultBefore(LocalDate cutoff) {
+        java.sql.Date date = java.sql.Date.valueOf(cutoff);
+        jdbcTemplate.update(DOWNSAMPLE_SQL.formatted(PRICES + "_default", "WHERE price_date < ?"), date);
+        return jdbcTemplate.update("DELETE FROM market_prices_default WHERE price_date < ?", date);
+    }
+
+    public void dropPartition(MonthlyPartition partition) {
+        // Name comes from the catalog and matched MONTHLY_NAME, so it is a safe identifier
+        jdbcTemplate.execute("DROP TABLE " + Objects.requireNonNull(partition.name()));
+    }
+
+    /**
+     * Weekly aggregates of one crop and district with week_start in [from, to), for
+     * history older than the raw partitions still held.
+     */
+    public List<PriceStats> findWeeklyHistory(String cropName, String district, Date from, Date to) {
+        return jdbcTemplate.query(WEEKLY_HISTORY_SQL, (rs, rowNum) -> new WeeklyStats(
+                        rs.getDate("week_start"),
+                        rs.getDouble("min_price"),
+                        rs.getDouble("max_price"),
+                        rs.getDouble("avg_price")),
+                cropName, district, new Timestamp(from.getTime()), new Timestamp(to.getTime()));
+    }
+
+    /**
+     * Drops projection and rollup rows that point at dates no longer held in full.
+     * Runs in the caller's transaction, so readers never see rows pointing at a dropped partition.
+     */
+    public void trimDerivedBefore(LocalDate cutoff) {
+        java.sql.Date date = java.sql.Date.valueOf(cutoff);
+        jdbcTemplate.update("DELETE FROM market_price_latest WHERE current_price_date < ?", date);
+        jdbcTemplate.update("UPDATE market_price_latest SET previous_price_id = NULL, previous_price_date = NULL "
+                + "WHERE previous_price_date < ?", date);
+        jdbcTemplate.update("DELETE FROM market_price_daily_stats WHERE stat_date < ?", date);
+    }
+
+    public record MonthlyPartition(String name, LocalDate month) {
+    }
+
+    /**
+     * One market_price_weekly row exposed through the same projection as daily history.
+     */
+    public record WeeklyStats(Date date, Double min, Double max, Double avg) implements PriceStats {
+        @Override
+        public Date getDate() {
+            return date;
+        }
+
+        @Override
+        public Double getMin() {
+            return min;
+        }
+
+        @Override
+        public Double getMax() {
+            return max;
+        }
+
+        @Override
+        public Double getAvg() {
+            return avg;
+        }
+    }
+}
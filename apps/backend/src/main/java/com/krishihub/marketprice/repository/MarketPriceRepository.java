@@ -27,10 +27,32 @@ public interface MarketPriceRepository extends JpaRepository<MarketPrice, UUID>
                         @Param("date") Date date,
                         org.springframework.data.domain.Pageable pageable);
 
-        @Query("SELECT mp FROM MarketPrice mp WHERE mp.district = :district AND LOWER(mp.cropName) LIKE LOWER(CONCAT('%', :cropName, '%')) AND mp.priceDate = :date ORDER BY mp.cropName")
-        org.springframework.data.domain.Page<MarketPrice> findByDistrictAndCropNameContainingIgnoreCaseAndPriceDate(
+        /**
+         * Prices on a date for the district's crops matching any of the '|'-separated terms,
+         * best match first. Names are matched through the trigram index on market_price_latest.
+         */
+        @Query(value = "SELECT mp.* FROM (" +
+                        "    SELECT l.crop_name, MAX(word_similarity(t.term, l.crop_name)) AS score " +
+                        "    FROM unnest(string_to_array(:terms, '|')) AS t(term) " +
+                        "    JOIN market_price_latest l " +
+                        "      ON l.crop_name ILIKE '%' || t.term || '%' OR t.term <% l.crop_name " +
+                        "    WHERE l.district = :district " +
+                        "    GROUP BY l.crop_name) m " +
+                        "JOIN market_prices mp ON mp.crop_name = m.crop_name " +
+                        "    AND mp.district = :district AND mp.price_date = :date " +
+                        "ORDER BY m.score DESC, mp.crop_name",
+                        countQuery = "SELECT COUNT(*) FROM (" +
+                        "    SELECT DISTINCT l.crop_name " +
+                        "    FROM unnest(string_to_array(:terms, '|')) AS t(term) " +
+                        "    JOIN market_price_latest l " +
+                        "      ON l.crop_name ILIKE '%' || t.term || '%' OR t.term <% l.crop_name " +
+                        "    WHERE l.district = :district) m " +
+                        "JOIN market_prices mp ON mp.crop_name = m.crop_name " +
+                        "    AND mp.district = :district AND mp.price_date = :date",
+                        nativeQuery = true)
+        org.springframework.data.domain.Page<MarketPrice> searchByDistrictAndPriceDate(
                         @Param("district") String district,
-                        @Param("cropName") String cropName,
+                        @Param("terms") String terms,
                         @Param("date") Date date,
                         org.springframework.data.domain.Pageable pageable);
 
@@ -51,8 +73,37 @@ public interface MarketPriceRepository extends JpaRepository<MarketPrice, UUID>
         @Query("SELECT DISTINCT mp.district FROM MarketPrice mp ORDER BY mp.district")
         List<String> findDistinctDistricts();
 
-        @Query("SELECT MAX(mp.priceDate) FROM MarketPrice mp WHERE mp.district = :district")
-        Date findMaxDateByDistrict(@Param("district") String district);
+        // market_price_latest projection, see MarketPriceBatchRepository.refreshLatest
+
+        @Query(value = "SELECT DISTINCT crop_name FROM market_price_latest ORDER BY crop_name", nativeQuery = true)
+        List<String> findProjectedCropNames();
+
+        @Query(value = "SELECT DISTINCT district FROM market_price_latest ORDER BY district", nativeQuery = true)
+        List<String> findProjectedDistricts();
+
+        @Query(value = "SELECT mp.* FROM market_price_latest l " +
+                        "JOIN market_prices mp ON mp.id = l.current_price_id " +
+                        "WHERE l.crop_name = :cropName AND l.district = :district", nativeQuery = true)
+        Optional<MarketPrice> findLatestByCropAndDistrict(
+                        @Param("cropName") String cropName,
+                        @Param("district") String district);
+
+        /**
+         * Newest price strictly before the given date, if it is one of the two projected prices.
+         */
+        @Query(value = "SELECT mp.* FROM market_price_latest l " +
+                        "JOIN market_prices mp ON mp.id = CASE " +
+                        "    WHEN l.current_price_date < :date THEN l.current_price_id " +
+                        "    WHEN l.previous_price_date < :date THEN l.previous_price_id END " +
+                        "WHERE l.crop_name = :cropName AND l.district = :district", nativeQuery = true)
+        Optional<MarketPrice> findProjectedPriceBefore(
+                        @Param("cropName") String cropName,
+                        @Param("district") String district,
+                        @Param("date") Date date);
+
+        @Query(value = "SELECT MAX(l.current_price_date) FROM market_price_latest l WHERE l.district = :district",
+                        nativeQuery = true)
+        Date findLatestPriceDateByDistrict(@Param("district") String district);
 
         MarketPrice findFirstByCropNameAndDistrictAndPriceDateBeforeOrderByPriceDateDesc(
                         String cropName, String district, Date date);
@@ -0,0 +1,123 @@
+package com.krishihub.marketprice.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Daily price rollups in market_price_daily_stats.
+ * One row per crop, district and price date with trailing 7- and 30-day windows,
+ * so analytics never re-aggregate history at read time.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MarketPriceStatsRepository {
+
+    /**
+     * Recomputes every rollup row from each key's fromDate onwards. Rows up to 29 days
+     * earlier are read only to fill the windows; later rows are rewritten because their
+     * windows include the changed dates.
+     */
+    private static final String REFRESH_SQL = """
+            INSERT INTO market_price_daily_stats (district, crop_name, stat_date, min_price, max_price, avg_price,
+                                                  avg_7d, days_7d, avg_30d, days_30d, min_30d, max_30d, updated_at)
+            SELECT s.district, s.crop_name, s.price_date, s.min_price, s.max_price, s.avg_price,
+                   s.avg_7d, s.days_7d, s.avg_30d, s.days_30d, s.min_30d, s.max_30d, now()
+            FROM (
+                SELECT mp.district, mp.crop_name, mp.price_date, mp.min_price, mp.max_price, mp.avg_price,
+                       k.from_date,
+                       AVG(mp.avg_price) OVER w7 AS avg_7d, COUNT(*) OVER w7 AS days_7d,
+                       AVG(mp.avg_price) OVER w30 AS avg_30d, COUNT(*) OVER w30 AS days_30d,
+                       MIN(mp.min_price) OVER w30 AS min_30d, MAX(mp.max_price) OVER w30 AS max_30d
+                FROM unnest(?::varchar[], ?::varchar[], ?::date[]) AS k(crop_name, district, from_date)
+                JOIN market_prices mp
+                  ON mp.crop_name = k.crop_name AND mp.district = k.district AND mp.price_date >= k.from_date - 29
+                WINDOW w7 AS (PARTITION BY mp.district, mp.crop_name ORDER BY mp.price_date
+                              RANGE BETWEEN INTERVAL '6 days' PRECEDING AND CURRENT ROW),
+                       w30 AS (PARTITION BY mp.district, mp.crop_name ORDER BY mp.price_date
+                               RANGE BETWEEN INTERVAL '29 days' PRECEDING AND CURRENT ROW)
+            ) s
+            WHERE s.price_date >= s.from_date
+            ON CONFLICT (district, crop_name, stat_date) DO UPDATE SET
+                min_price = EXCLUDED.min_price,
+                max_price = EXCLUDED.max_price,
+                avg_price = EXCLUDED.avg_price,
+                avg_7d = EXCLUDED.avg_7d,
+                days_7d = EXCLUDED.days_7d,
+                avg_30d = EXCLUDED.avg_30d,
+                days_30d = EXCLUDED.days_30d,
+                min_30d = EXCLUDED.min_30d,
+                max_30d = EXCLUDED.max_30d,
+                updated_at = now()
+            """;
+
+    /**
+     * Newest rollup per crop for one district within [fromDate, toDate], served by the primary key.
+     */
+    private static final String LATEST_PER_CROP_SQL = """
+            SELECT DISTINCT ON (crop_name) crop_name, stat_date, avg_7d, days_7d, avg_30d, days_30d, min_30d, max_30d
+            FROM market_price_daily_stats
+            WHERE district = ? AND stat_date BETWEEN ? AND ?
+            ORDER BY crop_name, stat_date DESC
+            """;
+
+    private static final String DISTRICTS_SQL = """
+            SELECT DISTINCT district FROM market_price_latest ORDER BY district
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Refreshes rollups for the given keys. Callers must pass each (cropName, district) once,
+     * with the earliest price date that changed.
+     */
+    public void refresh(Collection<RefreshKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Object[] cropNames = keys.stream().map(RefreshKey::cropName).toArray();
+        Object[] districts = keys.stream().map(RefreshKey::district).toArray();
+        Object[] fromDates = keys.stream().map(key -> new java.sql.Date(key.fromDate().getTime())).toArray();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement ps = connection.prepareStatement(REFRESH_SQL);
+            ps.setArray(1, connection.createArrayOf("varchar", cropNames));
+            ps.setArray(2, connection.createArrayOf("varchar", districts));
+            ps.setArray(3, connection.createArrayOf("date", fromDates));
+            return ps;
+        });
+    }
+
+    public List<CropRollup> findLatestPerCrop(String district, Date fromDate, Date toDate) {
+        return jdbcTemplate.query(LATEST_PER_CROP_SQL,
+                (rs, rowNum) -> new CropRollup(
+                        rs.getString("crop_name"),
+                        rs.getDate("stat_date"),
+                        rs.getBigDecimal("avg_7d"),
+                        rs.getInt("days_7d"),
+                        rs.getBigDecimal("avg_30d"),
+                        rs.getInt("days_30d"),
+                        rs.getBigDecimal("min_30d"),
+                        rs.getBigDecimal("max_30d")),
+                district, new java.sql.Date(fromDate.getTime()), new java.sql.Date(toDate.getTime()));
+    }
+
+    /**
+     * Districts with at least one price, read from the latest-price projection.
+     */
+    public List<String> findDistricts() {
+        return jdbcTemplate.queryForList(DISTRICTS_SQL, String.class);
+    }
+
+    public record RefreshKey(String cropName, String district, Date fromDate) {
+    }
+
+    public record CropRollup(String cropName, Date statDate, BigDecimal avg7d, int days7d,
+                             BigDecimal avg30d, int days30d, BigDecimal min30d, BigDecimal max30d) {
+    }
+}
@@ -11,4 +11,5 @@ import java.util.UUID;
 public interface PriceAlertRepository extends JpaRepository<PriceAlert, UUID> {
     List<PriceAlert> findByUserId(UUID userId);
     List<PriceAlert> findByCropNameAndActiveTrue(String cropName);
+    List<PriceAlert> findByActiveTrue();
 }
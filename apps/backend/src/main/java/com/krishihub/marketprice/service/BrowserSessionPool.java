@@ -0,0 +1,135 @@
+package com.krishihub.marketprice.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of long-lived headless browser sessions.
+ *
+ * At most maxSessions drivers exist at once; a caller waits up to checkoutTimeoutMs
+ * for one. Sessions are started lazily, checked for a live window before reuse, and
+ * quit after maxUses page loads or after any failed use.
+ */
+@Slf4j
+final class BrowserSessionPool implements AutoCloseable {
+
+    private final Supplier<WebDriver> driverFactory;
+    private final int maxUses;
+    private final long checkoutTimeoutMs;
+    private final Semaphore permits;
+
+    // Guarded by this; most recently used first, so idle sessions beyond demand age out
+    private final Deque<Session> idle = new ArrayDeque<>();
+    private volatile boolean closed;
+
+    BrowserSessionPool(Supplier<WebDriver> driverFactory, int maxSessions, int maxUses, long checkoutTimeoutMs) {
+        this.driverFactory = driverFactory;
+        this.maxUses = maxUses;
+        this.checkoutTimeoutMs = checkoutTimeoutMs;
+        this.permits = new Semaphore(maxSessions, true);
+    }
+
+    /**
+     * Runs work on a pooled driver and returns the session afterwards.
+     * If work throws, the session is discarded rather than reused.
+     */
+    <T> T withSession(Function<WebDriver, T> work) throws InterruptedException, TimeoutException {
+        if (closed) {
+            throw new IllegalStateException("Browser session pool is closed");
+        }
+        if (!permits.tryAcquire(checkoutTimeoutMs, TimeUnit.MILLISECONDS)) {
+            throw new TimeoutException("No browser session free within " + checkoutTimeoutMs + " ms");
+        }
+
+        Session session = null;
+        boolean healthy = false;
+        try {
+            session = checkout();
+            T result = work.apply(session.driver);
+            healthy = true;
+            return result;
+        } finally {
+            if (session != null) {
+                checkin(session, healthy);
+            }
+            permits.release();
+        }
+    }
+
+    synchronized int idleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        synchronized (this) {
+            idle.forEach(session -> quit(session.driver));
+            idle.clear();
+        }
+    }
+
+    private Session checkout() {
+        while (true) {
+            Session session;
+            synchronized (this) {
+                session = idle.pollFirst();
+            }
+            if (session == null) {
+                log.info("Starting new headless browser session");
+                return new Session(driverFactory.get());
+            }
+            if (isAlive(session.driver)) {
+                return session;
+            }
+            log.warn("Discarding unresponsive browser session after {} uses", session.uses);
+            quit(session.driver);
+        }
+    }
+
+    private void checkin(Session session, boolean healthy) {
+        session.uses++;
+        if (!healthy || closed || session.uses >= maxUses) {
+            log.debug("Retiring browser session after {} uses (healthy={})", session.uses, healthy);
+            quit(session.driver);
+            return;
+        }
+        synchronized (this) {
+            idle.addFirst(session);
+        }
+    }
+
+    private static boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void quit(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.warn("Error closing WebDriver: {}", e.getMessage());
+        }
+    }
+
+    private static final class Session {
+        private final WebDriver driver;
+        private int uses;
+
+        private Session(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.krishihub.marketprice.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Equivalent English, romanised Nepali and Devanagari spellings of common crop names,
+ * so a search for "alu" or "आलु" also finds "Potato Red".
+ */
+final class CropNameAliases {
+
+    private static final List<List<String>> GROUPS = List.of(
+            List.of("tomato", "golbheda", "golveda", "गोलभेडा"),
+            List.of("potato", "alu", "aalu", "आलु"),
+            List.of("onion", "pyaj", "pyaaj", "प्याज"),
+            List.of("cabbage", "banda", "bandakopi", "बन्दा"),
+            List.of("cauliflower", "cauli", "kauli", "काउली"),
+            List.of("carrot", "gajar", "गाजर"),
+            List.of("spinach", "palungo", "saag", "पालुङ्गो"),
+            List.of("radish", "mula", "मुला"),
+            List.of("pumpkin", "farsi", "pharsi", "फर्सी"),
+            List.of("apple", "syau", "स्याउ"),
+            List.of("banana", "kera", "केरा"),
+            List.of("orange", "suntala", "सुन्तला"),
+            List.of("garlic", "lasun", "lasoon", "लसुन"),
+            List.of("ginger", "aduwa", "अदुवा"),
+            List.of("chilli", "khursani", "खुर्सानी"),
+            List.of("cucumber", "kakro", "काँक्रो"),
+            List.of("lemon", "kagati", "कागती"));
+
+    private static final Map<String, List<String>> BY_SPELLING = new HashMap<>();
+
+    static {
+        for (List<String> group : GROUPS) {
+            for (String spelling : group) {
+                BY_SPELLING.put(spelling, group);
+            }
+        }
+    }
+
+    private CropNameAliases() {
+    }
+
+    static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    /**
+     * The normalised query plus every alias of each word in it.
+     */
+    static Set<String> expand(String query) {
+        String normalized = normalize(query);
+        Set<String> terms = new LinkedHashSet<>();
+        if (normalized.isEmpty()) {
+            return terms;
+        }
+        terms.add(normalized);
+        for (String word : words(normalized)) {
+            terms.addAll(equivalents(word));
+        }
+        return terms;
+    }
+
+    /**
+     * Other spellings of a single normalised word, or an empty list if it has none.
+     */
+    static List<String> equivalents(String word) {
+        return BY_SPELLING.getOrDefault(word, List.of());
+    }
+
+    /**
+     * Splits on anything that is not a letter, combining mark or digit, so Devanagari
+     * vowel signs stay inside their word.
+     */
+    static String[] words(String normalized) {
+        return normalized.split("[^\\p{L}\\p{M}\\p{N}]+");
+    }
+}
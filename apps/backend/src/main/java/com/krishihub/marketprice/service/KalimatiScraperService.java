@@ -11,8 +11,17 @@ import org.springframework.stereotype.Service;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * HTTP-based scraper for Kalimati Market Government website.
@@ -21,6 +30,9 @@ import java.util.List;
  * Source: https://kalimatimarket.gov.np/daily-price
  * 
  * This is the primary scraper for production deployments where Chrome is not available.
+ *
+ * Scrapes are incremental: an unchanged price table is neither parsed nor written,
+ * and a changed one yields only the rows that differ from the previous scrape.
  */
 @Service
 @Slf4j
@@ -30,8 +42,14 @@ public class KalimatiScraperService implements MarketPriceDataSource {
     private static final String SOURCE_ID = "KALIMATI_GOV";
     private static final int TIMEOUT_MS = 15000;
 
+    private static final Pattern TBODY = Pattern.compile("(?is)<tbody\\b.*?</tbody>");
+
     private final com.krishihub.config.properties.MarketProperties marketProperties;
 
+    // Fingerprints of the last persisted scrape, and of the last fetch awaiting its write
+    private volatile ScrapeState committed = ScrapeState.empty(new Date(0));
+    private volatile ScrapeState pending;
+
     public KalimatiScraperService(com.krishihub.config.properties.MarketProperties marketProperties) {
         this.marketProperties = marketProperties;
     }
@@ -47,71 +65,151 @@ public class KalimatiScraperService implements MarketPriceDataSource {
         List<MarketPriceDto> prices = new ArrayList<>();
 
         try {
-            Document doc = Jsoup.connect(KALIMATI_URL)
-                    .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
-                    .timeout(TIMEOUT_MS)
-                    .followRedirects(true)
-                    .get();
-
-            // The Kalimati website uses a table with class "table" for price data
-            Elements rows = doc.select("table.table tbody tr");
-            
-            if (rows.isEmpty()) {
-                // Fallback selector
-                rows = doc.select("table tbody tr");
-                log.info("Using fallback table selector, found {} rows", rows.size());
+            String html = fetchPage();
+            prices = extractChanges(html, com.krishihub.common.util.DateUtil.startOfDay(com.krishihub.common.util.DateUtil.nowUtc()));
+        } catch (IOException e) {
+            log.error("Failed to fetch prices from Kalimati: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Unexpected error scraping Kalimati: {}", e.getMessage(), e);
+        }
+
+        return prices;
+    }
+
+    /**
+     * Promote the fingerprints of the last fetch once its rows are stored.
+     */
+    @Override
+    public void onPricesPersisted() {
+        ScrapeState next = pending;
+        if (next != null) {
+            committed = next;
+            pending = null;
+        }
+    }
+
+    protected String fetchPage() throws IOException {
+        return Jsoup.connect(KALIMATI_URL)
+                .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
+                .timeout(TIMEOUT_MS)
+                .followRedirects(true)
+                .execute()
+                .body();
+    }
+
+    /**
+     * Returns only rows that are new or changed since the last persisted scrape of the same day.
+     *
+     * Each table body is fingerprinted from the raw HTML before any parsing; if every
+     * section matches, nothing is parsed. Changed sections are parsed and diffed row by
+     * row against the stored row fingerprints. The new state stays pending until
+     * onPricesPersisted, and a new day starts from an empty state.
+     */
+    List<MarketPriceDto> extractChanges(String html, Date priceDate) {
+        ScrapeState base = committed.priceDate().equals(priceDate) ? committed : ScrapeState.empty(priceDate);
+
+        List<String> sections = new ArrayList<>();
+        Matcher matcher = TBODY.matcher(html);
+        while (matcher.find()) {
+            sections.add(matcher.group());
+        }
+        if (sections.isEmpty()) {
+            // No table body at all; treat the whole page as one section
+            sections.add(html);
+        }
+
+        List<String> sectionFingerprints = sections.stream().map(KalimatiScraperService::fingerprint).toList();
+        if (sectionFingerprints.equals(base.sectionFingerprints())) {
+            pending = null;
+            log.info("Kalimati price table unchanged since last scrape, skipping");
+            return new ArrayList<>();
+        }
+
+        List<MarketPriceDto> changes = new ArrayList<>();
+        List<Map<String, String>> rowFingerprints = new ArrayList<>(sections.size());
+        int parsedRows = 0;
+        for (int i = 0; i < sections.size(); i++) {
+            Map<String, String> previousRows = i < base.rowFingerprints().size()
+                    && sectionFingerprints.get(i).equals(base.sectionFingerprints().get(i))
+                    ? base.rowFingerprints().get(i) : null;
+            if (previousRows != null) {
+                rowFingerprints.add(previousRows);
+                continue;
             }
 
-            for (Element row : rows) {
-                try {
-                    Elements cols = row.select("td");
-                    
-                    // Kalimati table structure: SN, Commodity, Unit, Minimum, Maximum, Average
-                    if (cols.size() >= 6) {
-                        String name = cols.get(1).text().trim();
-                        String unit = cols.get(2).text().trim();
-                        String minStr = cols.get(3).text().trim();
-                        String maxStr = cols.get(4).text().trim();
-                        String avgStr = cols.get(5).text().trim();
-
-                        // Skip empty or header-like rows
-                        if (name.isEmpty() || name.equalsIgnoreCase("Commodity") || name.equals("बस्तु")) {
-                            continue;
-                        }
-
-                        BigDecimal min = parsePrice(minStr);
-                        BigDecimal max = parsePrice(maxStr);
-                        BigDecimal avg = parsePrice(avgStr);
-
-                        if (min != null && !name.isEmpty()) {
-                            prices.add(MarketPriceDto.builder()
-                                    .cropName(name)
-                                    .unit(unit.isEmpty() ? "KG" : unit)
-                                    .minPrice(min)
-                                    .maxPrice(max != null ? max : min)
-                                    .avgPrice(avg != null ? avg : min)
-                                    .district("Kathmandu")
-                                    .priceDate(com.krishihub.common.util.DateUtil.startOfDay(com.krishihub.common.util.DateUtil.nowUtc()))
-                                    .source(SOURCE_ID)
-                                    .build());
-                        }
-                    }
-                } catch (Exception e) {
-                    log.debug("Skipping row due to parse error: {}", e.getMessage());
+            Map<String, String> knownRows = i < base.rowFingerprints().size() ? base.rowFingerprints().get(i) : Map.of();
+            Map<String, String> sectionRows = new HashMap<>();
+            for (MarketPriceDto price : parseSection(sections.get(i), priceDate)) {
+                parsedRows++;
+                String rowKey = price.getCropName() + "|" + price.getUnit();
+                String rowFingerprint = price.getMinPrice() + "|" + price.getMaxPrice() + "|" + price.getAvgPrice();
+                sectionRows.put(rowKey, rowFingerprint);
+                if (!rowFingerprint.equals(knownRows.get(rowKey))) {
+                    changes.add(price);
                 }
             }
+            rowFingerprints.add(sectionRows);
+        }
 
-            log.info("Successfully scraped {} vegetable prices from Kalimati Market", prices.size());
+        pending = new ScrapeState(priceDate, sectionFingerprints, rowFingerprints);
+        log.info("Kalimati page changed: parsed {} rows, {} new or changed", parsedRows, changes.size());
+        return changes;
+    }
 
-        } catch (IOException e) {
-            log.error("Failed to fetch prices from Kalimati: {}", e.getMessage());
-        } catch (Exception e) {
-            log.error("Unexpected error scraping Kalimati: {}", e.getMessage(), e);
-        }
+    private List<MarketPriceDto> parseSection(String section, Date priceDate) {
+        List<MarketPriceDto> prices = new ArrayList<>();
+        Document doc = Jsoup.parse("<table>" + section + "</table>");
+
+        for (Element row : doc.select("tr")) {
+            try {
+                Elements cols = row.select("td");
+
+                // Kalimati table structure: SN, Commodity, Unit, Minimum, Maximum, Average
+                if (cols.size() >= 6) {
+                    String name = cols.get(1).text().trim();
+                    String unit = cols.get(2).text().trim();
+                    String minStr = cols.get(3).text().trim();
+                    String maxStr = cols.get(4).text().trim();
+                    String avgStr = cols.get(5).text().trim();
+
+                    // Skip empty or header-like rows
+                    if (name.isEmpty() || name.equalsIgnoreCase("Commodity") || name.equals("बस्तु")) {
+                        continue;
+                    }
 
+                    BigDecimal min = parsePrice(minStr);
+                    BigDecimal max = parsePrice(maxStr);
+                    BigDecimal avg = parsePrice(avgStr);
+
+                    if (min != null && !name.isEmpty()) {
+                        prices.add(MarketPriceDto.builder()
+                                .cropName(name)
+                                .unit(unit.isEmpty() ? "KG" : unit)
+                                .minPrice(min)
+                                .maxPrice(max != null ? max : min)
+                                .avgPrice(avg != null ? avg : min)
+                                .district("Kathmandu")
+                                .priceDate(priceDate)
+                                .source(SOURCE_ID)
+                                .build());
+                    }
+                }
+            } catch (Exception e) {
+                log.debug("Skipping row due to parse error: {}", e.getMessage());
+            }
+        }
         return prices;
     }
 
+    private static String fingerprint(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     private BigDecimal parsePrice(String text) {
         try {
             // Remove Rs, comma, whitespace, and any non-numeric characters
@@ -127,4 +225,14 @@ public class KalimatiScraperService implements MarketPriceDataSource {
     public String getSourceId() {
         return SOURCE_ID;
     }
+
+    /**
+     * Section fingerprints and, per section, row key to row value fingerprints.
+     */
+    private record ScrapeState(Date priceDate, List<String> sectionFingerprints,
+                               List<Map<String, String>> rowFingerprints) {
+        static ScrapeState empty(Date priceDate) {
+            return new ScrapeState(priceDate, List.of(), List.of());
+        }
+    }
 }
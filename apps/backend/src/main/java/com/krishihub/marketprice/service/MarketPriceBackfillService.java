@@ -0,0 +1,301 @@
+package com.krishihub.marketprice.service;
+
+import com.krishihub.config.properties.MarketProperties;
+import com.krishihub.marketprice.dto.MarketPriceDto;
+import com.krishihub.marketprice.dto.PriceBackfillStatus;
+import com.krishihub.marketprice.repository.MarketPriceBatchRepository;
+import com.krishihub.marketprice.repository.MarketPricePartitionRepository;
+import com.krishihub.marketprice.repository.MarketPriceStatsRepository;
+import com.opencsv.CSVReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Background bulk load of historical market prices from CSV.
+ *
+ * The file is streamed row by row and handled in chunks: each chunk is normalized,
+ * validated and written with one set-based upsert in its own transaction, after the
+ * monthly partitions it needs exist. The latest-price projection and daily rollups
+ * are rebuilt once at the end for the touched crop and district pairs, and caches are
+ * invalidated once. Memory use depends on the chunk size and the number of pairs, not
+ * the file size; a failed run can simply be repeated, as the upsert is idempotent.
+ *
+ * Rows dated before the raw price retention cutoff are rejected: their month would get a
+ * partition only to be downsampled and dropped by the next retention run, and re-adding
+ * them to market_price_weekly is not idempotent, as weekly rows merge by adding days.
+ *
+ * Expected columns: crop_name, district, price_date (yyyy-MM-dd), min_price,
+ * max_price, avg_price, unit, source. A header row is skipped.
+ */
+@Service
+@Slf4j
+public class MarketPriceBackfillService {
+
+    private static final long FINISHED_JOB_RETENTION_MS = 24 * 60 * 60 * 1000L;
+    private static final String DEFAULT_SOURCE = "BACKFILL";
+    // market_prices column limits; one oversized value would fail the whole chunk's statement
+    private static final int MAX_CROP_NAME_LENGTH = 100;
+    private static final int MAX_CROP_CODE_LENGTH = 50;
+    private static final int MAX_DISTRICT_LENGTH = 50;
+    private static final int MAX_UNIT_LENGTH = 20;
+    private static final int MAX_SOURCE_LENGTH = 100;
+    // NUMERIC(10, 2) holds at most 8 integer digits
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    private final MarketPriceBatchRepository batchRepository;
+    private final MarketPriceStatsRepository statsRepository;
+    private final MarketPricePartitionRepository partitionRepository;
+    private final MarketPricePartitionService partitionService;
+    private final MarketPriceNormalizer normalizer;
+    private final PriceValidatorService validator;
+    private final MarketPriceCache priceCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MarketProperties marketProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    // Job progress is kept on the instance that accepted the upload
+    private final Map<UUID, PriceBackfillStatus> jobs = new ConcurrentHashMap<>();
+
+    public MarketPriceBackfillService(MarketPriceBatchRepository batchRepository,
+                                      MarketPriceStatsRepository statsRepository,
+                                      MarketPricePartitionRepository partitionRepository,
+                                      MarketPricePartitionService partitionService,
+                                      MarketPriceNormalizer normalizer,
+                                      PriceValidatorService validator,
+                                      MarketPriceCache priceCache,
+                                      ApplicationEventPublisher eventPublisher,
+                                      MarketProperties marketProperties,
+                                      PlatformTransactionManager transactionManager) {
+        this.batchRepository = batchRepository;
+        this.statsRepository = statsRepository;
+        this.partitionRepository = partitionRepository;
+        this.partitionService = partitionService;
+        this.normalizer = normalizer;
+        this.validator = validator;
+        this.priceCache = priceCache;
+        this.eventPublisher = eventPublisher;
+        this.marketProperties = marketProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public PriceBackfillStatus register(String fileName) {
+        long cutoff = System.currentTimeMillis() - FINISHED_JOB_RETENTION_MS;
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().getTime() < cutoff);
+
+        PriceBackfillStatus status = PriceBackfillStatus.builder()
+                .jobId(UUID.randomUUID())
+                .state(PriceBackfillStatus.State.QUEUED)
+                .fileName(fileName)
+                .build();
+        jobs.put(status.getJobId(), status);
+        return status;
+    }
+
+    public Optional<PriceBackfillStatus> getStatus(UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * Load the file and delete it afterwards.
+     */
+    @Async
+    public void runBackfill(UUID jobId, Path file) {
+        MarketProperties.Backfill config = marketProperties.getBackfill();
+        PriceBackfillStatus status = jobs.get(jobId).toBuilder()
+                .state(PriceBackfillStatus.State.LOADING)
+                .startedAt(new Date())
+                .build();
+        jobs.put(jobId, status);
+
+        // Earliest loaded date per pair, to rebuild rollups from there onwards
+        Map<MarketPriceBatchRepository.LatestKey, Date> touched = new LinkedHashMap<>();
+        Set<LocalDate> partitionedMonths = new HashSet<>();
+        LocalDate rawCutoff = partitionService.rawPriceCutoff();
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             CSVReader csvReader = new CSVReader(reader)) {
+
+            List<String[]> chunk = new ArrayList<>(config.getChunkSize());
+            String[] record;
+            boolean firstRow = true;
+            while ((record = csvReader.readNext()) != null) {
+                if (firstRow && record.length > 0 && "crop_name".equalsIgnoreCase(record[0].trim())) {
+                    firstRow = false;
+                    continue;
+                }
+                firstRow = false;
+
+                chunk.add(record);
+                if (chunk.size() == config.getChunkSize()) {
+                    status = loadChunk(chunk, status, touched, partitionedMonths, rawCutoff);
+                    jobs.put(jobId, status);
+                    chunk = new ArrayList<>(config.getChunkSize());
+                }
+            }
+            if (!chunk.isEmpty()) {
+                status = loadChunk(chunk, status, touched, partitionedMonths, rawCutoff);
+            }
+
+            status = status.toBuilder()
+                    .state(PriceBackfillStatus.State.REBUILDING)
+                    .totalKeys(touched.size())
+                    .build();
+            jobs.put(jobId, status);
+            status = rebuildDerived(jobId, touched, status, config.getRebuildBatchSize());
+
+            if (!touched.isEmpty()) {
+                priceCache.invalidateDistricts(touched.keySet().stream()
+                        .map(MarketPriceBatchRepository.LatestKey::district).distinct().toList());
+                eventPublisher.publishEvent(new MarketPricesChangedEvent(this));
+            }
+
+            status = status.toBuilder()
+                    .state(PriceBackfillStatus.State.COMPLETED)
+                    .finishedAt(new Date())
+                    .build();
+            log.info("Price backfill {} completed in {}ms: {} rows, {} written, {} unchanged, {} invalid, "
+                            + "{} past retention, {} pairs rebuilt",
+                    jobId, status.getFinishedAt().getTime() - status.getStartedAt().getTime(),
+                    status.getProcessedRows(), status.getWritten(), status.getSkippedUnchanged(),
+                    status.getSkippedInvalid(), status.getSkippedExpired(), status.getRebuiltKeys());
+
+        } catch (Exception e) {
+            log.error("Price backfill {} failed after {} rows", jobId, status.getProcessedRows(), e);
+            status = status.toBuilder()
+                    .state(PriceBackfillStatus.State.FAILED)
+                    .error(e.getMessage())
+                    .finishedAt(new Date())
+                    .build();
+        } finally {
+            jobs.put(jobId, status);
+            try {
+                Files.deleteIfExists(file);
+            } catch (Exception e) {
+                log.warn("Failed to delete backfill file {}", file, e);
+            }
+        }
+    }
+
+    private PriceBackfillStatus loadChunk(List<String[]> records, PriceBackfillStatus status,
+                                          Map<MarketPriceBatchRepository.LatestKey, Date> touched,
+                                          Set<LocalDate> partitionedMonths, LocalDate rawCutoff) {
+        int invalid = 0;
+        int expired = 0;
+        // The upsert must not see the same key twice; the last row in the chunk wins
+        Map<String, MarketPriceDto> unique = new LinkedHashMap<>();
+        for (String[] record : records) {
+            MarketPriceDto price = parse(record);
+            if (price != null && !price.getCropName().isEmpty()) {
+                price = normalizer.normalize(price);
+            } else {
+                price = null;
+            }
+            if (price == null || price.getDistrict() == null || !fitsColumns(price) || !validator.isValid(price)) {
+                invalid++;
+                continue;
+            }
+            if (rawCutoff != null && toLocalDate(price.getPriceDate()).isBefore(rawCutoff)) {
+                expired++;
+                continue;
+            }
+            unique.put(price.getCropName() + "|" + price.getDistrict() + "|" + price.getPriceDate().getTime(), price);
+        }
+
+        List<MarketPriceDto> rows = new ArrayList<>(unique.values());
+        for (MarketPriceDto row : rows) {
+            LocalDate month = toLocalDate(row.getPriceDate()).withDayOfMonth(1);
+            if (partitionedMonths.add(month)) {
+                partitionRepository.ensureMonthlyPartition(MarketPricePartitionRepository.PRICES, month);
+            }
+            touched.merge(new MarketPriceBatchRepository.LatestKey(row.getCropName(), row.getDistrict()),
+                    row.getPriceDate(), (a, b) -> a.before(b) ? a : b);
+        }
+
+        Integer written = transactionTemplate.execute(tx -> batchRepository.load(rows));
+        int writtenRows = written != null ? written : 0;
+
+        return status.toBuilder()
+                .processedRows(status.getProcessedRows() + records.size())
+                .written(status.getWritten() + writtenRows)
+                .skippedUnchanged(status.getSkippedUnchanged() + (records.size() - invalid - expired - writtenRows))
+                .skippedInvalid(status.getSkippedInvalid() + invalid)
+                .skippedExpired(status.getSkippedExpired() + expired)
+                .build();
+    }
+
+    private PriceBackfillStatus rebuildDerived(UUID jobId, Map<MarketPriceBatchRepository.LatestKey, Date> touched,
+                                               PriceBackfillStatus status, int batchSize) {
+        List<Map.Entry<MarketPriceBatchRepository.LatestKey, Date>> entries = new ArrayList<>(touched.entrySet());
+        for (int from = 0; from < entries.size(); from += batchSize) {
+            List<Map.Entry<MarketPriceBatchRepository.LatestKey, Date>> batch =
+                    entries.subList(from, Math.min(from + batchSize, entries.size()));
+            transactionTemplate.executeWithoutResult(tx -> {
+                batchRepository.refreshLatest(batch.stream().map(Map.Entry::getKey).toList());
+                statsRepository.refresh(batch.stream()
+                        .map(entry -> new MarketPriceStatsRepository.RefreshKey(
+                                entry.getKey().cropName(), entry.getKey().district(), entry.getValue()))
+                        .toList());
+            });
+            status = status.toBuilder().rebuiltKeys(status.getRebuiltKeys() + batch.size()).build();
+            jobs.put(jobId, status);
+        }
+        return status;
+    }
+
+    private MarketPriceDto parse(String[] record) {
+        if (record.length < 6) {
+            return null;
+        }
+        try {
+            return MarketPriceDto.builder()
+                    .cropName(record[0].trim())
+                    .district(record[1].trim().isEmpty() ? null : record[1].trim())
+                    // Local midnight, like DateUtil.startOfDay, so the bound DATE is the CSV date
+                    .priceDate(Date.from(LocalDate.parse(record[2].trim()).atStartOfDay(ZoneId.systemDefault())
+                            .toInstant()))
+                    .minPrice(new BigDecimal(record[3].trim()))
+                    .maxPrice(new BigDecimal(record[4].trim()))
+                    .avgPrice(new BigDecimal(record[5].trim()))
+                    .unit(record.length > 6 && !record[6].isBlank() ? record[6].trim() : null)
+                    .source(record.length > 7 && !record[7].isBlank() ? record[7].trim() : DEFAULT_SOURCE)
+                    .build();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static boolean fitsColumns(MarketPriceDto price) {
+        return fits(price.getCropName(), MAX_CROP_NAME_LENGTH)
+                && fits(price.getCropCode(), MAX_CROP_CODE_LENGTH)
+                && fits(price.getDistrict(), MAX_DISTRICT_LENGTH)
+                && fits(price.getUnit(), MAX_UNIT_LENGTH)
+                && fits(price.getSource(), MAX_SOURCE_LENGTH)
+                && fits(price.getMinPrice()) && fits(price.getMaxPrice()) && fits(price.getAvgPrice());
+    }
+
+    private static boolean fits(String value, int maxLength) {
+        return value == null || value.length() <= maxLength;
+    }
+
+    private static boolean fits(BigDecimal price) {
+        return price == null || price.abs().compareTo(MAX_PRICE) <= 0;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        return new java.sql.Date(date.getTime()).toLocalDate();
+    }
+}
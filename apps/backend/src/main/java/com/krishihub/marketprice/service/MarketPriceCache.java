@@ -0,0 +1,165 @@
+package com.krishihub.marketprice.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Today's price pages in the todaysPrices cache, invalidated per district.
+ *
+ * Design Notes:
+ * - Every district has a generation token, stored in the same cache and part of each
+ *   page key. Replacing the token makes all of that district's pages unreachable on
+ *   every instance while other districts keep their entries.
+ * - Pages for all districts share one extra bucket, invalidated on any change.
+ * - Pages written by this instance are also evicted directly, so a local cache without
+ *   a TTL does not keep orphaned pages; elsewhere they expire with the cache TTL.
+ * - Crop searches are free text, so at most MAX_TRACKED_PAGES written pages are tracked;
+ *   past that the oldest page is evicted early, which also bounds a local cache.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MarketPriceCache {
+
+    static final String TODAYS_PRICES = "todaysPrices";
+    static final int MAX_TRACKED_PAGES = 2000;
+
+    private static final String ALL_DISTRICTS = "*";
+    private static final String INITIAL_GENERATION = "0";
+
+    private final CacheManager cacheManager;
+
+    // Page key to bucket, oldest first; guarded by itself
+    private final Map<String, String> writtenKeys = new LinkedHashMap<>();
+
+    /**
+     * Cached page for the district (null for all districts), loading it on a miss.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T todaysPage(String district, String cropName, int page, int size, Supplier<T> loader) {
+        Cache cache = cacheManager.getCache(TODAYS_PRICES);
+        if (cache == null) {
+            return loader.get();
+        }
+
+        String bucket = bucket(district);
+        String key;
+        try {
+            key = bucket + "|" + generation(cache, bucket) + "|"
+                    + (cropName == null ? "" : cropName.trim().toLowerCase()) + "|" + page + "|" + size;
+            Cache.ValueWrapper hit = cache.get(key);
+            if (hit != null) {
+                return (T) hit.get();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Price cache read failed for {}: {}", bucket, e.getMessage());
+            return loader.get();
+        }
+
+        T value = loader.get();
+        if (value != null) {
+            try {
+                cache.put(key, value);
+                track(cache, key, bucket);
+            } catch (RuntimeException e) {
+                log.warn("Price cache write failed for {}: {}", bucket, e.getMessage());
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drop the cached pages of the given districts, and of the all-districts view, now
+     * and again once the surrounding transaction commits so a request racing the write
+     * cannot re-cache the old prices.
+     */
+    public void invalidateDistricts(Collection<String> districts) {
+        Set<String> buckets = new LinkedHashSet<>();
+        for (String district : districts) {
+            buckets.add(bucket(district));
+        }
+        buckets.add(ALL_DISTRICTS);
+
+        buckets.forEach(this::invalidate);
+        afterCommit(() -> buckets.forEach(this::invalidate));
+    }
+
+    private void invalidate(String bucket) {
+        Cache cache = cacheManager.getCache(TODAYS_PRICES);
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.put(generationKey(bucket), UUID.randomUUID().toString());
+            List<String> keys = new ArrayList<>();
+            synchronized (writtenKeys) {
+                Iterator<Map.Entry<String, String>> entries = writtenKeys.entrySet().iterator();
+                while (entries.hasNext()) {
+                    Map.Entry<String, String> entry = entries.next();
+                    if (entry.getValue().equals(bucket)) {
+                        keys.add(entry.getKey());
+                        entries.remove();
+                    }
+                }
+            }
+            keys.forEach(cache::evict);
+        } catch (RuntimeException e) {
+            log.warn("Price cache invalidation failed for {}: {}", bucket, e.getMessage());
+        }
+    }
+
+    private void track(Cache cache, String key, String bucket) {
+        String eldest = null;
+        synchronized (writtenKeys) {
+            writtenKeys.put(key, bucket);
+            if (writtenKeys.size() > MAX_TRACKED_PAGES) {
+                Iterator<String> keys = writtenKeys.keySet().iterator();
+                eldest = keys.next();
+                keys.remove();
+            }
+        }
+        if (eldest != null) {
+            cache.evict(eldest);
+        }
+    }
+
+    private String generation(Cache cache, String bucket) {
+        String generation = cache.get(generationKey(bucket), String.class);
+        return generation != null ? generation : INITIAL_GENERATION;
+    }
+
+    private static String generationKey(String bucket) {
+        return "generation|" + bucket;
+    }
+
+    private static String bucket(String district) {
+        return district == null || district.isEmpty() ? ALL_DISTRICTS : district;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -7,4 +7,12 @@ public interface MarketPriceDataSource {
     List<MarketPriceDto> fetchPrices();
 
     String getSourceId();
+
+    /**
+     * Called after the rows from the last fetchPrices call were written.
+     * Incremental sources advance their change-detection state here, so a failed
+     * write is retried in full on the next run.
+     */
+    default void onPricesPersisted() {
+    }
 }
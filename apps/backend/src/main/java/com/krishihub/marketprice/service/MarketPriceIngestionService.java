@@ -1,18 +1,26 @@
 package com.krishihub.marketprice.service;
 
+import com.krishihub.config.properties.MarketProperties;
 import com.krishihub.marketprice.dto.MarketPriceDto;
-import lombok.RequiredArgsConstructor;
+import com.krishihub.marketprice.dto.PriceIngestionResult;
+import com.krishihub.marketprice.dto.SourceFetchStats;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import com.krishihub.marketprice.service.MarketPriceService;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class MarketPriceIngestionService {
 
@@ -22,6 +30,28 @@ public class MarketPriceIngestionService {
     private final MarketPriceNormalizer normalizer;
     private final PriceValidatorService validator;
     private final com.krishihub.marketprice.repository.MarketPriceAuditRepository auditRepository;
+    private final MarketProperties marketProperties;
+    private final AsyncTaskExecutor priceSourceExecutor;
+
+    private final Map<String, SourceCircuitBreaker> circuits = new ConcurrentHashMap<>();
+
+    public MarketPriceIngestionService(List<MarketPriceDataSource> dataSources,
+                                       MarketPriceService marketPriceService,
+                                       MarketPriceRuleEvaluator ruleEvaluator,
+                                       MarketPriceNormalizer normalizer,
+                                       PriceValidatorService validator,
+                                       com.krishihub.marketprice.repository.MarketPriceAuditRepository auditRepository,
+                                       MarketProperties marketProperties,
+                                       @Qualifier("priceSourceExecutor") AsyncTaskExecutor priceSourceExecutor) {
+        this.dataSources = dataSources;
+        this.marketPriceService = marketPriceService;
+        this.ruleEvaluator = ruleEvaluator;
+        this.normalizer = normalizer;
+        this.validator = validator;
+        this.auditRepository = auditRepository;
+        this.marketProperties = marketProperties;
+        this.priceSourceExecutor = priceSourceExecutor;
+    }
 
     /**
      * Scheduled to run every hour.
@@ -33,50 +63,157 @@ public class MarketPriceIngestionService {
     @Async
     public void ingestPrices() {
         log.info("Starting market price ingestion on thread: {}", Thread.currentThread().getName());
-        triggerInternalIngestion();
+        runIngestion();
     }
 
     @EventListener(org.springframework.boot.context.event.ApplicationReadyEvent.class)
     @Async
     public void onStartup() {
         log.info("Triggering initial market price ingestion on startup...");
-        triggerInternalIngestion();
+        runIngestion();
     }
 
     @Async
     public void triggerInternalIngestion() {
+        runIngestion();
+    }
+
+    /**
+     * Fetches all sources side by side on the price source pool, then writes every
+     * valid row in one bulk upsert. Each source has its own timeout and circuit, so a
+     * slow or failing source only costs its own rows and the run takes about as long
+     * as the slowest healthy source.
+     */
+    public PriceIngestionResult runIngestion() {
+        long runStartedAt = System.nanoTime();
+        MarketProperties.Ingestion config = marketProperties.getIngestion();
+        List<SourceRun> runs = new ArrayList<>(dataSources.size());
+        List<SourceFetchStats> sourceStats = new ArrayList<>(dataSources.size());
+
         for (MarketPriceDataSource source : dataSources) {
-            long successCount = 0;
+            String sourceId = source.getSourceId();
+            SourceCircuitBreaker circuit = circuits.computeIfAbsent(sourceId,
+                    id -> new SourceCircuitBreaker(config.getCircuitFailureThreshold(), config.getCircuitOpenMs()));
+            if (!circuit.allowRequest(System.currentTimeMillis())) {
+                log.warn("Skipping price source {}: circuit open", sourceId);
+                sourceStats.add(SourceFetchStats.builder()
+                        .sourceId(sourceId)
+                        .status(SourceFetchStats.Status.SKIPPED_OPEN_CIRCUIT)
+                        .build());
+                continue;
+            }
+            long startedAt = System.nanoTime();
             try {
-                log.info("Fetching prices from source: {}", source.getSourceId());
-                List<MarketPriceDto> rawPrices = source.fetchPrices();
+                runs.add(new SourceRun(source, sourceId, circuit, startedAt,
+                        priceSourceExecutor.submit(() -> fetchSource(source))));
+            } catch (RuntimeException e) {
+                sourceStats.add(recordFailure(sourceId, circuit, startedAt, SourceFetchStats.Status.FAILED, e));
+            }
+        }
 
-                for (MarketPriceDto raw : rawPrices) {
-                    try {
-                        // 1. Skip Normalization (User request: Use raw data as is)
-                        // MarketPriceDto normalized = normalizer.normalize(raw);
+        List<MarketPriceDto> collected = new ArrayList<>();
+        List<MarketPriceDataSource> fetched = new ArrayList<>(runs.size());
+        int invalid = 0;
+        for (SourceRun run : runs) {
+            long remainingNanos = run.startedAt() + TimeUnit.MILLISECONDS.toNanos(config.getSourceTimeoutMs())
+                    - System.nanoTime();
+            try {
+                SourceBatch batch = run.future().get(Math.max(0, remainingNanos), TimeUnit.NANOSECONDS);
+                run.circuit().recordSuccess();
+                fetched.add(run.source());
+                collected.addAll(batch.valid());
+                invalid += batch.fetched() - batch.valid().size();
 
-                        // 2. Save Raw Data directly
-                        MarketPriceDto savedPrice = marketPriceService.addPrice(raw);
+                SourceFetchStats stats = SourceFetchStats.builder()
+                        .sourceId(run.sourceId())
+                        .status(SourceFetchStats.Status.OK)
+                        .latencyMs(batch.latencyMs())
+                        .fetchedRows(batch.fetched())
+                        .validRows(batch.valid().size())
+                        .build();
+                sourceStats.add(stats);
+                log.info("Fetched {} rows ({} valid) from {} in {}ms",
+                        stats.getFetchedRows(), stats.getValidRows(), stats.getSourceId(), stats.getLatencyMs());
+            } catch (TimeoutException e) {
+                run.future().cancel(true);
+                sourceStats.add(recordFailure(run.sourceId(), run.circuit(), run.startedAt(),
+                        SourceFetchStats.Status.TIMED_OUT, e));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                run.future().cancel(true);
+                sourceStats.add(recordFailure(run.sourceId(), run.circuit(), run.startedAt(),
+                        SourceFetchStats.Status.FAILED, e));
+            } catch (ExecutionException e) {
+                sourceStats.add(recordFailure(run.sourceId(), run.circuit(), run.startedAt(),
+                        SourceFetchStats.Status.FAILED, e.getCause() != null ? e.getCause() : e));
+            }
+        }
 
-                        // 4. Evaluate Rules (Alerts)
-                        ruleEvaluator.evaluateRules(savedPrice);
+        PriceIngestionResult result;
+        try {
+            result = marketPriceService.upsertPrices(collected);
+        } catch (Exception e) {
+            log.error("Failed to write {} ingested prices: {}", collected.size(), e.getMessage());
+            return PriceIngestionResult.builder()
+                    .skipped(collected.size() + invalid)
+                    .sources(sourceStats)
+                    .build();
+        }
+        result.setSkipped(result.getSkipped() + invalid);
+        result.setSources(sourceStats);
+        for (MarketPriceDataSource source : fetched) {
+            source.onPricesPersisted();
+        }
 
-                        successCount++;
-                    } catch (Exception e) {
-                        log.error("Failed to process price for {}: {}", raw != null ? raw.getCropName() : "unknown",
-                                e.getMessage());
-                    }
-                }
+        // Alerts only need to run for rows that actually changed, as one batch per run
+        if (!result.getChangedPrices().isEmpty()) {
+            ruleEvaluator.evaluateAll(result.getChangedPrices());
+        }
 
-                // Audit the ingestion event (simplified)
-                log.info("Successfully ingested {} prices from {}", successCount, source.getSourceId());
+        log.info("Market price ingestion completed in {}ms: {} inserted, {} updated, {} skipped",
+                elapsedMs(runStartedAt), result.getInserted(), result.getUpdated(), result.getSkipped());
+        return result;
+    }
 
-            } catch (Exception e) {
-                log.error("Error fetching from source {}: {}", source.getSourceId(), e.getMessage());
+    /**
+     * Runs on the price source pool. Invalid rows are dropped here so one bad row
+     * cannot fail the whole batch write.
+     */
+    private SourceBatch fetchSource(MarketPriceDataSource source) {
+        long startedAt = System.nanoTime();
+        // Normalization is skipped on purpose (User request: Use raw data as is).
+        List<MarketPriceDto> rawPrices = source.fetchPrices();
+        List<MarketPriceDto> valid = new ArrayList<>(rawPrices.size());
+        for (MarketPriceDto raw : rawPrices) {
+            if (isWritable(raw)) {
+                valid.add(raw);
             }
         }
-        log.info("Market price ingestion completed.");
+        return new SourceBatch(valid, rawPrices.size(), elapsedMs(startedAt));
+    }
+
+    private SourceFetchStats recordFailure(String sourceId, SourceCircuitBreaker circuit, long startedAt,
+                                           SourceFetchStats.Status status, Throwable error) {
+        circuit.recordFailure(System.currentTimeMillis());
+        log.error("Price source {} {} after {}ms (circuit {}): {}", sourceId, status, elapsedMs(startedAt),
+                circuit.state(), error.getMessage());
+        return SourceFetchStats.builder()
+                .sourceId(sourceId)
+                .status(status)
+                .latencyMs(elapsedMs(startedAt))
+                .error(error.getMessage())
+                .build();
+    }
+
+    private static long elapsedMs(long startedAtNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAtNanos);
+    }
+
+    private boolean isWritable(MarketPriceDto price) {
+        return validator.isValid(price)
+                && price.getCropName() != null
+                && price.getDistrict() != null
+                && price.getUnit() != null;
     }
 
     // Manual trigger for testing
@@ -84,4 +221,11 @@ public class MarketPriceIngestionService {
     public void triggerIngestion() {
         ingestPrices();
     }
+
+    private record SourceRun(MarketPriceDataSource source, String sourceId, SourceCircuitBreaker circuit,
+                             long startedAt, Future<SourceBatch> future) {
+    }
+
+    private record SourceBatch(List<MarketPriceDto> valid, int fetched, long latencyMs) {
+    }
 }
@@ -0,0 +1,108 @@
+package com.krishihub.marketprice.service;
+
+import com.krishihub.config.properties.MarketProperties;
+import com.krishihub.marketprice.repository.MarketPricePartitionRepository;
+import com.krishihub.marketprice.repository.MarketPricePartitionRepository.MonthlyPartition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps the monthly partitions of market_prices and market_price_audit ahead of time
+ * and applies retention by dropping whole partitions.
+ *
+ * Price partitions past app.market.retention.raw-price-months are rolled up into
+ * market_price_weekly and dropped in the same transaction, so no large DELETE runs.
+ * Projection and rollup rows pointing into a dropped partition are trimmed in that
+ * transaction too, and history older than the cutoff is served from the weekly table
+ * (see {@link #rawPriceCutoff()}).
+ */
+@Service
+@Slf4j
+public class MarketPricePartitionService {
+
+    private final MarketPricePartitionRepository partitionRepository;
+    private final MarketProperties marketProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public MarketPricePartitionService(MarketPricePartitionRepository partitionRepository,
+                                       MarketProperties marketProperties,
+                                       PlatformTransactionManager transactionManager) {
+        this.partitionRepository = partitionRepository;
+        this.marketProperties = marketProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.market.retention.cron:0 30 3 * * *}")
+    public void maintainPartitions() {
+        MarketProperties.Retention retention = marketProperties.getRetention();
+        if (!retention.isEnabled()) {
+            return;
+        }
+
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        try {
+            for (int i = 0; i <= retention.getPremakeMonths(); i++) {
+                partitionRepository.ensureMonthlyPartition(MarketPricePartitionRepository.PRICES, currentMonth.plusMonths(i));
+                partitionRepository.ensureMonthlyPartition(MarketPricePartitionRepository.AUDIT, currentMonth.plusMonths(i));
+            }
+
+            LocalDate rawCutoff = rawPriceCutoff();
+            if (rawCutoff != null) {
+                applyPriceRetention(rawCutoff);
+            }
+            if (retention.getAuditMonths() > 0) {
+                applyAuditRetention(currentMonth.minusMonths(retention.getAuditMonths()));
+            }
+        } catch (Exception e) {
+            log.error("Market price partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void applyPriceRetention(LocalDate cutoff) {
+        for (MonthlyPartition partition : partitionRepository.findMonthlyPartitions(MarketPricePartitionRepository.PRICES)) {
+            if (!partition.month().isBefore(cutoff)) {
+                continue;
+            }
+            int weeks = transactionTemplate.execute(tx -> {
+                int rolledUp = partitionRepository.downsampleToWeekly(partition);
+                partitionRepository.dropPartition(partition);
+                partitionRepository.trimDerivedBefore(partition.month().plusMonths(1));
+                return rolledUp;
+            });
+            log.info("Downsampled {} into {} weekly rows and dropped it", partition.name(), weeks);
+        }
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            int strays = partitionRepository.downsampleDefaultBefore(cutoff);
+            if (strays > 0) {
+                log.info("Downsampled {} out-of-range price rows before {}", strays, cutoff);
+            }
+            partitionRepository.trimDerivedBefore(cutoff);
+        });
+    }
+
+    /**
+     * First day still held as raw daily prices, or null when retention keeps everything.
+     */
+    public LocalDate rawPriceCutoff() {
+        MarketProperties.Retention retention = marketProperties.getRetention();
+        if (!retention.isEnabled() || retention.getRawPriceMonths() <= 0) {
+            return null;
+        }
+        return LocalDate.now().withDayOfMonth(1).minusMonths(retention.getRawPriceMonths());
+    }
+
+    private void applyAuditRetention(LocalDate cutoff) {
+        for (MonthlyPartition partition : partitionRepository.findMonthlyPartitions(MarketPricePartitionRepository.AUDIT)) {
+            if (partition.month().isBefore(cutoff)) {
+                partitionRepository.dropPartition(partition);
+                log.info("Dropped audit partition {}", partition.name());
+            }
+        }
+    }
+}
@@ -27,4 +27,20 @@ public class MarketPriceRuleEvaluator {
             }
         }
     }
+
+    /**
+     * Evaluates every price changed by one ingestion run, letting each rule batch its
+     * lookups and notifications across the whole run.
+     */
+    @Async
+    public void evaluateAll(List<MarketPriceDto> newPrices) {
+        log.debug("Evaluating {} rules for {} changed prices", rules.size(), newPrices.size());
+        for (PriceEvaluationRule rule : rules) {
+            try {
+                rule.evaluateAll(newPrices);
+            } catch (Exception e) {
+                log.error("Error executing rule {}: {}", rule.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
 }
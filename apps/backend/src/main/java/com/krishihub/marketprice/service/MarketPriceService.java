@@ -1,20 +1,33 @@
 package com.krishihub.marketprice.service;
 
 import com.krishihub.common.util.DateUtil;
+import com.krishihub.config.properties.MarketProperties;
 import com.krishihub.marketprice.dto.MarketPriceDto;
+import com.krishihub.marketprice.dto.PriceBackfillStatus;
+import com.krishihub.marketprice.dto.PriceIngestionResult;
 import com.krishihub.marketprice.dto.PriceStats;
 import com.krishihub.marketprice.entity.MarketPrice;
 import com.krishihub.marketprice.entity.MarketPriceAudit;
+import com.krishihub.marketprice.repository.MarketPriceBatchRepository;
+import com.krishihub.marketprice.repository.MarketPricePartitionRepository;
 import com.krishihub.marketprice.repository.MarketPriceRepository;
+import com.krishihub.marketprice.repository.MarketPriceStatsRepository;
 import com.krishihub.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -27,6 +40,15 @@ public class MarketPriceService {
     private final MarketPriceRepository priceRepository;
     private final com.krishihub.marketprice.repository.MarketPriceAuditRepository auditRepository;
     private final VegetableImageProvider imageProvider;
+    private final MarketPriceBatchRepository batchRepository;
+    private final MarketPriceStatsRepository statsRepository;
+    private final MarketProperties marketProperties;
+    private final PriceNameIndex nameIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MarketPriceCache priceCache;
+    private final MarketPriceBackfillService backfillService;
+    private final MarketPricePartitionRepository partitionRepository;
+    private final MarketPricePartitionService partitionService;
 
     private MarketPriceDto mapToDto(MarketPrice price) {
         MarketPriceDto dto = MarketPriceDto.fromEntity(price);
@@ -42,14 +64,10 @@ public class MarketPriceService {
     }
 
     public MarketPriceDto getLatestPrice(String cropName, String district) {
-        List<MarketPrice> prices = priceRepository.findByCropAndDistrict(cropName, district);
-
-        if (prices.isEmpty()) {
-            throw new ResourceNotFoundException(
-                    "No price data found for " + cropName + " in " + district);
-        }
-
-        return mapToDto(prices.get(0)); // Already sorted by date DESC
+        MarketPrice latest = priceRepository.findLatestByCropAndDistrict(cropName, district)
+                .orElseThrow(() -> new ResourceNotFoundException(
+                        "No price data found for " + cropName + " in " + district));
+        return mapToDto(latest);
     }
 
     public org.springframework.data.domain.Page<MarketPriceDto> getPricesByDate(java.util.Date date,
@@ -66,8 +84,12 @@ public class MarketPriceService {
                 .collect(Collectors.toList());
     }
 
-    @Cacheable(value = "todaysPrices", key = "{#district, #cropName, #page, #size}")
     public org.springframework.data.domain.Page<MarketPriceDto> getTodaysPrices(String district, String cropName, int page, int size) {
+        return priceCache.todaysPage(district, cropName, page, size,
+                () -> loadTodaysPrices(district, cropName, page, size));
+    }
+
+    private org.springframework.data.domain.Page<MarketPriceDto> loadTodaysPrices(String district, String cropName, int page, int size) {
         org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(page, size);
         java.util.Date today = DateUtil.startOfDay(DateUtil.nowUtc());
 
@@ -76,8 +98,8 @@ public class MarketPriceService {
             org.springframework.data.domain.Page<MarketPrice> todaysPrices;
             
             if (cropName != null && !cropName.trim().isEmpty()) {
-                 todaysPrices = priceRepository.findByDistrictAndCropNameContainingIgnoreCaseAndPriceDate(
-                        district, cropName.trim(), today, pageable);
+                 todaysPrices = priceRepository.searchByDistrictAndPriceDate(
+                        district, String.join("|", CropNameAliases.expand(cropName)), today, pageable);
             } else {
                  todaysPrices = priceRepository.findByDistrictAndPriceDate(district, today, pageable);
             }
@@ -88,7 +110,7 @@ public class MarketPriceService {
 
             // 2. If no prices for today, try fallback to latest available date
             if (page == 0 && (cropName == null || cropName.trim().isEmpty())) {
-                java.util.Date latestDate = priceRepository.findMaxDateByDistrict(district);
+                java.util.Date latestDate = priceRepository.findLatestPriceDateByDistrict(district);
                 if (latestDate != null) {
                     log.info("No prices found for today in {}. Falling back to latest date: {}", district, latestDate);
                     return priceRepository.findByDistrictAndPriceDate(district, latestDate, pageable)
@@ -125,18 +147,23 @@ public class MarketPriceService {
                 .collect(Collectors.toList());
     }
 
-    @Cacheable(value = "availableCrops")
     public List<String> getAvailableCrops() {
-        return priceRepository.findDistinctCropNames();
+        return nameIndex.cropNames();
     }
 
-    @Cacheable(value = "availableDistricts")
     public List<String> getAvailableDistricts() {
-        return priceRepository.findDistinctDistricts();
+        return nameIndex.districts();
+    }
+
+    public List<String> suggestCrops(String prefix, int limit) {
+        return nameIndex.suggestCrops(prefix, limit);
+    }
+
+    public List<String> suggestDistricts(String prefix, int limit) {
+        return nameIndex.suggestDistricts(prefix, limit);
     }
 
     @Transactional
-    @CacheEvict(value = {"todaysPrices", "availableCrops", "availableDistricts"}, allEntries = true)
     public MarketPriceDto addPrice(MarketPriceDto priceDto) {
         // Check if price already exists for this crop, district, and date
         List<MarketPrice> existingPrices = priceRepository.findByCropDistrictAndDate(
@@ -163,6 +190,8 @@ public class MarketPriceService {
                     priceRepository.delete(existingPrices.get(i));
                 }
             }
+            refreshDerived(saved);
+            priceCache.invalidateDistricts(List.of(saved.getDistrict()));
 
             log.info("Market price updated: {} in {} on {}",
                     saved.getCropName(), saved.getDistrict(), saved.getPriceDate());
@@ -181,12 +210,105 @@ public class MarketPriceService {
                 .build();
 
         MarketPrice saved = priceRepository.save(price);
+        refreshDerived(saved);
+        priceCache.invalidateDistricts(List.of(saved.getDistrict()));
+        eventPublisher.publishEvent(new MarketPricesChangedEvent(this));
         log.info("Market price added: {} in {} on {}",
                 saved.getCropName(), saved.getDistrict(), saved.getPriceDate());
 
         return mapToDto(saved);
     }
 
+    /**
+     * Bulk ingestion path. Upserts all rows on (crop, district, priceDate) in chunked
+     * set-based statements and invalidates cached pages only for districts that changed.
+     * Rows repeated within the input are collapsed (last one wins) and counted as skipped.
+     */
+    @Transactional
+    public PriceIngestionResult upsertPrices(List<MarketPriceDto> prices) {
+        java.util.Date today = DateUtil.startOfDay(DateUtil.nowUtc());
+        Map<String, MarketPriceDto> unique = new LinkedHashMap<>();
+        for (MarketPriceDto price : prices) {
+            if (price.getPriceDate() == null) {
+                price.setPriceDate(today);
+            }
+            unique.put(naturalKey(price.getCropName(), price.getDistrict(), price.getPriceDate()), price);
+        }
+
+        List<MarketPriceDto> rows = new ArrayList<>(unique.values());
+        int batchSize = marketProperties.getIngestion().getBatchSize();
+        int inserted = 0;
+        int updated = 0;
+        List<MarketPriceDto> changed = new ArrayList<>();
+        // Updates keep the row id, so only new dates can move the latest-price projection
+        Set<MarketPriceBatchRepository.LatestKey> newDateKeys = new LinkedHashSet<>();
+        // Any change moves the rollups from its date onwards
+        Map<MarketPriceBatchRepository.LatestKey, java.util.Date> statsFrom = new LinkedHashMap<>();
+
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<MarketPriceDto> chunk = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            for (MarketPriceBatchRepository.UpsertedRow row : batchRepository.upsert(chunk)) {
+                MarketPriceDto dto = unique.get(naturalKey(row.cropName(), row.district(), row.priceDate()));
+                if (dto == null) {
+                    continue;
+                }
+                dto.setId(row.id());
+                dto.setImageUrl(imageProvider.getImageUrl(dto.getCropName()));
+                changed.add(dto);
+                statsFrom.merge(new MarketPriceBatchRepository.LatestKey(row.cropName(), row.district()),
+                        row.priceDate(), (a, b) -> a.before(b) ? a : b);
+                if (row.inserted()) {
+                    inserted++;
+                    newDateKeys.add(new MarketPriceBatchRepository.LatestKey(row.cropName(), row.district()));
+                } else {
+                    updated++;
+                }
+            }
+        }
+
+        if (!newDateKeys.isEmpty()) {
+            eventPublisher.publishEvent(new MarketPricesChangedEvent(this));
+        }
+        if (!changed.isEmpty()) {
+            priceCache.invalidateDistricts(changed.stream().map(MarketPriceDto::getDistrict).collect(Collectors.toSet()));
+        }
+
+        List<MarketPriceBatchRepository.LatestKey> keys = new ArrayList<>(newDateKeys);
+        for (int from = 0; from < keys.size(); from += batchSize) {
+            batchRepository.refreshLatest(keys.subList(from, Math.min(from + batchSize, keys.size())));
+        }
+        List<MarketPriceStatsRepository.RefreshKey> statsKeys = statsFrom.entrySet().stream()
+                .map(entry -> new MarketPriceStatsRepository.RefreshKey(
+                        entry.getKey().cropName(), entry.getKey().district(), entry.getValue()))
+                .toList();
+        for (int from = 0; from < statsKeys.size(); from += batchSize) {
+            statsRepository.refresh(statsKeys.subList(from, Math.min(from + batchSize, statsKeys.size())));
+        }
+
+        PriceIngestionResult result = PriceIngestionResult.builder()
+                .inserted(inserted)
+                .updated(updated)
+                .skipped(prices.size() - inserted - updated)
+                .changedPrices(changed)
+                .build();
+        log.info("Bulk price upsert: {} inserted, {} updated, {} skipped",
+                result.getInserted(), result.getUpdated(), result.getSkipped());
+        return result;
+    }
+
+    private void refreshDerived(MarketPrice price) {
+        // Projection and rollups are refreshed in SQL, so the JPA write has to reach the database first
+        priceRepository.flush();
+        batchRepository.refreshLatest(List.of(
+                new MarketPriceBatchRepository.LatestKey(price.getCropName(), price.getDistrict())));
+        statsRepository.refresh(List.of(new MarketPriceStatsRepository.RefreshKey(
+                price.getCropName(), price.getDistrict(), price.getPriceDate())));
+    }
+
+    private String naturalKey(String cropName, String district, java.util.Date priceDate) {
+        return cropName + "|" + district + "|" + new java.sql.Date(priceDate.getTime()).toLocalDate();
+    }
+
     @Transactional
     public MarketPriceDto overridePrice(MarketPriceDto priceDto, UUID executedBy) {
         MarketPriceDto saved = addPrice(priceDto);
@@ -206,62 +328,122 @@ public class MarketPriceService {
         return saved;
     }
 
+    /**
+     * Queue a historical CSV load; progress is read through {@link #getBackfillStatus(UUID)}.
+     */
+    public PriceBackfillStatus startBackfill(MultipartFile file) {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile("price-backfill-", ".csv");
+            file.transferTo(tempFile);
+
+            PriceBackfillStatus status = backfillService.register(file.getOriginalFilename());
+            backfillService.runBackfill(status.getJobId(), tempFile);
+            return status;
+        } catch (Exception e) {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (Exception ignored) {
+                }
+            }
+            throw new RuntimeException("Error processing price backfill: " + e.getMessage());
+        }
+    }
+
+    public PriceBackfillStatus getBackfillStatus(UUID jobId) {
+        return backfillService.getStatus(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Backfill job not found"));
+    }
+
     public MarketPriceDto getPreviousPrice(String cropName, String district, java.util.Date date) {
-        MarketPrice previous = priceRepository.findFirstByCropNameAndDistrictAndPriceDateBeforeOrderByPriceDateDesc(
-                cropName, district, date);
+        // The projection covers the newest two dates; only older reference dates go to history
+        MarketPrice previous = priceRepository.findProjectedPriceBefore(cropName, district, date)
+                .orElseGet(() -> priceRepository.findFirstByCropNameAndDistrictAndPriceDateBeforeOrderByPriceDateDesc(
+                        cropName, district, date));
         return previous != null ? mapToDto(previous) : null;
     }
 
+    /**
+     * Previous average price for each row, keyed by crop|district|date as the rows are,
+     * looked up in chunked set-based reads. Rows without an earlier price are absent.
+     */
+    public Map<String, java.math.BigDecimal> getPreviousAvgPrices(List<MarketPriceDto> prices) {
+        int batchSize = marketProperties.getIngestion().getBatchSize();
+        Map<String, java.math.BigDecimal> previous = new java.util.HashMap<>();
+        for (int from = 0; from < prices.size(); from += batchSize) {
+            for (MarketPriceBatchRepository.PreviousPrice row : batchRepository.findPreviousPrices(
+                    prices.subList(from, Math.min(from + batchSize, prices.size())))) {
+                previous.put(row.cropName() + "|" + row.district() + "|" + row.priceDate(), row.avgPrice());
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Key of a row in {@link #getPreviousAvgPrices(List)}.
+     */
+    public String priceKey(MarketPriceDto price) {
+        return naturalKey(price.getCropName(), price.getDistrict(), price.getPriceDate());
+    }
+
+    /**
+     * Daily history, with the part older than the raw retention cutoff read from the
+     * weekly rollup those partitions were downsampled into.
+     */
     public List<PriceStats> getPriceHistory(String cropName, String district, java.util.Date startDate, java.util.Date endDate) {
-        return priceRepository.findPriceHistory(cropName, district, startDate, endDate);
+        java.time.LocalDate cutoffDay = partitionService.rawPriceCutoff();
+        if (cutoffDay == null) {
+            return priceRepository.findPriceHistory(cropName, district, startDate, endDate);
+        }
+        java.util.Date cutoff = java.util.Date.from(cutoffDay.atStartOfDay(java.time.ZoneId.systemDefault()).toInstant());
+        if (!startDate.before(cutoff)) {
+            return priceRepository.findPriceHistory(cropName, district, startDate, endDate);
+        }
+
+        List<PriceStats> history = new ArrayList<>(partitionRepository.findWeeklyHistory(
+                cropName, district, startDate, endDate.before(cutoff) ? endDate : cutoff));
+        if (!endDate.before(cutoff)) {
+            history.addAll(priceRepository.findPriceHistory(cropName, district, cutoff, endDate));
+        }
+        return history;
     }
 
-    @Cacheable(value = "marketPriceAnalytics")
+    /**
+     * 30-day analytics per crop for the benchmark district, from the newest daily rollup
+     * of each crop. Trend compares the trailing 7-day average with the rest of the window.
+     */
     public List<com.krishihub.marketprice.dto.MarketPriceAnalyticsDto> getAnalytics() {
-        List<String> crops = priceRepository.findDistinctCropNames();
-        List<String> districts = priceRepository.findDistinctDistricts(); 
-        
+        List<String> districts = statsRepository.findDistricts();
         String benchmarkDistrict = districts.contains("Kathmandu") ? "Kathmandu" : (districts.isEmpty() ? "Unknown" : districts.get(0));
 
         java.util.Date endDate = DateUtil.startOfDay(DateUtil.nowUtc());
         java.util.Date startDate = DateUtil.addDays(endDate, -30);
 
-        return crops.stream().map(crop -> {
-            List<PriceStats> history = priceRepository.findPriceHistory(crop, benchmarkDistrict, startDate, endDate);
-            
-            if (history.isEmpty()) return null;
-
-            double min = history.stream().mapToDouble(PriceStats::getMin).min().orElse(0.0);
-            double max = history.stream().mapToDouble(PriceStats::getMax).max().orElse(0.0);
-            double avg = history.stream().mapToDouble(PriceStats::getAvg).average().orElse(0.0);
-
-            // Trend Calculation (Last 7 days vs Previous 7 days)
-            String trend = "STABLE";
-            if (history.size() >= 2) {
-                java.util.Date sevenDaysAgo = DateUtil.addDays(endDate, -7);
-                
-                double recentAvg = history.stream()
-                        .filter(s -> s.getDate().after(sevenDaysAgo))
-                        .mapToDouble(PriceStats::getAvg).average().orElse(0.0);
-                
-                double oldAvg = history.stream()
-                        .filter(s -> s.getDate().before(sevenDaysAgo))
-                        .mapToDouble(PriceStats::getAvg).average().orElse(0.0);
-
-                if (oldAvg > 0) {
-                    double change = (recentAvg - oldAvg) / oldAvg;
-                    if (change > 0.05) trend = "UP";
-                    else if (change < -0.05) trend = "DOWN";
-                }
-            }
+        return statsRepository.findLatestPerCrop(benchmarkDistrict, startDate, endDate).stream()
+                .map(rollup -> com.krishihub.marketprice.dto.MarketPriceAnalyticsDto.builder()
+                        .cropName(rollup.cropName())
+                        .minPrice(rollup.min30d())
+                        .maxPrice(rollup.max30d())
+                        .averagePrice(rollup.avg30d().setScale(2, java.math.RoundingMode.HALF_UP))
+                        .trend(trend(rollup))
+                        .build())
+                .collect(Collectors.toList());
+    }
 
-            return com.krishihub.marketprice.dto.MarketPriceAnalyticsDto.builder()
-                    .cropName(crop)
-                    .minPrice(java.math.BigDecimal.valueOf(min))
-                    .maxPrice(java.math.BigDecimal.valueOf(max))
-                    .averagePrice(java.math.BigDecimal.valueOf(avg))
-                    .trend(trend)
-                    .build();
-        }).filter(java.util.Objects::nonNull).collect(Collectors.toList());
+    private String trend(MarketPriceStatsRepository.CropRollup rollup) {
+        int olderDays = rollup.days30d() - rollup.days7d();
+        if (olderDays <= 0) {
+            return "STABLE";
+        }
+        // Average of the days in the 30-day window that fall outside the 7-day window
+        double recentAvg = rollup.avg7d().doubleValue();
+        double oldAvg = (rollup.avg30d().doubleValue() * rollup.days30d() - recentAvg * rollup.days7d()) / olderDays;
+        if (oldAvg > 0) {
+            double change = (recentAvg - oldAvg) / oldAvg;
+            if (change > 0.05) return "UP";
+            else if (change < -0.05) return "DOWN";
+        }
+        return "STABLE";
     }
 }
@@ -0,0 +1,13 @@
+package com.krishihub.marketprice.service;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when a price write added a crop and district pair that had no price before.
+ */
+public class MarketPricesChangedEvent extends ApplicationEvent {
+
+    public MarketPricesChangedEvent(Object source) {
+        super(source);
+    }
+}
@@ -0,0 +1,19 @@
+package com.krishihub.marketprice.service;
+
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.UUID;
+
+/**
+ * Published when a price alert is created, updated or deleted.
+ */
+@Getter
+public class PriceAlertChangedEvent extends ApplicationEvent {
+    private final UUID alertId;
+
+    public PriceAlertChangedEvent(Object source, UUID alertId) {
+        super(source);
+        this.alertId = alertId;
+    }
+}
@@ -0,0 +1,138 @@
+package com.krishihub.marketprice.service;
+
+import com.krishihub.marketprice.entity.PriceAlert;
+import com.krishihub.marketprice.repository.PriceAlertRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Active price alerts held in memory, per crop and condition, sorted by target price.
+ *
+ * A price finds every ABOVE alert with a lower target and every BELOW alert with a
+ * higher target through two range views, without a query per price. The index is
+ * loaded lazily, patched after an alert change commits, and reloaded periodically
+ * to pick up changes made on other instances.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceAlertIndex {
+
+    private final PriceAlertRepository priceAlertRepository;
+
+    // Guarded by this; replaced wholesale on reload
+    private Map<UUID, AlertEntry> byId;
+    private volatile Map<String, CropAlerts> byCrop;
+
+    /**
+     * Alerts triggered by the crop's average price, ABOVE alerts first.
+     */
+    public List<AlertEntry> triggeredBy(String cropName, BigDecimal avgPrice) {
+        if (cropName == null || avgPrice == null) {
+            return List.of();
+        }
+        CropAlerts alerts = current().get(cropName);
+        if (alerts == null) {
+            return List.of();
+        }
+        List<AlertEntry> triggered = new ArrayList<>();
+        alerts.above().headMap(avgPrice, false).values().forEach(triggered::addAll);
+        alerts.below().tailMap(avgPrice, false).values().forEach(triggered::addAll);
+        return triggered;
+    }
+
+    private Map<String, CropAlerts> current() {
+        Map<String, CropAlerts> current = byCrop;
+        if (current == null) {
+            synchronized (this) {
+                current = byCrop;
+                if (current == null) {
+                    current = reload();
+                }
+            }
+        }
+        return current;
+    }
+
+    public synchronized Map<String, CropAlerts> reload() {
+        Map<UUID, AlertEntry> entries = new HashMap<>();
+        for (PriceAlert alert : priceAlertRepository.findByActiveTrue()) {
+            entries.put(alert.getId(), AlertEntry.of(alert));
+        }
+        byId = entries;
+        byCrop = index(entries.values());
+        log.info("Loaded {} active price alerts for {} crops", entries.size(), byCrop.size());
+        return byCrop;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAlertChanged(PriceAlertChangedEvent event) {
+        if (byCrop == null) {
+            // Not loaded yet; the first lookup reads the committed state
+            return;
+        }
+        PriceAlert alert = priceAlertRepository.findById(event.getAlertId()).orElse(null);
+        synchronized (this) {
+            Map<UUID, AlertEntry> entries = new HashMap<>(byId);
+            entries.remove(event.getAlertId());
+            if (alert != null && alert.isActive()) {
+                entries.put(alert.getId(), AlertEntry.of(alert));
+            }
+            byId = entries;
+            byCrop = index(entries.values());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.market.alerts.refresh-interval-ms:300000}",
+            initialDelayString = "${app.market.alerts.refresh-interval-ms:300000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.warn("Scheduled price alert reload failed, keeping the current index: {}", e.getMessage());
+        }
+    }
+
+    private static Map<String, CropAlerts> index(Collection<AlertEntry> entries) {
+        Map<String, CropAlerts> index = new HashMap<>();
+        for (AlertEntry entry : entries) {
+            CropAlerts alerts = index.computeIfAbsent(entry.cropName(),
+                    crop -> new CropAlerts(new TreeMap<>(), new TreeMap<>()));
+            NavigableMap<BigDecimal, List<AlertEntry>> side =
+                    entry.condition() == PriceAlert.AlertCondition.ABOVE ? alerts.above() : alerts.below();
+            side.computeIfAbsent(entry.targetPrice(), target -> new ArrayList<>()).add(entry);
+        }
+        return index;
+    }
+
+    /**
+     * Alerts of one crop keyed by target price. BigDecimal keys compare by value, so
+     * 90 and 90.00 share a slot.
+     */
+    public record CropAlerts(NavigableMap<BigDecimal, List<AlertEntry>> above,
+                             NavigableMap<BigDecimal, List<AlertEntry>> below) {
+    }
+
+    public record AlertEntry(UUID id, UUID userId, String cropName, BigDecimal targetPrice,
+                             PriceAlert.AlertCondition condition) {
+
+        static AlertEntry of(PriceAlert alert) {
+            return new AlertEntry(alert.getId(), alert.getUserId(), alert.getCropName(),
+                    alert.getTargetPrice(), alert.getCondition());
+        }
+    }
+}
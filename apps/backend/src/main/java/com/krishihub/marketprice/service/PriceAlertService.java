@@ -1,9 +1,13 @@
 package com.krishihub.marketprice.service;
 
+import com.krishihub.marketprice.dto.PriceAlertUpdateDto;
 import com.krishihub.marketprice.entity.PriceAlert;
 import com.krishihub.marketprice.repository.PriceAlertRepository;
+import com.krishihub.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -13,18 +17,55 @@ import java.util.UUID;
 public class PriceAlertService {
 
     private final PriceAlertRepository priceAlertRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
+    @Transactional
     public PriceAlert createAlert(PriceAlert alert) {
-        return priceAlertRepository.save(alert);
+        PriceAlert saved = priceAlertRepository.save(alert);
+        eventPublisher.publishEvent(new PriceAlertChangedEvent(this, saved.getId()));
+        return saved;
+    }
+
+    @Transactional
+    public PriceAlert updateAlert(UUID id, PriceAlertUpdateDto changes, UUID userId) {
+        PriceAlert alert = findOwnedAlert(id, userId);
+        if (changes.getCropName() != null) {
+            alert.setCropName(changes.getCropName());
+        }
+        if (changes.getTargetPrice() != null) {
+            alert.setTargetPrice(changes.getTargetPrice());
+        }
+        if (changes.getCondition() != null) {
+            alert.setCondition(changes.getCondition());
+        }
+        if (changes.getActive() != null) {
+            alert.setActive(changes.getActive());
+        }
+        PriceAlert saved = priceAlertRepository.save(alert);
+        eventPublisher.publishEvent(new PriceAlertChangedEvent(this, saved.getId()));
+        return saved;
     }
 
     public List<PriceAlert> getUserAlerts(UUID userId) {
         return priceAlertRepository.findByUserId(userId);
     }
 
-    public void deleteAlert(UUID id) {
-        priceAlertRepository.deleteById(id);
+    @Transactional
+    public void deleteAlert(UUID id, UUID userId) {
+        priceAlertRepository.delete(findOwnedAlert(id, userId));
+        eventPublisher.publishEvent(new PriceAlertChangedEvent(this, id));
     }
-    
-    // Logic to check alerts would typically be called by the scheduler when fetching new prices
+
+    private PriceAlert findOwnedAlert(UUID id, UUID userId) {
+        PriceAlert alert = priceAlertRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Price alert not found: " + id));
+        // Security: only the owner may change or remove an alert
+        if (userId == null || !userId.equals(alert.getUserId())) {
+            throw new org.springframework.security.access.AccessDeniedException(
+                    "You are not authorized to modify this price alert");
+        }
+        return alert;
+    }
+
+    // Alerts are matched against new prices through PriceAlertIndex
 }
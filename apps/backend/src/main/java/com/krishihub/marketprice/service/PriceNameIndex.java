@@ -0,0 +1,162 @@
+package com.krishihub.marketprice.service;
+
+import com.krishihub.marketprice.repository.MarketPriceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory prefix index of the crop and district names that have prices.
+ * Serves the dropdown lists and typeahead without touching the database. The snapshot
+ * is built lazily, rebuilt after a write adds a new crop or district, and refreshed
+ * periodically to pick up ingestion on other instances.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PriceNameIndex {
+
+    private final MarketPriceRepository priceRepository;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public List<String> cropNames() {
+        return current().crops().names();
+    }
+
+    public List<String> districts() {
+        return current().districts().names();
+    }
+
+    public List<String> suggestCrops(String prefix, int limit) {
+        return current().crops().suggest(prefix, limit);
+    }
+
+    public List<String> suggestDistricts(String prefix, int limit) {
+        return current().districts().suggest(prefix, limit);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot.get();
+                if (current == null) {
+                    current = rebuild();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Serialized so an older read finishing late cannot replace a newer snapshot.
+     */
+    public synchronized Snapshot rebuild() {
+        Snapshot next = new Snapshot(NameTable.of(priceRepository.findProjectedCropNames()),
+                NameTable.of(priceRepository.findProjectedDistricts()));
+        snapshot.set(next);
+        log.info("Rebuilt price name index: {} crops, {} districts",
+                next.crops().names().size(), next.districts().names().size());
+        return next;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPricesChanged(MarketPricesChangedEvent event) {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${app.market.name-index.refresh-interval-ms:600000}",
+            initialDelayString = "${app.market.name-index.refresh-interval-ms:600000}")
+    public void scheduledRefresh() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.warn("Scheduled price name index refresh failed, keeping the current one: {}", e.getMessage());
+        }
+    }
+
+    public record Snapshot(NameTable crops, NameTable districts) {
+    }
+
+    /**
+     * Sorted names plus a sorted map from every lookup key to the names it leads to.
+     * Keys are the whole normalised name, each word in it, and the aliases of each word.
+     */
+    static final class NameTable {
+
+        private final List<String> names;
+        private final NavigableMap<String, Set<String>> keys;
+
+        private NameTable(List<String> names, NavigableMap<String, Set<String>> keys) {
+            this.names = names;
+            this.keys = keys;
+        }
+
+        static NameTable of(List<String> names) {
+            List<String> sorted = new ArrayList<>(new TreeSet<>(names));
+            NavigableMap<String, Set<String>> keys = new TreeMap<>();
+            for (String name : sorted) {
+                String normalized = CropNameAliases.normalize(name);
+                keys.computeIfAbsent(normalized, k -> new TreeSet<>()).add(name);
+                for (String word : CropNameAliases.words(normalized)) {
+                    if (word.isEmpty()) {
+                        continue;
+                    }
+                    keys.computeIfAbsent(word, k -> new TreeSet<>()).add(name);
+                    for (String alias : CropNameAliases.equivalents(word)) {
+                        keys.computeIfAbsent(alias, k -> new TreeSet<>()).add(name);
+                    }
+                }
+            }
+            return new NameTable(Collections.unmodifiableList(sorted), keys);
+        }
+
+        List<String> names() {
+            return names;
+        }
+
+        /**
+         * Names with a key starting with the prefix; whole-name matches come first.
+         */
+        List<String> suggest(String prefix, int limit) {
+            String normalized = CropNameAliases.normalize(prefix);
+            if (normalized.isEmpty() || limit <= 0) {
+                return List.of();
+            }
+            Set<String> wholeName = new LinkedHashSet<>();
+            Set<String> other = new LinkedHashSet<>();
+            for (Map.Entry<String, Set<String>> entry
+                    : keys.subMap(normalized, true, normalized + Character.MAX_VALUE, false).entrySet()) {
+                for (String name : entry.getValue()) {
+                    if (CropNameAliases.normalize(name).equals(entry.getKey())) {
+                        wholeName.add(name);
+                    } else {
+                        other.add(name);
+                    }
+                }
+            }
+            List<String> result = new ArrayList<>(wholeName);
+            for (String name : other) {
+                if (!wholeName.contains(name)) {
+                    result.add(name);
+                }
+            }
+            return result.size() > limit ? result.subList(0, limit) : result;
+        }
+    }
+}
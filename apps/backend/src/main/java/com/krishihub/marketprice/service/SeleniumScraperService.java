@@ -1,5 +1,6 @@
 package com.krishihub.marketprice.service;
 
+import com.krishihub.config.properties.MarketProperties;
 import com.krishihub.marketprice.dto.MarketPriceDto;
 import com.krishihub.service.SystemConfigService;
 import io.github.bonigarcia.wdm.WebDriverManager;
@@ -12,15 +13,22 @@ import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Selenium-based scraper for JavaScript-rendered vegetable price pages.
@@ -31,6 +39,9 @@ import java.util.List;
  *   market.scraper.selenium.enabled=false
  * 
  * The system will fallback to KalimatiScraperService (HTTP-based) when this is disabled.
+ *
+ * Browsers are kept warm in a BrowserSessionPool instead of being launched per scrape;
+ * pool size, recycling and checkout timeout come from app.market.scraper.selenium.
  */
 @Service
 @Slf4j
@@ -43,7 +54,17 @@ public class SeleniumScraperService implements MarketPriceDataSource {
     private static final String DEFAULT_URL = "https://ramropatro.com/vegetable";
     private static final String SOURCE_ID = "RAMROPATRO_SCRAPER";
     
+    private static final Duration PAGE_LOAD_TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private MarketProperties marketProperties;
+
+    @Autowired
+    @Qualifier("browserScrapeExecutor")
+    private Executor browserScrapeExecutor;
+
     private boolean chromeAvailable = false;
+    private BrowserSessionPool sessionPool;
 
     @PostConstruct
     public void init() {
@@ -55,9 +76,25 @@ public class SeleniumScraperService implements MarketPriceDataSource {
         } catch (Exception e) {
             log.warn("ChromeDriver setup failed - Selenium scraper will be inactive: {}", e.getMessage());
             chromeAvailable = false;
+            return;
         }
+
+        MarketProperties.Selenium selenium = marketProperties.getScraper().getSelenium();
+        sessionPool = new BrowserSessionPool(this::startDriver, selenium.getPoolSize(),
+                selenium.getMaxUsesPerSession(), selenium.getCheckoutTimeoutMs());
     }
 
+    @PreDestroy
+    public void shutdown() {
+        if (sessionPool != null) {
+            sessionPool.close();
+        }
+    }
+
+    /**
+     * Scrapes every page listed in market.scraper.url (comma-separated), up to one page
+     * per pooled browser session at a time.
+     */
     @Override
     public List<MarketPriceDto> fetchPrices() {
         if (!chromeAvailable) {
@@ -65,98 +102,128 @@ public class SeleniumScraperService implements MarketPriceDataSource {
             return new ArrayList<>();
         }
         
-        String targetUrl = systemConfigService.getString("market.scraper.url", DEFAULT_URL);
-        log.info("Fetching prices from {} using Selenium headless browser", targetUrl);
-        
-        List<MarketPriceDto> prices = new ArrayList<>();
-        WebDriver driver = null;
+        List<String> targetUrls = Arrays.stream(systemConfigService.getString("market.scraper.url", DEFAULT_URL).split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+        log.info("Fetching prices from {} using Selenium headless browser", targetUrls);
+
+        if (targetUrls.size() == 1) {
+            return scrapePage(targetUrls.get(0));
+        }
 
+        List<CompletableFuture<List<MarketPriceDto>>> pages = targetUrls.stream()
+                .map(url -> CompletableFuture.supplyAsync(() -> scrapePage(url), browserScrapeExecutor))
+                .toList();
+        List<MarketPriceDto> prices = new ArrayList<>();
         try {
-            // Configure headless Chrome
-            ChromeOptions options = new ChromeOptions();
-            options.addArguments("--headless=new");
-            options.addArguments("--disable-gpu");
-            options.addArguments("--no-sandbox");
-            options.addArguments("--disable-dev-shm-usage");
-            options.addArguments("--window-size=1920,1080");
-            options.addArguments("--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
-
-            driver = new ChromeDriver(options);
-            driver.get(targetUrl);
-
-            // Wait for the table to load (JavaScript rendering)
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-            
-            // Try RamroPatro's table selector first
-            try {
-                wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector("table tbody tr")));
-            } catch (Exception e) {
-                log.warn("Primary table selector not found, trying alternative...");
+            for (CompletableFuture<List<MarketPriceDto>> page : pages) {
+                prices.addAll(page.get());
             }
+        } catch (InterruptedException e) {
+            // Cancelled by the ingestion timeout; stop waiting for the remaining pages
+            pages.forEach(page -> page.cancel(true));
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Selenium scraping failed: {}", e.getCause().getMessage());
+        }
 
-            // Find all table rows
-            List<WebElement> rows = driver.findElements(By.cssSelector("table tbody tr"));
-            
-            if (rows.isEmpty()) {
-                // Fallback: try finding any table rows
-                rows = driver.findElements(By.tagName("tr"));
-                log.info("Using fallback selector, found {} rows", rows.size());
-            }
+        log.info("Successfully scraped {} vegetable prices from {} pages using Selenium", prices.size(), targetUrls.size());
+        return prices;
+    }
 
-            for (WebElement row : rows) {
-                try {
-                    List<WebElement> cols = row.findElements(By.tagName("td"));
-                    
-                    // Expect at least 5 columns: Name, Unit, Min, Max, Avg
-                    if (cols.size() >= 5) {
-                        String name = cols.get(0).getText().trim();
-                        String unit = cols.get(1).getText().trim();
-                        String minStr = cols.get(2).getText().trim();
-                        String maxStr = cols.get(3).getText().trim();
-                        String avgStr = cols.get(4).getText().trim();
-
-                        // Skip header rows
-                        if (name.equalsIgnoreCase("Commodity") || name.equalsIgnoreCase("बस्तु") || name.isEmpty()) {
-                            continue;
-                        }
-
-                        BigDecimal min = parsePrice(minStr);
-                        BigDecimal max = parsePrice(maxStr);
-                        BigDecimal avg = parsePrice(avgStr);
-
-                        if (min != null && !name.isEmpty()) {
-                            prices.add(MarketPriceDto.builder()
-                                    .cropName(name)
-                                    .unit(unit.isEmpty() ? "KG" : unit)
-                                    .minPrice(min)
-                                    .maxPrice(max != null ? max : min)
-                                    .avgPrice(avg != null ? avg : min)
-                                    .district("Kathmandu")
-                                    .priceDate(com.krishihub.common.util.DateUtil.startOfDay(com.krishihub.common.util.DateUtil.nowUtc()))
-                                    .source(SOURCE_ID)
-                                    .build());
-                        }
-                    }
-                } catch (Exception e) {
-                    log.debug("Skipping row due to parse error: {}", e.getMessage());
-                }
-            }
+    private List<MarketPriceDto> scrapePage(String targetUrl) {
+        try {
+            return sessionPool.withSession(driver -> readPrices(driver, targetUrl));
+        } catch (TimeoutException e) {
+            log.warn("Selenium scrape of {} skipped: {}", targetUrl, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Selenium scraping of {} failed: {}", targetUrl, e.getMessage());
+            // Don't log full stack trace - it's verbose and expected in serverless environments
+        }
+        return new ArrayList<>();
+    }
 
-            log.info("Successfully scraped {} vegetable prices using Selenium", prices.size());
+    private WebDriver startDriver() {
+        // Configure headless Chrome
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new");
+        options.addArguments("--disable-gpu");
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        options.addArguments("--window-size=1920,1080");
+        options.addArguments("--user-agent=Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36");
+
+        WebDriver driver = new ChromeDriver(options);
+        driver.manage().timeouts().pageLoadTimeout(PAGE_LOAD_TIMEOUT);
+        return driver;
+    }
 
+    private List<MarketPriceDto> readPrices(WebDriver driver, String targetUrl) {
+        List<MarketPriceDto> prices = new ArrayList<>();
+        driver.get(targetUrl);
+
+        // Wait for the table to load (JavaScript rendering)
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        
+        // Try RamroPatro's table selector first
+        try {
+            wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector("table tbody tr")));
         } catch (Exception e) {
-            log.error("Selenium scraping failed: {}", e.getMessage());
-            // Don't log full stack trace - it's verbose and expected in serverless environments
-        } finally {
-            if (driver != null) {
-                try {
-                    driver.quit();
-                } catch (Exception e) {
-                    log.warn("Error closing WebDriver: {}", e.getMessage());
+            log.warn("Primary table selector not found, trying alternative...");
+        }
+
+        // Find all table rows
+        List<WebElement> rows = driver.findElements(By.cssSelector("table tbody tr"));
+        
+        if (rows.isEmpty()) {
+            // Fallback: try finding any table rows
+            rows = driver.findElements(By.tagName("tr"));
+            log.info("Using fallback selector, found {} rows", rows.size());
+        }
+
+        for (WebElement row : rows) {
+            try {
+                List<WebElement> cols = row.findElements(By.tagName("td"));
+                
+                // Expect at least 5 columns: Name, Unit, Min, Max, Avg
+                if (cols.size() >= 5) {
+                    String name = cols.get(0).getText().trim();
+                    String unit = cols.get(1).getText().trim();
+                    String minStr = cols.get(2).getText().trim();
+                    String maxStr = cols.get(3).getText().trim();
+                    String avgStr = cols.get(4).getText().trim();
+
+                    // Skip header rows
+                    if (name.equalsIgnoreCase("Commodity") || name.equalsIgnoreCase("बस्तु") || name.isEmpty()) {
+                        continue;
+                    }
+
+                    BigDecimal min = parsePrice(minStr);
+                    BigDecimal max = parsePrice(maxStr);
+                    BigDecimal avg = parsePrice(avgStr);
+
+                    if (min != null && !name.isEmpty()) {
+                        prices.add(MarketPriceDto.builder()
+                                .cropName(name)
+                                .unit(unit.isEmpty() ? "KG" : unit)
+                                .minPrice(min)
+                                .maxPrice(max != null ? max : min)
+                                .avgPrice(avg != null ? avg : min)
+                                .district("Kathmandu")
+                                .priceDate(com.krishihub.common.util.DateUtil.startOfDay(com.krishihub.common.util.DateUtil.nowUtc()))
+                                .source(SOURCE_ID)
+                                .build());
+                    }
                 }
+            } catch (Exception e) {
+                log.debug("Skipping row due to parse error: {}", e.getMessage());
             }
         }
 
+        log.info("Successfully scraped {} vegetable prices from {} using Selenium", prices.size(), targetUrl);
         return prices;
     }
 
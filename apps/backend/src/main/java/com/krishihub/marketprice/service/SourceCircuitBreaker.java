@@ -0,0 +1,52 @@
+package com.krishihub.marketprice.service;
+
+/**
+ * Consecutive-failure circuit for one price source.
+ *
+ * CLOSED: fetch normally. After failureThreshold failed runs in a row the circuit
+ * OPENs and the source is skipped until openMs has passed; the next run is then a
+ * single HALF_OPEN trial that either closes the circuit or re-opens it.
+ */
+final class SourceCircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMs;
+
+    private int consecutiveFailures;
+    private long openedAtMs;
+    private State state = State.CLOSED;
+
+    SourceCircuitBreaker(int failureThreshold, long openMs) {
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+    }
+
+    /**
+     * Whether the source should be fetched in this run.
+     */
+    synchronized boolean allowRequest(long nowMs) {
+        if (state == State.OPEN && nowMs - openedAtMs >= openMs) {
+            state = State.HALF_OPEN;
+        }
+        return state != State.OPEN;
+    }
+
+    synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        state = State.CLOSED;
+    }
+
+    synchronized void recordFailure(long nowMs) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAtMs = nowMs;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+}
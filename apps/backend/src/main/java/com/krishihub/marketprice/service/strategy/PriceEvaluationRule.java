@@ -2,6 +2,18 @@ package com.krishihub.marketprice.service.strategy;
 
 import com.krishihub.marketprice.dto.MarketPriceDto;
 
+import java.util.List;
+
 public interface PriceEvaluationRule {
     void evaluate(MarketPriceDto newPrice);
+
+    /**
+     * Evaluates all prices changed by one ingestion run. Rules that look up data or
+     * notify users override this to do so once per run instead of once per price.
+     */
+    default void evaluateAll(List<MarketPriceDto> newPrices) {
+        for (MarketPriceDto newPrice : newPrices) {
+            evaluate(newPrice);
+        }
+    }
 }
@@ -7,6 +7,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Map;
 
 @Component
 @RequiredArgsConstructor
@@ -17,37 +20,56 @@ public class PriceSurgeRule implements PriceEvaluationRule {
 
     @Override
     public void evaluate(MarketPriceDto newPrice) {
+        evaluateAll(List.of(newPrice));
+    }
+
+    /**
+     * Looks up the previous price of every row in one batch, then compares each.
+     */
+    @Override
+    public void evaluateAll(List<MarketPriceDto> newPrices) {
+        Map<String, BigDecimal> previousPrices;
         try {
-            MarketPriceDto previousPrice = marketPriceService.getPreviousPrice(
-                    newPrice.getCropName(), newPrice.getDistrict(), newPrice.getPriceDate());
-
-            if (previousPrice != null) {
-                BigDecimal oldVal = previousPrice.getAvgPrice();
-                BigDecimal newVal = newPrice.getAvgPrice();
-
-                if (oldVal.compareTo(BigDecimal.ZERO) == 0)
-                    return;
-
-                BigDecimal change = newVal.subtract(oldVal);
-                BigDecimal percentageChange = change.divide(oldVal, 4, BigDecimal.ROUND_HALF_UP)
-                        .multiply(BigDecimal.valueOf(100));
-
-                if (percentageChange.abs().compareTo(BigDecimal.valueOf(20)) > 0) {
-                    String type = percentageChange.compareTo(BigDecimal.ZERO) > 0 ? "PRICE_SURGE" : "PRICE_DROP";
-                    String message = String.format(
-                            "Significant market movement! %s in %s has %s by %.2f%%. Current: Rs. %s",
-                            newPrice.getCropName(), newPrice.getDistrict(),
-                            type.equals("PRICE_SURGE") ? "jumped" : "dropped",
-                            percentageChange.abs(), newPrice.getAvgPrice());
-
-                    log.info("System Alert: {}", message);
-                    // In a real system, we might broadcast this to all users interested in this
-                    // crop
-                    // notificationService.broadcast(type, message);
+            previousPrices = marketPriceService.getPreviousAvgPrices(newPrices);
+        } catch (Exception e) {
+            log.error("Error loading previous prices for {} surge checks: {}", newPrices.size(), e.getMessage());
+            return;
+        }
+
+        for (MarketPriceDto newPrice : newPrices) {
+            try {
+                BigDecimal oldVal = previousPrices.get(marketPriceService.priceKey(newPrice));
+                if (oldVal != null) {
+                    checkSurge(newPrice, oldVal);
                 }
+            } catch (Exception e) {
+                log.error("Error evaluating surge rules for {}: {}", newPrice.getCropName(), e.getMessage());
             }
-        } catch (Exception e) {
-            log.error("Error evaluating surge rules for {}: {}", newPrice.getCropName(), e.getMessage());
+        }
+    }
+
+    private void checkSurge(MarketPriceDto newPrice, BigDecimal oldVal) {
+        BigDecimal newVal = newPrice.getAvgPrice();
+
+        if (oldVal.compareTo(BigDecimal.ZERO) == 0)
+            return;
+
+        BigDecimal change = newVal.subtract(oldVal);
+        BigDecimal percentageChange = change.divide(oldVal, 4, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(100));
+
+        if (percentageChange.abs().compareTo(BigDecimal.valueOf(20)) > 0) {
+            String type = percentageChange.compareTo(BigDecimal.ZERO) > 0 ? "PRICE_SURGE" : "PRICE_DROP";
+            String message = String.format(
+                    "Significant market movement! %s in %s has %s by %.2f%%. Current: Rs. %s",
+                    newPrice.getCropName(), newPrice.getDistrict(),
+                    type.equals("PRICE_SURGE") ? "jumped" : "dropped",
+                    percentageChange.abs(), newPrice.getAvgPrice());
+
+            log.info("System Alert: {}", message);
+            // In a real system, we might broadcast this to all users interested in this
+            // crop
+            // notificationService.broadcast(type, message);
         }
     }
 }
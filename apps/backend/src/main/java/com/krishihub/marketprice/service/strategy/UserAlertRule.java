@@ -2,48 +2,54 @@ package com.krishihub.marketprice.service.strategy;
 
 import com.krishihub.marketprice.dto.MarketPriceDto;
 import com.krishihub.marketprice.entity.PriceAlert;
-import com.krishihub.marketprice.repository.PriceAlertRepository;
+import com.krishihub.marketprice.service.PriceAlertIndex;
 import com.krishihub.notification.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class UserAlertRule implements PriceEvaluationRule {
 
-    private final PriceAlertRepository priceAlertRepository;
+    private final PriceAlertIndex priceAlertIndex;
     private final NotificationService notificationService;
 
     @Override
     public void evaluate(MarketPriceDto price) {
-        try {
-            List<PriceAlert> alerts = priceAlertRepository.findByCropNameAndActiveTrue(price.getCropName());
-            for (PriceAlert alert : alerts) {
-                boolean triggered = false;
-                if (alert.getCondition() == PriceAlert.AlertCondition.ABOVE
-                        && price.getAvgPrice().compareTo(alert.getTargetPrice()) > 0) {
-                    triggered = true;
-                } else if (alert.getCondition() == PriceAlert.AlertCondition.BELOW
-                        && price.getAvgPrice().compareTo(alert.getTargetPrice()) < 0) {
-                    triggered = true;
-                }
+        evaluateAll(List.of(price));
+    }
 
-                if (triggered) {
-                    String message = String.format("Price Alert: %s is now %s Rs. %s (Target: Rs. %s)",
+    /**
+     * Matches every price against the in-memory alert index and hands all triggered
+     * alerts to notifications as one batch.
+     */
+    @Override
+    public void evaluateAll(List<MarketPriceDto> prices) {
+        List<UUID> userIds = new ArrayList<>();
+        List<String> messages = new ArrayList<>();
+        for (MarketPriceDto price : prices) {
+            try {
+                for (PriceAlertIndex.AlertEntry alert : priceAlertIndex.triggeredBy(price.getCropName(), price.getAvgPrice())) {
+                    userIds.add(alert.userId());
+                    messages.add(String.format("Price Alert: %s is now %s Rs. %s (Target: Rs. %s)",
                             price.getCropName(),
-                            alert.getCondition() == PriceAlert.AlertCondition.ABOVE ? "above" : "below",
-                            price.getAvgPrice(), alert.getTargetPrice());
-
-                    notificationService.createNotification(alert.getUserId(), "PRICE_ALERT", message);
-                    log.info("Notification sent to user {}: {}", alert.getUserId(), message);
+                            alert.condition() == PriceAlert.AlertCondition.ABOVE ? "above" : "below",
+                            price.getAvgPrice(), alert.targetPrice()));
                 }
+            } catch (Exception e) {
+                log.error("Error checking user alerts for {}: {}", price.getCropName(), e.getMessage());
             }
-        } catch (Exception e) {
-            log.error("Error checking user alerts for {}: {}", price.getCropName(), e.getMessage());
+        }
+
+        if (!userIds.isEmpty()) {
+            notificationService.createNotifications(userIds, "PRICE_ALERT", messages);
+            log.info("{} price alerts triggered by {} prices", userIds.size(), prices.size());
         }
     }
 }
@@ -12,6 +12,7 @@ import com.krishihub.messaging.service.FileStorageService;
 import com.krishihub.messaging.service.MessagingService;
 import com.krishihub.messaging.service.PresenceService;
 import com.krishihub.shared.dto.ApiResponse;
+import com.krishihub.shared.dto.CursorPageResponse;
 import com.krishihub.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.io.Resource;
@@ -50,6 +51,15 @@ public class ChatController {
         return ResponseEntity.ok(ApiResponse.success(conversations));
     }
 
+    @GetMapping("/inbox")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<ApiResponse<CursorPageResponse<ConversationDto>>> getInbox(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        UUID userId = UserContextHolder.getUserId();
+        return ResponseEntity.ok(ApiResponse.success(messagingService.getInbox(userId, cursor, limit)));
+    }
+
     @PostMapping("/conversation/create")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<ApiResponse<ConversationDto>> createConversation(@RequestBody Map<String, String> request) {
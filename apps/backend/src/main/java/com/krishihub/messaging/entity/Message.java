@@ -14,7 +14,9 @@ import java.util.Date;
 import java.util.UUID;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        @Index(name = "idx_messages_conversation_created", columnList = "conversation_id, created_at DESC")
+})
 @EntityListeners(AuditingEntityListener.class)
 @Data
 @NoArgsConstructor
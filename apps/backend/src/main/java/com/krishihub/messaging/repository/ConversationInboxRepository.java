@@ -0,0 +1,96 @@
+package com.krishihub.messaging.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read model for a user's chat list.
+ * Each conversation comes back with its direct-chat partner, last message and
+ * unread count in a single statement instead of three queries per conversation.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ConversationInboxRepository {
+
+    /**
+     * Conversations are ordered by (sort_at, id) so the last row of a page is a
+     * stable keyset cursor for the next one. sort_at falls back to created_at for
+     * conversations that never had a message.
+     */
+    private static final String INBOX_SQL = """
+            SELECT c.id, c.type, c.sort_at,
+                   partner.user_id AS partner_id, u.name AS partner_name,
+                   u.mobile_number AS partner_mobile, u.role AS partner_role,
+                   lm.message AS last_message, lm.created_at AS last_message_created_at,
+                   lm.listing_id AS last_message_listing_id,
+                   (SELECT COUNT(*) FROM messages m
+                     WHERE m.conversation_id = c.id AND m.receiver_id = ? AND m.is_read = false) AS unread_count
+            FROM (SELECT c.id, c.type, COALESCE(c.last_message_at, c.created_at) AS sort_at
+                  FROM conversations c
+                  JOIN conversation_participants me ON me.conversation_id = c.id
+                  WHERE me.user_id = ?) c
+            LEFT JOIN LATERAL (SELECT cp.user_id FROM conversation_participants cp
+                               WHERE cp.conversation_id = c.id AND cp.user_id <> ? AND c.type = 'DIRECT'
+                               LIMIT 1) partner ON true
+            LEFT JOIN users u ON u.id = partner.user_id
+            LEFT JOIN LATERAL (SELECT m.message, m.created_at, m.listing_id FROM messages m
+                               WHERE m.conversation_id = c.id
+                               ORDER BY m.created_at DESC
+                               LIMIT 1) lm ON true
+            """;
+
+    private static final String FIRST_PAGE_SQL = INBOX_SQL + """
+            ORDER BY c.sort_at DESC, c.id DESC
+            LIMIT ?
+            """;
+
+    private static final String NEXT_PAGE_SQL = INBOX_SQL + """
+            WHERE (c.sort_at, c.id) < (?, ?)
+            ORDER BY c.sort_at DESC, c.id DESC
+            LIMIT ?
+            """;
+
+    private static final RowMapper<InboxRow> ROW_MAPPER = (rs, rowNum) -> new InboxRow(
+            rs.getObject("id", UUID.class),
+            rs.getString("type"),
+            rs.getTimestamp("sort_at").toInstant(),
+            rs.getObject("partner_id", UUID.class),
+            rs.getString("partner_name"),
+            rs.getString("partner_mobile"),
+            rs.getString("partner_role"),
+            rs.getString("last_message"),
+            rs.getTimestamp("last_message_created_at"),
+            rs.getObject("last_message_listing_id", UUID.class),
+            rs.getLong("unread_count"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Newest conversations for a user, strictly after the given cursor when one is supplied.
+     *
+     * @param afterSortAt sort key of the last row of the previous page, or null for the first page.
+     *                    Kept as an Instant so the cursor retains the column's microsecond precision
+     * @param afterId     id of the last row of the previous page, or null for the first page
+     */
+    public List<InboxRow> findInbox(UUID userId, Instant afterSortAt, UUID afterId, int limit) {
+        if (afterSortAt == null || afterId == null) {
+            return jdbcTemplate.query(FIRST_PAGE_SQL, ROW_MAPPER, userId, userId, userId, limit);
+        }
+        return jdbcTemplate.query(NEXT_PAGE_SQL, ROW_MAPPER, userId, userId, userId,
+                Timestamp.from(afterSortAt), afterId, limit);
+    }
+
+    public record InboxRow(UUID id, String type, Instant sortAt,
+                           UUID partnerId, String partnerName, String partnerMobile, String partnerRole,
+                           String lastMessage, Date lastMessageCreatedAt, UUID lastMessageListingId,
+                           long unreadCount) {
+    }
+}
@@ -8,9 +8,11 @@ import com.krishihub.messaging.dto.ConversationDto;
 import com.krishihub.messaging.dto.MessageDto;
 import com.krishihub.messaging.dto.SendMessageRequest;
 import com.krishihub.messaging.entity.*;
+import com.krishihub.messaging.repository.ConversationInboxRepository;
 import com.krishihub.messaging.repository.ConversationParticipantRepository;
 import com.krishihub.messaging.repository.ConversationRepository;
 import com.krishihub.messaging.repository.MessageRepository;
+import com.krishihub.shared.dto.CursorPageResponse;
 import com.krishihub.shared.exception.BadRequestException;
 import com.krishihub.shared.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +23,8 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -29,9 +33,13 @@ import java.util.stream.Collectors;
 @Slf4j
 public class MessagingService {
 
+    private static final int DEFAULT_INBOX_PAGE_SIZE = 20;
+    private static final int MAX_INBOX_PAGE_SIZE = 100;
+
     private final MessageRepository messageRepository;
     private final ConversationRepository conversationRepository;
     private final ConversationParticipantRepository participantRepository;
+    private final ConversationInboxRepository inboxRepository;
     private final UserRepository userRepository;
     private final CropListingRepository listingRepository;
     private final PresenceService presenceService;
@@ -201,76 +209,105 @@ public class MessagingService {
      * Get list of conversations for current user
      */
     public List<ConversationDto> getConversations(UUID userId) {
-        List<Conversation> conversations = conversationRepository.findByUserId(userId);
-        
+        List<ConversationInboxRepository.InboxRow> rows = loadInbox(userId, null, null, Integer.MAX_VALUE);
+        return rows.stream().map(this::toConversationDto).collect(Collectors.toList());
+    }
+
+    /**
+     * Get a page of the current user's conversations, newest first.
+     * The cursor is the opaque nextCursor returned by the previous page.
+     */
+    public CursorPageResponse<ConversationDto> getInbox(UUID userId, String cursor, Integer limit) {
+        int pageSize = limit != null ? Math.max(1, Math.min(limit, MAX_INBOX_PAGE_SIZE)) : DEFAULT_INBOX_PAGE_SIZE;
+        InboxCursor after = cursor != null ? decodeInboxCursor(cursor) : null;
+
+        List<ConversationInboxRepository.InboxRow> rows = loadInbox(userId,
+                after != null ? after.sortAt() : null,
+                after != null ? after.id() : null,
+                pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        if (hasMore) {
+            rows = rows.subList(0, pageSize);
+        }
+
+        String nextCursor = hasMore ? encodeInboxCursor(rows.get(rows.size() - 1)) : null;
+
+        return CursorPageResponse.<ConversationDto>builder()
+                .data(rows.stream().map(this::toConversationDto).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .limit(pageSize)
+                .build();
+    }
+
+    private List<ConversationInboxRepository.InboxRow> loadInbox(UUID userId, Instant afterSortAt, UUID afterId, int limit) {
+        List<ConversationInboxRepository.InboxRow> rows = inboxRepository.findInbox(userId, afterSortAt, afterId, limit);
+
         // Default Support Chat Logic: If user has no conversations, check if they need a welcome support chat
-        if (conversations.isEmpty()) {
-            User currentUser = userRepository.findById(userId).orElse(null);
-            // Only auto-create for non-admin users (Farmers, etc)
-            if (currentUser != null && currentUser.getRole() != User.UserRole.ADMIN && currentUser.getRole() != User.UserRole.SUPER_ADMIN) {
-                // Find an Admin to chat with
-                Page<User> admins = userRepository.findByRole(User.UserRole.ADMIN, PageRequest.of(0, 1));
-                if (admins.hasContent()) {
-                    User admin = admins.getContent().get(0);
-                    // Create default conversation
-                    Conversation supportChat = getOrCreateDirectConversation(currentUser, admin);
-                    
-                    conversations = new ArrayList<>();
-                    conversations.add(supportChat);
-                }
-            }
+        if (rows.isEmpty() && afterId == null && createSupportChatIfEligible(userId)) {
+            rows = inboxRepository.findInbox(userId, null, null, limit);
         }
-        
-        return conversations.stream().map(conversation -> {
-            // Find partner info
-            List<ConversationParticipant> participants = participantRepository.findByConversationId(conversation.getId());
-            User partner = null;
-            
-            // If Direct, find the other user
-            if (conversation.getType() == ConversationType.DIRECT) {
-                partner = participants.stream()
-                        .filter(p -> !p.getUser().getId().equals(userId))
-                        .map(ConversationParticipant::getUser)
-                        .findFirst()
-                        .orElse(null);
-            }
-            
-            // Get unread count
-            long unread = messageRepository.countUnreadMessagesByConversation(conversation.getId(), userId);
-            
-            // Get last message (Content) - Optimization: Fetch top 1 message
-            Page<Message> lastMessagePage = messageRepository.findByConversationIdOrderByCreatedAtDesc(conversation.getId(), PageRequest.of(0, 1));
-            String lastMessageContent = "";
-            Date lastMessageTime = conversation.getLastMessageAt();
-            UUID listingId = null;
-
-            if (lastMessagePage.hasContent()) {
-                Message lastMsg = lastMessagePage.getContent().get(0);
-                lastMessageContent = lastMsg.getMessage();
-                lastMessageTime = lastMsg.getCreatedAt();
-                if (lastMsg.getListing() != null) {
-                    listingId = lastMsg.getListing().getId();
-                }
-            } else {
-                 // Initial virtual welcome message if empty
-                 if (conversation.getType() == ConversationType.DIRECT && partner != null && 
-                    (partner.getRole() == User.UserRole.ADMIN || partner.getRole() == User.UserRole.SUPER_ADMIN)) {
-                     lastMessageContent = "Welcome to Kisan Support! How can we help you?";
-                 }
+        return rows;
+    }
+
+    private boolean createSupportChatIfEligible(UUID userId) {
+        User currentUser = userRepository.findById(userId).orElse(null);
+        // Only auto-create for non-admin users (Farmers, etc)
+        if (currentUser == null || currentUser.getRole() == User.UserRole.ADMIN || currentUser.getRole() == User.UserRole.SUPER_ADMIN) {
+            return false;
+        }
+        // Find an Admin to chat with
+        Page<User> admins = userRepository.findByRole(User.UserRole.ADMIN, PageRequest.of(0, 1));
+        if (!admins.hasContent()) {
+            return false;
+        }
+        getOrCreateDirectConversation(currentUser, admins.getContent().get(0));
+        return true;
+    }
+
+    private ConversationDto toConversationDto(ConversationInboxRepository.InboxRow row) {
+        String lastMessageContent = row.lastMessage();
+        if (lastMessageContent == null) {
+            lastMessageContent = "";
+            // Initial virtual welcome message if empty
+            boolean partnerIsAdmin = User.UserRole.ADMIN.name().equals(row.partnerRole())
+                    || User.UserRole.SUPER_ADMIN.name().equals(row.partnerRole());
+            if (ConversationType.DIRECT.name().equals(row.type()) && partnerIsAdmin) {
+                lastMessageContent = "Welcome to Kisan Support! How can we help you?";
             }
+        }
+
+        return ConversationDto.builder()
+                .id(row.id())
+                .type(row.type())
+                .userId(row.partnerId())
+                .userName(row.partnerId() != null ? row.partnerName() : "Group Chat")
+                .userMobile(row.partnerMobile())
+                .listingId(row.lastMessageListingId())
+                .lastMessage(lastMessageContent)
+                .lastMessageTime(row.lastMessageCreatedAt() != null ? row.lastMessageCreatedAt() : Date.from(row.sortAt()))
+                .unreadCount(row.unreadCount())
+                .build();
+    }
+
+    private String encodeInboxCursor(ConversationInboxRepository.InboxRow row) {
+        String raw = row.sortAt() + "|" + row.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private InboxCursor decodeInboxCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            return new InboxCursor(Instant.parse(decoded.substring(0, separator)),
+                    UUID.fromString(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
 
-            return ConversationDto.builder()
-                    .id(conversation.getId())
-                    .type(conversation.getType().name())
-                    .userId(partner != null ? partner.getId() : null)
-                    .userName(partner != null ? partner.getName() : "Group Chat")
-                    .userMobile(partner != null ? partner.getMobileNumber() : null)
-                    .listingId(listingId)
-                    .lastMessage(lastMessageContent)
-                    .lastMessageTime(lastMessageTime)
-                    .unreadCount(unread)
-                    .build();
-        }).collect(Collectors.toList());
+    private record InboxCursor(Instant sortAt, UUID id) {
     }
 
     public List<MessageDto> getMessages(UUID conversationId, UUID userId, int page, int size) {
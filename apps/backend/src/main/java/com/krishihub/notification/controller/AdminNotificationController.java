@@ -50,7 +50,7 @@ public class AdminNotificationController {
     }
 
     @PostMapping("/broadcast")
-    public ResponseEntity<ApiResponse<Void>> sendBroadcast(@RequestBody Map<String, Object> payload) {
+    public ResponseEntity<ApiResponse<UUID>> sendBroadcast(@RequestBody Map<String, Object> payload) {
         String title = (String) payload.get("title");
         String message = (String) payload.get("message");
         String channel = (String) payload.get("channel");
@@ -58,8 +58,14 @@ public class AdminNotificationController {
         String targetValue = (String) payload.get("targetValue"); // Mobile number for SINGLE
         String priority = (String) payload.getOrDefault("priority", "NORMAL");
 
-        notificationService.sendBroadcast(title, message, channel, role, targetValue, priority);
-        return ResponseEntity.ok(ApiResponse.success("Broadcast queued", null));
+        UUID broadcastId = notificationService.sendBroadcast(title, message, channel, role, targetValue, priority);
+        return ResponseEntity.ok(ApiResponse.success("Broadcast queued", broadcastId));
+    }
+
+    @PostMapping("/broadcast/{broadcastId}/resume")
+    public ResponseEntity<ApiResponse<Void>> resumeBroadcast(@PathVariable UUID broadcastId) {
+        notificationService.resumeBroadcast(broadcastId);
+        return ResponseEntity.ok(ApiResponse.success("Broadcast resumed", null));
     }
 
     @PostMapping("/retry-pending")
@@ -0,0 +1,72 @@
+package com.krishihub.notification.entity;
+
+import com.krishihub.auth.entity.User;
+import com.krishihub.notification.enums.BroadcastStatus;
+import com.krishihub.notification.enums.NotificationChannel;
+import com.krishihub.notification.enums.NotificationPriority;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * A role-wide broadcast and how far its fan-out got.
+ */
+@Entity
+@Table(name = "notification_broadcasts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationBroadcast {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    // Null targets all users
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_role", length = 50)
+    private User.UserRole targetRole;
+
+    @Column(name = "title")
+    private String title;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationChannel channel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private NotificationPriority priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private BroadcastStatus status;
+
+    // Keyset cursor: the last user whose notification was inserted and queued
+    @Column(name = "last_user_id")
+    private UUID lastUserId;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private int recipients = 0;
+
+    @Column(name = "failure_reason", columnDefinition = "TEXT")
+    private String failureReason;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Date createdAt;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "updated_at", nullable = false)
+    private Date updatedAt;
+}
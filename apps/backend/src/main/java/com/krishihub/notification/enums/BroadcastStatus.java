@@ -0,0 +1,7 @@
+package com.krishihub.notification.enums;
+
+public enum BroadcastStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED // Stopped part way; can be resumed from its last queued user
+}
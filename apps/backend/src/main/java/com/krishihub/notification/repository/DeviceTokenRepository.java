@@ -2,8 +2,13 @@ package com.krishihub.notification.repository;
 
 import com.krishihub.notification.entity.DeviceToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -11,6 +16,12 @@ import java.util.UUID;
 @Repository
 public interface DeviceTokenRepository extends JpaRepository<DeviceToken, UUID> {
     List<DeviceToken> findByUserId(UUID userId);
+    List<DeviceToken> findByUserIdIn(Collection<UUID> userIds);
     Optional<DeviceToken> findByToken(String token);
     void deleteByToken(String token);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM DeviceToken d WHERE d.token IN :tokens")
+    int deleteByTokenIn(@Param("tokens") Collection<String> tokens);
 }
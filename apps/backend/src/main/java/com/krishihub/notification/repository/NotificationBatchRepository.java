@@ -0,0 +1,92 @@
+package com.krishihub.notification.repository;
+
+import com.krishihub.notification.enums.NotificationChannel;
+import com.krishihub.notification.enums.NotificationPriority;
+import com.krishihub.notification.enums.NotificationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based writes for notifications.
+ * Broadcast and bulk-import chunks are inserted with one statement instead of one save per recipient.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationBatchRepository {
+
+    private static final String INSERT_BROADCAST_SQL = """
+            INSERT INTO notifications (id, user_id, type, title, message, channel, status, priority, is_read, created_at)
+            SELECT gen_random_uuid(), t.user_id, ?, ?, ?, ?, ?, ?, false, now()
+            FROM unnest(?::uuid[]) AS t(user_id)
+            RETURNING id
+            """;
+
+    private static final String INSERT_PERSONALISED_SQL = """
+            INSERT INTO notifications (id, user_id, type, title, message, channel, status, priority, is_read, created_at)
+            SELECT gen_random_uuid(), t.user_id, ?, ?, t.message, t.channel, ?, ?, false, now()
+            FROM unnest(?::uuid[], ?::text[], ?::varchar[]) AS t(user_id, message, channel)
+            RETURNING id, user_id, message
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insert one notification per user with identical content.
+     *
+     * @return IDs of the inserted notifications
+     */
+    public List<UUID> insertForUsers(List<UUID> userIds, String type, String title, String message,
+                                     NotificationChannel channel, NotificationPriority priority,
+                                     NotificationStatus status) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(connection -> {
+            var ps = connection.prepareStatement(INSERT_BROADCAST_SQL);
+            ps.setString(1, type);
+            ps.setString(2, title);
+            ps.setString(3, message);
+            ps.setString(4, channel.name());
+            ps.setString(5, status.name());
+            ps.setString(6, priority.name());
+            ps.setArray(7, connection.createArrayOf("uuid", userIds.toArray()));
+            return ps;
+        }, (rs, rowNum) -> rs.getObject("id", UUID.class));
+    }
+
+    /**
+     * Insert one notification per user where message and channel differ per recipient.
+     * The three lists are aligned by index.
+     *
+     * @return the inserted notifications with their recipients; PostgreSQL does not
+     *         guarantee RETURNING rows in input order, so pair on these, not by index
+     */
+    public List<InsertedNotification> insertPersonalised(List<UUID> userIds, List<String> messages, List<NotificationChannel> channels,
+                                         String type, String title, NotificationPriority priority,
+                                         NotificationStatus status) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(connection -> {
+            var ps = connection.prepareStatement(INSERT_PERSONALISED_SQL);
+            ps.setString(1, type);
+            ps.setString(2, title);
+            ps.setString(3, status.name());
+            ps.setString(4, priority.name());
+            ps.setArray(5, connection.createArrayOf("uuid", userIds.toArray()));
+            ps.setArray(6, connection.createArrayOf("text", messages.toArray()));
+            ps.setArray(7, connection.createArrayOf("varchar", channels.stream().map(Enum::name).toArray()));
+            return ps;
+        }, (rs, rowNum) -> new InsertedNotification(
+                rs.getObject("id", UUID.class),
+                rs.getObject("user_id", UUID.class),
+                rs.getString("message")));
+    }
+
+    public record InsertedNotification(UUID id, UUID userId, String message) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.krishihub.notification.repository;
+
+import com.krishihub.notification.entity.NotificationBroadcast;
+import com.krishihub.notification.enums.BroadcastStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Date;
+import java.util.UUID;
+
+@Repository
+public interface NotificationBroadcastRepository extends JpaRepository<NotificationBroadcast, UUID> {
+
+    /**
+     * Advance the cursor past a chunk; run in the transaction that inserted the chunk's notifications.
+     */
+    @Modifying
+    @Query("UPDATE NotificationBroadcast b SET b.lastUserId = :lastUserId, b.recipients = b.recipients + :count, "
+            + "b.updatedAt = :now WHERE b.id = :id")
+    int recordProgress(@Param("id") UUID id, @Param("lastUserId") UUID lastUserId,
+                       @Param("count") int count, @Param("now") Date now);
+
+    @Modifying
+    @Query("UPDATE NotificationBroadcast b SET b.status = :status, b.failureReason = :failureReason, "
+            + "b.updatedAt = :now WHERE b.id = :id")
+    int updateStatus(@Param("id") UUID id, @Param("status") BroadcastStatus status,
+                     @Param("failureReason") String failureReason, @Param("now") Date now);
+
+    /**
+     * Move a broadcast from one status to another only if it is still in the first,
+     * so two resumes of the same broadcast cannot both run.
+     *
+     * @return 1 if this caller made the transition
+     */
+    @Modifying
+    @Query("UPDATE NotificationBroadcast b SET b.status = :to, b.failureReason = null, b.updatedAt = :now "
+            + "WHERE b.id = :id AND b.status = :from")
+    int transition(@Param("id") UUID id, @Param("from") BroadcastStatus from,
+                   @Param("to") BroadcastStatus to, @Param("now") Date now);
+}
@@ -24,4 +24,15 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
 
     org.springframework.data.domain.Page<Notification> findAllByOrderByCreatedAtDesc(
             org.springframework.data.domain.Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT n FROM Notification n LEFT JOIN FETCH n.user WHERE n.id IN :ids")
+    List<Notification> findAllWithUserByIdIn(@org.springframework.data.repository.query.Param("ids") java.util.Collection<UUID> ids);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Query("UPDATE Notification n SET n.status = :status, n.sentAt = :sentAt, n.failureReason = :failureReason WHERE n.id IN :ids")
+    int updateStatusByIdIn(@org.springframework.data.repository.query.Param("ids") java.util.Collection<UUID> ids,
+            @org.springframework.data.repository.query.Param("status") com.krishihub.notification.enums.NotificationStatus status,
+            @org.springframework.data.repository.query.Param("sentAt") java.util.Date sentAt,
+            @org.springframework.data.repository.query.Param("failureReason") String failureReason);
 }
@@ -3,6 +3,7 @@ package com.krishihub.notification.service;
 import com.krishihub.auth.entity.User;
 import com.krishihub.auth.repository.UserRepository;
 import com.krishihub.notification.entity.Notification;
+import com.krishihub.notification.entity.NotificationBroadcast;
 import com.krishihub.notification.entity.NotificationTemplate;
 import com.krishihub.notification.enums.NotificationChannel;
 import com.krishihub.notification.enums.NotificationPriority;
@@ -30,6 +31,7 @@ public class AdminNotificationService {
     private final NotificationTemplateRepository templateRepository;
     private final NotificationRepository notificationRepository;
     private final NotificationProducerService producerService;
+    private final BroadcastService broadcastService;
 
     private final UserRepository userRepository;
 
@@ -61,38 +63,42 @@ public class AdminNotificationService {
         return stats;
     }
 
-    public void sendBroadcast(String title, String message, String channel, String role, String targetValue,
+    /**
+     * @return ID of the role-wide broadcast, or null for a single recipient
+     */
+    public UUID sendBroadcast(String title, String message, String channel, String role, String targetValue,
             String priority) {
         
         if ("SINGLE".equalsIgnoreCase(role)) {
             User user = userRepository.findByMobileNumber(targetValue)
                     .orElseThrow(() -> new ResourceNotFoundException("User not found with mobile: " + targetValue));
             sendNotificationToUser(user, title, message, channel, priority);
-            return;
+            return null;
         }
 
-        int page = 0;
-        int size = 100;
-        Page<User> userPage;
-
-        do {
-            Pageable pageable = PageRequest.of(page, size);
-            if ("ALL".equalsIgnoreCase(role)) {
-                userPage = userRepository.findAll(pageable);
-            } else {
-                try {
-                     // Try to parse role, ignore if invalid (though validation should happen upstream)
-                     User.UserRole userRole = User.UserRole.valueOf(role.toUpperCase());
-                     userPage = userRepository.findByRole(userRole, pageable);
-                } catch (IllegalArgumentException e) {
-                     // Fallback or error if role is invalid. For now treating as empty.
-                     userPage = Page.empty();
-                }
+        User.UserRole userRole = null;
+        if (!"ALL".equalsIgnoreCase(role)) {
+            try {
+                 // Try to parse role, ignore if invalid (though validation should happen upstream)
+                 userRole = User.UserRole.valueOf(role.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                 // Fallback or error if role is invalid. For now treating as empty.
+                 return null;
             }
+        }
+
+        // Rows are inserted and queued in chunks off the request thread
+        NotificationBroadcast broadcast = broadcastService.create(userRole, title, message,
+                NotificationChannel.valueOf(channel), NotificationPriority.valueOf(priority));
+        broadcastService.dispatch(broadcast);
+        return broadcast.getId();
+    }
 
-            userPage.forEach(user -> sendNotificationToUser(user, title, message, channel, priority));
-            page++;
-        } while (userPage.hasNext());
+    /**
+     * Continue a failed broadcast after the last user it queued.
+     */
+    public void resumeBroadcast(UUID broadcastId) {
+        broadcastService.dispatch(broadcastService.claimForResume(broadcastId));
     }
 
     private void sendNotificationToUser(User user, String title, String message, String channel, String priority) {
@@ -0,0 +1,146 @@
+package com.krishihub.notification.service;
+
+import com.krishihub.auth.entity.User;
+import com.krishihub.auth.repository.UserRepository;
+import com.krishihub.common.util.DateUtil;
+import com.krishihub.notification.entity.NotificationBroadcast;
+import com.krishihub.notification.enums.BroadcastStatus;
+import com.krishihub.notification.enums.NotificationChannel;
+import com.krishihub.notification.enums.NotificationPriority;
+import com.krishihub.notification.enums.NotificationStatus;
+import com.krishihub.notification.repository.NotificationBatchRepository;
+import com.krishihub.notification.repository.NotificationBroadcastRepository;
+import com.krishihub.shared.exception.ResourceNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Fans a broadcast out to every matching user off the request thread.
+ * Recipients are walked by keyset in chunks sized to one FCM multicast; each chunk
+ * is one notification insert and one queue message. The chunk's rows and the
+ * broadcast's cursor past them commit together, so a broadcast that fails part way
+ * is marked FAILED and can be resumed without queueing anyone twice.
+ */
+@Service
+@Slf4j
+public class BroadcastService {
+
+    private static final int CHUNK_SIZE = FcmService.MULTICAST_LIMIT;
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final UserRepository userRepository;
+    private final NotificationBatchRepository notificationBatchRepository;
+    private final NotificationBroadcastRepository broadcastRepository;
+    private final NotificationProducerService producerService;
+    private final TransactionTemplate transactionTemplate;
+
+    public BroadcastService(UserRepository userRepository,
+                            NotificationBatchRepository notificationBatchRepository,
+                            NotificationBroadcastRepository broadcastRepository,
+                            NotificationProducerService producerService,
+                            PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.notificationBatchRepository = notificationBatchRepository;
+        this.broadcastRepository = broadcastRepository;
+        this.producerService = producerService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Record a new broadcast; pass it to {@link #dispatch} to fan it out.
+     *
+     * @param role target role, or null for all users
+     */
+    public NotificationBroadcast create(User.UserRole role, String title, String message,
+                                        NotificationChannel channel, NotificationPriority priority) {
+        Date now = DateUtil.nowUtc();
+        return broadcastRepository.save(NotificationBroadcast.builder()
+                .targetRole(role)
+                .title(title)
+                .message(message)
+                .channel(channel)
+                .priority(priority)
+                .status(BroadcastStatus.RUNNING)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    /**
+     * Claim a failed broadcast so {@link #dispatch} continues it after its last queued user.
+     */
+    @Transactional
+    public NotificationBroadcast claimForResume(UUID broadcastId) {
+        NotificationBroadcast broadcast = broadcastRepository.findById(broadcastId)
+                .orElseThrow(() -> new ResourceNotFoundException("Broadcast not found"));
+        if (broadcastRepository.transition(broadcastId, BroadcastStatus.FAILED, BroadcastStatus.RUNNING,
+                DateUtil.nowUtc()) == 0) {
+            throw new IllegalStateException("Only a failed broadcast can be resumed");
+        }
+        broadcast.setStatus(BroadcastStatus.RUNNING);
+        broadcast.setFailureReason(null);
+        return broadcast;
+    }
+
+    @Async
+    public void dispatch(NotificationBroadcast broadcast) {
+        long startedAt = System.currentTimeMillis();
+        String target = broadcast.getTargetRole() != null ? broadcast.getTargetRole().name() : "ALL";
+        int recipients = broadcast.getRecipients();
+        UUID afterId = broadcast.getLastUserId() != null ? broadcast.getLastUserId() : MIN_UUID;
+
+        try {
+            while (true) {
+                List<UUID> userIds = userRepository.findIdsByRoleAfter(broadcast.getTargetRole(), afterId,
+                        PageRequest.of(0, CHUNK_SIZE));
+                if (userIds.isEmpty()) {
+                    break;
+                }
+
+                UUID lastUserId = userIds.get(userIds.size() - 1);
+                List<UUID> notificationIds = transactionTemplate.execute(tx -> {
+                    List<UUID> inserted = notificationBatchRepository.insertForUsers(userIds, "BROADCAST",
+                            broadcast.getTitle(), broadcast.getMessage(), broadcast.getChannel(),
+                            broadcast.getPriority(), NotificationStatus.QUEUED);
+                    broadcastRepository.recordProgress(broadcast.getId(), lastUserId, userIds.size(),
+                            DateUtil.nowUtc());
+                    return inserted;
+                });
+                producerService.sendBatchToQueue(notificationIds);
+
+                recipients += userIds.size();
+                afterId = lastUserId;
+                if (userIds.size() < CHUNK_SIZE) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Broadcast {} to {} stopped after {} recipients; a resume continues after user {}",
+                    broadcast.getId(), target, recipients, afterId, e);
+            updateStatus(broadcast.getId(), BroadcastStatus.FAILED, e.getMessage());
+            return;
+        }
+
+        updateStatus(broadcast.getId(), BroadcastStatus.COMPLETED, null);
+        log.info("Broadcast {} to {} queued for {} recipients in {}ms",
+                broadcast.getId(), target, recipients, System.currentTimeMillis() - startedAt);
+    }
+
+    private void updateStatus(UUID broadcastId, BroadcastStatus status, String failureReason) {
+        try {
+            transactionTemplate.executeWithoutResult(tx ->
+                    broadcastRepository.updateStatus(broadcastId, status, failureReason, DateUtil.nowUtc()));
+        } catch (RuntimeException e) {
+            log.error("Failed to mark broadcast {} {}: {}", broadcastId, status, e.getMessage());
+        }
+    }
+}
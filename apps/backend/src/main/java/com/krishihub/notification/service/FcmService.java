@@ -4,6 +4,7 @@ import com.google.firebase.messaging.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -11,6 +12,9 @@ import java.util.Map;
 @Slf4j
 public class FcmService {
 
+    // FCM rejects multicast requests with more tokens than this
+    public static final int MULTICAST_LIMIT = 500;
+
     public void sendNotification(String deviceToken, String title, String body, Map<String, String> data) {
         try {
             Message message = Message.builder()
@@ -30,24 +34,54 @@ public class FcmService {
         }
     }
 
-    public void sendToMultipleDevices(List<String> tokens, String title, String body, Map<String, String> data) {
-        if (tokens == null || tokens.isEmpty()) return;
+    /**
+     * Send one notification to many devices through FCM multicast, at most
+     * {@value #MULTICAST_LIMIT} tokens per request.
+     * A chunk that fails as a whole counts all of its tokens as undelivered.
+     */
+    public MulticastResult sendToMultipleDevices(List<String> tokens, String title, String body, Map<String, String> data) {
+        if (tokens == null || tokens.isEmpty()) return new MulticastResult(List.of(), List.of());
 
-        try {
-            MulticastMessage message = MulticastMessage.builder()
-                .addAllTokens(tokens)
-                .setNotification(Notification.builder()
-                    .setTitle(title)
-                    .setBody(body)
-                    .build())
-                .putAllData(data)
-                .build();
+        List<String> delivered = new ArrayList<>();
+        List<String> unregistered = new ArrayList<>();
 
-            BatchResponse response = FirebaseMessaging.getInstance().sendEachForMulticast(message);
-            log.info("Successfully sent multicast FCM notifications. Success count: {}, Failure count: {}", 
-                response.getSuccessCount(), response.getFailureCount());
-        } catch (FirebaseMessagingException e) {
-            log.error("Failed to send multicast FCM notification: {}", e.getMessage());
+        for (int from = 0; from < tokens.size(); from += MULTICAST_LIMIT) {
+            List<String> chunk = tokens.subList(from, Math.min(from + MULTICAST_LIMIT, tokens.size()));
+            try {
+                MulticastMessage message = MulticastMessage.builder()
+                    .addAllTokens(chunk)
+                    .setNotification(Notification.builder()
+                        .setTitle(title)
+                        .setBody(body)
+                        .build())
+                    .putAllData(data)
+                    .build();
+
+                BatchResponse response = FirebaseMessaging.getInstance().sendEachForMulticast(message);
+                List<SendResponse> responses = response.getResponses();
+                for (int i = 0; i < responses.size(); i++) {
+                    SendResponse sendResponse = responses.get(i);
+                    if (sendResponse.isSuccessful()) {
+                        delivered.add(chunk.get(i));
+                    } else if (sendResponse.getException() != null
+                            && sendResponse.getException().getMessagingErrorCode() == MessagingErrorCode.UNREGISTERED) {
+                        unregistered.add(chunk.get(i));
+                    }
+                }
+                log.info("Sent multicast FCM notifications. Success count: {}, Failure count: {}",
+                    response.getSuccessCount(), response.getFailureCount());
+            } catch (FirebaseMessagingException e) {
+                log.error("Failed to send multicast FCM notification to {} tokens: {}", chunk.size(), e.getMessage());
+            }
         }
+
+        return new MulticastResult(delivered, unregistered);
+    }
+
+    /**
+     * @param delivered    tokens FCM accepted
+     * @param unregistered tokens FCM reported as no longer registered; safe to delete
+     */
+    public record MulticastResult(List<String> delivered, List<String> unregistered) {
     }
 }
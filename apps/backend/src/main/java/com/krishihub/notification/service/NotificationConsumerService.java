@@ -2,11 +2,13 @@ package com.krishihub.notification.service;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krishihub.config.RabbitMQConfig;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -33,4 +35,19 @@ public class NotificationConsumerService {
             // In a robust system, we would throw exception to trigger DLQ or retry
         }
     }
+
+    @RabbitListener(queues = RabbitMQConfig.BROADCAST_QUEUE)
+    public void consumeBroadcastBatch(String message) {
+        try {
+            Map<String, List<UUID>> payload = objectMapper.readValue(message, new TypeReference<>() {
+            });
+            List<UUID> notificationIds = payload.getOrDefault("notificationIds", List.of());
+            log.info("Received broadcast batch of {} notifications", notificationIds.size());
+
+            senderService.sendBatch(notificationIds);
+
+        } catch (Exception e) {
+            log.error("Error processing broadcast batch message", e);
+        }
+    }
 }
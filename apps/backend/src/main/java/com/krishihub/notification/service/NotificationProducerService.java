@@ -2,6 +2,7 @@ package com.krishihub.notification.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.krishihub.config.RabbitMQConfig;
 import com.krishihub.notification.entity.Notification;
 import com.krishihub.notification.enums.NotificationStatus;
 import com.krishihub.notification.repository.NotificationRepository;
@@ -11,7 +12,9 @@ import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
@@ -54,4 +57,20 @@ public class NotificationProducerService {
             notificationRepository.save(notification);
         }
     }
+
+    /**
+     * Publish one fan-out message for a chunk of already QUEUED notifications.
+     * On failure the whole chunk is marked FAILED in one update.
+     */
+    public void sendBatchToQueue(List<UUID> notificationIds) {
+        try {
+            String jsonMessage = objectMapper.writeValueAsString(Map.of("notificationIds", notificationIds));
+            rabbitTemplate.convertAndSend(RabbitMQConfig.BROADCAST_QUEUE, jsonMessage);
+            log.info("Broadcast batch of {} notifications sent to queue", notificationIds.size());
+        } catch (Exception e) {
+            log.error("Failed to send broadcast batch of {} notifications to queue", notificationIds.size(), e);
+            notificationRepository.updateStatusByIdIn(notificationIds, NotificationStatus.FAILED, null,
+                    "Queue Error: " + e.getMessage());
+        }
+    }
 }
@@ -3,8 +3,10 @@ package com.krishihub.notification.service;
 import com.krishihub.auth.entity.User;
 import com.krishihub.auth.repository.UserRepository;
 import com.krishihub.notification.dto.MessageRequest;
+import com.krishihub.notification.entity.DeviceToken;
 import com.krishihub.notification.entity.Notification;
 import com.krishihub.notification.enums.MessageType;
+import com.krishihub.notification.enums.NotificationChannel;
 import com.krishihub.notification.enums.NotificationStatus;
 import com.krishihub.notification.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
@@ -12,13 +14,16 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationSenderService {
 
+    private static final String NO_CONTACT_REASON = "No valid contact info for channel";
+
     private final NotificationRepository notificationRepository;
 
     private final NotificationOrchestrator notificationOrchestrator;
@@ -43,63 +48,16 @@ public class NotificationSenderService {
 
             boolean success = false;
             try {
-                switch (notification.getChannel()) {
-                    case SMS:
-                        if (user.getMobileNumber() != null) {
-                            MessageRequest smsRequest = MessageRequest.builder()
-                                    .type(MessageType.SMS)
-                                    .recipient(user.getMobileNumber())
-                                    .content(notification.getMessage())
-                                    .build();
-                            notificationOrchestrator.send(smsRequest);
-                            success = true;
-                        }
-                        break;
-                    case EMAIL:
-                        if (user.getEmail() != null) {
-                            MessageRequest emailRequest = MessageRequest.builder()
-                                    .type(MessageType.EMAIL)
-                                    .recipient(user.getEmail())
-                                    .subject(notification.getTitle())
-                                    .content(notification.getMessage())
-                                    .build();
-                            notificationOrchestrator.send(emailRequest);
-                            success = true;
-                        }
-                        break;
-                    case PUSH:
-                        java.util.List<com.krishihub.notification.entity.DeviceToken> tokens = deviceTokenRepository.findByUserId(user.getId());
-                        if (!tokens.isEmpty()) {
-                            for (com.krishihub.notification.entity.DeviceToken deviceToken : tokens) {
-                                try {
-                                    fcmService.sendNotification(
-                                        deviceToken.getToken(),
-                                        notification.getTitle(),
-                                        notification.getMessage(),
-                                        java.util.Map.of("id", notification.getId().toString())
-                                    );
-                                    success = true;
-                                } catch (Exception e) {
-                                    log.error("Failed to send push to token {}: {}", deviceToken.getToken(), e.getMessage());
-                                }
-                            }
-                        } else {
-                            log.warn("No device tokens found for user {}", user.getId());
-                        }
-                        break;
-                    case WHATSAPP:
-                        MessageRequest whatsappRequest = MessageRequest.builder()
-                                .type(MessageType.WHATSAPP)
-                                // Assuming mobile number is valid for WhatsApp
-                                .recipient(user.getMobileNumber() != null ? user.getMobileNumber() : "")
-                                .content(notification.getMessage())
-                                .build();
-                        // Only send if recipient is valid
-                        if (!whatsappRequest.getRecipient().isEmpty()) {
-                            notificationOrchestrator.send(whatsappRequest);
-                            success = true;
-                        }
-                        break;
+                if (notification.getChannel() == NotificationChannel.PUSH) {
+                    List<DeviceToken> tokens = deviceTokenRepository.findByUserId(user.getId());
+                    if (!tokens.isEmpty()) {
+                        success = sendPush(tokens, notification,
+                                Map.of("id", notification.getId().toString())).contains(user.getId());
+                    } else {
+                        log.warn("No device tokens found for user {}", user.getId());
+                    }
+                } else {
+                    success = sendDirect(notification, user);
                 }
             } catch (Exception e) {
                 log.error("Error sending message via orchestrator", e);
@@ -112,7 +70,7 @@ public class NotificationSenderService {
                 notification.setSentAt(com.krishihub.common.util.DateUtil.nowUtc());
             } else {
                 notification.setStatus(NotificationStatus.FAILED);
-                notification.setFailureReason("No valid contact info for channel");
+                notification.setFailureReason(NO_CONTACT_REASON);
             }
 
         } catch (Exception e) {
@@ -123,4 +81,141 @@ public class NotificationSenderService {
             notificationRepository.save(notification);
         }
     }
+
+    /**
+     * Deliver a broadcast chunk.
+     * Push notifications with identical content go out as FCM multicast for all
+     * recipients' devices at once; statuses are written back with one update per outcome.
+     */
+    public void sendBatch(List<UUID> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return;
+        }
+        List<Notification> notifications = notificationRepository.findAllWithUserByIdIn(notificationIds);
+
+        Set<UUID> sent = new HashSet<>();
+        Map<String, List<UUID>> failedByReason = new HashMap<>();
+
+        Map<List<String>, List<Notification>> pushByContent = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            if (notification.getChannel() == NotificationChannel.PUSH) {
+                pushByContent.computeIfAbsent(
+                        Arrays.asList(notification.getTitle(), notification.getMessage(), notification.getType()),
+                        k -> new ArrayList<>()).add(notification);
+                continue;
+            }
+            try {
+                if (notification.getUser() != null && sendDirect(notification, notification.getUser())) {
+                    sent.add(notification.getId());
+                } else {
+                    failedByReason.computeIfAbsent(NO_CONTACT_REASON, k -> new ArrayList<>()).add(notification.getId());
+                }
+            } catch (Exception e) {
+                log.error("Failed to send notification {}: {}", notification.getId(), e.getMessage());
+                failedByReason.computeIfAbsent(String.valueOf(e.getMessage()), k -> new ArrayList<>())
+                        .add(notification.getId());
+            }
+        }
+
+        for (List<Notification> group : pushByContent.values()) {
+            Set<UUID> deliveredUsers;
+            try {
+                List<UUID> userIds = group.stream().map(Notification::getUserId).toList();
+                List<DeviceToken> tokens = deviceTokenRepository.findByUserIdIn(userIds);
+                Notification first = group.get(0);
+                deliveredUsers = sendPush(tokens, first, Map.of("type", first.getType()));
+            } catch (Exception e) {
+                log.error("Failed to send push batch of {} notifications: {}", group.size(), e.getMessage());
+                deliveredUsers = Set.of();
+            }
+            for (Notification notification : group) {
+                if (deliveredUsers.contains(notification.getUserId())) {
+                    sent.add(notification.getId());
+                } else {
+                    failedByReason.computeIfAbsent("No deliverable device token", k -> new ArrayList<>())
+                            .add(notification.getId());
+                }
+            }
+        }
+
+        if (!sent.isEmpty()) {
+            notificationRepository.updateStatusByIdIn(sent, NotificationStatus.SENT,
+                    com.krishihub.common.util.DateUtil.nowUtc(), null);
+        }
+        failedByReason.forEach((reason, ids) ->
+                notificationRepository.updateStatusByIdIn(ids, NotificationStatus.FAILED, null, reason));
+
+        log.info("Broadcast batch processed: {} sent, {} failed", sent.size(), notifications.size() - sent.size());
+    }
+
+    /**
+     * Multicast to the given tokens and prune tokens FCM reports as unregistered.
+     *
+     * @return users with at least one device that accepted the message
+     */
+    private Set<UUID> sendPush(List<DeviceToken> deviceTokens, Notification notification, Map<String, String> data) {
+        if (deviceTokens.isEmpty()) {
+            return Set.of();
+        }
+        Map<String, UUID> userByToken = deviceTokens.stream()
+                .collect(Collectors.toMap(DeviceToken::getToken, DeviceToken::getUserId, (a, b) -> a));
+        FcmService.MulticastResult result = fcmService.sendToMultipleDevices(
+                new ArrayList<>(userByToken.keySet()), notification.getTitle(), notification.getMessage(), data);
+
+        if (!result.unregistered().isEmpty()) {
+            int removed = deviceTokenRepository.deleteByTokenIn(result.unregistered());
+            log.info("Removed {} unregistered device tokens", removed);
+        }
+        return result.delivered().stream()
+                .map(userByToken::get)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Send through the orchestrator for channels without a batch API.
+     *
+     * @return false when the user has no contact info for the channel
+     */
+    private boolean sendDirect(Notification notification, User user) {
+        switch (notification.getChannel()) {
+            case SMS:
+                if (user.getMobileNumber() != null) {
+                    MessageRequest smsRequest = MessageRequest.builder()
+                            .type(MessageType.SMS)
+                            .recipient(user.getMobileNumber())
+                            .content(notification.getMessage())
+                            .build();
+                    notificationOrchestrator.send(smsRequest);
+                    return true;
+                }
+                return false;
+            case EMAIL:
+                if (user.getEmail() != null) {
+                    MessageRequest emailRequest = MessageRequest.builder()
+                            .type(MessageType.EMAIL)
+                            .recipient(user.getEmail())
+                            .subject(notification.getTitle())
+                            .content(notification.getMessage())
+                            .build();
+                    notificationOrchestrator.send(emailRequest);
+                    return true;
+                }
+                return false;
+            case WHATSAPP:
+                MessageRequest whatsappRequest = MessageRequest.builder()
+                        .type(MessageType.WHATSAPP)
+                        // Assuming mobile number is valid for WhatsApp
+                        .recipient(user.getMobileNumber() != null ? user.getMobileNumber() : "")
+                        .content(notification.getMessage())
+                        .build();
+                // Only send if recipient is valid
+                if (!whatsappRequest.getRecipient().isEmpty()) {
+                    notificationOrchestrator.send(whatsappRequest);
+                    return true;
+                }
+                return false;
+            default:
+                return false;
+        }
+    }
 }
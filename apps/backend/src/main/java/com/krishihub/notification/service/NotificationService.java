@@ -1,6 +1,10 @@
 package com.krishihub.notification.service;
 
 import com.krishihub.notification.entity.Notification;
+import com.krishihub.notification.enums.NotificationChannel;
+import com.krishihub.notification.enums.NotificationPriority;
+import com.krishihub.notification.enums.NotificationStatus;
+import com.krishihub.notification.repository.NotificationBatchRepository;
 import com.krishihub.notification.repository.NotificationRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Lazy;
@@ -18,13 +22,16 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final SimpMessagingTemplate messagingTemplate;
     private final com.krishihub.notification.repository.DeviceTokenRepository deviceTokenRepository;
+    private final NotificationBatchRepository notificationBatchRepository;
 
     public NotificationService(NotificationRepository notificationRepository,
                                @org.springframework.context.annotation.Lazy SimpMessagingTemplate messagingTemplate,
-                               com.krishihub.notification.repository.DeviceTokenRepository deviceTokenRepository) {
+                               com.krishihub.notification.repository.DeviceTokenRepository deviceTokenRepository,
+                               NotificationBatchRepository notificationBatchRepository) {
         this.notificationRepository = notificationRepository;
         this.messagingTemplate = messagingTemplate;
         this.deviceTokenRepository = deviceTokenRepository;
+        this.notificationBatchRepository = notificationBatchRepository;
     }
 
     public void registerDeviceToken(UUID userId, String token, String deviceType) {
@@ -64,6 +71,42 @@ public class NotificationService {
         // Integration with SMS/Push Service would go here
     }
 
+    /**
+     * In-app notifications for many recipients, written in one statement and pushed over
+     * the websocket. Messages are aligned with userIds by index.
+     */
+    @Async
+    public void createNotifications(List<UUID> userIds, String type, List<String> messages) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<NotificationBatchRepository.InsertedNotification> inserted =
+                notificationBatchRepository.insertPersonalised(userIds, messages,
+                        java.util.Collections.nCopies(userIds.size(), NotificationChannel.PUSH),
+                        type, null, NotificationPriority.NORMAL, NotificationStatus.SENT);
+
+        // Each pushed notification is built from its own inserted row, never paired by position
+        for (NotificationBatchRepository.InsertedNotification row : inserted) {
+            Notification pushed = Notification.builder()
+                    .id(row.id())
+                    .userId(row.userId())
+                    .type(type)
+                    .message(row.message())
+                    .channel(NotificationChannel.PUSH)
+                    .status(NotificationStatus.SENT)
+                    .priority(NotificationPriority.NORMAL)
+                    .isRead(false)
+                    .createdAt(new java.util.Date())
+                    .build();
+            try {
+                messagingTemplate.convertAndSendToUser(row.userId().toString(), "/queue/notifications", pushed);
+            } catch (Exception e) {
+                log.error("Failed to push websocket notification to user {}: {}", row.userId(), e.getMessage());
+            }
+        }
+        log.info("Created {} {} notifications", inserted.size(), type);
+    }
+
     public List<Notification> getUserNotifications(UUID userId) {
         return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
@@ -0,0 +1,25 @@
+-- Enforce one price row per crop, district and day so ingestion can upsert in bulk
+-- with INSERT ... ON CONFLICT instead of a find/save/delete per row.
+
+-- Columns that were previously only created by Hibernate
+ALTER TABLE market_prices ADD COLUMN IF NOT EXISTS crop_code VARCHAR(50);
+ALTER TABLE market_prices ADD COLUMN IF NOT EXISTS created_by UUID;
+ALTER TABLE market_prices ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP;
+ALTER TABLE market_prices ADD COLUMN IF NOT EXISTS updated_by UUID;
+
+-- Collapse existing duplicates, keeping the most recently written row
+DELETE FROM market_prices older
+USING market_prices newer
+WHERE older.crop_name = newer.crop_name
+  AND older.district = newer.district
+  AND older.price_date = newer.price_date
+  AND (COALESCE(older.updated_at, older.created_at), older.id::text)
+    < (COALESCE(newer.updated_at, newer.created_at), newer.id::text);
+
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'uk_market_prices_crop_district_date') THEN
+        ALTER TABLE market_prices
+            ADD CONSTRAINT uk_market_prices_crop_district_date UNIQUE (crop_name, district, price_date);
+    END IF;
+END $$;
@@ -0,0 +1,8 @@
+-- Supports the single-query chat inbox: latest message per conversation
+CREATE INDEX IF NOT EXISTS idx_messages_conversation_created
+    ON messages (conversation_id, created_at DESC);
+
+-- Unread counts per conversation only ever look at unread rows
+CREATE INDEX IF NOT EXISTS idx_messages_conversation_unread
+    ON messages (conversation_id, receiver_id)
+    WHERE is_read = false;
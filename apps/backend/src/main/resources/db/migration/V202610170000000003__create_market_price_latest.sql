@@ -0,0 +1,34 @@
+-- Current and previous price per crop and district, maintained by the ingestion
+-- path in the same transaction as the market_prices write. Dashboard lookups hit
+-- this table by primary key instead of scanning a crop's full price history.
+
+CREATE TABLE IF NOT EXISTS market_price_latest (
+    crop_name           VARCHAR(100) NOT NULL,
+    district            VARCHAR(50)  NOT NULL,
+    current_price_id    UUID         NOT NULL,
+    current_price_date  DATE         NOT NULL,
+    previous_price_id   UUID,
+    previous_price_date DATE,
+    updated_at          TIMESTAMP    NOT NULL DEFAULT now(),
+    PRIMARY KEY (crop_name, district)
+);
+
+-- Latest available date per district (today's-prices fallback)
+CREATE INDEX IF NOT EXISTS idx_market_price_latest_district_date
+    ON market_price_latest (district, current_price_date DESC);
+
+-- Backfill from existing history
+INSERT INTO market_price_latest (crop_name, district, current_price_id, current_price_date,
+                                 previous_price_id, previous_price_date, updated_at)
+SELECT ranked.crop_name, ranked.district, ranked.id, ranked.price_date,
+       ranked.previous_id, ranked.previous_date, now()
+FROM (
+    SELECT mp.crop_name, mp.district, mp.id, mp.price_date,
+           LEAD(mp.id) OVER w AS previous_id,
+           LEAD(mp.price_date) OVER w AS previous_date,
+           ROW_NUMBER() OVER w AS rn
+    FROM market_prices mp
+    WINDOW w AS (PARTITION BY mp.crop_name, mp.district ORDER BY mp.price_date DESC)
+) ranked
+WHERE ranked.rn = 1
+ON CONFLICT (crop_name, district) DO NOTHING;
@@ -0,0 +1,36 @@
+-- Daily per-crop, per-district price rollups with trailing 7- and 30-day windows.
+-- Maintained incrementally by the ingestion path; market analytics read the newest
+-- row per crop for a district instead of re-aggregating history per crop.
+
+CREATE TABLE IF NOT EXISTS market_price_daily_stats (
+    district    VARCHAR(50)    NOT NULL,
+    crop_name   VARCHAR(100)   NOT NULL,
+    stat_date   DATE           NOT NULL,
+    min_price   NUMERIC(10, 2) NOT NULL,
+    max_price   NUMERIC(10, 2) NOT NULL,
+    avg_price   NUMERIC(10, 2) NOT NULL,
+    avg_7d      NUMERIC(12, 4) NOT NULL,
+    days_7d     INTEGER        NOT NULL,
+    avg_30d     NUMERIC(12, 4) NOT NULL,
+    days_30d    INTEGER        NOT NULL,
+    min_30d     NUMERIC(10, 2) NOT NULL,
+    max_30d     NUMERIC(10, 2) NOT NULL,
+    updated_at  TIMESTAMP      NOT NULL DEFAULT now(),
+    -- Key order serves "newest row per crop in a district"
+    PRIMARY KEY (district, crop_name, stat_date)
+);
+
+-- Backfill from existing history
+INSERT INTO market_price_daily_stats (district, crop_name, stat_date, min_price, max_price, avg_price,
+                                      avg_7d, days_7d, avg_30d, days_30d, min_30d, max_30d, updated_at)
+SELECT mp.district, mp.crop_name, mp.price_date, mp.min_price, mp.max_price, mp.avg_price,
+       AVG(mp.avg_price) OVER w7, COUNT(*) OVER w7,
+       AVG(mp.avg_price) OVER w30, COUNT(*) OVER w30,
+       MIN(mp.min_price) OVER w30, MAX(mp.max_price) OVER w30,
+       now()
+FROM market_prices mp
+WINDOW w7 AS (PARTITION BY mp.district, mp.crop_name ORDER BY mp.price_date
+              RANGE BETWEEN INTERVAL '6 days' PRECEDING AND CURRENT ROW),
+       w30 AS (PARTITION BY mp.district, mp.crop_name ORDER BY mp.price_date
+               RANGE BETWEEN INTERVAL '29 days' PRECEDING AND CURRENT ROW)
+ON CONFLICT (district, crop_name, stat_date) DO NOTHING;
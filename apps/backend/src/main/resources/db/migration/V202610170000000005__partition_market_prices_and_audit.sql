@@ -0,0 +1,153 @@
+-- Monthly range partitioning for market_prices (by price_date) and market_price_audit
+-- (by created_at). Recent-window queries prune to a few partitions, and retention
+-- drops whole partitions (see MarketPricePartitionService) instead of deleting rows.
+--
+-- Primary keys on a partitioned table must include the partition key, so they
+-- become (id, price_date) and (id, created_at). ids stay unique in practice.
+
+-- Creates <parent>_YYYY_MM for the month containing month_start if it does not exist.
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    start_date     DATE := date_trunc('month', month_start)::date;
+    partition_name TEXT := parent || '_' || to_char(start_date, 'YYYY_MM');
+BEGIN
+    IF to_regclass(partition_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, parent, start_date, (start_date + INTERVAL '1 month')::date);
+    END IF;
+    RETURN partition_name;
+END $$ LANGUAGE plpgsql;
+
+-- Weekly aggregates kept after raw partitions age out
+CREATE TABLE IF NOT EXISTS market_price_weekly (
+    district    VARCHAR(50)    NOT NULL,
+    crop_name   VARCHAR(100)   NOT NULL,
+    week_start  DATE           NOT NULL,
+    min_price   NUMERIC(10, 2) NOT NULL,
+    max_price   NUMERIC(10, 2) NOT NULL,
+    avg_price   NUMERIC(10, 2) NOT NULL,
+    days        INTEGER        NOT NULL,
+    PRIMARY KEY (district, crop_name, week_start)
+);
+
+-- market_prices -------------------------------------------------------------------
+
+DO $$
+DECLARE
+    first_month DATE;
+    next_month  DATE;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'market_prices'::regclass) THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE market_prices RENAME TO market_prices_unpartitioned;
+
+    CREATE TABLE market_prices (
+        id          UUID           NOT NULL DEFAULT gen_random_uuid(),
+        crop_name   VARCHAR(100)   NOT NULL,
+        crop_code   VARCHAR(50),
+        district    VARCHAR(50)    NOT NULL,
+        min_price   NUMERIC(10, 2) NOT NULL,
+        max_price   NUMERIC(10, 2) NOT NULL,
+        avg_price   NUMERIC(10, 2) NOT NULL,
+        unit        VARCHAR(20)    NOT NULL,
+        price_date  DATE           NOT NULL,
+        source      VARCHAR(100),
+        market_id   UUID,
+        created_at  TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+        created_by  UUID,
+        updated_at  TIMESTAMP,
+        updated_by  UUID
+    ) PARTITION BY RANGE (price_date);
+
+    -- Rows outside every monthly partition (e.g. far-future dates) land here
+    CREATE TABLE market_prices_default PARTITION OF market_prices DEFAULT;
+
+    first_month := COALESCE(date_trunc('month', (SELECT MIN(price_date) FROM market_prices_unpartitioned))::date,
+                            date_trunc('month', CURRENT_DATE)::date);
+    next_month := first_month;
+    WHILE next_month <= (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::date LOOP
+        PERFORM create_monthly_partition('market_prices', next_month);
+        next_month := (next_month + INTERVAL '1 month')::date;
+    END LOOP;
+
+    INSERT INTO market_prices (id, crop_name, crop_code, district, min_price, max_price, avg_price, unit,
+                               price_date, source, market_id, created_at, created_by, updated_at, updated_by)
+    SELECT id, crop_name, crop_code, district, min_price, max_price, avg_price, unit,
+           price_date, source, market_id, created_at, created_by, updated_at, updated_by
+    FROM market_prices_unpartitioned;
+
+    DROP TABLE market_prices_unpartitioned;
+
+    ALTER TABLE market_prices ADD CONSTRAINT market_prices_pkey PRIMARY KEY (id, price_date);
+    ALTER TABLE market_prices
+        ADD CONSTRAINT uk_market_prices_crop_district_date UNIQUE (crop_name, district, price_date);
+    ALTER TABLE market_prices
+        ADD CONSTRAINT fk_market_prices_market FOREIGN KEY (market_id) REFERENCES markets (id);
+END $$;
+
+-- Partition-local indexes, created on every current and future partition
+CREATE INDEX IF NOT EXISTS idx_market_prices_date_brin ON market_prices USING BRIN (price_date);
+CREATE INDEX IF NOT EXISTS idx_market_prices_district_date ON market_prices (district, price_date DESC);
+CREATE INDEX IF NOT EXISTS idx_market_prices_crop ON market_prices (crop_name);
+
+-- market_price_audit --------------------------------------------------------------
+-- The table was previously created only by Hibernate, so it may not exist yet.
+
+DO $$
+DECLARE
+    first_month DATE;
+    next_month  DATE;
+    existing    BOOLEAN := to_regclass('market_price_audit') IS NOT NULL;
+    pkey_name   TEXT;
+BEGIN
+    IF existing AND EXISTS (SELECT 1 FROM pg_partitioned_table
+                            WHERE partrelid = 'market_price_audit'::regclass) THEN
+        RETURN;
+    END IF;
+
+    IF existing THEN
+        ALTER TABLE market_price_audit RENAME TO market_price_audit_unpartitioned;
+        -- Free the primary key name (Hibernate may have generated a different one)
+        SELECT conname INTO pkey_name FROM pg_constraint
+        WHERE conrelid = 'market_price_audit_unpartitioned'::regclass AND contype = 'p';
+        IF pkey_name IS NOT NULL THEN
+            EXECUTE format('ALTER TABLE market_price_audit_unpartitioned RENAME CONSTRAINT %I TO %I',
+                           pkey_name, 'market_price_audit_unpartitioned_pkey');
+        END IF;
+    END IF;
+
+    CREATE TABLE market_price_audit (
+        id          UUID           NOT NULL DEFAULT gen_random_uuid(),
+        price_id    UUID,
+        action      VARCHAR(50),
+        old_value   NUMERIC(10, 2),
+        new_value   NUMERIC(10, 2),
+        user_id     UUID,
+        created_at  TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP,
+        PRIMARY KEY (id, created_at)
+    ) PARTITION BY RANGE (created_at);
+
+    CREATE TABLE market_price_audit_default PARTITION OF market_price_audit DEFAULT;
+
+    IF existing THEN
+        first_month := date_trunc('month', (SELECT MIN(created_at) FROM market_price_audit_unpartitioned))::date;
+    END IF;
+    next_month := COALESCE(first_month, date_trunc('month', CURRENT_DATE)::date);
+    WHILE next_month <= (date_trunc('month', CURRENT_DATE) + INTERVAL '3 months')::date LOOP
+        PERFORM create_monthly_partition('market_price_audit', next_month);
+        next_month := (next_month + INTERVAL '1 month')::date;
+    END LOOP;
+
+    IF existing THEN
+        INSERT INTO market_price_audit (id, price_id, action, old_value, new_value, user_id, created_at)
+        SELECT id, price_id, action, old_value, new_value, user_id, created_at
+        FROM market_price_audit_unpartitioned;
+
+        DROP TABLE market_price_audit_unpartitioned;
+    END IF;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_market_price_audit_created_brin ON market_price_audit USING BRIN (created_at);
+CREATE INDEX IF NOT EXISTS idx_market_price_audit_price ON market_price_audit (price_id);
@@ -0,0 +1,8 @@
+-- Fuzzy crop-name search. Names are matched against market_price_latest, which holds
+-- one row per crop and district, through a trigram GIN index that serves both
+-- ILIKE '%term%' and word-similarity (<%) lookups; matching prices are then read
+-- through the (crop_name, district, price_date) unique index.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_market_price_latest_crop_trgm
+    ON market_price_latest USING GIN (crop_name gin_trgm_ops);
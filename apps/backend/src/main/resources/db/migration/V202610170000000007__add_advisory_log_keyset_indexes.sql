@@ -0,0 +1,14 @@
+-- Keyset pagination of advisory logs walks (created_at DESC, id DESC). Each index
+-- serves one page as a range scan from the cursor, unfiltered or for the most
+-- selective admin filters, so deep pages cost the same as the first one.
+CREATE INDEX IF NOT EXISTS idx_delivery_logs_created_id
+    ON advisory_delivery_logs (created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_delivery_logs_district_created_id
+    ON advisory_delivery_logs (district, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_delivery_logs_status_created_id
+    ON advisory_delivery_logs (delivery_status, created_at DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_delivery_logs_rule_created_id
+    ON advisory_delivery_logs (rule_id, created_at DESC, id DESC);
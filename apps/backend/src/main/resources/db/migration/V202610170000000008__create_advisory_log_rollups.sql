@@ -0,0 +1,62 @@
+-- Advisory log rollups. Hourly buckets are recomputed from advisory_delivery_logs when
+-- logs in them are written or change status, daily buckets are summed from the hourly
+-- ones, and analytics read a window as daily rows plus the hourly rows of its first day.
+-- Missing dimensions are stored as '' so they can be part of the key.
+
+-- Mapped by the entity but until now only created by Hibernate's schema update
+ALTER TABLE advisory_delivery_logs ADD COLUMN IF NOT EXISTS severity VARCHAR(255);
+ALTER TABLE advisory_delivery_logs ADD COLUMN IF NOT EXISTS channel VARCHAR(255);
+
+CREATE TABLE IF NOT EXISTS advisory_log_hourly_stats (
+    bucket_start    TIMESTAMP    NOT NULL,
+    district        VARCHAR(100) NOT NULL,
+    rule_name       VARCHAR(255) NOT NULL,
+    channel         VARCHAR(50)  NOT NULL,
+    delivery_status VARCHAR(50)  NOT NULL,
+    severity        VARCHAR(50)  NOT NULL,
+    feedback        VARCHAR(50)  NOT NULL,
+    log_count       BIGINT       NOT NULL,
+    PRIMARY KEY (bucket_start, district, rule_name, channel, delivery_status, severity, feedback)
+);
+
+CREATE TABLE IF NOT EXISTS advisory_log_daily_stats (
+    stat_date       DATE         NOT NULL,
+    district        VARCHAR(100) NOT NULL,
+    rule_name       VARCHAR(255) NOT NULL,
+    channel         VARCHAR(50)  NOT NULL,
+    delivery_status VARCHAR(50)  NOT NULL,
+    severity        VARCHAR(50)  NOT NULL,
+    feedback        VARCHAR(50)  NOT NULL,
+    log_count       BIGINT       NOT NULL,
+    PRIMARY KEY (stat_date, district, rule_name, channel, delivery_status, severity, feedback)
+);
+
+-- Advisories per farmer and day, for alert fatigue detection
+CREATE TABLE IF NOT EXISTS advisory_farmer_daily_counts (
+    stat_date DATE   NOT NULL,
+    farmer_id UUID   NOT NULL,
+    log_count BIGINT NOT NULL,
+    PRIMARY KEY (stat_date, farmer_id)
+);
+
+-- Backfill from existing logs
+INSERT INTO advisory_log_hourly_stats (bucket_start, district, rule_name, channel, delivery_status, severity,
+                                       feedback, log_count)
+SELECT date_trunc('hour', created_at), COALESCE(district, ''), COALESCE(rule_name, ''), COALESCE(channel, ''),
+       delivery_status, COALESCE(severity, ''), COALESCE(feedback, ''), COUNT(*)
+FROM advisory_delivery_logs
+GROUP BY 1, 2, 3, 4, 5, 6, 7
+ON CONFLICT DO NOTHING;
+
+INSERT INTO advisory_log_daily_stats (stat_date, district, rule_name, channel, delivery_status, severity,
+                                      feedback, log_count)
+SELECT CAST(bucket_start AS DATE), district, rule_name, channel, delivery_status, severity, feedback, SUM(log_count)
+FROM advisory_log_hourly_stats
+GROUP BY 1, 2, 3, 4, 5, 6, 7
+ON CONFLICT DO NOTHING;
+
+INSERT INTO advisory_farmer_daily_counts (stat_date, farmer_id, log_count)
+SELECT CAST(created_at AS DATE), farmer_id, COUNT(*)
+FROM advisory_delivery_logs
+GROUP BY 1, 2
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,33 @@
+-- create_monthly_partition failed once the DEFAULT partition held rows for the month,
+-- because CREATE ... PARTITION OF refuses to create a range those rows would belong to.
+-- The partition is now built detached, the month's rows are moved out of the default
+-- partition into it, and it is attached afterwards, all in the caller's transaction.
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month_start DATE) RETURNS TEXT AS $$
+DECLARE
+    start_date     DATE := date_trunc('month', month_start)::date;
+    end_date       DATE := (date_trunc('month', month_start) + INTERVAL '1 month')::date;
+    partition_name TEXT := parent || '_' || to_char(start_date, 'YYYY_MM');
+    default_name   TEXT := parent || '_default';
+    key_column     TEXT;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN partition_name;
+    END IF;
+
+    IF to_regclass(default_name) IS NULL THEN
+        EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, parent, start_date, end_date);
+        RETURN partition_name;
+    END IF;
+
+    -- Single-column range key, e.g. "RANGE (price_date)"
+    key_column := substring(pg_get_partkeydef(parent::regclass) FROM '\((\w+)\)');
+
+    EXECUTE format('CREATE TABLE %I (LIKE %I INCLUDING DEFAULTS INCLUDING CONSTRAINTS)', partition_name, parent);
+    EXECUTE format('WITH moved AS (DELETE FROM %I WHERE %I >= %L AND %I < %L RETURNING *) '
+                       || 'INSERT INTO %I SELECT * FROM moved',
+                   default_name, key_column, start_date, key_column, end_date, partition_name);
+    EXECUTE format('ALTER TABLE %I ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   parent, partition_name, start_date, end_date);
+    RETURN partition_name;
+END $$ LANGUAGE plpgsql;
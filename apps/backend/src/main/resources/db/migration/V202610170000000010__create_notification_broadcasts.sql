@@ -0,0 +1,19 @@
+-- One row per role-wide broadcast. The fan-out records the last user it queued after every
+-- chunk, so a broadcast that stopped part way can be resumed from there.
+
+CREATE TABLE IF NOT EXISTS notification_broadcasts (
+    id             UUID         PRIMARY KEY DEFAULT gen_random_uuid(),
+    target_role    VARCHAR(50),
+    title          VARCHAR(255),
+    message        TEXT         NOT NULL,
+    channel        VARCHAR(50)  NOT NULL,
+    priority       VARCHAR(50)  NOT NULL,
+    status         VARCHAR(20)  NOT NULL,
+    last_user_id   UUID,
+    recipients     INT          NOT NULL DEFAULT 0,
+    failure_reason TEXT,
+    created_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at     TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_broadcasts_status ON notification_broadcasts (status);
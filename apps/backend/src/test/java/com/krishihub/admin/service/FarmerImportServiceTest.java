@@ -0,0 +1,169 @@
+package com.krishihub.admin.service;
+
+import com.krishihub.admin.dto.FarmerImportStatus;
+import com.krishihub.admin.repository.FarmerBulkRepository;
+import com.krishihub.notification.repository.NotificationBatchRepository;
+import com.krishihub.notification.service.NotificationProducerService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class FarmerImportServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FarmerBulkRepository farmerBulkRepository;
+    private NotificationBatchRepository notificationBatchRepository;
+    private NotificationProducerService producerService;
+    private AuditService auditService;
+    private FarmerImportService service;
+
+    @BeforeEach
+    void setUp() {
+        farmerBulkRepository = mock(FarmerBulkRepository.class);
+        notificationBatchRepository = mock(NotificationBatchRepository.class);
+        producerService = mock(NotificationProducerService.class);
+        auditService = mock(AuditService.class);
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenReturn("hash");
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        when(farmerBulkRepository.findExistingMobileNumbers(anyCollection())).thenReturn(Set.of());
+        when(farmerBulkRepository.insertFarmers(anyList())).thenAnswer(invocation -> {
+            List<FarmerBulkRepository.NewFarmer> farmers = invocation.getArgument(0);
+            return farmers.stream()
+                    .map(farmer -> new FarmerBulkRepository.InsertedFarmer(UUID.randomUUID(), farmer.mobileNumber(), farmer.email()))
+                    .toList();
+        });
+        when(notificationBatchRepository.insertPersonalised(anyList(), anyList(), anyList(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    List<UUID> userIds = invocation.getArgument(0);
+                    List<String> messages = invocation.getArgument(1);
+                    List<NotificationBatchRepository.InsertedNotification> inserted = new ArrayList<>();
+                    for (int i = 0; i < userIds.size(); i++) {
+                        inserted.add(new NotificationBatchRepository.InsertedNotification(
+                                UUID.randomUUID(), userIds.get(i), messages.get(i)));
+                    }
+                    return inserted;
+                });
+
+        service = new FarmerImportService(farmerBulkRepository, notificationBatchRepository, producerService,
+                passwordEncoder, auditService, transactionManager, Runnable::run);
+    }
+
+    private FarmerImportStatus runImport(List<String> rows) throws IOException {
+        Path file = tempDir.resolve("farmers.csv");
+        List<String> lines = new ArrayList<>();
+        lines.add("ID,Name,Mobile,District,Ward,Email");
+        lines.addAll(rows);
+        Files.write(file, lines, StandardCharsets.UTF_8);
+
+        FarmerImportStatus registered = service.register("farmers.csv");
+        service.runImport(registered.getJobId(), file, UUID.randomUUID());
+        assertFalse(Files.exists(file));
+        return service.getStatus(registered.getJobId()).orElseThrow();
+    }
+
+    private static String row(int i) {
+        return i + ",Farmer " + i + "," + (9800000000L + i) + ",Kaski,5,";
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void runImport_InsertsInFixedSizeBatchesWithOneQueueMessageEach() throws IOException {
+        List<String> rows = new ArrayList<>();
+        for (int i = 0; i < 1001; i++) {
+            rows.add(row(i));
+        }
+
+        FarmerImportStatus status = runImport(rows);
+
+        ArgumentCaptor<List<FarmerBulkRepository.NewFarmer>> batches = ArgumentCaptor.forClass(List.class);
+        verify(farmerBulkRepository, times(3)).insertFarmers(batches.capture());
+        assertEquals(List.of(500, 500, 1), batches.getAllValues().stream().map(List::size).toList());
+        verify(farmerBulkRepository, times(3)).findExistingMobileNumbers(anyCollection());
+        verify(producerService, times(3)).sendBatchToQueue(anyList());
+        assertEquals(FarmerImportStatus.State.COMPLETED, status.getState());
+        assertEquals(1001, status.getProcessedRows());
+        assertEquals(1001, status.getImported());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void runImport_SkipsRegisteredRepeatedAndConflictingMobiles() throws IOException {
+        String registered = "9800000001";
+        String conflicting = "9800000002";
+        when(farmerBulkRepository.findExistingMobileNumbers(anyCollection())).thenReturn(Set.of(registered));
+        // Registered between the duplicate check and the insert: ON CONFLICT DO NOTHING returns no row
+        when(farmerBulkRepository.insertFarmers(anyList())).thenAnswer(invocation -> {
+            List<FarmerBulkRepository.NewFarmer> farmers = invocation.getArgument(0);
+            return farmers.stream()
+                    .filter(farmer -> !farmer.mobileNumber().equals(conflicting))
+                    .map(farmer -> new FarmerBulkRepository.InsertedFarmer(UUID.randomUUID(), farmer.mobileNumber(), null))
+                    .toList();
+        });
+
+        FarmerImportStatus status = runImport(List.of(
+                "1,Ram," + registered + ",Kaski,5,",
+                "2,Sita," + conflicting + ",Kaski,5,",
+                "3,Hari,9800000003,Kaski,5,",
+                "4,Hari again,9800000003,Kaski,5,"));
+
+        ArgumentCaptor<List<FarmerBulkRepository.NewFarmer>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(farmerBulkRepository).insertFarmers(inserted.capture());
+        assertEquals(List.of(conflicting, "9800000003"),
+                inserted.getValue().stream().map(FarmerBulkRepository.NewFarmer::mobileNumber).toList());
+        assertEquals(1, status.getImported());
+        assertEquals(3, status.getSkippedExisting());
+        assertEquals(0, status.getSkippedInvalid());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void runImport_RejectsRowsThatOverflowUserColumns() throws IOException {
+        FarmerImportStatus status = runImport(List.of(
+                "1," + "N".repeat(101) + ",9800000001,Kaski,5,",
+                "2,Sita,9800000002," + "D".repeat(51) + ",5,",
+                "3,Hari,9800000003,Kaski," + "9".repeat(11) + ",",
+                "4,Gita,9800000004,Kaski,5," + "e".repeat(95) + "@x.com",
+                "5,Shyam," + "9".repeat(16) + ",Kaski,5,",
+                "6,Maya,9800000006,Kaski,5,maya@example.com"));
+
+        ArgumentCaptor<List<FarmerBulkRepository.NewFarmer>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(farmerBulkRepository).insertFarmers(inserted.capture());
+        assertEquals(List.of("9800000006"),
+                inserted.getValue().stream().map(FarmerBulkRepository.NewFarmer::mobileNumber).toList());
+        assertEquals(5, status.getSkippedInvalid());
+        assertEquals(1, status.getImported());
+    }
+
+    @Test
+    void runImport_AuditFailureDoesNotFailTheImport() throws IOException {
+        doThrow(new IllegalStateException("audit down")).when(auditService)
+                .logAction(any(), any(), any(), any(), any(), any(), any());
+
+        FarmerImportStatus status = runImport(List.of(row(1)));
+
+        assertEquals(FarmerImportStatus.State.COMPLETED, status.getState());
+        assertEquals(1, status.getImported());
+    }
+}
@@ -0,0 +1,83 @@
+package com.krishihub.advisory.context;
+
+import com.krishihub.advisory.weather.WeatherIngestionService;
+import com.krishihub.advisory.weather.WeatherSignalDetector;
+import com.krishihub.advisory.weather.model.WeatherData;
+import com.krishihub.advisory.weather.model.WeatherSignal;
+import com.krishihub.auth.entity.User;
+import com.krishihub.auth.repository.UserRepository;
+import com.krishihub.marketplace.entity.CropListing;
+import com.krishihub.marketplace.repository.CropListingRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ContextBuilderServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CropListingRepository cropListingRepository;
+
+    @Mock
+    private WeatherIngestionService weatherIngestionService;
+
+    @Mock
+    private WeatherSignalDetector signalDetector;
+
+    @InjectMocks
+    private ContextBuilderService contextBuilderService;
+
+    private User farmer(String name) {
+        return User.builder().id(UUID.randomUUID()).name(name).district("Chitwan").build();
+    }
+
+    @Test
+    void buildContextsForDistrict_ShouldFetchWeatherAndCropsOnce() {
+        User ram = farmer("Ram");
+        User sita = farmer("Sita");
+        CropListing rice = CropListing.builder().farmer(ram).cropName("Rice").build();
+
+        when(userRepository.findByDistrictAndRole("Chitwan", User.UserRole.FARMER)).thenReturn(List.of(ram, sita));
+        when(weatherIngestionService.getCurrentWeather("Chitwan"))
+                .thenReturn(Optional.of(WeatherData.builder().district("Chitwan").temperature(31.0).build()));
+        when(weatherIngestionService.getForecast("Chitwan", 48)).thenReturn(List.of());
+        when(signalDetector.detectSignals(any())).thenReturn(List.of(WeatherSignal.HEAVY_RAIN_EXPECTED));
+        when(signalDetector.getHighestSeveritySignal(anyList())).thenReturn(WeatherSignal.HEAVY_RAIN_EXPECTED);
+        when(cropListingRepository.findByFarmerIdIn(anyCollection())).thenReturn(List.of(rice));
+
+        List<WeatherAdvisoryContext> contexts = contextBuilderService.buildContextsForDistrict("Chitwan");
+
+        assertEquals(2, contexts.size());
+        assertEquals("Rice", contexts.get(0).getCropType());
+        assertEquals("GENERAL", contexts.get(1).getCropType());
+        assertEquals(WeatherSignal.HEAVY_RAIN_EXPECTED, contexts.get(1).getPrimarySignal());
+
+        verify(weatherIngestionService, times(1)).getCurrentWeather("Chitwan");
+        verify(weatherIngestionService, times(1)).getForecast("Chitwan", 48);
+        verify(cropListingRepository, times(1)).findByFarmerIdIn(anyCollection());
+        verify(userRepository, never()).findById(any());
+        verify(cropListingRepository, never()).findByFarmerId(any(UUID.class));
+    }
+
+    @Test
+    void buildContextsForDistrict_WithoutWeather_ShouldReturnEmpty() {
+        when(userRepository.findByDistrictAndRole("Chitwan", User.UserRole.FARMER)).thenReturn(List.of(farmer("Ram")));
+        when(weatherIngestionService.getCurrentWeather("Chitwan")).thenReturn(Optional.empty());
+
+        assertTrue(contextBuilderService.buildContextsForDistrict("Chitwan").isEmpty());
+        verifyNoInteractions(cropListingRepository);
+    }
+}
@@ -0,0 +1,51 @@
+package com.krishihub.advisory.engine;
+
+import com.krishihub.advisory.entity.AdvisoryRule;
+import com.krishihub.advisory.repository.AdvisoryRuleRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ActiveRuleRegistryTest {
+
+    private static AdvisoryRule rule(String name) {
+        return AdvisoryRule.builder().id(UUID.randomUUID()).name(name).build();
+    }
+
+    @Test
+    void refresh_SlowEarlierLoadDoesNotOverwriteNewerSnapshot() throws Exception {
+        AdvisoryRuleRepository ruleRepository = mock(AdvisoryRuleRepository.class);
+        ActiveRuleRegistry registry = new ActiveRuleRegistry(ruleRepository);
+        CountDownLatch staleLoadStarted = new CountDownLatch(1);
+        CountDownLatch releaseStaleLoad = new CountDownLatch(1);
+        when(ruleRepository.findByIsActiveTrueAndStatus("ACTIVE"))
+                .thenAnswer(invocation -> {
+                    staleLoadStarted.countDown();
+                    assertTrue(releaseStaleLoad.await(5, TimeUnit.SECONDS));
+                    return List.of(rule("before change"));
+                })
+                .thenReturn(List.of(rule("after change")));
+
+        Thread stale = new Thread(registry::refresh);
+        stale.start();
+        assertTrue(staleLoadStarted.await(5, TimeUnit.SECONDS));
+        Thread fresh = new Thread(registry::refresh);
+        fresh.start();
+        while (fresh.getState() != Thread.State.BLOCKED && fresh.isAlive()) {
+            Thread.onSpinWait();
+        }
+        releaseStaleLoad.countDown();
+        stale.join(5000);
+        fresh.join(5000);
+
+        RuleSnapshot current = registry.current();
+        assertEquals(2, current.version());
+        assertEquals("after change", current.rules().get(0).name());
+    }
+}
@@ -0,0 +1,97 @@
+package com.krishihub.advisory.engine;
+
+import com.krishihub.advisory.entity.AdvisoryRule;
+import com.krishihub.advisory.model.RuleAction;
+import com.krishihub.advisory.model.RuleCondition;
+import com.krishihub.advisory.model.RuleDefinition;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleCompilerTest {
+
+    private static RuleCondition condition(String field, String operator, Object value) {
+        return RuleCondition.builder().field(field).operator(operator).value(value).build();
+    }
+
+    @Test
+    void compile_EmptyDefinition_AlwaysMatches() {
+        assertTrue(RuleCompiler.compile((RuleDefinition) null).test(Map.of()));
+        assertTrue(RuleCompiler.compile(RuleDefinition.builder().conditions(List.of()).build()).test(Map.of()));
+    }
+
+    @Test
+    void compile_AndLogic_RequiresAllConditions() {
+        Predicate<Map<String, Object>> predicate = RuleCompiler.compile(RuleDefinition.builder()
+                .conditions(List.of(
+                        condition("rainfall", "GT", 50),
+                        condition("crop", "EQUALS", "Rice")))
+                .build());
+
+        assertTrue(predicate.test(Map.of("rainfall", 60.5, "crop", "Rice")));
+        assertFalse(predicate.test(Map.of("rainfall", 40, "crop", "Rice")));
+        assertFalse(predicate.test(Map.of("crop", "Rice")));
+    }
+
+    @Test
+    void compile_OrLogic_MatchesAnyCondition() {
+        Predicate<Map<String, Object>> predicate = RuleCompiler.compile(RuleDefinition.builder()
+                .logic("or")
+                .conditions(List.of(
+                        condition("temperature", "GTE", "40"),
+                        condition("temperature", "LTE", 2)))
+                .build());
+
+        assertTrue(predicate.test(Map.of("temperature", 40)));
+        assertTrue(predicate.test(Map.of("temperature", "1.5")));
+        assertFalse(predicate.test(Map.of("temperature", 20)));
+    }
+
+    @Test
+    void compile_NonNumericOperands_FallBackToStringComparison() {
+        Predicate<Map<String, Object>> predicate = RuleCompiler.compile(RuleDefinition.builder()
+                .conditions(List.of(condition("stage", "LT", "m")))
+                .build());
+
+        assertTrue(predicate.test(Map.of("stage", "flowering")));
+        assertFalse(predicate.test(Map.of("stage", "vegetative")));
+    }
+
+    @Test
+    void compile_InAndContainsAndUnknownOperators() {
+        assertTrue(RuleCompiler.compile(condition("district", "IN", "Kathmandu,Lalitpur"))
+                .test(Map.of("district", "Lalitpur")));
+        assertTrue(RuleCompiler.compile(condition("crops", "CONTAINS", "Wheat"))
+                .test(Map.of("crops", List.of("Rice", "Wheat"))));
+        assertFalse(RuleCompiler.compile(condition("crops", "MATCHES", "Wheat"))
+                .test(Map.of("crops", "Wheat")));
+    }
+
+    @Test
+    void compile_Rule_CopiesMetadataAndActions() {
+        UUID id = UUID.randomUUID();
+        AdvisoryRule rule = AdvisoryRule.builder()
+                .id(id)
+                .ruleGroupId(id)
+                .name("Heavy rain")
+                .version(2)
+                .definition(RuleDefinition.builder()
+                        .conditions(List.of(condition("rainfall", "GT", 50)))
+                        .actions(List.of(RuleAction.builder().type("SEND_NOTIFICATION").build()))
+                        .build())
+                .build();
+
+        CompiledRule compiled = RuleCompiler.compile(rule);
+
+        assertEquals(id, compiled.id());
+        assertEquals(2, compiled.version());
+        assertEquals(1, compiled.actions().size());
+        assertTrue(compiled.matches(Map.of("rainfall", 75)));
+        assertThrows(UnsupportedOperationException.class, () -> compiled.actions().clear());
+    }
+}
@@ -0,0 +1,80 @@
+package com.krishihub.advisory.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdvisoryDedupStoreTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toNanos(1);
+
+    @Test
+    void tryClaim_RejectsKeyInsideWindow() {
+        AdvisoryDedupStore store = new AdvisoryDedupStore();
+
+        assertTrue(store.tryClaim("farmer-1:HEAVY_RAIN:Rice", HOUR, 0));
+        assertFalse(store.tryClaim("farmer-1:HEAVY_RAIN:Rice", HOUR, HOUR - 1));
+        assertTrue(store.tryClaim("farmer-2:HEAVY_RAIN:Rice", HOUR, HOUR - 1));
+    }
+
+    @Test
+    void tryClaim_WindowSlidesPerKeyAcrossClockHours() {
+        AdvisoryDedupStore store = new AdvisoryDedupStore();
+        long late = HOUR - TimeUnit.MINUTES.toNanos(1);
+
+        assertTrue(store.tryClaim("farmer-1:HEAVY_RAIN:Rice", HOUR, late));
+        // Crossing the hour boundary no longer resets deduplication
+        assertFalse(store.tryClaim("farmer-1:HEAVY_RAIN:Rice", HOUR, HOUR + 1));
+        assertTrue(store.tryClaim("farmer-1:HEAVY_RAIN:Rice", HOUR, late + HOUR));
+    }
+
+    @Test
+    void release_AllowsImmediateReclaim() {
+        AdvisoryDedupStore store = new AdvisoryDedupStore();
+        store.tryClaim("farmer-1:FROST:Potato", HOUR, 0);
+
+        store.release("farmer-1:FROST:Potato");
+
+        assertTrue(store.tryClaim("farmer-1:FROST:Potato", HOUR, 1));
+    }
+
+    @Test
+    void evictExpired_KeepsOnlyLiveClaims() {
+        AdvisoryDedupStore store = new AdvisoryDedupStore();
+        store.tryClaim("a", HOUR, 0);
+        store.tryClaim("b", HOUR, HOUR / 2);
+
+        assertEquals(1, store.evictExpired(HOUR));
+        assertEquals(1, store.size());
+        assertFalse(store.tryClaim("b", HOUR, HOUR));
+    }
+
+    @Test
+    void tryClaim_ConcurrentCallersHaveSingleWinner() throws Exception {
+        AdvisoryDedupStore store = new AdvisoryDedupStore();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                start.await();
+                if (store.tryClaim("farmer-1:HEAVY_RAIN:Rice", HOUR, 0)) {
+                    winners.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(1, winners.get());
+    }
+}
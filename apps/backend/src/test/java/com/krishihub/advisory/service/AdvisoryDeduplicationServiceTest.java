@@ -0,0 +1,31 @@
+package com.krishihub.advisory.service;
+
+import com.krishihub.config.WeatherAdvisoryConfig;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AdvisoryDeduplicationServiceTest {
+
+    @Test
+    void windowFromSchedule_StaysBelowShortestRunInterval() {
+        assertEquals(Duration.ofMinutes(55), AdvisoryDeduplicationService.windowFromSchedule("0 15 * * * *"));
+        assertEquals(Duration.ofMinutes(9), AdvisoryDeduplicationService.windowFromSchedule("0 */10 * * * *"));
+        assertEquals(Duration.ofHours(12).minusMinutes(5),
+                AdvisoryDeduplicationService.windowFromSchedule("0 0 6,18 * * *"));
+    }
+
+    @Test
+    void window_ExplicitHoursOverrideSchedule() {
+        WeatherAdvisoryConfig config = new WeatherAdvisoryConfig();
+        config.getAdvisory().setDeduplicationWindowHours(6);
+
+        AdvisoryDeduplicationService service =
+                new AdvisoryDeduplicationService(config, mock(RedisAdvisoryDedupStore.class));
+
+        assertEquals(Duration.ofHours(6), service.window());
+    }
+}
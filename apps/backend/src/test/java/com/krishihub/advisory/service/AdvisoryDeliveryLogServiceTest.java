@@ -0,0 +1,118 @@
+package com.krishihub.advisory.service;
+
+import com.krishihub.advisory.dto.AdvisoryLogFilterDTO;
+import com.krishihub.advisory.dto.AdvisoryLogResponseDTO;
+import com.krishihub.advisory.entity.AdvisoryDeliveryLog;
+import com.krishihub.advisory.enums.AdvisoryType;
+import com.krishihub.advisory.repository.AdvisoryDeliveryLogRepository;
+import com.krishihub.advisory.repository.AdvisoryLogStatsRepository;
+import com.krishihub.shared.dto.CursorPageResponse;
+import com.krishihub.shared.exception.BadRequestException;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdvisoryDeliveryLogServiceTest {
+
+    @Mock
+    private AdvisoryDeliveryLogRepository repository;
+    @Mock
+    private Root<AdvisoryDeliveryLog> root;
+    @Mock
+    private CriteriaQuery<?> query;
+    @Mock
+    private CriteriaBuilder criteriaBuilder;
+    @Mock
+    private Path<Date> createdAt;
+    @Mock
+    private Path<UUID> id;
+    @Captor
+    private ArgumentCaptor<Specification<AdvisoryDeliveryLog>> spec;
+    private AdvisoryDeliveryLogService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AdvisoryDeliveryLogService(repository, mock(AdvisoryDeliveryLogWriter.class),
+                mock(AdvisoryLogStatsRepository.class));
+    }
+
+    private static AdvisoryDeliveryLog logAt(Instant createdAt) {
+        return AdvisoryDeliveryLog.builder()
+                .id(UUID.randomUUID())
+                .farmerId(UUID.randomUUID())
+                .createdAt(Timestamp.from(createdAt))
+                .build();
+    }
+
+    @Test
+    void getAdvisoryLogs_ReturnsCursorOfLastRowWhenMoreExist() {
+        Instant base = Instant.parse("2026-10-17T08:00:00.123456Z");
+        List<AdvisoryDeliveryLog> rows = new ArrayList<>(List.of(
+                logAt(base), logAt(base.minusSeconds(1)), logAt(base.minusSeconds(2))));
+        when(repository.findBy(ArgumentMatchers.<Specification<AdvisoryDeliveryLog>>any(), any())).thenReturn(rows);
+
+        CursorPageResponse<AdvisoryLogResponseDTO> page =
+                service.getAdvisoryLogs(AdvisoryLogFilterDTO.builder().limit(2).build());
+
+        assertTrue(page.getHasMore());
+        assertEquals(2, page.getData().size());
+        assertNotNull(page.getNextCursor());
+
+        // The cursor is accepted on the next request
+        when(repository.findBy(ArgumentMatchers.<Specification<AdvisoryDeliveryLog>>any(), any())).thenReturn(List.of(rows.get(2)));
+        CursorPageResponse<AdvisoryLogResponseDTO> next = service.getAdvisoryLogs(
+                AdvisoryLogFilterDTO.builder().limit(2).cursor(page.getNextCursor()).build());
+        assertFalse(next.getHasMore());
+        assertNull(next.getNextCursor());
+
+        // ...and seeks past the last row returned, not the extra row fetched to detect more
+        verify(repository, times(2)).findBy(spec.capture(), any());
+        doReturn(createdAt).when(root).get("createdAt");
+        doReturn(id).when(root).get("id");
+        spec.getValue().toPredicate(root, query, criteriaBuilder);
+        AdvisoryDeliveryLog last = rows.get(1);
+        verify(criteriaBuilder).lessThanOrEqualTo(createdAt, last.getCreatedAt());
+        verify(criteriaBuilder).lessThan(createdAt, last.getCreatedAt());
+        verify(criteriaBuilder).lessThan(id, last.getId());
+    }
+
+    @Test
+    void getAdvisoryLogs_RejectsMalformedCursor() {
+        AdvisoryLogFilterDTO filter = AdvisoryLogFilterDTO.builder().cursor("not-a-cursor").build();
+
+        assertThrows(BadRequestException.class, () -> service.getAdvisoryLogs(filter));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void generateDeduplicationKey_DiffersPerRuleSoEachRuleGetsItsOwnLog() {
+        UUID farmerId = UUID.randomUUID();
+
+        String first = service.generateDeduplicationKey(farmerId, UUID.randomUUID(), AdvisoryType.WEATHER, "HEAVY_RAIN");
+        String second = service.generateDeduplicationKey(farmerId, UUID.randomUUID(), AdvisoryType.WEATHER, "HEAVY_RAIN");
+
+        assertNotEquals(first, second);
+    }
+}
@@ -0,0 +1,149 @@
+package com.krishihub.advisory.service;
+
+import com.krishihub.advisory.entity.AdvisoryDeliveryLog;
+import com.krishihub.advisory.enums.DeliveryStatus;
+import com.krishihub.advisory.repository.AdvisoryDeliveryLogBatchRepository;
+import com.krishihub.config.WeatherAdvisoryConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AdvisoryDeliveryLogWriterTest {
+
+    private AdvisoryDeliveryLogBatchRepository batchRepository;
+    private AdvisoryLogStatsService statsService;
+    private PlatformTransactionManager transactionManager;
+    private WeatherAdvisoryConfig config;
+    private final List<UUID> inserted = new ArrayList<>();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        batchRepository = mock(AdvisoryDeliveryLogBatchRepository.class);
+        doAnswer(invocation -> {
+            invocation.<List<AdvisoryDeliveryLog>>getArgument(0).forEach(log -> inserted.add(log.getId()));
+            return List.of();
+        }).when(batchRepository).insertAll(anyList());
+        statsService = mock(AdvisoryLogStatsService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        config = new WeatherAdvisoryConfig();
+    }
+
+    private AdvisoryDeliveryLog newLog() {
+        return AdvisoryDeliveryLog.builder().id(UUID.randomUUID()).createdAt(new Date()).build();
+    }
+
+    private static AdvisoryDeliveryLogBatchRepository.StatusChange change(UUID logId) {
+        return new AdvisoryDeliveryLogBatchRepository.StatusChange(logId, null, null, null, null, null, null, null);
+    }
+
+    @Test
+    void flush_InsertsThenAppliesTransitionsInLifecycleOrder() {
+        AdvisoryDeliveryLogWriter writer = new AdvisoryDeliveryLogWriter(batchRepository, statsService, config, transactionManager);
+        AdvisoryDeliveryLog deliveryLog = newLog();
+        Date earlierLogCreatedAt = new Date(0);
+        when(batchRepository.updateStatus(eq(DeliveryStatus.OPENED), anyList())).thenReturn(List.of(
+                new AdvisoryDeliveryLogBatchRepository.UpdatedLog(deliveryLog.getId(), earlierLogCreatedAt)));
+
+        writer.transition(DeliveryStatus.OPENED, change(deliveryLog.getId()));
+        writer.insert(deliveryLog);
+        writer.transition(DeliveryStatus.DISPATCHED, change(deliveryLog.getId()));
+        verifyNoInteractions(batchRepository);
+
+        writer.flush();
+
+        InOrder inOrder = inOrder(batchRepository);
+        inOrder.verify(batchRepository).insertAll(List.of(deliveryLog));
+        inOrder.verify(batchRepository).updateStatus(eq(DeliveryStatus.DISPATCHED), anyList());
+        inOrder.verify(batchRepository).updateStatus(eq(DeliveryStatus.OPENED), anyList());
+        assertEquals(0, writer.pendingCount());
+        // Rollup hours of inserted and updated logs are marked once the batch is written
+        verify(statsService).markDirty(List.of(deliveryLog.getCreatedAt(), earlierLogCreatedAt));
+    }
+
+    @Test
+    void insert_WhenQueueFull_ProducerFlushesInsteadOfDropping() {
+        config.getDeliveryLog().setQueueCapacity(2);
+        config.getDeliveryLog().setBatchSize(2);
+        config.getDeliveryLog().setOfferTimeoutMs(0);
+        AdvisoryDeliveryLogWriter writer = new AdvisoryDeliveryLogWriter(batchRepository, statsService, config, transactionManager);
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            AdvisoryDeliveryLog deliveryLog = newLog();
+            ids.add(deliveryLog.getId());
+            writer.insert(deliveryLog);
+        }
+
+        assertTrue(writer.pendingCount() <= 2);
+        writer.flush();
+        assertEquals(ids, inserted);
+    }
+
+    @Test
+    void shutdown_FlushesPendingAndWritesLaterLogsDirectly() {
+        AdvisoryDeliveryLogWriter writer = new AdvisoryDeliveryLogWriter(batchRepository, statsService, config, transactionManager);
+        AdvisoryDeliveryLog pending = newLog();
+        writer.insert(pending);
+
+        writer.shutdown();
+        AdvisoryDeliveryLog late = newLog();
+        writer.insert(late);
+
+        assertEquals(List.of(pending.getId(), late.getId()), inserted);
+        assertEquals(0, writer.pendingCount());
+    }
+
+    @Test
+    void flush_FailedBatchIsRetriedRowByRowSoOnlyTheBadRowIsRejected() {
+        AdvisoryDeliveryLogWriter writer = new AdvisoryDeliveryLogWriter(batchRepository, statsService, config, transactionManager);
+        AdvisoryDeliveryLog good = newLog();
+        AdvisoryDeliveryLog bad = newLog();
+        doAnswer(invocation -> {
+            List<AdvisoryDeliveryLog> logs = invocation.getArgument(0);
+            if (logs.contains(bad)) {
+                throw new IllegalStateException("value too long");
+            }
+            logs.forEach(log -> inserted.add(log.getId()));
+            return List.of();
+        }).when(batchRepository).insertAll(anyList());
+
+        writer.insert(good);
+        writer.insert(bad);
+        writer.transition(DeliveryStatus.DISPATCHED, change(good.getId()));
+        writer.flush();
+
+        assertEquals(List.of(good.getId()), inserted);
+        verify(batchRepository).updateStatus(DeliveryStatus.DISPATCHED, List.of(change(good.getId())));
+        verify(statsService).markDirty(List.of(good.getCreatedAt()));
+        assertEquals(0, writer.pendingCount());
+    }
+
+    @Test
+    void flush_InsertSkippedOnDeduplicationConflictIsNotMarkedDirty() {
+        AdvisoryDeliveryLogWriter writer = new AdvisoryDeliveryLogWriter(batchRepository, statsService, config, transactionManager);
+        AdvisoryDeliveryLog recorded = newLog();
+        AdvisoryDeliveryLog duplicate = newLog();
+        when(batchRepository.insertAll(anyList())).thenReturn(List.of(duplicate));
+
+        writer.insert(recorded);
+        writer.insert(duplicate);
+        writer.flush();
+
+        verify(batchRepository).insertAll(List.of(recorded, duplicate));
+        verify(statsService).markDirty(List.of(recorded.getCreatedAt()));
+        assertEquals(0, writer.pendingCount());
+    }
+}
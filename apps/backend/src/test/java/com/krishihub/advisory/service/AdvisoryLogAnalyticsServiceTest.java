@@ -0,0 +1,66 @@
+package com.krishihub.advisory.service;
+
+import com.krishihub.advisory.dto.AdvisoryAnalyticsDTO;
+import com.krishihub.advisory.enums.DeliveryStatus;
+import com.krishihub.advisory.enums.Severity;
+import com.krishihub.advisory.repository.AdvisoryDeliveryLogRepository;
+import com.krishihub.advisory.repository.AdvisoryLogStatsRepository;
+import com.krishihub.advisory.repository.AdvisoryLogStatsRepository.StatsRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AdvisoryLogAnalyticsServiceTest {
+
+    private AdvisoryDeliveryLogRepository repository;
+    private AdvisoryLogStatsRepository statsRepository;
+    private AdvisoryLogAnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(AdvisoryDeliveryLogRepository.class);
+        statsRepository = mock(AdvisoryLogStatsRepository.class);
+        service = new AdvisoryLogAnalyticsService(repository, statsRepository);
+        when(statsRepository.findSince(any())).thenReturn(List.of(
+                new StatsRow("Kathmandu", "Frost", "SMS", DeliveryStatus.DELIVERED, Severity.WARNING, null, 6),
+                new StatsRow("Kathmandu", "Frost", "SMS", DeliveryStatus.FEEDBACK_RECEIVED, Severity.WARNING,
+                        "USEFUL", 3),
+                new StatsRow("Kathmandu", "Flood", "PUSH", DeliveryStatus.DELIVERY_FAILED, Severity.EMERGENCY,
+                        null, 1)));
+    }
+
+    @Test
+    void getAnalytics_ComputesMetricsFromRollupRowsWithoutReadingLogs() {
+        AdvisoryAnalyticsDTO analytics = service.getAnalytics(new Date());
+
+        assertEquals(10L, analytics.getTotalAdvisories());
+        assertEquals(90.0, analytics.getDeliverySuccessRate(), 0.001);
+        assertEquals(100.0 / 3, analytics.getOpenRate(), 0.001);
+        assertEquals(100.0, analytics.getFeedbackRate(), 0.001);
+        assertEquals(9L, analytics.getChannelPerformance().get("SMS").getTotalSent());
+        assertEquals(3L, analytics.getRuleEffectiveness().get("Frost").getUsefulFeedback());
+        assertEquals(1L, analytics.getDistrictInsights().get("Kathmandu").getEmergencyCount());
+        assertEquals(10.0, analytics.getDistrictInsights().get("Kathmandu").getDeliveryFailureRate(), 0.001);
+        verify(statsRepository, times(1)).findSince(any());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void detectAlertFatigue_ReadsFarmerDailyCounts() {
+        java.util.UUID farmerId = java.util.UUID.randomUUID();
+        Date since = new Date();
+        when(statsRepository.findFarmersOverThreshold(since, 5))
+                .thenReturn(List.of(new AdvisoryLogStatsRepository.FarmerCount(farmerId, 7)));
+
+        Map<java.util.UUID, Long> fatigued = service.detectAlertFatigue(since, 5);
+
+        assertEquals(Map.of(farmerId, 7L), fatigued);
+    }
+}
@@ -0,0 +1,60 @@
+package com.krishihub.advisory.service;
+
+import com.krishihub.advisory.repository.AdvisoryLogStatsRepository;
+import com.krishihub.config.WeatherAdvisoryConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AdvisoryLogStatsServiceTest {
+
+    private AdvisoryLogStatsRepository statsRepository;
+    private WeatherAdvisoryConfig config;
+    private AdvisoryLogStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        statsRepository = mock(AdvisoryLogStatsRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        config = new WeatherAdvisoryConfig();
+        config.getAnalytics().setRollupResweepDays(2);
+        config.getAnalytics().setHourlyStatsRetentionDays(30);
+        service = new AdvisoryLogStatsService(statsRepository, config, transactionManager);
+    }
+
+    @Test
+    void maintain_QueuesRecentDaysAndDeletesExpiredHours() {
+        service.maintain();
+
+        assertEquals(48, service.dirtyCount());
+        verify(statsRepository).deleteHourlyBefore(any(Date.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void refresh_SkipsHoursPastRetention() {
+        long day = TimeUnit.DAYS.toMillis(1);
+        service.markDirty(List.of(new Date(System.currentTimeMillis() - 40 * day),
+                new Date(System.currentTimeMillis() - 3 * day)));
+
+        service.refresh();
+
+        ArgumentCaptor<Collection<Date>> hours = ArgumentCaptor.forClass(Collection.class);
+        verify(statsRepository).refresh(hours.capture());
+        // The recent dirty hour plus the current and previous hour
+        assertEquals(3, hours.getValue().size());
+        assertEquals(0, service.dirtyCount());
+    }
+}
@@ -0,0 +1,139 @@
+package com.krishihub.advisory.service;
+
+import com.krishihub.advisory.context.ContextBuilderService;
+import com.krishihub.advisory.context.WeatherAdvisoryContext;
+import com.krishihub.advisory.model.RuleResult;
+import com.krishihub.advisory.weather.WeatherIngestionService;
+import com.krishihub.advisory.weather.model.WeatherData;
+import com.krishihub.advisory.weather.model.WeatherSignal;
+import com.krishihub.config.WeatherAdvisoryConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class WeatherAdvisoryOrchestratorTest {
+
+    private WeatherIngestionService weatherIngestionService;
+    private ContextBuilderService contextBuilderService;
+    private RuleEngineService ruleEngineService;
+    private WeatherAdvisoryNotificationService notificationService;
+    private AdvisoryDeduplicationService deduplicationService;
+    private WeatherAdvisoryConfig config;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        weatherIngestionService = mock(WeatherIngestionService.class);
+        contextBuilderService = mock(ContextBuilderService.class);
+        ruleEngineService = mock(RuleEngineService.class);
+        notificationService = mock(WeatherAdvisoryNotificationService.class);
+        deduplicationService = mock(AdvisoryDeduplicationService.class);
+        when(deduplicationService.tryClaim(anyString())).thenReturn(true);
+        when(ruleEngineService.executeRules(anyMap()))
+                .thenReturn(List.of(RuleResult.builder().ruleName("Heavy rain").build()));
+        config = new WeatherAdvisoryConfig();
+        config.getAdvisory().setPartitionSize(2);
+        executor = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private WeatherAdvisoryOrchestrator orchestrator(Executor runExecutor) {
+        return new WeatherAdvisoryOrchestrator(weatherIngestionService, contextBuilderService, ruleEngineService,
+                notificationService, mock(AdvisoryDeliveryLogService.class), deduplicationService, config,
+                runExecutor);
+    }
+
+    private static List<WeatherAdvisoryContext> contexts(String district, int count) {
+        List<WeatherAdvisoryContext> contexts = new ArrayList<>();
+        IntStream.range(0, count).forEach(i -> contexts.add(WeatherAdvisoryContext.builder()
+                .farmerId(UUID.randomUUID())
+                .farmerDistrict(district)
+                .currentWeather(new WeatherData())
+                .detectedSignals(List.of(WeatherSignal.HEAVY_RAIN_EXPECTED))
+                .primarySignal(WeatherSignal.HEAVY_RAIN_EXPECTED)
+                .build()));
+        return contexts;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, Object>> partitions(WeatherAdvisoryOrchestrator orchestrator) {
+        Map<String, Object> lastRun = (Map<String, Object>) orchestrator.getHealthStatus().get("lastRun");
+        return (Map<String, Map<String, Object>>) lastRun.get("partitions");
+    }
+
+    @Test
+    void processWeatherAdvisories_ProcessesEveryFarmerOfActiveDistrictsInSlices() {
+        when(weatherIngestionService.getAllWeatherSignals()).thenReturn(Map.of(
+                "Kaski", List.of(WeatherSignal.HEAVY_RAIN_EXPECTED),
+                "Chitwan", List.of(WeatherSignal.HEAVY_RAIN_EXPECTED),
+                "Lalitpur", List.of(WeatherSignal.NORMAL_CONDITIONS)));
+        when(contextBuilderService.buildContextsForDistrict("Kaski")).thenReturn(contexts("Kaski", 5));
+        when(contextBuilderService.buildContextsForDistrict("Chitwan")).thenReturn(contexts("Chitwan", 3));
+        WeatherAdvisoryOrchestrator orchestrator = orchestrator(executor);
+
+        orchestrator.processWeatherAdvisories();
+
+        verify(notificationService, times(8)).createWeatherAdvisoryNotification(any(), any());
+        verify(contextBuilderService, never()).buildContextsForDistrict("Lalitpur");
+        Map<String, Map<String, Object>> partitions = partitions(orchestrator);
+        assertEquals(AdvisoryRunProgress.State.COMPLETED, partitions.get("Kaski").get("state"));
+        assertEquals(5, partitions.get("Kaski").get("advisories"));
+        assertEquals(3, partitions.get("Chitwan").get("processed"));
+        assertFalse((Boolean) orchestrator.getHealthStatus().get("running"));
+    }
+
+    @Test
+    void processWeatherAdvisories_StopsPartitionsOnceDeadlinePasses() {
+        config.getAdvisory().setRunTimeoutMs(0);
+        when(weatherIngestionService.getAllWeatherSignals()).thenReturn(Map.of(
+                "Kaski", List.of(WeatherSignal.HEAVY_RAIN_EXPECTED)));
+        // Runs partitions on the calling thread so their state is final when the run returns
+        WeatherAdvisoryOrchestrator orchestrator = orchestrator(Runnable::run);
+
+        orchestrator.processWeatherAdvisories();
+
+        verifyNoInteractions(contextBuilderService, ruleEngineService);
+        assertEquals(AdvisoryRunProgress.State.TIMED_OUT, partitions(orchestrator).get("Kaski").get("state"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void processWeatherAdvisories_AbandonsHungWorkersAfterGracePeriod() throws InterruptedException {
+        config.getAdvisory().setRunTimeoutMs(50);
+        config.getAdvisory().setRunGraceMs(50);
+        when(weatherIngestionService.getAllWeatherSignals()).thenReturn(Map.of(
+                "Kaski", List.of(WeatherSignal.HEAVY_RAIN_EXPECTED)));
+        when(contextBuilderService.buildContextsForDistrict("Kaski")).thenAnswer(invocation -> {
+            Thread.sleep(60_000);
+            return List.of();
+        });
+        WeatherAdvisoryOrchestrator orchestrator = orchestrator(executor);
+
+        orchestrator.processWeatherAdvisories();
+
+        long giveUpAt = System.currentTimeMillis() + 5000;
+        while ((Boolean) orchestrator.getHealthStatus().get("running") && System.currentTimeMillis() < giveUpAt) {
+            Thread.sleep(10);
+        }
+        assertFalse((Boolean) orchestrator.getHealthStatus().get("running"));
+        Map<String, Object> lastRun = (Map<String, Object>) orchestrator.getHealthStatus().get("lastRun");
+        assertEquals(true, lastRun.get("abandoned"));
+    }
+}
@@ -0,0 +1,79 @@
+package com.krishihub.advisory.specification;
+
+import com.krishihub.advisory.dto.AdvisoryLogFilterDTO;
+import com.krishihub.advisory.entity.AdvisoryDeliveryLog;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdvisoryLogSpecificationTest {
+
+    @Mock
+    private Root<AdvisoryDeliveryLog> root;
+    @Mock
+    private CriteriaQuery<?> query;
+    @Mock
+    private CriteriaBuilder criteriaBuilder;
+    @Mock
+    private Path<Date> createdAt;
+    @Mock
+    private Path<UUID> id;
+    @Mock
+    private Path<UUID> ruleId;
+
+    @Test
+    void after_SeeksStrictlyPastTheCursorInCreatedAtThenIdOrder() {
+        Date cursorTime = Timestamp.from(Instant.parse("2026-10-17T08:00:00.123456Z"));
+        UUID cursorId = UUID.randomUUID();
+        Predicate atOrBefore = mock(Predicate.class);
+        Predicate before = mock(Predicate.class);
+        Predicate tiedWithLowerId = mock(Predicate.class);
+        Predicate pastTie = mock(Predicate.class);
+        Predicate seek = mock(Predicate.class);
+        doReturn(createdAt).when(root).get("createdAt");
+        doReturn(id).when(root).get("id");
+        when(criteriaBuilder.lessThanOrEqualTo(createdAt, cursorTime)).thenReturn(atOrBefore);
+        when(criteriaBuilder.lessThan(createdAt, cursorTime)).thenReturn(before);
+        when(criteriaBuilder.lessThan(id, cursorId)).thenReturn(tiedWithLowerId);
+        when(criteriaBuilder.or(before, tiedWithLowerId)).thenReturn(pastTie);
+        when(criteriaBuilder.and(atOrBefore, pastTie)).thenReturn(seek);
+
+        Predicate predicate = AdvisoryLogSpecification.after(cursorTime, cursorId)
+                .toPredicate(root, query, criteriaBuilder);
+
+        // The range bound on createdAt alone keeps the index scan; the OR only breaks ties
+        assertSame(seek, predicate);
+    }
+
+    @Test
+    void withFilter_AddsOnlyTheFiltersThatAreSet() {
+        UUID rule = UUID.randomUUID();
+        Predicate byRule = mock(Predicate.class);
+        Predicate all = mock(Predicate.class);
+        doReturn(ruleId).when(root).get("ruleId");
+        when(criteriaBuilder.equal(ruleId, rule)).thenReturn(byRule);
+        when(criteriaBuilder.and(byRule)).thenReturn(all);
+
+        Predicate predicate = AdvisoryLogSpecification.withFilter(
+                AdvisoryLogFilterDTO.builder().ruleId(rule).district("").build())
+                .toPredicate(root, query, criteriaBuilder);
+
+        assertSame(all, predicate);
+        verify(root, never()).get("district");
+    }
+}
@@ -10,11 +10,17 @@ import org.springframework.web.client.RestTemplate;
 
 import java.lang.reflect.Method;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class OpenWeatherMapProviderTest {
@@ -36,7 +42,7 @@ class OpenWeatherMapProviderTest {
         when(owm.getApiKey()).thenReturn("test-api-key");
         when(owm.getBaseUrl()).thenReturn("http://api.openweathermap.org/data/2.5");
 
-        provider = new OpenWeatherMapProvider(restTemplate, objectMapper, weatherProperties);
+        provider = new OpenWeatherMapProvider(restTemplate, objectMapper, weatherProperties, Runnable::run);
     }
 
     @Test
@@ -75,4 +81,22 @@ class OpenWeatherMapProviderTest {
         // Wind speed conversion: 0.96 * 3.6 = 3.456
         assertEquals(0.96 * 3.6, result.getWindSpeed(), 0.001);
     }
+
+    @Test
+    void getCurrentWeatherAsync_PendingRetryIsSkippedOnceCallerGivesUp() throws Exception {
+        when(restTemplate.getForEntity(anyString(), eq(String.class))).thenThrow(new IllegalStateException("503"));
+        BlockingQueue<Runnable> scheduled = new LinkedBlockingQueue<>();
+
+        CompletableFuture<Optional<WeatherData>> result = provider.getCurrentWeatherAsync("Kathmandu", scheduled::add);
+        scheduled.take().run();
+
+        // The retry is handed to the executor after its backoff; the caller times out first
+        Runnable retry = scheduled.poll(5, TimeUnit.SECONDS);
+        assertNotNull(retry);
+        result.cancel(false);
+        retry.run();
+
+        verify(restTemplate, times(1)).getForEntity(anyString(), eq(String.class));
+        assertTrue(scheduled.isEmpty());
+    }
 }
@@ -0,0 +1,125 @@
+package com.krishihub.advisory.weather;
+
+import com.krishihub.advisory.weather.model.WeatherData;
+import com.krishihub.config.WeatherAdvisoryConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class WeatherIngestionServiceTest {
+
+    private static final String CACHE = "weatherData_v3";
+
+    private WeatherDataProvider primary;
+    private WeatherDataProvider secondary;
+    private WeatherAdvisoryConfig config;
+    private CacheManager cacheManager;
+    private final Executor executor = Runnable::run;
+
+    @BeforeEach
+    void setUp() {
+        primary = mock(WeatherDataProvider.class);
+        secondary = mock(WeatherDataProvider.class);
+        when(primary.isAvailable()).thenReturn(true);
+        when(secondary.isAvailable()).thenReturn(true);
+        when(primary.getProviderName()).thenReturn("primary");
+        when(secondary.getProviderName()).thenReturn("secondary");
+        config = new WeatherAdvisoryConfig();
+        config.getIngestion().setProviderTimeoutMs(100);
+        cacheManager = new ConcurrentMapCacheManager(CACHE);
+    }
+
+    private WeatherIngestionService service() {
+        return new WeatherIngestionService(List.of(primary, secondary), mock(WeatherSignalDetector.class),
+                config, cacheManager, executor);
+    }
+
+    private static WeatherData weather(String district, String source) {
+        return WeatherData.builder().district(district).dataSource(source).build();
+    }
+
+    private Object cached(String district) {
+        return cacheManager.getCache(CACHE).get(district, Object.class);
+    }
+
+    @Test
+    void poll_SlowProviderTimesOutAndNextProviderIsTried() {
+        config.getIngestion().setDistricts(List.of("Kathmandu"));
+        CompletableFuture<Optional<WeatherData>> stalled = new CompletableFuture<>();
+        when(primary.getCurrentWeatherAsync(eq("Kathmandu"), any())).thenReturn(stalled);
+        WeatherData fromSecondary = weather("Kathmandu", "secondary");
+        when(secondary.getCurrentWeatherAsync(eq("Kathmandu"), any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(fromSecondary)));
+
+        service().pollWeatherData();
+
+        // The timeout completes the provider's future, so it schedules no further retries
+        assertTrue(stalled.isCompletedExceptionally());
+        assertEquals(fromSecondary, cached("Kathmandu"));
+    }
+
+    @Test
+    void poll_FailedDistrictDoesNotStopOthersAndKeepsLastKnownData() {
+        config.getIngestion().setDistricts(List.of("Kathmandu", "Pokhara"));
+        WeatherData previous = weather("Pokhara", "primary");
+        WeatherData current = weather("Kathmandu", "primary");
+        when(primary.getCurrentWeatherAsync(eq("Pokhara"), any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(previous)));
+        WeatherIngestionService service = service();
+        service.pollWeatherData();
+        cacheManager.getCache(CACHE).clear();
+
+        when(primary.getCurrentWeatherAsync(eq("Kathmandu"), any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(current)));
+        when(primary.getCurrentWeatherAsync(eq("Pokhara"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("502")));
+        when(secondary.getCurrentWeatherAsync(eq("Pokhara"), any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.empty()));
+        service.pollWeatherData();
+
+        assertEquals(current, cached("Kathmandu"));
+        assertEquals(previous, cached("Pokhara"));
+        assertEquals(Optional.of(previous), service.getLastKnownWeather("Pokhara"));
+    }
+
+    @Test
+    void poll_WritesFetchedDataThroughToCacheAndLastKnown() {
+        config.getIngestion().setDistricts(List.of("Chitwan"));
+        WeatherData data = weather("Chitwan", "primary");
+        when(primary.getCurrentWeatherAsync(eq("Chitwan"), any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(data)));
+        WeatherIngestionService service = service();
+
+        service.pollWeatherData();
+
+        assertEquals(data, cached("Chitwan"));
+        assertEquals(Optional.of(data), service.getLastKnownWeather("Chitwan"));
+        verify(secondary, never()).getCurrentWeatherAsync(any(), any());
+    }
+
+    @Test
+    void ingest_AllProvidersTimingOutFallsBackToLastKnownData() {
+        config.getIngestion().setDistricts(List.of("Lalitpur"));
+        WeatherData previous = weather("Lalitpur", "primary");
+        when(primary.getCurrentWeatherAsync(eq("Lalitpur"), any()))
+                .thenReturn(CompletableFuture.completedFuture(Optional.of(previous)));
+        WeatherIngestionService service = service();
+        service.pollWeatherData();
+
+        when(primary.getCurrentWeatherAsync(eq("Lalitpur"), any())).thenReturn(new CompletableFuture<>());
+        when(secondary.getCurrentWeatherAsync(eq("Lalitpur"), any())).thenReturn(new CompletableFuture<>());
+
+        assertEquals(Optional.of(previous), service.ingestWeatherForDistrict("Lalitpur"));
+    }
+}
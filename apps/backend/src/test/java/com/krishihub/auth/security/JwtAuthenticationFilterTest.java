@@ -0,0 +1,194 @@
+package com.krishihub.auth.security;
+
+import com.krishihub.admin.controller.AdminUserVerificationController;
+import com.krishihub.admin.service.AdminUserService;
+import com.krishihub.admin.service.AuditService;
+import com.krishihub.admin.service.PermissionService;
+import com.krishihub.admin.service.RoleService;
+import com.krishihub.auth.entity.Permission;
+import com.krishihub.auth.entity.Role;
+import com.krishihub.auth.entity.User;
+import com.krishihub.auth.repository.RoleRepository;
+import com.krishihub.auth.repository.UserRepository;
+import com.krishihub.auth.service.AuthenticatedPrincipalCache;
+import com.krishihub.auth.service.CustomUserDetailsService;
+import com.krishihub.auth.service.UserPermissionService;
+import com.krishihub.config.properties.JwtProperties;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String MOBILE = "9800000001";
+    private static final String TOKEN = "token";
+
+    private UserRepository userRepository;
+    private RoleRepository roleRepository;
+    private PermissionService permissionService;
+    private AuthenticatedPrincipalCache principalCache;
+    private UserPermissionService userPermissionService;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        roleRepository = mock(RoleRepository.class);
+        permissionService = mock(PermissionService.class);
+        principalCache = new AuthenticatedPrincipalCache(new JwtProperties());
+        userPermissionService = new UserPermissionService(userRepository, principalCache);
+
+        user = User.builder()
+                .id(UUID.randomUUID())
+                .mobileNumber(MOBILE)
+                .role(User.UserRole.BUYER)
+                .build();
+        when(userRepository.findByMobileNumber(MOBILE)).thenAnswer(invocation -> Optional.ofNullable(user));
+        when(userRepository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(user));
+        when(userRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(roleRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        Claims claims = mock(Claims.class);
+        when(claims.getSubject()).thenReturn(MOBILE);
+        when(claims.get("userId", String.class)).thenReturn(user.getId().toString());
+        when(jwtUtil.parseClaims(TOKEN)).thenReturn(claims);
+        filter = new JwtAuthenticationFilter(jwtUtil,
+                new CustomUserDetailsService(userRepository, userPermissionService, principalCache));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private Authentication authenticate() throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + TOKEN);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static Set<String> authorities(Authentication authentication) {
+        Set<String> names = new HashSet<>();
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            names.add(authority.getAuthority());
+        }
+        return names;
+    }
+
+    private Role role(String... permissions) {
+        Set<Permission> granted = new HashSet<>();
+        for (String permission : permissions) {
+            granted.add(Permission.builder().id(UUID.randomUUID()).name(permission).build());
+        }
+        Role role = Role.builder().id(UUID.randomUUID()).name("CUSTOM").permissions(granted).build();
+        when(roleRepository.findById(role.getId())).thenReturn(Optional.of(role));
+        when(roleRepository.existsById(role.getId())).thenReturn(true);
+        return role;
+    }
+
+    @Test
+    void repeatedRequestsAreServedFromTheCache() throws Exception {
+        authenticate();
+        Authentication second = authenticate();
+
+        assertEquals(MOBILE, second.getName());
+        verify(userRepository, times(1)).findByMobileNumber(MOBILE);
+    }
+
+    @Test
+    void roleAssignmentEvictsThePrincipal() throws Exception {
+        Role role = role("ORDER:READ");
+        authenticate();
+        RoleService roleService = new RoleService(roleRepository, userRepository, permissionService, userPermissionService);
+
+        roleService.assignRoleToUser(user.getId(), role.getId());
+
+        assertTrue(authorities(authenticate()).contains("ORDER:READ"));
+        verify(userRepository, times(2)).findByMobileNumber(MOBILE);
+    }
+
+    @Test
+    void rolePermissionChangeEvictsEveryPrincipal() throws Exception {
+        Role role = role("ORDER:READ");
+        user.getRoles().add(role);
+        assertTrue(authorities(authenticate()).contains("ORDER:READ"));
+        RoleService roleService = new RoleService(roleRepository, userRepository, permissionService, userPermissionService);
+        Permission write = Permission.builder().id(UUID.randomUUID()).name("ORDER:WRITE").build();
+        when(permissionService.getPermissionsByNames(Set.of("ORDER:WRITE"))).thenReturn(Set.of(write));
+
+        roleService.updateRolePermissions(role.getId(), Set.of("ORDER:WRITE"));
+
+        Set<String> granted = authorities(authenticate());
+        assertTrue(granted.contains("ORDER:WRITE"));
+        assertFalse(granted.contains("ORDER:READ"));
+    }
+
+    @Test
+    void disablingTheUserEvictsThePrincipal() throws Exception {
+        authenticate();
+        AdminUserService adminUserService = new AdminUserService(userRepository, mock(AuditService.class), principalCache);
+
+        adminUserService.updateUserStatus(user.getId(), false);
+        authenticate();
+
+        verify(userRepository, times(2)).findByMobileNumber(MOBILE);
+    }
+
+    @Test
+    void deletingTheUserEvictsThePrincipal() throws Exception {
+        authenticate();
+        AdminUserVerificationController controller = new AdminUserVerificationController(userRepository, principalCache);
+
+        controller.deletePendingUser(user.getId());
+        user = null;
+
+        // The next request reloads and no longer finds the user
+        assertThrows(UsernameNotFoundException.class, this::authenticate);
+    }
+
+    @Test
+    void requestRacingAnUncommittedChangeIsEvictedAfterCommit() throws Exception {
+        Role role = role("ORDER:READ");
+        authenticate();
+        RoleService roleService = new RoleService(roleRepository, userRepository, permissionService, userPermissionService);
+
+        TransactionSynchronizationManager.initSynchronization();
+        roleService.assignRoleToUser(user.getId(), role.getId());
+        // Another request reads the pre-commit state and caches it
+        user.getRoles().remove(role);
+        authenticate();
+        user.getRoles().add(role);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertTrue(authorities(authenticate()).contains("ORDER:READ"));
+    }
+}
@@ -0,0 +1,125 @@
+package com.krishihub.auth.service;
+
+import com.krishihub.auth.model.CustomUserDetails;
+import com.krishihub.config.properties.JwtProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthenticatedPrincipalCacheTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static AuthenticatedPrincipalCache cache(long ttlMs, int maxSize) {
+        JwtProperties properties = new JwtProperties();
+        properties.getPrincipalCache().setTtlMs(ttlMs);
+        properties.getPrincipalCache().setMaxSize(maxSize);
+        return new AuthenticatedPrincipalCache(properties);
+    }
+
+    private static CustomUserDetails principal() {
+        return CustomUserDetails.builder().id(UUID.randomUUID()).username("98" + System.nanoTime()).build();
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    @Test
+    void get_ReturnsPrincipalUntilTtlPasses() throws InterruptedException {
+        AuthenticatedPrincipalCache cache = cache(50, 10);
+        CustomUserDetails principal = principal();
+
+        cache.put(principal);
+        assertSame(principal, cache.get(principal.getId()));
+
+        Thread.sleep(80);
+        assertNull(cache.get(principal.getId()));
+    }
+
+    @Test
+    void put_ZeroTtlDisablesCaching() {
+        AuthenticatedPrincipalCache cache = cache(0, 10);
+        CustomUserDetails principal = principal();
+
+        cache.put(principal);
+
+        assertNull(cache.get(principal.getId()));
+    }
+
+    @Test
+    void put_WhenFullOfLiveEntriesServesNewUserUncached() {
+        AuthenticatedPrincipalCache cache = cache(60_000, 2);
+        CustomUserDetails first = principal();
+        CustomUserDetails second = principal();
+        CustomUserDetails third = principal();
+
+        cache.put(first);
+        cache.put(second);
+        cache.put(third);
+
+        assertSame(first, cache.get(first.getId()));
+        assertSame(second, cache.get(second.getId()));
+        assertNull(cache.get(third.getId()));
+    }
+
+    @Test
+    void put_WhenFullMakesRoomByDroppingExpiredEntries() throws InterruptedException {
+        AuthenticatedPrincipalCache cache = cache(50, 1);
+        CustomUserDetails expired = principal();
+        cache.put(expired);
+        Thread.sleep(80);
+
+        CustomUserDetails fresh = principal();
+        cache.put(fresh);
+
+        assertSame(fresh, cache.get(fresh.getId()));
+    }
+
+    @Test
+    void invalidate_DropsPrincipalAgainAfterCommit() {
+        AuthenticatedPrincipalCache cache = cache(60_000, 10);
+        CustomUserDetails principal = principal();
+        CustomUserDetails other = principal();
+        cache.put(principal);
+        cache.put(other);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate(principal.getId());
+        assertNull(cache.get(principal.getId()));
+
+        // A request racing the uncommitted change re-caches the old state
+        cache.put(principal);
+        commit();
+
+        assertNull(cache.get(principal.getId()));
+        assertSame(other, cache.get(other.getId()));
+    }
+
+    @Test
+    void invalidateAll_DropsEveryPrincipalAgainAfterCommit() {
+        AuthenticatedPrincipalCache cache = cache(60_000, 10);
+        CustomUserDetails principal = principal();
+        cache.put(principal);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidateAll();
+        cache.put(principal);
+        commit();
+
+        assertNull(cache.get(principal.getId()));
+    }
+}
@@ -0,0 +1,36 @@
+package com.krishihub.auth.service;
+
+import com.krishihub.config.properties.RateLimitProperties;
+import com.krishihub.service.SystemConfigService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RateLimitServiceTest {
+
+    private RedisRateLimiter redisRateLimiter;
+    private RateLimitService service;
+
+    @BeforeEach
+    void setUp() {
+        redisRateLimiter = mock(RedisRateLimiter.class);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRedisEnabled(true);
+        service = new RateLimitService(mock(SystemConfigService.class), properties, redisRateLimiter);
+    }
+
+    @Test
+    void tryConsume_WhileRedisIsDown_BacksOffToLocalBuckets() {
+        when(redisRateLimiter.tryConsume(anyString(), anyLong(), anyLong()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        assertTrue(service.tryConsume("/api/marketplace", "10.0.0.1"));
+        assertTrue(service.tryConsume("/api/marketplace", "10.0.0.1"));
+
+        verify(redisRateLimiter, times(1)).tryConsume(anyString(), anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,59 @@
+package com.krishihub.auth.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketStoreTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void tryConsume_AllowsBurstUpToCapacityThenRejects() {
+        TokenBucketStore store = new TokenBucketStore(1000);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(store.tryConsume("ip-1", 5, 1000, 0));
+        }
+        assertFalse(store.tryConsume("ip-1", 5, 1000, 0));
+        assertTrue(store.tryConsume("ip-2", 5, 1000, 0));
+    }
+
+    @Test
+    void tryConsume_RefillsAtConfiguredRate() {
+        TokenBucketStore store = new TokenBucketStore(1000);
+        for (int i = 0; i < 5; i++) {
+            store.tryConsume("ip-1", 5, 1000, 0);
+        }
+
+        // One token every 200ms
+        assertFalse(store.tryConsume("ip-1", 5, 1000, 199 * MS));
+        assertTrue(store.tryConsume("ip-1", 5, 1000, 200 * MS));
+        assertFalse(store.tryConsume("ip-1", 5, 1000, 200 * MS));
+    }
+
+    @Test
+    void tryConsume_WhenFull_EvictsLeastRecentlyUsedKeys() {
+        TokenBucketStore store = new TokenBucketStore(2);
+        store.tryConsume("ip-2", 2, 1000, 0);
+        store.tryConsume("ip-1", 2, 1000, 1);
+        store.tryConsume("ip-1", 2, 1000, 2);
+
+        // ip-3 gets its own full bucket rather than one shared with other new keys
+        assertTrue(store.tryConsume("ip-3", 2, 1000, 3));
+        assertTrue(store.tryConsume("ip-3", 2, 1000, 3));
+        assertEquals(2, store.size());
+        // ip-2 was the least recently used; ip-1 kept its exhausted bucket
+        assertFalse(store.tryConsume("ip-1", 2, 1000, 4));
+    }
+
+    @Test
+    void evictIdle_RemovesOnlyRefilledBuckets() {
+        TokenBucketStore store = new TokenBucketStore(1000);
+        store.tryConsume("ip-1", 5, 1000, 0);
+        store.tryConsume("ip-2", 5, 1000, 500 * MS);
+
+        assertEquals(1, store.evictIdle(300 * MS));
+        assertEquals(1, store.size());
+    }
+}
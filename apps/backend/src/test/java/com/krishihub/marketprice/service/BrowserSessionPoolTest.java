@@ -0,0 +1,99 @@
+package com.krishihub.marketprice.service;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BrowserSessionPoolTest {
+
+    private final List<WebDriver> started = new ArrayList<>();
+
+    private WebDriver newDriver() {
+        WebDriver driver = mock(WebDriver.class);
+        started.add(driver);
+        return driver;
+    }
+
+    @Test
+    void reusesWarmSession() throws Exception {
+        BrowserSessionPool pool = new BrowserSessionPool(this::newDriver, 2, 10, 100);
+
+        WebDriver first = pool.withSession(driver -> driver);
+        WebDriver second = pool.withSession(driver -> driver);
+
+        assertSame(first, second);
+        assertEquals(1, started.size());
+    }
+
+    @Test
+    void recyclesSessionAfterMaxUses() throws Exception {
+        BrowserSessionPool pool = new BrowserSessionPool(this::newDriver, 1, 2, 100);
+
+        pool.withSession(driver -> driver);
+        pool.withSession(driver -> driver);
+        pool.withSession(driver -> driver);
+
+        assertEquals(2, started.size());
+        verify(started.get(0)).quit();
+    }
+
+    @Test
+    void replacesSessionThatFailsHealthCheck() throws Exception {
+        BrowserSessionPool pool = new BrowserSessionPool(this::newDriver, 1, 10, 100);
+        WebDriver first = pool.withSession(driver -> driver);
+        when(first.getWindowHandle()).thenThrow(new NoSuchSessionException("browser crashed"));
+
+        WebDriver second = pool.withSession(driver -> driver);
+
+        assertNotSame(first, second);
+        verify(first).quit();
+    }
+
+    @Test
+    void discardsSessionWhenWorkFails() throws Exception {
+        BrowserSessionPool pool = new BrowserSessionPool(this::newDriver, 1, 10, 100);
+
+        assertThrows(IllegalStateException.class, () -> pool.withSession(driver -> {
+            throw new IllegalStateException("page broke");
+        }));
+
+        verify(started.get(0)).quit();
+        assertEquals(0, pool.idleCount());
+    }
+
+    @Test
+    void checkoutTimesOutWhenAllSessionsBusy() throws Exception {
+        BrowserSessionPool pool = new BrowserSessionPool(this::newDriver, 1, 10, 50);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            try {
+                pool.withSession(driver -> {
+                    holding.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return driver;
+                });
+            } catch (Exception ignored) {
+            }
+        });
+        holder.start();
+        holding.await();
+
+        assertThrows(TimeoutException.class, () -> pool.withSession(driver -> driver));
+
+        release.countDown();
+        holder.join();
+    }
+}
@@ -0,0 +1,86 @@
+package com.krishihub.marketprice.service;
+
+import com.krishihub.config.properties.MarketProperties;
+import com.krishihub.marketprice.dto.MarketPriceDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KalimatiScraperServiceTest {
+
+    private FixtureScraper scraper;
+
+    @BeforeEach
+    void setUp() {
+        MarketProperties properties = new MarketProperties();
+        properties.getScraper().getKalimati().setEnabled(true);
+        scraper = new FixtureScraper(properties);
+    }
+
+    @Test
+    void firstScrapeReturnsEveryRow() {
+        scraper.page = "daily-price.html";
+
+        List<MarketPriceDto> prices = scraper.fetchPrices();
+
+        assertEquals(6, prices.size());
+        MarketPriceDto cauli = prices.stream().filter(p -> p.getCropName().equals("Cauli Local")).findFirst().orElseThrow();
+        assertEquals(new BigDecimal("130"), cauli.getAvgPrice());
+    }
+
+    @Test
+    void unchangedTableAfterPersistReturnsNothing() {
+        scraper.page = "daily-price.html";
+        scraper.fetchPrices();
+        scraper.onPricesPersisted();
+
+        // Only the timestamp outside the price tables differs
+        scraper.page = "daily-price-restamped.html";
+
+        assertTrue(scraper.fetchPrices().isEmpty());
+    }
+
+    @Test
+    void changedTableReturnsOnlyChangedRows() {
+        scraper.page = "daily-price.html";
+        scraper.fetchPrices();
+        scraper.onPricesPersisted();
+
+        scraper.page = "daily-price-changed.html";
+        List<MarketPriceDto> prices = scraper.fetchPrices();
+
+        assertEquals(List.of("Potato Red", "Cabbage(Local)"), prices.stream().map(MarketPriceDto::getCropName).toList());
+        assertEquals(new BigDecimal("50"), prices.get(0).getAvgPrice());
+    }
+
+    @Test
+    void rowsAreReturnedAgainUntilPersisted() {
+        scraper.page = "daily-price.html";
+        scraper.fetchPrices();
+
+        assertEquals(6, scraper.fetchPrices().size());
+    }
+
+    private static class FixtureScraper extends KalimatiScraperService {
+
+        private String page;
+
+        FixtureScraper(MarketProperties properties) {
+            super(properties);
+        }
+
+        @Override
+        protected String fetchPage() throws IOException {
+            try (InputStream in = getClass().getResourceAsStream("/fixtures/kalimati/" + page)) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.krishihub.marketprice.service;
+
+import com.krishihub.config.properties.MarketProperties;
+import com.krishihub.marketprice.dto.MarketPriceDto;
+import com.krishihub.marketprice.dto.PriceBackfillStatus;
+import com.krishihub.marketprice.repository.MarketPriceBatchRepository;
+import com.krishihub.marketprice.repository.MarketPricePartitionRepository;
+import com.krishihub.marketprice.repository.MarketPriceStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MarketPriceBackfillServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MarketPriceBatchRepository batchRepository;
+    private MarketPriceStatsRepository statsRepository;
+    private MarketPricePartitionRepository partitionRepository;
+    private MarketPricePartitionService partitionService;
+    private MarketPriceCache priceCache;
+    private MarketPriceBackfillService backfillService;
+
+    @BeforeEach
+    void setUp() {
+        batchRepository = mock(MarketPriceBatchRepository.class);
+        statsRepository = mock(MarketPriceStatsRepository.class);
+        partitionRepository = mock(MarketPricePartitionRepository.class);
+        partitionService = mock(MarketPricePartitionService.class);
+        priceCache = mock(MarketPriceCache.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(batchRepository.load(anyList())).thenAnswer(invocation -> invocation.<List<?>>getArgument(0).size());
+
+        MarketProperties marketProperties = new MarketProperties();
+        marketProperties.getBackfill().setChunkSize(2);
+        marketProperties.getBackfill().setRebuildBatchSize(1);
+
+        backfillService = new MarketPriceBackfillService(batchRepository, statsRepository, partitionRepository,
+                partitionService, new MarketPriceNormalizer(), new PriceValidatorService(), priceCache,
+                mock(ApplicationEventPublisher.class), marketProperties, transactionManager);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void loadsInChunksAndRebuildsDerivedTablesOnce() throws Exception {
+        Path file = tempDir.resolve("prices.csv");
+        Files.writeString(file, String.join("\n",
+                "crop_name,district,price_date,min_price,max_price,avg_price,unit,source",
+                "Potato Red,Kathmandu,2023-01-05,40,50,45,Kg,KALIMATI",
+                "Potato Red,Kathmandu,2023-01-05,41,51,46,Kg,KALIMATI",
+                "Potato Red,Kathmandu,2023-02-01,42,52,47,Kg,KALIMATI",
+                "Onion Dry,,2023-02-01,60,70,65,Kg,KALIMATI",
+                "Onion Dry,Kaski,2023-02-01,80,70,75,Kg,KALIMATI"));
+
+        PriceBackfillStatus registered = backfillService.register("prices.csv");
+        backfillService.runBackfill(registered.getJobId(), file);
+
+        PriceBackfillStatus status = backfillService.getStatus(registered.getJobId()).orElseThrow();
+        assertEquals(PriceBackfillStatus.State.COMPLETED, status.getState());
+        assertEquals(5, status.getProcessedRows());
+        assertEquals(2, status.getWritten());
+        assertEquals(1, status.getSkippedUnchanged());
+        assertEquals(2, status.getSkippedInvalid());
+        assertEquals(1, status.getRebuiltKeys());
+        assertFalse(Files.exists(file));
+
+        verify(batchRepository, times(3)).load(anyList());
+        verify(partitionRepository).ensureMonthlyPartition(MarketPricePartitionRepository.PRICES, LocalDate.of(2023, 1, 1));
+        verify(partitionRepository).ensureMonthlyPartition(MarketPricePartitionRepository.PRICES, LocalDate.of(2023, 2, 1));
+        verify(batchRepository).refreshLatest(List.of(new MarketPriceBatchRepository.LatestKey("Potato Red", "Kathmandu")));
+        verify(statsRepository).refresh(argThat((Collection<MarketPriceStatsRepository.RefreshKey> keys) ->
+                keys.size() == 1 && keys.iterator().next().cropName().equals("Potato Red")));
+        verify(priceCache).invalidateDistricts(List.of("Kathmandu"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectsRowsThatExceedColumnLimitsAndKeepsCsvDate() throws Exception {
+        Path file = tempDir.resolve("prices.csv");
+        Files.writeString(file, String.join("\n",
+                "Potato Red,Kathmandu,2023-01-05,40,50,45,Kg,KALIMATI",
+                " ,Kathmandu,2023-01-05,40,50,45,Kg,KALIMATI",
+                "x".repeat(101) + ",Kathmandu,2023-01-05,40,50,45,Kg,KALIMATI",
+                "Potato Red," + "d".repeat(51) + ",2023-01-05,40,50,45,Kg,KALIMATI",
+                "Potato Red,Kathmandu,2023-01-06,40,50,45," + "u".repeat(21) + ",KALIMATI",
+                "Potato Red,Kathmandu,2023-01-07,40,100000000,45,Kg,KALIMATI"));
+
+        PriceBackfillStatus registered = backfillService.register("prices.csv");
+        backfillService.runBackfill(registered.getJobId(), file);
+
+        PriceBackfillStatus status = backfillService.getStatus(registered.getJobId()).orElseThrow();
+        assertEquals(PriceBackfillStatus.State.COMPLETED, status.getState());
+        assertEquals(5, status.getSkippedInvalid());
+        assertEquals(1, status.getWritten());
+        verify(batchRepository).load(argThat((List<MarketPriceDto> rows) -> rows.size() == 1
+                && new java.sql.Date(rows.get(0).getPriceDate().getTime()).toLocalDate()
+                        .equals(LocalDate.of(2023, 1, 5))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rejectsRowsOlderThanRawRetentionWithoutPartitioningTheirMonth() throws Exception {
+        when(partitionService.rawPriceCutoff()).thenReturn(LocalDate.of(2023, 2, 1));
+        Path file = tempDir.resolve("prices.csv");
+        Files.writeString(file, String.join("\n",
+                "Potato Red,Kathmandu,2023-01-31,40,50,45,Kg,KALIMATI",
+                "Potato Red,Kathmandu,2023-02-01,40,50,45,Kg,KALIMATI"));
+
+        PriceBackfillStatus registered = backfillService.register("prices.csv");
+        backfillService.runBackfill(registered.getJobId(), file);
+
+        PriceBackfillStatus status = backfillService.getStatus(registered.getJobId()).orElseThrow();
+        assertEquals(1, status.getSkippedExpired());
+        assertEquals(1, status.getWritten());
+        assertEquals(0, status.getSkippedUnchanged());
+        verify(partitionRepository, never())
+                .ensureMonthlyPartition(MarketPricePartitionRepository.PRICES, LocalDate.of(2023, 1, 1));
+        verify(batchRepository).load(argThat((List<MarketPriceDto> rows) -> rows.size() == 1));
+    }
+
+    @Test
+    void reportsFailureAndDeletesFile() throws Exception {
+        Path file = tempDir.resolve("prices.csv");
+        Files.writeString(file, "Potato Red,Kathmandu,2023-01-05,40,50,45,Kg,KALIMATI\n");
+        when(batchRepository.load(anyList())).thenThrow(new IllegalStateException("db down"));
+
+        PriceBackfillStatus registered = backfillService.register("prices.csv");
+        backfillService.runBackfill(registered.getJobId(), file);
+
+        PriceBackfillStatus status = backfillService.getStatus(registered.getJobId()).orElseThrow();
+        assertEquals(PriceBackfillStatus.State.FAILED, status.getState());
+        assertEquals("db down", status.getError());
+        assertFalse(Files.exists(file));
+        verifyNoInteractions(priceCache);
+    }
+}
@@ -0,0 +1,78 @@
+package com.krishihub.marketprice.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MarketPriceCacheTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+    private MarketPriceCache priceCache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(MarketPriceCache.TODAYS_PRICES);
+        priceCache = new MarketPriceCache(cacheManager);
+    }
+
+    private String load(String district) {
+        return priceCache.todaysPage(district, null, 0, 10, () -> district + "#" + loads.incrementAndGet());
+    }
+
+    @Test
+    void servesRepeatedReadsFromCache() {
+        assertEquals("Kathmandu#1", load("Kathmandu"));
+        assertEquals("Kathmandu#1", load("Kathmandu"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidatesOnlyChangedDistrictAndAllDistrictsView() {
+        load("Kathmandu");
+        load("Kaski");
+        load(null);
+
+        priceCache.invalidateDistricts(List.of("Kathmandu"));
+
+        assertEquals("Kaski#2", load("Kaski"));
+        assertEquals("Kathmandu#4", load("Kathmandu"));
+        assertEquals("null#5", load(null));
+    }
+
+    @Test
+    void evictsOrphanedPagesFromLocalCache() {
+        load("Kathmandu");
+        load("Kaski");
+
+        priceCache.invalidateDistricts(List.of("Kathmandu"));
+
+        ConcurrentMapCache cache = (ConcurrentMapCache) cacheManager.getCache(MarketPriceCache.TODAYS_PRICES);
+        // Kaski page plus the two replaced generation tokens
+        assertEquals(3, cache.getNativeCache().size());
+    }
+
+    @Test
+    void boundsTrackedPagesByEvictingTheOldest() {
+        for (int i = 0; i <= MarketPriceCache.MAX_TRACKED_PAGES; i++) {
+            String crop = "crop " + i;
+            priceCache.todaysPage("Kathmandu", crop, 0, 10, () -> crop + "#" + loads.incrementAndGet());
+        }
+
+        ConcurrentMapCache cache = (ConcurrentMapCache) cacheManager.getCache(MarketPriceCache.TODAYS_PRICES);
+        assertEquals(MarketPriceCache.MAX_TRACKED_PAGES, cache.getNativeCache().size());
+        assertEquals("crop 0#" + (loads.get() + 1),
+                priceCache.todaysPage("Kathmandu", "crop 0", 0, 10, () -> "crop 0#" + loads.incrementAndGet()));
+
+        priceCache.invalidateDistricts(List.of("Kathmandu"));
+
+        // Only the two replaced generation tokens are left
+        assertEquals(2, cache.getNativeCache().size());
+    }
+}
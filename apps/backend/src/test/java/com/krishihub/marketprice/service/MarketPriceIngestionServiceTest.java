@@ -1,18 +1,23 @@
 package com.krishihub.marketprice.service;
 
+import com.krishihub.config.properties.MarketProperties;
 import com.krishihub.marketprice.dto.MarketPriceDto;
+import com.krishihub.marketprice.dto.PriceIngestionResult;
 import com.krishihub.marketprice.repository.MarketPriceAuditRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.support.TaskExecutorAdapter;
 
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +47,8 @@ class MarketPriceIngestionServiceTest {
         MarketPriceDataSource mockSource = mock(MarketPriceDataSource.class);
         MarketPriceDto rawPrice = MarketPriceDto.builder()
                 .cropName("Tomato")
+                .district("Kathmandu")
+                .unit("Kg")
                 .minPrice(BigDecimal.TEN)
                 .build();
 
@@ -62,19 +69,52 @@ class MarketPriceIngestionServiceTest {
                 ruleEvaluator,
                 normalizer,
                 validator,
-                null // Audit repository
+                null, // Audit repository
+                new MarketProperties(),
+                new TaskExecutorAdapter(Runnable::run)
         );
 
         when(mockSource.fetchPrices()).thenReturn(Collections.singletonList(rawPrice));
         when(mockSource.getSourceId()).thenReturn("MOCK_SOURCE");
-        when(normalizer.normalize(any())).thenReturn(rawPrice);
         when(validator.isValid(any())).thenReturn(true);
-        when(marketPriceService.addPrice(any())).thenReturn(rawPrice);
+        when(marketPriceService.upsertPrices(anyList())).thenReturn(PriceIngestionResult.builder()
+                .inserted(1)
+                .changedPrices(List.of(rawPrice))
+                .build());
 
         ingestionService.ingestPrices();
 
         verify(mockSource).fetchPrices();
-        verify(marketPriceService).addPrice(any());
-        verify(ruleEvaluator).evaluateRules(any());
+        verify(marketPriceService).upsertPrices(List.of(rawPrice));
+        verify(marketPriceService, never()).addPrice(any());
+        verify(ruleEvaluator).evaluateAll(List.of(rawPrice));
+    }
+
+    @Test
+    void ingestPrices_ShouldDropInvalidRowsAndReportThemAsSkipped() {
+        MarketPriceDataSource mockSource = mock(MarketPriceDataSource.class);
+        MarketPriceDto invalid = MarketPriceDto.builder().cropName("Onion").build();
+
+        ingestionService = new MarketPriceIngestionService(
+                Collections.singletonList(mockSource),
+                marketPriceService,
+                ruleEvaluator,
+                normalizer,
+                validator,
+                null,
+                new MarketProperties(),
+                new TaskExecutorAdapter(Runnable::run)
+        );
+
+        when(mockSource.fetchPrices()).thenReturn(Collections.singletonList(invalid));
+        when(mockSource.getSourceId()).thenReturn("MOCK_SOURCE");
+        when(validator.isValid(invalid)).thenReturn(false);
+        when(marketPriceService.upsertPrices(anyList())).thenReturn(new PriceIngestionResult());
+
+        PriceIngestionResult result = ingestionService.runIngestion();
+
+        verify(marketPriceService).upsertPrices(Collections.emptyList());
+        verifyNoInteractions(ruleEvaluator);
+        assertEquals(1, result.getSkipped());
     }
 }
@@ -0,0 +1,96 @@
+package com.krishihub.marketprice.service;
+
+import com.krishihub.config.properties.MarketProperties;
+import com.krishihub.marketprice.repository.MarketPricePartitionRepository;
+import com.krishihub.marketprice.repository.MarketPricePartitionRepository.MonthlyPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MarketPricePartitionServiceTest {
+
+    private MarketPricePartitionRepository partitionRepository;
+    private PlatformTransactionManager transactionManager;
+    private MarketProperties marketProperties;
+    private MarketPricePartitionService service;
+    private LocalDate currentMonth;
+
+    @BeforeEach
+    void setUp() {
+        partitionRepository = mock(MarketPricePartitionRepository.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        marketProperties = new MarketProperties();
+        service = new MarketPricePartitionService(partitionRepository, marketProperties, transactionManager);
+        currentMonth = LocalDate.now().withDayOfMonth(1);
+    }
+
+    @Test
+    void maintainPartitions_ByDefault_CreatesAheadButDropsNothing() {
+        service.maintainPartitions();
+
+        int months = marketProperties.getRetention().getPremakeMonths() + 1;
+        verify(partitionRepository, times(months))
+                .ensureMonthlyPartition(eq(MarketPricePartitionRepository.PRICES), any());
+        verify(partitionRepository, times(months))
+                .ensureMonthlyPartition(eq(MarketPricePartitionRepository.AUDIT), any());
+        verify(partitionRepository, never()).findMonthlyPartitions(any());
+        verify(partitionRepository, never()).dropPartition(any());
+        assertNull(service.rawPriceCutoff());
+    }
+
+    @Test
+    void maintainPartitions_WhenDisabled_TouchesNothing() {
+        marketProperties.getRetention().setEnabled(false);
+
+        service.maintainPartitions();
+
+        verifyNoInteractions(partitionRepository);
+    }
+
+    @Test
+    void maintainPartitions_DownsamplesDropsAndTrimsEachExpiredPartitionInOneTransaction() {
+        marketProperties.getRetention().setRawPriceMonths(12);
+        LocalDate cutoff = currentMonth.minusMonths(12);
+        MonthlyPartition expired = new MonthlyPartition("market_prices_old", cutoff.minusMonths(1));
+        MonthlyPartition kept = new MonthlyPartition("market_prices_kept", cutoff);
+        when(partitionRepository.findMonthlyPartitions(MarketPricePartitionRepository.PRICES))
+                .thenReturn(List.of(expired, kept));
+
+        service.maintainPartitions();
+
+        InOrder inOrder = inOrder(transactionManager, partitionRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(partitionRepository).downsampleToWeekly(expired);
+        inOrder.verify(partitionRepository).dropPartition(expired);
+        inOrder.verify(partitionRepository).trimDerivedBefore(cutoff);
+        inOrder.verify(transactionManager).commit(any());
+        verify(partitionRepository, never()).downsampleToWeekly(kept);
+        verify(partitionRepository, never()).dropPartition(kept);
+        verify(partitionRepository).downsampleDefaultBefore(cutoff);
+        assertEquals(cutoff, service.rawPriceCutoff());
+    }
+
+    @Test
+    void maintainPartitions_FailedDropRollsBackThatPartitionOnly() {
+        marketProperties.getRetention().setRawPriceMonths(12);
+        MonthlyPartition expired = new MonthlyPartition("market_prices_old", currentMonth.minusMonths(13));
+        when(partitionRepository.findMonthlyPartitions(MarketPricePartitionRepository.PRICES))
+                .thenReturn(List.of(expired));
+        doThrow(new RuntimeException("lock timeout")).when(partitionRepository).dropPartition(expired);
+
+        service.maintainPartitions();
+
+        verify(transactionManager).rollback(any());
+        verify(partitionRepository, never()).trimDerivedBefore(any());
+    }
+}
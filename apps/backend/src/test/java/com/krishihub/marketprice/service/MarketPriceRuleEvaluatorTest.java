@@ -3,10 +3,11 @@ package com.krishihub.marketprice.service;
 import com.krishihub.marketprice.dto.MarketPriceDto;
 import com.krishihub.marketprice.entity.PriceAlert;
 import com.krishihub.marketprice.repository.PriceAlertRepository;
+import com.krishihub.marketprice.service.strategy.PriceSurgeRule;
+import com.krishihub.marketprice.service.strategy.UserAlertRule;
 import com.krishihub.notification.service.NotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -14,6 +15,7 @@ import java.math.BigDecimal;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
@@ -30,12 +32,14 @@ public class MarketPriceRuleEvaluatorTest {
     @Mock
     private PriceAlertRepository priceAlertRepository;
 
-    @InjectMocks
     private MarketPriceRuleEvaluator ruleEvaluator;
 
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
+        ruleEvaluator = new MarketPriceRuleEvaluator(List.of(
+                new PriceSurgeRule(marketPriceService),
+                new UserAlertRule(new PriceAlertIndex(priceAlertRepository), notificationService)));
     }
 
     @Test
@@ -61,9 +65,10 @@ public class MarketPriceRuleEvaluatorTest {
                 .priceDate(cal.getTime())
                 .build();
 
-        when(marketPriceService.getPreviousPrice(anyString(), anyString(), any()))
-                .thenReturn(oldPrice);
-        when(priceAlertRepository.findByCropNameAndActiveTrue(anyString())).thenReturn(Collections.emptyList());
+        when(marketPriceService.priceKey(any())).thenReturn("Tomato|Kathmandu|today");
+        when(marketPriceService.getPreviousAvgPrices(anyList()))
+                .thenReturn(Map.of("Tomato|Kathmandu|today", oldPrice.getAvgPrice()));
+        when(priceAlertRepository.findByActiveTrue()).thenReturn(Collections.emptyList());
 
         // Act
         ruleEvaluator.evaluateRules(newPrice);
@@ -73,7 +78,7 @@ public class MarketPriceRuleEvaluatorTest {
         // In a real test with a Mock Logger or Broadcast service, we'd verify that
         // call.
         // For now, determining it runs without error.
-        verify(marketPriceService, times(1)).getPreviousPrice(eq("Tomato"), eq("Kathmandu"), any());
+        verify(marketPriceService, times(1)).getPreviousAvgPrices(List.of(newPrice));
     }
 
     @Test
@@ -86,17 +91,26 @@ public class MarketPriceRuleEvaluatorTest {
 
         UUID userId = UUID.randomUUID();
         PriceAlert alert = new PriceAlert();
+        alert.setId(UUID.randomUUID());
         alert.setUserId(userId);
         alert.setTargetPrice(BigDecimal.valueOf(90)); // Alert if > 90
         alert.setCondition(PriceAlert.AlertCondition.ABOVE);
         alert.setCropName("Tomato");
 
-        when(priceAlertRepository.findByCropNameAndActiveTrue("Tomato")).thenReturn(List.of(alert));
+        PriceAlert below = new PriceAlert();
+        below.setId(UUID.randomUUID());
+        below.setUserId(UUID.randomUUID());
+        below.setTargetPrice(BigDecimal.valueOf(80)); // Not triggered, price is not below 80
+        below.setCondition(PriceAlert.AlertCondition.BELOW);
+        below.setCropName("Tomato");
+
+        when(priceAlertRepository.findByActiveTrue()).thenReturn(List.of(alert, below));
 
         // Act
         ruleEvaluator.evaluateRules(newPrice);
 
         // Assert
-        verify(notificationService).createNotification(eq(userId), eq("PRICE_ALERT"), contains("above"));
+        verify(notificationService).createNotifications(eq(List.of(userId)), eq("PRICE_ALERT"),
+                argThat(messages -> messages.size() == 1 && messages.get(0).contains("above")));
     }
 }
@@ -0,0 +1,78 @@
+package com.krishihub.marketprice.service;
+
+import com.krishihub.marketprice.entity.PriceAlert;
+import com.krishihub.marketprice.repository.PriceAlertRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PriceAlertIndexTest {
+
+    private PriceAlertRepository priceAlertRepository;
+    private PriceAlertIndex index;
+
+    private final PriceAlert above80 = alert("Tomato", 80, PriceAlert.AlertCondition.ABOVE);
+    private final PriceAlert above120 = alert("Tomato", 120, PriceAlert.AlertCondition.ABOVE);
+    private final PriceAlert below90 = alert("Tomato", 90, PriceAlert.AlertCondition.BELOW);
+    private final PriceAlert potato = alert("Potato", 10, PriceAlert.AlertCondition.ABOVE);
+
+    private static PriceAlert alert(String crop, int target, PriceAlert.AlertCondition condition) {
+        return PriceAlert.builder()
+                .id(UUID.randomUUID())
+                .userId(UUID.randomUUID())
+                .cropName(crop)
+                .targetPrice(BigDecimal.valueOf(target))
+                .condition(condition)
+                .build();
+    }
+
+    private List<UUID> triggered(String crop, int price) {
+        return index.triggeredBy(crop, BigDecimal.valueOf(price)).stream().map(PriceAlertIndex.AlertEntry::id).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        priceAlertRepository = mock(PriceAlertRepository.class);
+        when(priceAlertRepository.findByActiveTrue()).thenReturn(List.of(above80, above120, below90, potato));
+        index = new PriceAlertIndex(priceAlertRepository);
+    }
+
+    @Test
+    void findsAlertsByRangeAndCondition() {
+        assertEquals(List.of(above80.getId(), below90.getId()), triggered("Tomato", 85));
+        assertEquals(List.of(above80.getId(), above120.getId()), triggered("Tomato", 130));
+        assertEquals(List.of(below90.getId()), triggered("Tomato", 50));
+        assertEquals(List.of(), triggered("Onion", 500));
+    }
+
+    @Test
+    void targetIsExclusive() {
+        assertEquals(List.of(), triggered("Tomato", 90).stream().filter(id -> id.equals(below90.getId())).toList());
+        assertFalse(triggered("Tomato", 80).contains(above80.getId()));
+    }
+
+    @Test
+    void appliesCommittedChanges() {
+        triggered("Tomato", 85);
+
+        PriceAlert moved = alert("Tomato", 100, PriceAlert.AlertCondition.ABOVE);
+        moved.setId(above80.getId());
+        moved.setUserId(above80.getUserId());
+        when(priceAlertRepository.findById(above80.getId())).thenReturn(Optional.of(moved));
+        when(priceAlertRepository.findById(below90.getId())).thenReturn(Optional.empty());
+
+        index.onAlertChanged(new PriceAlertChangedEvent(this, above80.getId()));
+        index.onAlertChanged(new PriceAlertChangedEvent(this, below90.getId()));
+
+        assertEquals(List.of(), triggered("Tomato", 85));
+        assertEquals(List.of(above80.getId()), triggered("Tomato", 110));
+        verify(priceAlertRepository, times(1)).findByActiveTrue();
+    }
+}
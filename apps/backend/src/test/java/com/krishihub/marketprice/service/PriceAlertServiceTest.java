@@ -0,0 +1,75 @@
+package com.krishihub.marketprice.service;
+
+import com.krishihub.marketprice.dto.PriceAlertUpdateDto;
+import com.krishihub.marketprice.entity.PriceAlert;
+import com.krishihub.marketprice.repository.PriceAlertRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PriceAlertServiceTest {
+
+    private PriceAlertRepository repository;
+    private PriceAlertService service;
+    private PriceAlert alert;
+    private UUID ownerId;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(PriceAlertRepository.class);
+        service = new PriceAlertService(repository, mock(ApplicationEventPublisher.class));
+        ownerId = UUID.randomUUID();
+        alert = PriceAlert.builder()
+                .id(UUID.randomUUID())
+                .userId(ownerId)
+                .cropName("Tomato Big")
+                .targetPrice(new BigDecimal("50"))
+                .condition(PriceAlert.AlertCondition.ABOVE)
+                .active(false)
+                .build();
+        when(repository.findById(alert.getId())).thenReturn(Optional.of(alert));
+        when(repository.save(any(PriceAlert.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void updateAlert_LeavesActiveUnchangedWhenOmitted() {
+        PriceAlert updated = service.updateAlert(alert.getId(),
+                PriceAlertUpdateDto.builder().targetPrice(new BigDecimal("60")).build(), ownerId);
+
+        assertFalse(updated.isActive());
+        assertEquals(new BigDecimal("60"), updated.getTargetPrice());
+    }
+
+    @Test
+    void updateAlert_AppliesActiveWhenPresent() {
+        PriceAlert updated = service.updateAlert(alert.getId(), PriceAlertUpdateDto.builder().active(true).build(),
+                ownerId);
+
+        assertTrue(updated.isActive());
+        assertEquals("Tomato Big", updated.getCropName());
+    }
+
+    @Test
+    void updateAlert_RejectsOtherUsers() {
+        PriceAlertUpdateDto changes = PriceAlertUpdateDto.builder().active(true).build();
+
+        assertThrows(AccessDeniedException.class,
+                () -> service.updateAlert(alert.getId(), changes, UUID.randomUUID()));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void deleteAlert_RejectsOtherUsers() {
+        assertThrows(AccessDeniedException.class, () -> service.deleteAlert(alert.getId(), UUID.randomUUID()));
+        verify(repository, never()).delete(any());
+    }
+}
@@ -0,0 +1,90 @@
+package com.krishihub.marketprice.service;
+
+import com.krishihub.marketprice.repository.MarketPriceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PriceNameIndexTest {
+
+    private MarketPriceRepository priceRepository;
+    private PriceNameIndex index;
+
+    @BeforeEach
+    void setUp() {
+        priceRepository = mock(MarketPriceRepository.class);
+        when(priceRepository.findProjectedCropNames()).thenReturn(List.of(
+                "Tomato Big(Nepali)", "Tomato Small(Local)", "Potato Red", "Big Ginger", "आलु रातो"));
+        when(priceRepository.findProjectedDistricts()).thenReturn(List.of("Kathmandu", "Kaski", "Lalitpur"));
+        index = new PriceNameIndex(priceRepository);
+    }
+
+    @Test
+    void listsSortedNames() {
+        assertEquals(List.of("Kaski", "Kathmandu", "Lalitpur"), index.districts());
+        assertEquals(5, index.cropNames().size());
+    }
+
+    @Test
+    void suggestsByWholeNameAndWordPrefix() {
+        assertEquals(List.of("Big Ginger", "Tomato Big(Nepali)"), index.suggestCrops("bi", 10));
+        assertEquals(List.of("Tomato Big(Nepali)", "Tomato Small(Local)"), index.suggestCrops("TOM", 10));
+        assertEquals(List.of("Kaski", "Kathmandu"), index.suggestDistricts("ka", 10));
+    }
+
+    @Test
+    void suggestsAcrossNepaliAndEnglishSpellings() {
+        assertEquals(List.of("Potato Red", "आलु रातो"), index.suggestCrops("alu", 10));
+        assertEquals(List.of("Potato Red", "आलु रातो"), index.suggestCrops("potato", 10));
+        assertEquals(List.of("Tomato Big(Nepali)", "Tomato Small(Local)"), index.suggestCrops("golbheda", 10));
+    }
+
+    @Test
+    void limitsAndIgnoresBlankPrefix() {
+        assertEquals(1, index.suggestCrops("t", 1).size());
+        assertTrue(index.suggestCrops("  ", 10).isEmpty());
+    }
+
+    @Test
+    void loadsOnceUntilRebuilt() {
+        index.cropNames();
+        index.districts();
+        verify(priceRepository, times(1)).findProjectedCropNames();
+
+        index.onPricesChanged(new MarketPricesChangedEvent(this));
+        verify(priceRepository, times(2)).findProjectedCropNames();
+    }
+
+    @Test
+    void slowEarlierRebuildDoesNotOverwriteNewerNames() throws Exception {
+        CountDownLatch staleReadStarted = new CountDownLatch(1);
+        CountDownLatch releaseStaleRead = new CountDownLatch(1);
+        when(priceRepository.findProjectedCropNames())
+                .thenAnswer(invocation -> {
+                    staleReadStarted.countDown();
+                    assertTrue(releaseStaleRead.await(5, TimeUnit.SECONDS));
+                    return List.of("Potato Red");
+                })
+                .thenReturn(List.of("Potato Red", "Onion Dry"));
+
+        Thread stale = new Thread(index::rebuild);
+        stale.start();
+        assertTrue(staleReadStarted.await(5, TimeUnit.SECONDS));
+        Thread fresh = new Thread(index::rebuild);
+        fresh.start();
+        while (fresh.getState() != Thread.State.BLOCKED && fresh.isAlive()) {
+            Thread.onSpinWait();
+        }
+        releaseStaleRead.countDown();
+        stale.join(5000);
+        fresh.join(5000);
+
+        assertEquals(List.of("Onion Dry", "Potato Red"), index.cropNames());
+    }
+}
@@ -0,0 +1,49 @@
+package com.krishihub.marketprice.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SourceCircuitBreakerTest {
+
+    @Test
+    void opensAfterConsecutiveFailures() {
+        SourceCircuitBreaker circuit = new SourceCircuitBreaker(3, 1000);
+
+        circuit.recordFailure(0);
+        circuit.recordFailure(0);
+        assertTrue(circuit.allowRequest(0));
+
+        circuit.recordFailure(0);
+        assertEquals(SourceCircuitBreaker.State.OPEN, circuit.state());
+        assertFalse(circuit.allowRequest(999));
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        SourceCircuitBreaker circuit = new SourceCircuitBreaker(2, 1000);
+
+        circuit.recordFailure(0);
+        circuit.recordSuccess();
+        circuit.recordFailure(0);
+
+        assertEquals(SourceCircuitBreaker.State.CLOSED, circuit.state());
+    }
+
+    @Test
+    void allowsOneTrialAfterOpenPeriod() {
+        SourceCircuitBreaker circuit = new SourceCircuitBreaker(1, 1000);
+        circuit.recordFailure(0);
+
+        assertTrue(circuit.allowRequest(1000));
+        assertEquals(SourceCircuitBreaker.State.HALF_OPEN, circuit.state());
+
+        // A failed trial re-opens immediately, regardless of the threshold
+        circuit.recordFailure(1000);
+        assertFalse(circuit.allowRequest(1500));
+
+        assertTrue(circuit.allowRequest(2000));
+        circuit.recordSuccess();
+        assertEquals(SourceCircuitBreaker.State.CLOSED, circuit.state());
+    }
+}
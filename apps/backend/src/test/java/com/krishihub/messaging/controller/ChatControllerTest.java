@@ -0,0 +1,55 @@
+package com.krishihub.messaging.controller;
+
+import com.krishihub.auth.model.CustomUserDetails;
+import com.krishihub.common.context.UserContextHolder;
+import com.krishihub.messaging.dto.ConversationDto;
+import com.krishihub.messaging.service.MessagingService;
+import com.krishihub.shared.dto.ApiResponse;
+import com.krishihub.shared.dto.CursorPageResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ChatControllerTest {
+
+    @Mock
+    private MessagingService messagingService;
+
+    @InjectMocks
+    private ChatController controller;
+
+    @AfterEach
+    void tearDown() {
+        UserContextHolder.clear();
+    }
+
+    @Test
+    void getInbox_ReturnsCurrentUsersPageForTheCursor() {
+        UUID userId = UUID.randomUUID();
+        UserContextHolder.setUser(CustomUserDetails.builder().id(userId).build());
+        CursorPageResponse<ConversationDto> page = CursorPageResponse.<ConversationDto>builder()
+                .data(List.of(ConversationDto.builder().id(UUID.randomUUID()).unreadCount(2).build()))
+                .nextCursor("next")
+                .hasMore(true)
+                .limit(1)
+                .build();
+        when(messagingService.getInbox(userId, "cursor", 1)).thenReturn(page);
+
+        ResponseEntity<ApiResponse<CursorPageResponse<ConversationDto>>> response = controller.getInbox("cursor", 1);
+
+        assertEquals(200, response.getStatusCode().value());
+        assertSame(page, response.getBody().getData());
+    }
+}
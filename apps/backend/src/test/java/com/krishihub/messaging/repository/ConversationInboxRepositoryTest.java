@@ -0,0 +1,104 @@
+package com.krishihub.messaging.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ConversationInboxRepositoryTest {
+
+    private final UUID userId = UUID.randomUUID();
+    private RecordingJdbcTemplate jdbcTemplate;
+    private ConversationInboxRepository repository;
+
+    /**
+     * Captures the statement and maps the stubbed result set rows through the repository's row mapper.
+     */
+    private static class RecordingJdbcTemplate extends JdbcTemplate {
+        private String sql;
+        private Object[] args;
+        private final List<ResultSet> rows = new ArrayList<>();
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            this.sql = sql;
+            this.args = args;
+            List<T> mapped = new ArrayList<>();
+            try {
+                for (int i = 0; i < rows.size(); i++) {
+                    mapped.add(rowMapper.mapRow(rows.get(i), i));
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+            return mapped;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new RecordingJdbcTemplate();
+        repository = new ConversationInboxRepository(jdbcTemplate);
+    }
+
+    private static String normalized(String sql) {
+        return sql.replaceAll("\\s+", " ");
+    }
+
+    @Test
+    void findInbox_FirstPageHasNoCursorPredicate() {
+        repository.findInbox(userId, null, null, 21);
+
+        String sql = normalized(jdbcTemplate.sql);
+        assertFalse(sql.contains("(c.sort_at, c.id) <"));
+        assertTrue(sql.endsWith("ORDER BY c.sort_at DESC, c.id DESC LIMIT ? "));
+        assertArrayEquals(new Object[] { userId, userId, userId, 21 }, jdbcTemplate.args);
+    }
+
+    @Test
+    void findInbox_NextPageSeeksPastTheCursorOnTheOrderingKey() {
+        // Rows sharing a sort time are told apart by id, so the cursor and the order use the same pair
+        Instant sortAt = Instant.parse("2026-10-17T08:00:00.123456Z");
+        UUID afterId = UUID.randomUUID();
+
+        repository.findInbox(userId, sortAt, afterId, 21);
+
+        String sql = normalized(jdbcTemplate.sql);
+        assertTrue(sql.contains("WHERE (c.sort_at, c.id) < (?, ?) ORDER BY c.sort_at DESC, c.id DESC LIMIT ?"));
+        Timestamp cursorTime = (Timestamp) jdbcTemplate.args[3];
+        assertEquals(sortAt, cursorTime.toInstant());
+        assertEquals(afterId, jdbcTemplate.args[4]);
+        assertEquals(21, jdbcTemplate.args[5]);
+    }
+
+    @Test
+    void findInbox_CountsOnlyUnreadMessagesAddressedToTheUser() throws SQLException {
+        UUID conversationId = UUID.randomUUID();
+        ResultSet row = mock(ResultSet.class);
+        when(row.getObject("id", UUID.class)).thenReturn(conversationId);
+        when(row.getString("type")).thenReturn("DIRECT");
+        when(row.getTimestamp("sort_at")).thenReturn(Timestamp.from(Instant.parse("2026-10-17T08:00:00Z")));
+        when(row.getLong("unread_count")).thenReturn(3L);
+        jdbcTemplate.rows.add(row);
+
+        List<ConversationInboxRepository.InboxRow> rows = repository.findInbox(userId, null, null, 21);
+
+        assertTrue(normalized(jdbcTemplate.sql)
+                .contains("WHERE m.conversation_id = c.id AND m.receiver_id = ? AND m.is_read = false"));
+        assertEquals(1, rows.size());
+        assertEquals(conversationId, rows.get(0).id());
+        assertEquals(3L, rows.get(0).unreadCount());
+    }
+}
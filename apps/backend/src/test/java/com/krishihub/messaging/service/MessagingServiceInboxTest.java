@@ -0,0 +1,140 @@
+package com.krishihub.messaging.service;
+
+import com.krishihub.auth.entity.User;
+import com.krishihub.auth.repository.UserRepository;
+import com.krishihub.marketplace.repository.CropListingRepository;
+import com.krishihub.messaging.dto.ConversationDto;
+import com.krishihub.messaging.repository.ConversationInboxRepository;
+import com.krishihub.messaging.repository.ConversationInboxRepository.InboxRow;
+import com.krishihub.messaging.repository.ConversationParticipantRepository;
+import com.krishihub.messaging.repository.ConversationRepository;
+import com.krishihub.messaging.repository.MessageRepository;
+import com.krishihub.shared.dto.CursorPageResponse;
+import com.krishihub.shared.exception.BadRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class MessagingServiceInboxTest {
+
+    private static final Comparator<InboxRow> NEWEST_FIRST =
+            Comparator.comparing(InboxRow::sortAt).thenComparing(InboxRow::id).reversed();
+
+    private final UUID userId = UUID.randomUUID();
+    private final List<InboxRow> conversations = new ArrayList<>();
+    private ConversationInboxRepository inboxRepository;
+    private UserRepository userRepository;
+    private MessagingService service;
+
+    @BeforeEach
+    void setUp() {
+        inboxRepository = mock(ConversationInboxRepository.class);
+        userRepository = mock(UserRepository.class);
+        // Same ordering and row-value seek as the inbox query
+        when(inboxRepository.findInbox(eq(userId), any(), any(), anyInt())).thenAnswer(invocation -> {
+            Instant afterSortAt = invocation.getArgument(1);
+            UUID afterId = invocation.getArgument(2);
+            int limit = invocation.getArgument(3);
+            return conversations.stream()
+                    .sorted(NEWEST_FIRST)
+                    .filter(row -> afterSortAt == null || NEWEST_FIRST.compare(row, cursorRow(afterSortAt, afterId)) > 0)
+                    .limit(limit)
+                    .toList();
+        });
+        service = new MessagingService(mock(MessageRepository.class), mock(ConversationRepository.class),
+                mock(ConversationParticipantRepository.class), inboxRepository, userRepository,
+                mock(CropListingRepository.class), mock(PresenceService.class), mock(SimpMessagingTemplate.class));
+    }
+
+    private static InboxRow cursorRow(Instant sortAt, UUID id) {
+        return new InboxRow(id, null, sortAt, null, null, null, null, null, null, null, 0);
+    }
+
+    private InboxRow conversation(Instant sortAt, long unread) {
+        InboxRow row = new InboxRow(UUID.randomUUID(), "DIRECT", sortAt, UUID.randomUUID(), "Ram", "9800000001",
+                "FARMER", "hello", null, null, unread);
+        conversations.add(row);
+        return row;
+    }
+
+    private List<UUID> pageThrough(int limit) {
+        List<UUID> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPageResponse<ConversationDto> page = service.getInbox(userId, cursor, limit);
+            page.getData().forEach(dto -> seen.add(dto.getId()));
+            cursor = page.getNextCursor();
+            assertEquals(cursor != null, page.getHasMore());
+        } while (cursor != null);
+        return seen;
+    }
+
+    @Test
+    void getInbox_PagesThroughEveryConversationOnceNewestFirst() {
+        Instant base = Instant.parse("2026-10-17T08:00:00.123456Z");
+        for (int i = 0; i < 5; i++) {
+            conversation(base.minusSeconds(i), 0);
+        }
+
+        List<UUID> seen = pageThrough(2);
+
+        assertEquals(conversations.stream().sorted(NEWEST_FIRST).map(InboxRow::id).toList(), seen);
+    }
+
+    @Test
+    void getInbox_TiedSortTimesAcrossPageBoundaryAreNeitherSkippedNorRepeated() {
+        // Same microsecond: only the id orders them, and the cursor must carry both
+        Instant tied = Instant.parse("2026-10-17T08:00:00.123456Z");
+        conversation(tied.plusSeconds(1), 0);
+        for (int i = 0; i < 4; i++) {
+            conversation(tied, 0);
+        }
+        conversation(tied.minusNanos(1000), 0);
+
+        List<UUID> seen = pageThrough(2);
+
+        assertEquals(conversations.stream().sorted(NEWEST_FIRST).map(InboxRow::id).toList(), seen);
+    }
+
+    @Test
+    void getInbox_ReturnsUnreadCountPerConversation() {
+        Instant base = Instant.parse("2026-10-17T08:00:00Z");
+        InboxRow busy = conversation(base, 7);
+        InboxRow quiet = conversation(base.minusSeconds(1), 0);
+
+        List<ConversationDto> page = service.getInbox(userId, null, 10).getData();
+
+        assertEquals(List.of(busy.id(), quiet.id()), page.stream().map(ConversationDto::getId).toList());
+        assertEquals(7, page.get(0).getUnreadCount());
+        assertEquals(0, page.get(1).getUnreadCount());
+    }
+
+    @Test
+    void getInbox_EmptyInboxForAdminDoesNotCreateSupportChat() {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(
+                User.builder().id(userId).role(User.UserRole.ADMIN).build()));
+
+        CursorPageResponse<ConversationDto> page = service.getInbox(userId, null, null);
+
+        assertTrue(page.getData().isEmpty());
+        assertFalse(page.getHasMore());
+        verify(inboxRepository, times(1)).findInbox(eq(userId), any(), any(), anyInt());
+    }
+
+    @Test
+    void getInbox_RejectsMalformedCursor() {
+        assertThrows(BadRequestException.class, () -> service.getInbox(userId, "not-a-cursor", 10));
+        verifyNoInteractions(inboxRepository);
+    }
+}
@@ -0,0 +1,157 @@
+package com.krishihub.notification.service;
+
+import com.krishihub.auth.entity.User;
+import com.krishihub.auth.repository.UserRepository;
+import com.krishihub.notification.entity.NotificationBroadcast;
+import com.krishihub.notification.enums.BroadcastStatus;
+import com.krishihub.notification.enums.NotificationChannel;
+import com.krishihub.notification.enums.NotificationPriority;
+import com.krishihub.notification.enums.NotificationStatus;
+import com.krishihub.notification.repository.NotificationBatchRepository;
+import com.krishihub.notification.repository.NotificationBroadcastRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BroadcastServiceTest {
+
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private UserRepository userRepository;
+    private NotificationBatchRepository notificationBatchRepository;
+    private NotificationBroadcastRepository broadcastRepository;
+    private NotificationProducerService producerService;
+    private BroadcastService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        notificationBatchRepository = mock(NotificationBatchRepository.class);
+        broadcastRepository = mock(NotificationBroadcastRepository.class);
+        producerService = mock(NotificationProducerService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(notificationBatchRepository.insertForUsers(anyList(), eq("BROADCAST"), any(), any(), any(), any(),
+                eq(NotificationStatus.QUEUED))).thenAnswer(invocation -> ids(invocation.<List<UUID>>getArgument(0).size()));
+        service = new BroadcastService(userRepository, notificationBatchRepository, broadcastRepository,
+                producerService, transactionManager);
+    }
+
+    private static List<UUID> ids(int count) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+
+    private static UUID last(List<UUID> ids) {
+        return ids.get(ids.size() - 1);
+    }
+
+    private static NotificationBroadcast broadcast() {
+        return NotificationBroadcast.builder()
+                .id(UUID.randomUUID())
+                .targetRole(User.UserRole.FARMER)
+                .title("Rain")
+                .message("Heavy rain expected")
+                .channel(NotificationChannel.PUSH)
+                .priority(NotificationPriority.HIGH)
+                .status(BroadcastStatus.RUNNING)
+                .build();
+    }
+
+    @Test
+    void dispatch_WalksRecipientsByKeysetInMulticastSizedChunks() {
+        NotificationBroadcast broadcast = broadcast();
+        List<UUID> first = ids(FcmService.MULTICAST_LIMIT);
+        List<UUID> second = ids(3);
+        when(userRepository.findIdsByRoleAfter(eq(User.UserRole.FARMER), eq(MIN_UUID), any())).thenReturn(first);
+        when(userRepository.findIdsByRoleAfter(eq(User.UserRole.FARMER), eq(last(first)), any())).thenReturn(second);
+
+        service.dispatch(broadcast);
+
+        verify(userRepository, times(2)).findIdsByRoleAfter(eq(User.UserRole.FARMER), any(),
+                argThat((Pageable pageable) -> pageable.getPageSize() == FcmService.MULTICAST_LIMIT));
+        verify(notificationBatchRepository).insertForUsers(eq(first), any(), any(), any(), any(), any(), any());
+        verify(notificationBatchRepository).insertForUsers(eq(second), any(), any(), any(), any(), any(), any());
+        verify(broadcastRepository).recordProgress(eq(broadcast.getId()), eq(last(first)), eq(first.size()), any());
+        verify(broadcastRepository).recordProgress(eq(broadcast.getId()), eq(last(second)), eq(second.size()), any());
+        verify(producerService, times(2)).sendBatchToQueue(anyList());
+        verify(broadcastRepository).updateStatus(eq(broadcast.getId()), eq(BroadcastStatus.COMPLETED), isNull(), any());
+    }
+
+    @Test
+    void dispatch_FullLastChunkEndsOnEmptyPage() {
+        NotificationBroadcast broadcast = broadcast();
+        List<UUID> only = ids(FcmService.MULTICAST_LIMIT);
+        when(userRepository.findIdsByRoleAfter(any(), eq(MIN_UUID), any())).thenReturn(only);
+        when(userRepository.findIdsByRoleAfter(any(), eq(last(only)), any())).thenReturn(List.of());
+
+        service.dispatch(broadcast);
+
+        verify(producerService, times(1)).sendBatchToQueue(anyList());
+        verify(broadcastRepository).updateStatus(eq(broadcast.getId()), eq(BroadcastStatus.COMPLETED), isNull(), any());
+    }
+
+    @Test
+    void dispatch_MidBroadcastFailureIsRecordedWithCursorOfLastQueuedChunk() {
+        NotificationBroadcast broadcast = broadcast();
+        List<UUID> first = ids(FcmService.MULTICAST_LIMIT);
+        List<UUID> second = ids(FcmService.MULTICAST_LIMIT);
+        when(userRepository.findIdsByRoleAfter(any(), eq(MIN_UUID), any())).thenReturn(first);
+        when(userRepository.findIdsByRoleAfter(any(), eq(last(first)), any())).thenReturn(second);
+        when(notificationBatchRepository.insertForUsers(eq(second), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new DataAccessResourceFailureException("connection reset"));
+
+        service.dispatch(broadcast);
+
+        verify(broadcastRepository).recordProgress(eq(broadcast.getId()), eq(last(first)), eq(first.size()), any());
+        verify(broadcastRepository, times(1)).recordProgress(any(), any(), anyInt(), any());
+        verify(producerService, times(1)).sendBatchToQueue(anyList());
+        verify(broadcastRepository).updateStatus(eq(broadcast.getId()), eq(BroadcastStatus.FAILED),
+                eq("connection reset"), any());
+        verify(broadcastRepository, never()).updateStatus(any(), eq(BroadcastStatus.COMPLETED), any(), any());
+    }
+
+    @Test
+    void dispatch_ResumedBroadcastContinuesAfterRecordedCursor() {
+        UUID cursor = UUID.randomUUID();
+        NotificationBroadcast broadcast = broadcast();
+        broadcast.setLastUserId(cursor);
+        broadcast.setRecipients(FcmService.MULTICAST_LIMIT);
+        List<UUID> rest = ids(2);
+        when(userRepository.findIdsByRoleAfter(any(), eq(cursor), any())).thenReturn(rest);
+
+        service.dispatch(broadcast);
+
+        verify(userRepository, never()).findIdsByRoleAfter(any(), eq(MIN_UUID), any());
+        verify(notificationBatchRepository).insertForUsers(eq(rest), any(), any(), any(), any(), any(), any());
+        verify(broadcastRepository).updateStatus(eq(broadcast.getId()), eq(BroadcastStatus.COMPLETED), isNull(), any());
+    }
+
+    @Test
+    void claimForResume_OnlyAFailedBroadcastCanBeClaimed() {
+        NotificationBroadcast broadcast = broadcast();
+        broadcast.setStatus(BroadcastStatus.FAILED);
+        when(broadcastRepository.findById(broadcast.getId())).thenReturn(Optional.of(broadcast));
+        when(broadcastRepository.transition(eq(broadcast.getId()), eq(BroadcastStatus.FAILED),
+                eq(BroadcastStatus.RUNNING), any())).thenReturn(1, 0);
+
+        assertEquals(BroadcastStatus.RUNNING, service.claimForResume(broadcast.getId()).getStatus());
+        // A second resume racing the first finds it RUNNING
+        assertThrows(IllegalStateException.class, () -> service.claimForResume(broadcast.getId()));
+    }
+}
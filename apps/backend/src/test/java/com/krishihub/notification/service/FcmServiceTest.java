@@ -0,0 +1,117 @@
+package com.krishihub.notification.service;
+
+import com.google.firebase.messaging.BatchResponse;
+import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
+import com.google.firebase.messaging.MessagingErrorCode;
+import com.google.firebase.messaging.MulticastMessage;
+import com.google.firebase.messaging.SendResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class FcmServiceTest {
+
+    private MockedStatic<FirebaseMessaging> firebase;
+    private FirebaseMessaging messaging;
+    private final List<List<String>> requests = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        messaging = mock(FirebaseMessaging.class);
+        firebase = mockStatic(FirebaseMessaging.class);
+        firebase.when(FirebaseMessaging::getInstance).thenReturn(messaging);
+        when(messaging.sendEachForMulticast(any())).thenAnswer(invocation -> {
+            List<String> tokens = tokens(invocation.getArgument(0));
+            requests.add(tokens);
+            if (tokens.contains("down")) {
+                throw mock(FirebaseMessagingException.class);
+            }
+            List<SendResponse> responses = new ArrayList<>();
+            for (String token : tokens) {
+                responses.add(response(token));
+            }
+            BatchResponse batch = mock(BatchResponse.class);
+            when(batch.getResponses()).thenReturn(responses);
+            return batch;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        firebase.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> tokens(MulticastMessage message) throws ReflectiveOperationException {
+        Field field = MulticastMessage.class.getDeclaredField("tokens");
+        field.setAccessible(true);
+        return (List<String>) field.get(message);
+    }
+
+    private static SendResponse response(String token) {
+        SendResponse response = mock(SendResponse.class);
+        if (token.startsWith("ok")) {
+            when(response.isSuccessful()).thenReturn(true);
+            return response;
+        }
+        FirebaseMessagingException error = mock(FirebaseMessagingException.class);
+        when(error.getMessagingErrorCode()).thenReturn(token.startsWith("gone")
+                ? MessagingErrorCode.UNREGISTERED : MessagingErrorCode.INVALID_ARGUMENT);
+        when(response.getException()).thenReturn(error);
+        return response;
+    }
+
+    private static List<String> tokens(String prefix, int count) {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tokens.add(prefix + i);
+        }
+        return tokens;
+    }
+
+    @Test
+    void sendToMultipleDevices_SplitsTokensIntoMulticastLimitChunks() {
+        List<String> tokens = tokens("ok", FcmService.MULTICAST_LIMIT * 2 + 1);
+
+        FcmService.MulticastResult result = new FcmService().sendToMultipleDevices(tokens, "t", "b", Map.of());
+
+        assertEquals(List.of(FcmService.MULTICAST_LIMIT, FcmService.MULTICAST_LIMIT, 1),
+                requests.stream().map(List::size).toList());
+        assertEquals(tokens, result.delivered());
+        assertTrue(result.unregistered().isEmpty());
+    }
+
+    @Test
+    void sendToMultipleDevices_ReportsOnlyUnregisteredTokensForCleanup() {
+        List<String> tokens = List.of("ok1", "gone1", "bad1", "gone2");
+
+        FcmService.MulticastResult result = new FcmService().sendToMultipleDevices(tokens, "t", "b", Map.of());
+
+        assertEquals(List.of("ok1"), result.delivered());
+        assertEquals(List.of("gone1", "gone2"), result.unregistered());
+    }
+
+    @Test
+    void sendToMultipleDevices_FailedChunkCountsAsUndeliveredWithoutStoppingOthers() {
+        List<String> tokens = new ArrayList<>(tokens("ok", FcmService.MULTICAST_LIMIT - 1));
+        tokens.add("down");
+        tokens.add("ok-last");
+
+        FcmService.MulticastResult result = new FcmService().sendToMultipleDevices(tokens, "t", "b", Map.of());
+
+        assertEquals(2, requests.size());
+        assertEquals(List.of("ok-last"), result.delivered());
+        assertTrue(result.unregistered().isEmpty());
+    }
+}
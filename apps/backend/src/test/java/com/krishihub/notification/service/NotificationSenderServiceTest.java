@@ -0,0 +1,110 @@
+package com.krishihub.notification.service;
+
+import com.krishihub.auth.entity.User;
+import com.krishihub.notification.entity.DeviceToken;
+import com.krishihub.notification.entity.Notification;
+import com.krishihub.notification.enums.NotificationChannel;
+import com.krishihub.notification.enums.NotificationStatus;
+import com.krishihub.notification.repository.DeviceTokenRepository;
+import com.krishihub.notification.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationSenderServiceTest {
+
+    private NotificationRepository notificationRepository;
+    private NotificationOrchestrator orchestrator;
+    private FcmService fcmService;
+    private DeviceTokenRepository deviceTokenRepository;
+    private NotificationSenderService service;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        orchestrator = mock(NotificationOrchestrator.class);
+        fcmService = mock(FcmService.class);
+        deviceTokenRepository = mock(DeviceTokenRepository.class);
+        service = new NotificationSenderService(notificationRepository, orchestrator, fcmService, deviceTokenRepository);
+    }
+
+    private static Notification push(UUID userId) {
+        return Notification.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .type("BROADCAST")
+                .title("Rain")
+                .message("Heavy rain expected")
+                .channel(NotificationChannel.PUSH)
+                .build();
+    }
+
+    private static DeviceToken token(UUID userId, String token) {
+        return DeviceToken.builder().userId(userId).token(token).build();
+    }
+
+    @Test
+    void sendBatch_SendsIdenticalPushesAsOneMulticastAndPrunesUnregisteredTokens() {
+        UUID reachable = UUID.randomUUID();
+        UUID uninstalled = UUID.randomUUID();
+        Notification toReachable = push(reachable);
+        Notification toUninstalled = push(uninstalled);
+        when(notificationRepository.findAllWithUserByIdIn(anyCollection())).thenReturn(List.of(toReachable, toUninstalled));
+        when(deviceTokenRepository.findByUserIdIn(List.of(reachable, uninstalled)))
+                .thenReturn(List.of(token(reachable, "phone"), token(uninstalled, "old-phone")));
+        when(fcmService.sendToMultipleDevices(anyList(), eq("Rain"), eq("Heavy rain expected"), anyMap()))
+                .thenReturn(new FcmService.MulticastResult(List.of("phone"), List.of("old-phone")));
+
+        service.sendBatch(List.of(toReachable.getId(), toUninstalled.getId()));
+
+        verify(fcmService, times(1)).sendToMultipleDevices(
+                argThat(tokens -> Set.copyOf(tokens).equals(Set.of("phone", "old-phone"))), any(), any(), anyMap());
+        verify(deviceTokenRepository).deleteByTokenIn(List.of("old-phone"));
+        verify(notificationRepository).updateStatusByIdIn(eq(Set.of(toReachable.getId())), eq(NotificationStatus.SENT),
+                any(), isNull());
+        verify(notificationRepository).updateStatusByIdIn(eq(List.of(toUninstalled.getId())),
+                eq(NotificationStatus.FAILED), isNull(), eq("No deliverable device token"));
+    }
+
+    @Test
+    void sendBatch_NothingUnregisteredDeletesNoTokens() {
+        UUID userId = UUID.randomUUID();
+        Notification notification = push(userId);
+        when(notificationRepository.findAllWithUserByIdIn(anyCollection())).thenReturn(List.of(notification));
+        when(deviceTokenRepository.findByUserIdIn(List.of(userId))).thenReturn(List.of(token(userId, "phone")));
+        when(fcmService.sendToMultipleDevices(anyList(), any(), any(), anyMap()))
+                .thenReturn(new FcmService.MulticastResult(List.of("phone"), List.of()));
+
+        service.sendBatch(List.of(notification.getId()));
+
+        verify(deviceTokenRepository, never()).deleteByTokenIn(any());
+        verify(notificationRepository).updateStatusByIdIn(eq(Set.of(notification.getId())), eq(NotificationStatus.SENT),
+                any(), isNull());
+    }
+
+    @Test
+    void sendBatch_DirectChannelWithoutContactInfoIsMarkedFailed() {
+        User noEmail = User.builder().id(UUID.randomUUID()).mobileNumber("9800000001").build();
+        Notification email = Notification.builder()
+                .id(UUID.randomUUID())
+                .userId(noEmail.getId())
+                .user(noEmail)
+                .type("BROADCAST")
+                .message("Heavy rain expected")
+                .channel(NotificationChannel.EMAIL)
+                .build();
+        when(notificationRepository.findAllWithUserByIdIn(anyCollection())).thenReturn(List.of(email));
+
+        service.sendBatch(List.of(email.getId()));
+
+        verifyNoInteractions(orchestrator, fcmService);
+        verify(notificationRepository).updateStatusByIdIn(eq(List.of(email.getId())), eq(NotificationStatus.FAILED),
+                isNull(), eq("No valid contact info for channel"));
+    }
+}